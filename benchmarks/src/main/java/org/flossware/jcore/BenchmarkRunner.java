@@ -0,0 +1,54 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the GC profiler always enabled so allocation rates are reported alongside timings. Any standard
+ * JMH command line options (for example a benchmark regex or -rf json) may be given.
+ *
+ * @author Scot P. Floess
+ */
+public final class BenchmarkRunner {
+
+    /**
+     * Run the benchmarks.
+     *
+     * @param args standard JMH command line options.
+     *
+     * @throws CommandLineOptionException if the command line options are bad.
+     * @throws RunnerException            if any problems arise running the benchmarks.
+     */
+    public static void main(final String[] args) throws CommandLineOptionException, RunnerException {
+        final Options options = new OptionsBuilder().parent(new CommandLineOptions(args)).addProfiler(GCProfiler.class).build();
+
+        new Runner(options).run();
+    }
+
+    /**
+     * Default constructor not allowed.
+     */
+    private BenchmarkRunner() {
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections;
+
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares ArrayIterator, ArrayIterable and the shared cursors to plain array loops.
+ *
+ * @author Scot P. Floess
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArrayIteratorBenchmark {
+
+    @Param({"100", "10000"})
+    int size;
+
+    String[] values;
+
+    @Setup
+    public void setup() {
+        values = new String[size];
+
+        for (int index = 0; index < size; index++) {
+            values[index] = String.valueOf(index);
+        }
+    }
+
+    @Benchmark
+    public void indexedLoop(final Blackhole blackhole) {
+        for (int index = 0; index < values.length; index++) {
+            blackhole.consume(values[index]);
+        }
+    }
+
+    @Benchmark
+    public void forEachLoop(final Blackhole blackhole) {
+        for (final String value : values) {
+            blackhole.consume(value);
+        }
+    }
+
+    @Benchmark
+    public void arrayIterator(final Blackhole blackhole) {
+        final Iterator<String> itr = new ArrayIterator<>(values);
+
+        while (itr.hasNext()) {
+            blackhole.consume(itr.next());
+        }
+    }
+
+    @Benchmark
+    public void arrayIterable(final Blackhole blackhole) {
+        for (final String value : new ArrayIterable<>(values)) {
+            blackhole.consume(value);
+        }
+    }
+
+    @Benchmark
+    public void arrayIterator_forEachRemaining(final Blackhole blackhole) {
+        new ArrayIterator<>(values).forEachRemaining(blackhole::consume);
+    }
+
+    @Benchmark
+    public void sharedArrayIterator(final Blackhole blackhole) {
+        final SharedArrayIterator<String> itr = new SharedArrayIterator<>(values);
+
+        for (String value = itr.poll(); null != value; value = itr.poll()) {
+            blackhole.consume(value);
+        }
+    }
+
+    @Benchmark
+    public void chunkedArrayCursor(final Blackhole blackhole) {
+        new ChunkedArrayCursor<>(values, 1).forEach(0, blackhole::consume);
+    }
+}
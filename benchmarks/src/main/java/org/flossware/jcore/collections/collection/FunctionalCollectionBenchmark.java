@@ -0,0 +1,128 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.collection;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares DefaultFunctionalCollection to the HashSet and ArrayList it wraps.
+ *
+ * @author Scot P. Floess
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FunctionalCollectionBenchmark {
+
+    @Param({"100", "10000"})
+    int size;
+
+    Integer[] values;
+
+    Collection<Integer> set;
+
+    FunctionalCollection<Integer> functionalSet;
+
+    IntFunctionalCollection intSet;
+
+    @Setup
+    public void setup() {
+        values = new Integer[size];
+        set = new HashSet<>();
+        functionalSet = new DefaultFunctionalCollection<>(new HashSet<Integer>());
+        intSet = new IntHashFunctionalCollection(size);
+
+        for (int index = 0; index < size; index++) {
+            values[index] = index;
+            set.add(index);
+            functionalSet.add(index);
+            intSet.add(index);
+        }
+    }
+
+    @Benchmark
+    public void contains_hashSet(final Blackhole blackhole) {
+        for (final Integer value : values) {
+            blackhole.consume(set.contains(value));
+        }
+    }
+
+    @Benchmark
+    public void contains_functionalCollection(final Blackhole blackhole) {
+        for (final Integer value : values) {
+            blackhole.consume(functionalSet.contains(value));
+        }
+    }
+
+    @Benchmark
+    public void contains_intHashFunctionalCollection(final Blackhole blackhole) {
+        for (int index = 0; index < size; index++) {
+            blackhole.consume(intSet.contains(index));
+        }
+    }
+
+    @Benchmark
+    public Collection<Integer> add_arrayList() {
+        final Collection<Integer> retVal = new ArrayList<>();
+
+        for (final Integer value : values) {
+            retVal.add(value);
+        }
+
+        return retVal;
+    }
+
+    @Benchmark
+    public FunctionalCollection<Integer> addF_functionalCollection() {
+        final FunctionalCollection<Integer> retVal = new DefaultFunctionalCollection<>(new ArrayList<Integer>());
+
+        for (final Integer value : values) {
+            retVal.addF(value);
+        }
+
+        return retVal;
+    }
+
+    @Benchmark
+    public IntFunctionalCollection addF_intArrayFunctionalCollection() {
+        final IntFunctionalCollection retVal = new IntArrayFunctionalCollection();
+
+        for (int index = 0; index < size; index++) {
+            retVal.addF(index);
+        }
+
+        return retVal;
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.map;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares DefaultFunctionalMap to the HashMap it wraps, and to its frozen (immutable) copy.
+ *
+ * @author Scot P. Floess
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FunctionalMapBenchmark {
+
+    @Param({"100", "10000"})
+    int size;
+
+    Integer[] keys;
+
+    int[] intKeys;
+
+    String[] values;
+
+    Map<Integer, String> map;
+
+    FunctionalMap<Integer, String> functionalMap;
+
+    IntFunctionalMap<String> intFunctionalMap;
+
+    FunctionalMap<Integer, String> frozenMap;
+
+    @Setup
+    public void setup() {
+        keys = new Integer[size];
+        intKeys = new int[size];
+        values = new String[size];
+        map = new HashMap<>();
+        functionalMap = new DefaultFunctionalMap<>(new HashMap<Integer, String>());
+        intFunctionalMap = new DefaultIntFunctionalMap<>(size);
+
+        for (int index = 0; index < size; index++) {
+            keys[index] = index;
+            intKeys[index] = index;
+            values[index] = "value";
+            map.put(index, String.valueOf(index));
+            functionalMap.put(index, String.valueOf(index));
+            intFunctionalMap.put(index, String.valueOf(index));
+        }
+
+        frozenMap = functionalMap.freeze();
+    }
+
+    @Benchmark
+    public void get_hashMap(final Blackhole blackhole) {
+        for (final Integer key : keys) {
+            blackhole.consume(map.get(key));
+        }
+    }
+
+    @Benchmark
+    public void get_functionalMap(final Blackhole blackhole) {
+        for (final Integer key : keys) {
+            blackhole.consume(functionalMap.get(key));
+        }
+    }
+
+    @Benchmark
+    public void get_frozenMap(final Blackhole blackhole) {
+        for (final Integer key : keys) {
+            blackhole.consume(frozenMap.get(key));
+        }
+    }
+
+    @Benchmark
+    public void get_intFunctionalMap(final Blackhole blackhole) {
+        for (final int key : intKeys) {
+            blackhole.consume(intFunctionalMap.get(key));
+        }
+    }
+
+    @Benchmark
+    public void containsKey_hashMap(final Blackhole blackhole) {
+        for (final Integer key : keys) {
+            blackhole.consume(map.containsKey(key));
+        }
+    }
+
+    @Benchmark
+    public void containsKey_functionalMap(final Blackhole blackhole) {
+        for (final Integer key : keys) {
+            blackhole.consume(functionalMap.containsKey(key));
+        }
+    }
+
+    @Benchmark
+    public Map<Integer, String> put_hashMap() {
+        final Map<Integer, String> retVal = new HashMap<>();
+
+        for (final Integer key : keys) {
+            retVal.put(key, "value");
+        }
+
+        return retVal;
+    }
+
+    @Benchmark
+    public FunctionalMap<Integer, String> putF_functionalMap() {
+        final FunctionalMap<Integer, String> retVal = new DefaultFunctionalMap<>(new HashMap<Integer, String>());
+
+        for (final Integer key : keys) {
+            retVal.putF(key, "value");
+        }
+
+        return retVal;
+    }
+
+    @Benchmark
+    public IntFunctionalMap<String> putF_intFunctionalMap() {
+        final IntFunctionalMap<String> retVal = new DefaultIntFunctionalMap<>();
+
+        for (final int key : intKeys) {
+            retVal.putF(key, "value");
+        }
+
+        return retVal;
+    }
+
+    @Benchmark
+    public FunctionalMap<Integer, String> putAllF_functionalMap() {
+        return new DefaultFunctionalMap<Integer, String>(new HashMap<Integer, String>()).putAllF(keys, values);
+    }
+
+    @Benchmark
+    public IntFunctionalMap<String> putAllF_intFunctionalMap() {
+        return new DefaultIntFunctionalMap<String>().putAllF(intKeys, values);
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.utils;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures PropertiesUtils.createProperties from in memory streams and readers.
+ *
+ * @author Scot P. Floess
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PropertiesUtilsBenchmark {
+
+    @Param({"10", "1000"})
+    int size;
+
+    String properties;
+
+    byte[] propertiesBytes;
+
+    @Setup
+    public void setup() {
+        final StringBuilder sb = new StringBuilder();
+
+        for (int index = 0; index < size; index++) {
+            sb.append("property.").append(index).append('=').append("value").append(index).append('\n');
+        }
+
+        properties = sb.toString();
+        propertiesBytes = properties.getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    @Benchmark
+    public Properties createProperties_inputStream() {
+        return PropertiesUtils.createProperties(new ByteArrayInputStream(propertiesBytes));
+    }
+
+    @Benchmark
+    public Properties createProperties_reader() {
+        return PropertiesUtils.createProperties(new StringReader(properties));
+    }
+}
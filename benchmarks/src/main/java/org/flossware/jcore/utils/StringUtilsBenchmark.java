@@ -0,0 +1,75 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.utils;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares StringUtils concatenation to a plain StringBuilder.
+ *
+ * @author Scot P. Floess
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StringUtilsBenchmark {
+
+    String str0 = "alpha";
+
+    String str1 = "beta";
+
+    String str2 = "gamma";
+
+    Integer int3 = 12345;
+
+    @Benchmark
+    public String stringBuilder() {
+        return new StringBuilder().append(str0).append(str1).append(str2).append(int3).toString();
+    }
+
+    @Benchmark
+    public String concat() {
+        return StringUtils.concat(str0, str1, str2, int3);
+    }
+
+    @Benchmark
+    public String stringBuilder_separator() {
+        return new StringBuilder().append(str0).append(", ").append(str1).append(", ").append(str2).append(", ").append(int3).toString();
+    }
+
+    @Benchmark
+    public String concatWithSeparator() {
+        return StringUtils.concatWithSeparator(", ", str0, str1, str2, int3);
+    }
+
+    @Benchmark
+    public boolean isBlank() {
+        return StringUtils.isBlank(str0);
+    }
+}
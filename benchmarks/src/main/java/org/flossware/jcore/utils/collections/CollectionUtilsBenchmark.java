@@ -0,0 +1,187 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.utils.collections;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.flossware.jcore.Filter;
+import org.flossware.jcore.IndexedFilter;
+import org.flossware.jcore.collections.collection.IndexedFunctionalCollection;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the CollectionUtils copy, sort and filter helpers against their plain JDK counterparts.
+ *
+ * @author Scot P. Floess
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollectionUtilsBenchmark {
+
+    /**
+     * Accepts values greater than the value filtered against.
+     */
+    static final Filter<Integer, Integer> GREATER_THAN_FILTER = new Filter<Integer, Integer>() {
+        @Override
+        public boolean accept(final Integer toFilter, final Integer value) {
+            return toFilter > value;
+        }
+    };
+
+    /**
+     * Natural ordering of integers.
+     */
+    static final Comparator<Integer> COMPARATOR = new Comparator<Integer>() {
+        @Override
+        public int compare(final Integer int1, final Integer int2) {
+            return int1.compareTo(int2);
+        }
+    };
+
+    @Param({"1000", "100000"})
+    int size;
+
+    List<Integer> values;
+
+    Integer threshold;
+
+    IndexedFunctionalCollection<Integer, Integer> indexed;
+
+    IndexedFilter<Integer, Integer> indexedFilter;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(size);
+
+        values = new ArrayList<>(size);
+
+        for (int index = 0; index < size; index++) {
+            values.add(random.nextInt(size));
+        }
+
+        threshold = size / 2;
+        indexed = new IndexedFunctionalCollection<>(new ArrayList<>(values), Integer::intValue);
+        indexedFilter = indexed.asFilter();
+    }
+
+    @Benchmark
+    public List<Integer> asList() {
+        return CollectionUtils.asList(values);
+    }
+
+    @Benchmark
+    public List<Integer> asList_jdk() {
+        return new ArrayList<>(values);
+    }
+
+    @Benchmark
+    public Set<Integer> asSet() {
+        return CollectionUtils.asSet(values);
+    }
+
+    @Benchmark
+    public Set<Integer> toSet() {
+        return CollectionUtils.toSet(values);
+    }
+
+    @Benchmark
+    public List<Integer> toSortedList() {
+        return CollectionUtils.toSortedList(values, COMPARATOR);
+    }
+
+    @Benchmark
+    public Collection<Integer> sort() {
+        return CollectionUtils.sort(values, COMPARATOR);
+    }
+
+    @Benchmark
+    public List<Integer> sort_jdk() {
+        final List<Integer> retVal = new ArrayList<>(values);
+
+        Collections.sort(retVal, COMPARATOR);
+
+        return retVal;
+    }
+
+    @Benchmark
+    public List<Integer> sortByInt() {
+        return CollectionUtils.sortByInt(values, Integer::intValue);
+    }
+
+    @Benchmark
+    public List<Integer> top() {
+        return CollectionUtils.top(values, 100, COMPARATOR);
+    }
+
+    @Benchmark
+    public Collection<Integer> filter() {
+        return CollectionUtils.filter(values, GREATER_THAN_FILTER, threshold);
+    }
+
+    @Benchmark
+    public List<Integer> filter_lazyFirst10() {
+        return IterableUtils.filter(values, GREATER_THAN_FILTER, threshold).limit(10).toList();
+    }
+
+    @Benchmark
+    public List<Integer> parallelFilter() {
+        return CollectionUtils.parallelFilter(values, GREATER_THAN_FILTER, threshold);
+    }
+
+    @Benchmark
+    public boolean contains_scan() {
+        return IterableUtils.contains(values, indexedFilter, threshold);
+    }
+
+    @Benchmark
+    public boolean contains_indexed() {
+        return IterableUtils.contains(indexed, indexedFilter, threshold);
+    }
+
+    @Benchmark
+    public List<Integer> filter_jdk() {
+        final List<Integer> retVal = new ArrayList<>();
+
+        for (final Integer value : values) {
+            if (GREATER_THAN_FILTER.accept(value, threshold)) {
+                retVal.add(value);
+            }
+        }
+
+        return retVal;
+    }
+}
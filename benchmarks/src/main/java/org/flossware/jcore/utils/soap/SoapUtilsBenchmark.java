@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.utils.soap;
+
+import java.util.concurrent.TimeUnit;
+import javax.xml.soap.MessageFactory;
+import javax.xml.soap.SOAPBody;
+import javax.xml.soap.SOAPElement;
+import javax.xml.soap.SOAPException;
+import javax.xml.soap.SOAPMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures SoapUtils.convertToString for SOAP messages of varying size.
+ *
+ * @author Scot P. Floess
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SoapUtilsBenchmark {
+
+    @Param({"10", "1000"})
+    int elements;
+
+    SOAPMessage soapMessage;
+
+    @Setup
+    public void setup() throws SOAPException {
+        soapMessage = MessageFactory.newInstance().createMessage();
+
+        final SOAPBody body = soapMessage.getSOAPBody();
+        final SOAPElement request = body.addChildElement("request", "jcore", "http://flossware.org/jcore/benchmarks");
+
+        for (int index = 0; index < elements; index++) {
+            request.addChildElement("element").addTextNode("value" + index);
+        }
+
+        soapMessage.saveChanges();
+    }
+
+    @Benchmark
+    public String convertToString() {
+        return SoapUtils.convertToString(soapMessage);
+    }
+}
@@ -18,6 +18,8 @@ package org.flossware.jcore;
 
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import org.flossware.jcore.logging.LogThrottle;
+import org.flossware.jcore.logging.MessageSupplier;
 import org.flossware.jcore.utils.LoggerUtils;
 
 /**
@@ -26,11 +28,21 @@ import org.flossware.jcore.utils.LoggerUtils;
  * @author Scot P. Floess
  */
 public abstract class AbstractCommonBase {
+    /**
+     * Throttle used for all instances that do not have their own - null when not throttling.
+     */
+    private static volatile LogThrottle defaultLogThrottle;
+
     /**
      * Our logger.
      */
     private final Logger logger;
 
+    /**
+     * Our throttle - when null the default throttle is used.
+     */
+    private volatile LogThrottle logThrottle;
+
     /**
      * Default constructor.
      */
@@ -47,6 +59,71 @@ public abstract class AbstractCommonBase {
         return logger;
     }
 
+    /**
+     * Return the throttle used for all instances that do not have their own.
+     *
+     * @return the default throttle or null if none.
+     */
+    public static LogThrottle getDefaultLogThrottle() {
+        return defaultLogThrottle;
+    }
+
+    /**
+     * Set the throttle used for all instances that do not have their own - use null to stop throttling. This is how an
+     * application enables throttling for the library's collections and maps.
+     *
+     * @param logThrottle the default throttle.
+     */
+    public static void setDefaultLogThrottle(final LogThrottle logThrottle) {
+        defaultLogThrottle = logThrottle;
+    }
+
+    /**
+     * Return our throttle or the default throttle if we do not have one.
+     *
+     * @return the throttle to use or null if not throttling.
+     */
+    protected LogThrottle getLogThrottle() {
+        final LogThrottle retVal = logThrottle;
+
+        return null != retVal ? retVal : getDefaultLogThrottle();
+    }
+
+    /**
+     * Set our throttle, overriding the default throttle - use null to go back to using the default throttle.
+     *
+     * @param logThrottle our throttle.
+     */
+    protected void setLogThrottle(final LogThrottle logThrottle) {
+        this.logThrottle = logThrottle;
+    }
+
+    /**
+     * Return true if we are not throttling or our throttle permits a log at <code>level</code> for the call site denoted by
+     * <code>str</code>.
+     *
+     * @param level the level of the log.
+     * @param str   the format string of the log.
+     *
+     * @return true if the log may be published.
+     */
+    protected boolean isPermitted(final Level level, final String str) {
+        final LogThrottle throttle = getLogThrottle();
+
+        return null == throttle || throttle.isPermitted(getLogger(), level, str);
+    }
+
+    /**
+     * Return true if our logger will publish records at <code>level</code>.
+     *
+     * @param level the level of the log.
+     *
+     * @return true if <code>level</code> is enabled.
+     */
+    protected boolean isLoggable(final Level level) {
+        return LoggerUtils.isLoggable(getLogger(), level);
+    }
+
     /**
      * Performs a log using the var args <code>objs</code> as an array that can be presented to the logger.
      *
@@ -56,7 +133,9 @@ public abstract class AbstractCommonBase {
      * @param objs      a var arg thats converted to an object array for logging.
      */
     protected void log(final Level level, final Throwable throwable, final String str, final Object... objs) {
-        LoggerUtils.log(getLogger(), level, throwable, str, objs);
+        if (isPermitted(level, str)) {
+            LoggerUtils.log(getLogger(), level, throwable, str, objs);
+        }
     }
 
     /**
@@ -67,7 +146,9 @@ public abstract class AbstractCommonBase {
      * @param str       the format string.
      */
     protected void log(final Level level, final Throwable throwable, final String str) {
-        LoggerUtils.log(getLogger(), level, str, throwable);
+        if (isPermitted(level, str)) {
+            LoggerUtils.log(getLogger(), level, str, throwable);
+        }
     }
 
     /**
@@ -78,7 +159,93 @@ public abstract class AbstractCommonBase {
      * @param objs  a var arg thats converted to an object array for logging.
      */
     protected void log(final Level level, final String str, final Object... objs) {
-        LoggerUtils.log(getLogger(), level, str, objs);
+        if (isPermitted(level, str)) {
+            LoggerUtils.log(getLogger(), level, str, objs);
+        }
+    }
+
+    /**
+     * Log the message computed by <code>messageSupplier</code> - the message is only computed if <code>level</code> is enabled.
+     *
+     * @param level           the level of the log.
+     * @param messageSupplier computes the message to log.
+     */
+    protected void log(final Level level, final MessageSupplier messageSupplier) {
+        if (isPermitted(level, messageSupplier.getClass().getName())) {
+            LoggerUtils.log(getLogger(), level, messageSupplier);
+        }
+    }
+
+    /**
+     * Log the message computed by <code>messageSupplier</code> with <code>throwable</code> - the message is only computed if
+     * <code>level</code> is enabled.
+     *
+     * @param level           the level of the log.
+     * @param throwable       the throwable to log with the message.
+     * @param messageSupplier computes the message to log.
+     */
+    protected void log(final Level level, final Throwable throwable, final MessageSupplier messageSupplier) {
+        if (isPermitted(level, messageSupplier.getClass().getName())) {
+            LoggerUtils.log(getLogger(), level, throwable, messageSupplier);
+        }
+    }
+
+    /**
+     * Performs a log of a single parameter without creating a var args array.
+     *
+     * @param level the level of the log.
+     * @param str   the format string.
+     * @param obj0  the value for {0} in <code>str</code>.
+     */
+    protected void log(final Level level, final String str, final Object obj0) {
+        if (isPermitted(level, str)) {
+            LoggerUtils.log(getLogger(), level, str, obj0);
+        }
+    }
+
+    /**
+     * Performs a log of two parameters - the parameter array is only created if <code>level</code> is enabled.
+     *
+     * @param level the level of the log.
+     * @param str   the format string.
+     * @param obj0  the value for {0} in <code>str</code>.
+     * @param obj1  the value for {1} in <code>str</code>.
+     */
+    protected void log(final Level level, final String str, final Object obj0, final Object obj1) {
+        if (isPermitted(level, str)) {
+            LoggerUtils.log(getLogger(), level, str, obj0, obj1);
+        }
+    }
+
+    /**
+     * Performs a log of three parameters - the parameter array is only created if <code>level</code> is enabled.
+     *
+     * @param level the level of the log.
+     * @param str   the format string.
+     * @param obj0  the value for {0} in <code>str</code>.
+     * @param obj1  the value for {1} in <code>str</code>.
+     * @param obj2  the value for {2} in <code>str</code>.
+     */
+    protected void log(final Level level, final String str, final Object obj0, final Object obj1, final Object obj2) {
+        if (isPermitted(level, str)) {
+            LoggerUtils.log(getLogger(), level, str, obj0, obj1, obj2);
+        }
+    }
+
+    /**
+     * Performs a log of four parameters - the parameter array is only created if <code>level</code> is enabled.
+     *
+     * @param level the level of the log.
+     * @param str   the format string.
+     * @param obj0  the value for {0} in <code>str</code>.
+     * @param obj1  the value for {1} in <code>str</code>.
+     * @param obj2  the value for {2} in <code>str</code>.
+     * @param obj3  the value for {3} in <code>str</code>.
+     */
+    protected void log(final Level level, final String str, final Object obj0, final Object obj1, final Object obj2, final Object obj3) {
+        if (isPermitted(level, str)) {
+            LoggerUtils.log(getLogger(), level, str, obj0, obj1, obj2, obj3);
+        }
     }
 
     /**
@@ -93,7 +260,97 @@ public abstract class AbstractCommonBase {
      * @return the object logged.
      */
     protected <V> V logAndReturn(final Level level, final String str, final V retVal) {
-        return LoggerUtils.logAndReturn(getLogger(), level, str, retVal);
+        return isPermitted(level, str) ? LoggerUtils.logAndReturn(getLogger(), level, str, retVal) : retVal;
+    }
+
+    /**
+     * Log and return the value along with one other parameter.
+     *
+     * @param <V>    the type of data to return.
+     *
+     * @param level  the level to log at.
+     * @param str    the log string.
+     * @param retVal the value to return and the value for {0} in <code>str</code>.
+     * @param obj1   the value for {1} in <code>str</code>.
+     *
+     * @return <code>retVal</code>.
+     */
+    protected <V> V logAndReturn(final Level level, final String str, final V retVal, final Object obj1) {
+        return isPermitted(level, str) ? LoggerUtils.logAndReturn(getLogger(), level, str, retVal, obj1) : retVal;
+    }
+
+    /**
+     * Log and return the value along with two other parameters.
+     *
+     * @param <V>    the type of data to return.
+     *
+     * @param level  the level to log at.
+     * @param str    the log string.
+     * @param retVal the value to return and the value for {0} in <code>str</code>.
+     * @param obj1   the value for {1} in <code>str</code>.
+     * @param obj2   the value for {2} in <code>str</code>.
+     *
+     * @return <code>retVal</code>.
+     */
+    protected <V> V logAndReturn(final Level level, final String str, final V retVal, final Object obj1, final Object obj2) {
+        return isPermitted(level, str) ? LoggerUtils.logAndReturn(getLogger(), level, str, retVal, obj1, obj2) : retVal;
+    }
+
+    /**
+     * Log and return the value along with three other parameters.
+     *
+     * @param <V>    the type of data to return.
+     *
+     * @param level  the level to log at.
+     * @param str    the log string.
+     * @param retVal the value to return and the value for {0} in <code>str</code>.
+     * @param obj1   the value for {1} in <code>str</code>.
+     * @param obj2   the value for {2} in <code>str</code>.
+     * @param obj3   the value for {3} in <code>str</code>.
+     *
+     * @return <code>retVal</code>.
+     */
+    protected <V> V logAndReturn(final Level level, final String str, final V retVal, final Object obj1, final Object obj2, final Object obj3) {
+        return isPermitted(level, str) ? LoggerUtils.logAndReturn(getLogger(), level, str, retVal, obj1, obj2, obj3) : retVal;
+    }
+
+    /**
+     * Log and return the boolean value - <code>retVal</code> is only boxed if <code>level</code> is enabled.
+     *
+     * @param level  the level to log at.
+     * @param str    the log string.
+     * @param retVal the value to return and the value for {0} in <code>str</code>.
+     *
+     * @return <code>retVal</code>.
+     */
+    protected boolean logAndReturn(final Level level, final String str, final boolean retVal) {
+        return isPermitted(level, str) ? LoggerUtils.logAndReturn(getLogger(), level, str, retVal) : retVal;
+    }
+
+    /**
+     * Log and return the int value - <code>retVal</code> is only boxed if <code>level</code> is enabled.
+     *
+     * @param level  the level to log at.
+     * @param str    the log string.
+     * @param retVal the value to return and the value for {0} in <code>str</code>.
+     *
+     * @return <code>retVal</code>.
+     */
+    protected int logAndReturn(final Level level, final String str, final int retVal) {
+        return isPermitted(level, str) ? LoggerUtils.logAndReturn(getLogger(), level, str, retVal) : retVal;
+    }
+
+    /**
+     * Log and return the long value - <code>retVal</code> is only boxed if <code>level</code> is enabled.
+     *
+     * @param level  the level to log at.
+     * @param str    the log string.
+     * @param retVal the value to return and the value for {0} in <code>str</code>.
+     *
+     * @return <code>retVal</code>.
+     */
+    protected long logAndReturn(final Level level, final String str, final long retVal) {
+        return isPermitted(level, str) ? LoggerUtils.logAndReturn(getLogger(), level, str, retVal) : retVal;
     }
 
     /**
@@ -109,8 +366,9 @@ public abstract class AbstractCommonBase {
      *
      * @return the value found at index <code>index</code> in the var args <code>objs</code>.
      */
+    @SuppressWarnings("unchecked")
     protected <V> V logAndReturnByIndex(final Level level, final String str, final int index, final Object... objs) {
-        return LoggerUtils.logAndReturnByIndex(getLogger(), level, str, index, objs);
+        return isPermitted(level, str) ? LoggerUtils.<V>logAndReturnByIndex(getLogger(), level, str, index, objs) : (V) objs[index];
     }
 
     /**
@@ -124,7 +382,8 @@ public abstract class AbstractCommonBase {
      *
      * @return the value found at 0th index in the var args <code>objs</code>.
      */
+    @SuppressWarnings("unchecked")
     protected <V> V logAndReturn(final Level level, final String str, final Object... objs) {
-        return LoggerUtils.logAndReturn(getLogger(), level, str, objs);
+        return isPermitted(level, str) ? LoggerUtils.<V>logAndReturn(getLogger(), level, str, objs) : (V) objs[0];
     }
 }
@@ -0,0 +1,60 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore;
+
+import java.util.Collection;
+
+/**
+ * A filter backed by an index kept in step with one iterable, accepting elements whose key matches the value filtered against.
+ * IterableUtils.contains() and CollectionUtils.filter() answer from the index rather than scanning when given the iterable it
+ * indexes - the matches are then in the order they were indexed, which need not be the iterable's iteration order (say for a
+ * HashSet, or a list changed by position).
+ *
+ * @author Scot P. Floess
+ *
+ * @param <T> the type being filtered.
+ * @param <V> the key filtered against.
+ */
+public interface IndexedFilter<T, V> extends Filter<T, V> {
+
+    /**
+     * Return true if our index is kept in step with toSearch.
+     *
+     * @param toSearch the iterable to be searched.
+     *
+     * @return true if the index can answer for toSearch.
+     */
+    boolean isIndexOf(Iterable<?> toSearch);
+
+    /**
+     * Return true if any indexed element is accepted for value.
+     *
+     * @param value the key.
+     *
+     * @return true if an element has the key.
+     */
+    boolean contains(V value);
+
+    /**
+     * Return the indexed elements accepted for value, in the order they were indexed.
+     *
+     * @param value the key.
+     *
+     * @return the elements having the key - empty if none.
+     */
+    Collection<T> filter(V value);
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * An atomic index into an array. The baseline uses an AtomicIntegerFieldUpdater on an inline volatile field (no separate
+ * AtomicInteger to allocate or dereference) - on Java 9 and above the multi-release jar replaces this class with a VarHandle
+ * version avoiding the updater's per call type checks.
+ *
+ * @author Scot P. Floess
+ */
+final class ArrayIndex {
+
+    /**
+     * Updates our value.
+     */
+    private static final AtomicIntegerFieldUpdater<ArrayIndex> VALUE = AtomicIntegerFieldUpdater.newUpdater(ArrayIndex.class, "value");
+
+    /**
+     * The current index.
+     */
+    private volatile int value;
+
+    /**
+     * Start at index.
+     *
+     * @param index the starting index.
+     */
+    ArrayIndex(final int index) {
+        this.value = index;
+    }
+
+    /**
+     * Start at zero.
+     */
+    ArrayIndex() {
+        this(0);
+    }
+
+    /**
+     * Return the current index.
+     *
+     * @return the current index.
+     */
+    int get() {
+        return value;
+    }
+
+    /**
+     * Increment the index returning the previous value.
+     *
+     * @return the previous value.
+     */
+    int getAndIncrement() {
+        return VALUE.getAndIncrement(this);
+    }
+
+    /**
+     * Add delta to the index returning the previous value.
+     *
+     * @param delta the amount to add.
+     *
+     * @return the previous value.
+     */
+    int getAndAdd(final int delta) {
+        return VALUE.getAndAdd(this, delta);
+    }
+
+    /**
+     * Set the index to update if it is currently expect.
+     *
+     * @param expect the expected index.
+     * @param update the new index.
+     *
+     * @return true if the index was changed.
+     */
+    boolean compareAndSet(final int expect, final int update) {
+        return VALUE.compareAndSet(this, expect, update);
+    }
+}
@@ -17,34 +17,356 @@
 package org.flossware.jcore.collections;
 
 import java.util.Iterator;
-import org.flossware.jcore.AbstractCommonBase;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.flossware.jcore.utils.ObjectUtils;
 import org.flossware.jcore.utils.collections.ArrayUtils;
 
 /**
- * Converts an array into an iteratable.
+ * Converts an array, or a range of one, into an iteratable. Each call to iterator() returns a new, independent iterator so an
+ * instance can be iterated any number of times and by any number of threads at once. Sub-ranges and reversed views share the
+ * array rather than copying it. The spliterator splits the range in halves and knows its exact size, so stream() and
+ * parallelStream() process arrays without copying them into a collection.
+ *
+ * The array is not copied: changes to it are seen by all views.
  *
  * @author Scot P. Floess
  * 
  * @param <T> the type of value in the array.
  */
-public class ArrayIterable<T> extends AbstractCommonBase implements Iterable<T> {
-    
-    private final ArrayIterator arrayIterator; 
+public class ArrayIterable<T> implements Iterable<T> {
+
+    /**
+     * Iterates a range of an array from its end to its start.
+     *
+     * @param <T> the type of value in the array.
+     */
+    static final class ReverseIterator<T> implements Iterator<T> {
+
+        /**
+         * The array.
+         */
+        private final T[] values;
+
+        /**
+         * The first index of the range - the last one we return.
+         */
+        private final int low;
+
+        /**
+         * One past the index of the next value.
+         */
+        private int current;
+
+        /**
+         * Sets the range.
+         */
+        ReverseIterator(final T[] values, final int low, final int high) {
+            this.values = values;
+            this.low = low;
+            this.current = high;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean hasNext() {
+            return current > low;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public T next() {
+            if (current <= low) {
+                throw new NoSuchElementException(ArrayIterator.NEXT_ERROR_MSG);
+            }
+
+            return values[--current];
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void forEachRemaining(final Consumer<? super T> action) {
+            int at = current;
+
+            while (at > low) {
+                action.accept(values[--at]);
+            }
+
+            current = at;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException(ArrayIterator.REMOVE_ERROR_MSG);
+        }
+    }
+
+    /**
+     * Splits a range of an array visited from its end to its start.
+     *
+     * @param <T> the type of value in the array.
+     */
+    static final class ReverseSpliterator<T> implements Spliterator<T> {
+
+        /**
+         * The array.
+         */
+        private final T[] values;
+
+        /**
+         * The first index of the range - the last one visited.
+         */
+        private final int low;
+
+        /**
+         * One past the index of the next value.
+         */
+        private int high;
+
+        /**
+         * Sets the range.
+         */
+        ReverseSpliterator(final T[] values, final int low, final int high) {
+            this.values = values;
+            this.low = low;
+            this.high = high;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean tryAdvance(final Consumer<? super T> action) {
+            if (high <= low) {
+                return false;
+            }
+
+            action.accept(values[--high]);
+
+            return true;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void forEachRemaining(final Consumer<? super T> action) {
+            int at = high;
+
+            high = low;
+
+            while (at > low) {
+                action.accept(values[--at]);
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * The upper half comes first in encounter order so it is the one handed off.
+         */
+        @Override
+        public Spliterator<T> trySplit() {
+            final int middle = (low + high) >>> 1;
+
+            if (middle <= low) {
+                return null;
+            }
+
+            final ReverseSpliterator<T> retVal = new ReverseSpliterator<>(values, middle, high);
+
+            high = middle;
+
+            return retVal;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public long estimateSize() {
+            return high - low;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+    }
+
+    /**
+     * The array.
+     */
+    private final T[] values;
+
+    /**
+     * The first index of our range.
+     */
+    private final int offset;
+
+    /**
+     * One past the last index of our range.
+     */
+    private final int end;
+
+    /**
+     * True if we iterate from end to offset.
+     */
+    private final boolean reversed;
+
+    /**
+     * Creates a view of an already validated range.
+     *
+     * @param values   the array elements.
+     * @param offset   the first index of the range.
+     * @param end      one past the last index of the range.
+     * @param reversed true to iterate from end to offset.
+     */
+    ArrayIterable(final T[] values, final int offset, final int end, final boolean reversed) {
+        this.values = values;
+        this.offset = offset;
+        this.end = end;
+        this.reversed = reversed;
+    }
+
+    /**
+     * Sets a range of an array to iterate upon.
+     *
+     * @param values the array elements.
+     * @param offset the first index to iterate.
+     * @param length the number of elements to iterate.
+     *
+     * @throws IllegalArgumentException if values is null, has null elements or the range is not within values.
+     */
+    public ArrayIterable(final T[] values, final int offset, final int length) {
+        this(ArrayUtils.ensureArray(values, 0), offset, ArrayUtils.ensureRange(values.length, offset, length), false);
+    }
 
     /**
      * Sets an array to iterate upon.
      *
      * @param values the array elements.
+     *
+     * @throws IllegalArgumentException if values is null or has null elements.
      */
     public ArrayIterable(final T[] values) {
-        this.arrayIterator = new ArrayIterator(ArrayUtils.ensureArray(values, 0));
+        this(values, 0, ObjectUtils.ensureObject(values).length);
+    }
+
+    /**
+     * Return the number of elements.
+     *
+     * @return the number of elements.
+     */
+    public int size() {
+        return end - offset;
+    }
+
+    /**
+     * Return true if iterating from the end of the range to its start.
+     *
+     * @return true if reversed.
+     */
+    public boolean isReversed() {
+        return reversed;
+    }
+
+    /**
+     * Return a view of part of our elements - positions are in our iteration order. The array is shared, not copied.
+     *
+     * @param from   the position of the first element of the view.
+     * @param length the number of elements in the view.
+     *
+     * @return the view.
+     *
+     * @throws IllegalArgumentException if the range is not within our elements.
+     */
+    public ArrayIterable<T> subIterable(final int from, final int length) {
+        ArrayUtils.ensureRange(size(), from, length);
+
+        return reversed ? new ArrayIterable<>(values, end - from - length, end - from, true) : new ArrayIterable<>(values, offset + from, offset + from + length, false);
+    }
+
+    /**
+     * Return a view iterating our elements in the opposite order. The array is shared, not copied.
+     *
+     * @return the reversed view.
+     */
+    public ArrayIterable<T> reverse() {
+        return new ArrayIterable<>(values, offset, end, !reversed);
     }
 
     /**
      * {@inheritDoc}
+     *
+     * Each call returns a new iterator.
      */
     @Override
     public Iterator<T> iterator() {
-        return arrayIterator;
+        return reversed ? new ReverseIterator<>(values, offset, end) : new ArrayIterator<>(values, offset, end - offset);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Walks the array directly.
+     */
+    @Override
+    public void forEach(final Consumer<? super T> action) {
+        ObjectUtils.ensureObject(action);
+
+        if (reversed) {
+            for (int index = end - 1; index >= offset; index--) {
+                action.accept(values[index]);
+            }
+        } else {
+            for (int index = offset; index < end; index++) {
+                action.accept(values[index]);
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * SIZED, SUBSIZED and ORDERED - splits the range in halves.
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return reversed ? new ReverseSpliterator<>(values, offset, end) : Spliterators.spliterator(values, offset, end, Spliterator.ORDERED);
+    }
+
+    /**
+     * Return a sequential stream of the elements.
+     *
+     * @return a sequential stream.
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * Return a parallel stream of the elements.
+     *
+     * @return a parallel stream.
+     */
+    public Stream<T> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
     }
 }
@@ -18,19 +18,25 @@ package org.flossware.jcore.collections;
 
 import java.util.Iterator;
 import java.util.NoSuchElementException;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
 import java.util.logging.Level;
-import org.flossware.jcore.AbstractCommonBase;
+import java.util.logging.Logger;
+import org.flossware.jcore.utils.LoggerUtils;
+import org.flossware.jcore.utils.ObjectUtils;
 import org.flossware.jcore.utils.collections.ArrayUtils;
 
 /**
- * Converts an array into an iterator.
+ * Converts an array into an iterator. Built for tight loops: a plain int cursor, no per element logging and a
+ * forEachRemaining() that walks the array directly - so not thread safe. Use SharedArrayIterator to have many threads
+ * consume one array.
  *
  * @author Scot P. Floess
  *
  * @param <T> the type in the array.
  */
-public class ArrayIterator<T> extends AbstractCommonBase implements Iterator<T> {
+public class ArrayIterator<T> implements Iterator<T> {
 
     /**
      * Error message when one presents a null object to the constructor.
@@ -47,32 +53,33 @@ public class ArrayIterator<T> extends AbstractCommonBase implements Iterator<T>
      */
     public static final String REMOVE_ERROR_MSG = "This iterator does not support remove!";
 
+    /**
+     * Our logger.
+     */
+    private static final Logger LOGGER = Logger.getLogger(ArrayIterator.class.getName());
+
     /**
      * This contains the array that will be iterated upon.
      */
     private final T[] values;
 
     /**
-     * Stores our index.
+     * One past the last index to iterate.
      */
-    private final AtomicInteger index;
+    private final int end;
 
     /**
-     * Return the values.
-     *
-     * @return the values.
+     * The next index.
      */
-    private T[] getValues() {
-        return values;
-    }
+    private int index;
 
     /**
-     * Return the index.
+     * Return our logger.
      *
-     * @return the index.
+     * @return our logger.
      */
-    private AtomicInteger getIndex() {
-        return index;
+    static Logger getLogger() {
+        return LOGGER;
     }
 
     /**
@@ -81,21 +88,38 @@ public class ArrayIterator<T> extends AbstractCommonBase implements Iterator<T>
      * @throws NoSuchElementException if there are no more elements to pull from in the array.
      */
     void ensureNext() {
-        if (getIndex().intValue() >= getValues().length) {
-            log(Level.WARNING, "No next element!  Current index [{0}] Total values [{1}]", getIndex().intValue(), getValues().length);
+        if (index >= end) {
+            LoggerUtils.log(getLogger(), Level.WARNING, "No next element!  Current index [{0}] End [{1}]", index, end);
 
             throw new NoSuchElementException(NEXT_ERROR_MSG);
         }
     }
 
+    /**
+     * Sets a range of an array to iterate upon. Elements are not inspected, so this is constant time and null elements are
+     * returned as is.
+     *
+     * @param values the array elements.
+     * @param offset the first index to iterate.
+     * @param length the number of elements to iterate.
+     *
+     * @throws IllegalArgumentException if values is null or the range is not within values.
+     */
+    public ArrayIterator(final T[] values, final int offset, final int length) {
+        this.values = ObjectUtils.ensureObject(values, NULL_ERROR_MSG);
+        this.end = ArrayUtils.ensureRange(values.length, offset, length);
+        this.index = offset;
+    }
+
     /**
      * Sets an array to iterate upon.
      *
      * @param values the array elements.
+     *
+     * @throws IllegalArgumentException if values is null.
      */
     public ArrayIterator(final T[] values) {
-        this.values = ArrayUtils.ensureArray(values, 0, NULL_ERROR_MSG);
-        this.index = new AtomicInteger();
+        this(values, 0, ObjectUtils.ensureObject(values, NULL_ERROR_MSG).length);
     }
 
     /**
@@ -103,7 +127,7 @@ public class ArrayIterator<T> extends AbstractCommonBase implements Iterator<T>
      */
     @Override
     public boolean hasNext() {
-        return logAndReturn(Level.FINEST, "Has more data [{0}]", getIndex().intValue() < getValues().length);
+        return index < end;
     }
 
     /**
@@ -113,7 +137,40 @@ public class ArrayIterator<T> extends AbstractCommonBase implements Iterator<T>
     public T next() {
         ensureNext();
 
-        return logAndReturn(Level.FINEST, "Next value [{0}]", getValues()[getIndex().getAndIncrement()]);
+        return values[index++];
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Walks the remaining elements with a local cursor, updating ours once at the end.
+     */
+    @Override
+    public void forEachRemaining(final Consumer<? super T> action) {
+        final T[] theValues = values;
+        final int theEnd = end;
+
+        int current = index;
+
+        for (; current < theEnd; current++) {
+            action.accept(theValues[current]);
+        }
+
+        index = current;
+    }
+
+    /**
+     * Return a SIZED, SUBSIZED and ORDERED spliterator over the elements not yet returned - they are handed over to the
+     * spliterator so this iterator is exhausted afterwards.
+     *
+     * @return a spliterator over the remaining elements.
+     */
+    public Spliterator<T> spliterator() {
+        final int start = index;
+
+        index = end;
+
+        return Spliterators.spliterator(values, start, end, Spliterator.ORDERED);
     }
 
     /**
@@ -0,0 +1,330 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+import org.flossware.jcore.utils.IntUtils;
+import org.flossware.jcore.utils.ObjectUtils;
+import org.flossware.jcore.utils.collections.ArrayUtils;
+
+/**
+ * Distributes the elements of an array across a fixed number of workers, for example the threads of a pool. The range is split
+ * evenly into one slot per worker. A worker claims chunks from the front of its own slot - a quarter of what is left, never less
+ * than the minimum chunk - so chunks shrink as the slot drains. Once its slot is empty the worker steals the back half of another
+ * worker's slot. Each slot's start and end are packed into one long, so a claim or steal is a single compare and set and every
+ * element is handed out exactly once.
+ *
+ * Nothing is lost if some workers never run: their slots are stolen by the workers that do. Null elements are not allowed.
+ *
+ * @author Scot P. Floess
+ *
+ * @param <T> the type in the array.
+ */
+public class ChunkedArrayCursor<T> {
+
+    /**
+     * Error message when the number of workers is not positive.
+     */
+    public static final String WORKERS_ERROR_MSG = "Must have at least one worker!";
+
+    /**
+     * Error message when a worker is not one of ours.
+     */
+    public static final String WORKER_ERROR_MSG = "Worker must be between zero and the number of workers!";
+
+    /**
+     * Error message when the minimum chunk is not positive.
+     */
+    public static final String MIN_CHUNK_ERROR_MSG = "Minimum chunk must be positive!";
+
+    /**
+     * Error message when no action is provided.
+     */
+    public static final String ACTION_ERROR_MSG = "Must provide an action!";
+
+    /**
+     * Default minimum number of elements claimed at once.
+     */
+    public static final int DEFAULT_MIN_CHUNK = 16;
+
+    /**
+     * Longs between slots - keeps each slot on its own cache line so workers do not contend on neighbouring slots.
+     */
+    static final int STRIDE = 8;
+
+    /**
+     * A worker claims this fraction (as a shift) of what is left in its slot.
+     */
+    static final int CHUNK_SHIFT = 2;
+
+    /**
+     * The array.
+     */
+    private final T[] values;
+
+    /**
+     * The minimum number of elements claimed at once.
+     */
+    private final int minChunk;
+
+    /**
+     * The number of workers.
+     */
+    private final int workers;
+
+    /**
+     * The packed start and end of each worker's slot.
+     */
+    private final AtomicLongArray slots;
+
+    /**
+     * Pack a range into a long.
+     *
+     * @param start the first index.
+     * @param end   one past the last index.
+     *
+     * @return the packed range.
+     */
+    static long pack(final int start, final int end) {
+        return ((long) start << 32) | (end & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Return the start of a packed range.
+     *
+     * @param range the packed range.
+     *
+     * @return the first index.
+     */
+    static int start(final long range) {
+        return (int) (range >>> 32);
+    }
+
+    /**
+     * Return the end of a packed range.
+     *
+     * @param range the packed range.
+     *
+     * @return one past the last index.
+     */
+    static int end(final long range) {
+        return (int) range;
+    }
+
+    /**
+     * Sets a range of an array to distribute.
+     *
+     * @param values   the array elements.
+     * @param offset   the first index to distribute.
+     * @param length   the number of elements to distribute.
+     * @param workers  the number of workers.
+     * @param minChunk the minimum number of elements claimed at once.
+     *
+     * @throws IllegalArgumentException if values is null, has null elements, the range is not within values, or workers or
+     *                                  minChunk are not positive.
+     */
+    public ChunkedArrayCursor(final T[] values, final int offset, final int length, final int workers, final int minChunk) {
+        this.values = ArrayUtils.ensureArray(values, 0, ArrayIterator.NULL_ERROR_MSG);
+        this.workers = IntUtils.ensureMinInt(workers, 1, WORKERS_ERROR_MSG);
+        this.minChunk = IntUtils.ensureMinInt(minChunk, 1, MIN_CHUNK_ERROR_MSG);
+        this.slots = new AtomicLongArray(workers * STRIDE);
+
+        final int end = ArrayUtils.ensureRange(values.length, offset, length);
+
+        for (int worker = 0; worker < workers; worker++) {
+            slots.set(worker * STRIDE, pack(offset + (int) ((long) length * worker / workers), offset + (int) ((long) length * (worker + 1) / workers)));
+        }
+    }
+
+    /**
+     * Sets an array to distribute.
+     *
+     * @param values  the array elements.
+     * @param workers the number of workers.
+     *
+     * @throws IllegalArgumentException if values is null, has null elements or workers is not positive.
+     */
+    public ChunkedArrayCursor(final T[] values, final int workers) {
+        this(values, 0, ObjectUtils.ensureObject(values, ArrayIterator.NULL_ERROR_MSG).length, workers, DEFAULT_MIN_CHUNK);
+    }
+
+    /**
+     * Sets an array to distribute across one worker per available processor.
+     *
+     * @param values the array elements.
+     *
+     * @throws IllegalArgumentException if values is null or has null elements.
+     */
+    public ChunkedArrayCursor(final T[] values) {
+        this(values, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Return the number of workers.
+     *
+     * @return the number of workers.
+     */
+    public int getWorkers() {
+        return workers;
+    }
+
+    /**
+     * Return the minimum number of elements claimed at once.
+     *
+     * @return the minimum chunk.
+     */
+    public int getMinChunk() {
+        return minChunk;
+    }
+
+    /**
+     * Return the number of elements not yet claimed - only a snapshot while workers are running.
+     *
+     * @return the number of elements not yet claimed.
+     */
+    public int remaining() {
+        int retVal = 0;
+
+        for (int worker = 0; worker < workers; worker++) {
+            final long range = slots.get(worker * STRIDE);
+
+            retVal += end(range) - start(range);
+        }
+
+        return retVal;
+    }
+
+    /**
+     * Claim a chunk from the front of worker's own slot.
+     *
+     * @param slot the worker's slot.
+     *
+     * @return the packed chunk, or an empty range if the slot is empty.
+     */
+    long claimOwn(final int slot) {
+        for (long range = slots.get(slot);; range = slots.get(slot)) {
+            final int start = start(range);
+            final int end = end(range);
+
+            if (start >= end) {
+                return pack(end, end);
+            }
+
+            final int chunkEnd = start + Math.min(end - start, Math.max(minChunk, (end - start) >>> CHUNK_SHIFT));
+
+            if (slots.compareAndSet(slot, range, pack(chunkEnd, end))) {
+                return pack(start, chunkEnd);
+            }
+        }
+    }
+
+    /**
+     * Steal the back half of another worker's slot - all of it when only one element is left.
+     *
+     * @param worker the worker stealing.
+     *
+     * @return the packed range stolen, or an empty range if every slot is empty.
+     */
+    long steal(final int worker) {
+        for (int victim = (worker + 1) % workers; victim != worker; victim = (victim + 1) % workers) {
+            final int slot = victim * STRIDE;
+
+            for (long range = slots.get(slot); start(range) < end(range); range = slots.get(slot)) {
+                final int start = start(range);
+                final int end = end(range);
+                final int middle = start + ((end - start) >>> 1);
+
+                if (slots.compareAndSet(slot, range, pack(start, middle))) {
+                    return pack(middle, end);
+                }
+            }
+        }
+
+        return pack(0, 0);
+    }
+
+    /**
+     * Claim the next chunk for worker - from its own slot, or stolen from another once its own is empty.
+     *
+     * @param worker the worker claiming, from zero to the number of workers.
+     *
+     * @return the packed chunk, or an empty range once every slot is empty.
+     */
+    long next(final int worker) {
+        final int slot = IntUtils.ensureMaxInt(IntUtils.ensureMinInt(worker, 0, WORKER_ERROR_MSG), workers - 1, WORKER_ERROR_MSG) * STRIDE;
+        final long chunk = claimOwn(slot);
+
+        if (start(chunk) < end(chunk)) {
+            return chunk;
+        }
+
+        final long stolen = steal(worker);
+
+        if (start(stolen) >= end(stolen)) {
+            return stolen;
+        }
+
+        // Only the owner refills its slot, and only once it is empty - thieves leave empty slots alone...
+        slots.set(slot, stolen);
+
+        return claimOwn(slot);
+    }
+
+    /**
+     * Claim the next chunk for worker - from its own slot, or stolen from another once its own is empty.
+     *
+     * @param worker the worker claiming, from zero to the number of workers.
+     *
+     * @return a view of the chunk, or null once every slot is empty.
+     *
+     * @throws IllegalArgumentException if worker is not one of ours.
+     */
+    public ArrayIterable<T> claim(final int worker) {
+        final long chunk = next(worker);
+
+        return start(chunk) < end(chunk) ? new ArrayIterable<>(values, start(chunk), end(chunk), false) : null;
+    }
+
+    /**
+     * Hand action the elements claimed by worker until every slot is empty. Call from each worker thread.
+     *
+     * @param worker the worker claiming, from zero to the number of workers.
+     * @param action called with each element claimed.
+     *
+     * @return the number of elements worker processed.
+     *
+     * @throws IllegalArgumentException if worker is not one of ours or action is null.
+     */
+    public int forEach(final int worker, final Consumer<? super T> action) {
+        ObjectUtils.ensureObject(action, ACTION_ERROR_MSG);
+
+        int retVal = 0;
+
+        for (long chunk = next(worker); start(chunk) < end(chunk); chunk = next(worker)) {
+            final int end = end(chunk);
+
+            for (int index = start(chunk); index < end; index++) {
+                action.accept(values[index]);
+            }
+
+            retVal += end - start(chunk);
+        }
+
+        return retVal;
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import org.flossware.jcore.utils.LoggerUtils;
+import org.flossware.jcore.utils.ObjectUtils;
+import org.flossware.jcore.utils.collections.ArrayUtils;
+
+/**
+ * A thread safe iterator over an array, for handing the elements of one array out to many threads - each element is returned
+ * to exactly one caller. Elements are claimed with a compare and set on an inline index, so the cursor never moves past the end.
+ *
+ * With many consumers hasNext() followed by next() can race, so consumers should use poll() (null when the array is exhausted)
+ * or forEachRemaining(). Null elements are not allowed, keeping poll() unambiguous.
+ *
+ * @author Scot P. Floess
+ *
+ * @param <T> the type in the array.
+ */
+public class SharedArrayIterator<T> implements Iterator<T> {
+
+    /**
+     * The array that will be iterated upon.
+     */
+    private final T[] values;
+
+    /**
+     * One past the last index to iterate.
+     */
+    private final int end;
+
+    /**
+     * The next index to claim.
+     */
+    private final ArrayIndex index;
+
+    /**
+     * Sets a range of an array to iterate upon.
+     *
+     * @param values the array elements.
+     * @param offset the first index to iterate.
+     * @param length the number of elements to iterate.
+     *
+     * @throws IllegalArgumentException if values is null, has null elements or the range is not within values.
+     */
+    public SharedArrayIterator(final T[] values, final int offset, final int length) {
+        this.values = ArrayUtils.ensureArray(values, 0, ArrayIterator.NULL_ERROR_MSG);
+        this.end = ArrayUtils.ensureRange(values.length, offset, length);
+        this.index = new ArrayIndex(offset);
+    }
+
+    /**
+     * Sets an array to iterate upon.
+     *
+     * @param values the array elements.
+     *
+     * @throws IllegalArgumentException if values is null or has null elements.
+     */
+    public SharedArrayIterator(final T[] values) {
+        this(values, 0, ObjectUtils.ensureObject(values, ArrayIterator.NULL_ERROR_MSG).length);
+    }
+
+    /**
+     * Claim the next element.
+     *
+     * @return the next element, or null if there are none left.
+     */
+    public T poll() {
+        for (int current = index.get(); current < end; current = index.get()) {
+            if (index.compareAndSet(current, current + 1)) {
+                return values[current];
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Return the number of elements not yet claimed.
+     *
+     * @return the number of elements not yet claimed.
+     */
+    public int remaining() {
+        return Math.max(0, end - index.get());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Another thread may claim the element before our next().
+     */
+    @Override
+    public boolean hasNext() {
+        return index.get() < end;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public T next() {
+        final T retVal = poll();
+
+        if (null == retVal) {
+            LoggerUtils.log(ArrayIterator.getLogger(), Level.WARNING, "No next element!  End [{0}]", end);
+
+            throw new NoSuchElementException(ArrayIterator.NEXT_ERROR_MSG);
+        }
+
+        return retVal;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Claims one element at a time so other threads keep their share.
+     */
+    @Override
+    public void forEachRemaining(final Consumer<? super T> action) {
+        for (T value = poll(); null != value; value = poll()) {
+            action.accept(value);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void remove() {
+        ArrayIterator.getLogger().log(Level.WARNING, ArrayIterator.REMOVE_ERROR_MSG);
+
+        throw new UnsupportedOperationException(ArrayIterator.REMOVE_ERROR_MSG);
+    }
+}
@@ -18,6 +18,7 @@ package org.flossware.jcore.collections.collection;
 
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.Spliterator;
 import java.util.logging.Level;
 import org.flossware.jcore.AbstractCommonBase;
 
@@ -112,7 +113,7 @@ public abstract class AbstractFunctionalCollection<V> extends AbstractCommonBase
      */
     @Override
     public boolean contains(final Object o) {
-        return logAndReturnByIndex(Level.FINEST, "Object [{0}] contained [{1}]", 1, o, getCollection().contains(o));
+        return logAndReturn(Level.FINEST, "Contained [{0}] for object [{1}]", getCollection().contains(o), o);
     }
 
     /**
@@ -123,6 +124,16 @@ public abstract class AbstractFunctionalCollection<V> extends AbstractCommonBase
         return getCollection().iterator();
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * Uses the spliterator of the underlying collection so parallel operations split its storage rather than an iterator.
+     */
+    @Override
+    public Spliterator<V> spliterator() {
+        return getCollection().spliterator();
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -0,0 +1,158 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.collection;
+
+import org.flossware.jcore.AbstractCommonBase;
+import org.flossware.jcore.utils.ObjectUtils;
+
+/**
+ * Abstract base class for int functional collections, implements the fluent and bulk operations in terms of the single value
+ * ones.
+ *
+ * @author Scot P. Floess
+ */
+public abstract class AbstractIntFunctionalCollection extends AbstractCommonBase implements IntFunctionalCollection {
+
+    /**
+     * Error message when no values are provided.
+     */
+    public static final String VALUES_ERROR_MSG = "Must provide values!";
+
+    /**
+     * Error message when no collection is provided.
+     */
+    public static final String COLLECTION_ERROR_MSG = "Must provide a collection!";
+
+    /**
+     * Error message when no consumer is provided.
+     */
+    public static final String CONSUMER_ERROR_MSG = "Must provide a consumer!";
+
+    /**
+     * Default constructor.
+     */
+    protected AbstractIntFunctionalCollection() {
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean containsAll(final int... values) {
+        for (final int value : ObjectUtils.ensureObject(values, VALUES_ERROR_MSG)) {
+            if (!contains(value)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean addAll(final int... values) {
+        boolean retVal = false;
+
+        for (final int value : ObjectUtils.ensureObject(values, VALUES_ERROR_MSG)) {
+            retVal |= add(value);
+        }
+
+        return retVal;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public IntFunctionalCollection addF(final int value) {
+        add(value);
+
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public IntFunctionalCollection removeF(final int value) {
+        remove(value);
+
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public IntFunctionalCollection addAllF(final int... values) {
+        addAll(values);
+
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public IntFunctionalCollection addAllF(final IntFunctionalCollection collection) {
+        addAll(ObjectUtils.ensureObject(collection, COLLECTION_ERROR_MSG).toArray());
+
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public IntFunctionalCollection removeAllF(final int... values) {
+        removeAll(values);
+
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public IntFunctionalCollection removeAllF(final IntFunctionalCollection collection) {
+        removeAll(ObjectUtils.ensureObject(collection, COLLECTION_ERROR_MSG).toArray());
+
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("[");
+
+        forEach(value -> sb.append(sb.length() > 1 ? ", " : "").append(value));
+
+        return sb.append(']').toString();
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.collection;
+
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import org.flossware.jcore.utils.collections.HashIndexUtils;
+
+/**
+ * The collection behind ImmutableFunctionalCollection: elements in a flat array (in the iteration order of the collection
+ * copied, duplicates kept) and an open addressing index of their positions for contains(). Mutators inherited from
+ * AbstractCollection raise UnsupportedOperationException.
+ *
+ * @author Scot P. Floess
+ *
+ * @param <V> the type of value.
+ */
+final class CompactCollection<V> extends AbstractCollection<V> {
+
+    /**
+     * The elements.
+     */
+    private final Object[] elements;
+
+    /**
+     * Positions of the elements by hash.
+     */
+    private final int[] index;
+
+    /**
+     * Copies a collection.
+     *
+     * @param collection the collection to copy.
+     */
+    CompactCollection(final Collection<? extends V> collection) {
+        this.elements = collection.toArray();
+        this.index = HashIndexUtils.newIndex(elements, elements.length);
+    }
+
+    /**
+     * Return the element at a position.
+     *
+     * @param position the position.
+     *
+     * @return the element.
+     */
+    @SuppressWarnings("unchecked")
+    V elementAt(final int position) {
+        return (V) elements[position];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return elements.length;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean contains(final Object object) {
+        return HashIndexUtils.indexOf(index, elements, object) >= 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Object[] toArray() {
+        return Arrays.copyOf(elements, elements.length);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void forEach(final Consumer<? super V> action) {
+        for (int position = 0; position < elements.length; position++) {
+            action.accept(elementAt(position));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Splits the elements array in halves.
+     */
+    @Override
+    public Spliterator<V> spliterator() {
+        return Spliterators.spliterator(elements, Spliterator.ORDERED | Spliterator.IMMUTABLE);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Iterator<V> iterator() {
+        return new Iterator<V>() {
+            private int position;
+
+            @Override
+            public boolean hasNext() {
+                return position < elements.length;
+            }
+
+            @Override
+            public V next() {
+                if (position >= elements.length) {
+                    throw new NoSuchElementException();
+                }
+
+                return elementAt(position++);
+            }
+        };
+    }
+}
@@ -17,6 +17,12 @@
 package org.flossware.jcore.collections.collection;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import org.flossware.jcore.utils.collections.ParallelUtils;
 
 /**
  * Represents a "functional" set which allows us to extend the core functions with values that return self so we can chain calls.
@@ -63,4 +69,129 @@ public interface FunctionalCollection<V> extends Collection<V> {
      * @return self.
      */
     FunctionalCollection<V> removeAllF(Collection<?> collection);
+
+    /**
+     * Return an immutable, compact copy of self - safe to share across threads without locking.
+     *
+     * @return an immutable copy.
+     */
+    default FunctionalCollection<V> freeze() {
+        return new ImmutableFunctionalCollection<>(this);
+    }
+
+    /**
+     * Perform action on each element in parallel, splitting into pieces of no more than threshold elements.
+     *
+     * @param threshold number of elements below which a piece is processed sequentially.
+     * @param action    performed on each element, in no particular order - must be thread safe.
+     *
+     * @return self.
+     *
+     * @throws IllegalArgumentException if action is null or threshold is not positive.
+     */
+    default FunctionalCollection<V> parallelForEach(final int threshold, final Consumer<? super V> action) {
+        ParallelUtils.forEach(spliterator(), threshold, action);
+
+        return this;
+    }
+
+    /**
+     * Perform action on each element in parallel using the default threshold.
+     *
+     * @param action performed on each element, in no particular order - must be thread safe.
+     *
+     * @return self.
+     *
+     * @throws IllegalArgumentException if action is null.
+     */
+    default FunctionalCollection<V> parallelForEach(final Consumer<? super V> action) {
+        return parallelForEach(ParallelUtils.DEFAULT_THRESHOLD, action);
+    }
+
+    /**
+     * Return the elements matching predicate, tested in parallel.
+     *
+     * @param threshold number of elements below which a piece is processed sequentially.
+     * @param predicate the elements to keep - must be thread safe.
+     *
+     * @return the matching elements in iteration order.
+     *
+     * @throws IllegalArgumentException if predicate is null or threshold is not positive.
+     */
+    default List<V> parallelFilter(final int threshold, final Predicate<? super V> predicate) {
+        return ParallelUtils.filter(spliterator(), threshold, predicate);
+    }
+
+    /**
+     * Return the elements matching predicate, tested in parallel using the default threshold.
+     *
+     * @param predicate the elements to keep - must be thread safe.
+     *
+     * @return the matching elements in iteration order.
+     *
+     * @throws IllegalArgumentException if predicate is null.
+     */
+    default List<V> parallelFilter(final Predicate<? super V> predicate) {
+        return parallelFilter(ParallelUtils.DEFAULT_THRESHOLD, predicate);
+    }
+
+    /**
+     * Return function applied to each element in parallel.
+     *
+     * @param <R> the type of result.
+     *
+     * @param threshold number of elements below which a piece is processed sequentially.
+     * @param function  applied to each element - must be thread safe.
+     *
+     * @return the results in iteration order.
+     *
+     * @throws IllegalArgumentException if function is null or threshold is not positive.
+     */
+    default <R> List<R> parallelMap(final int threshold, final Function<? super V, ? extends R> function) {
+        return ParallelUtils.map(spliterator(), threshold, function);
+    }
+
+    /**
+     * Return function applied to each element in parallel using the default threshold.
+     *
+     * @param <R> the type of result.
+     *
+     * @param function applied to each element - must be thread safe.
+     *
+     * @return the results in iteration order.
+     *
+     * @throws IllegalArgumentException if function is null.
+     */
+    default <R> List<R> parallelMap(final Function<? super V, ? extends R> function) {
+        return parallelMap(ParallelUtils.DEFAULT_THRESHOLD, function);
+    }
+
+    /**
+     * Combine the elements in parallel.
+     *
+     * @param threshold number of elements below which a piece is processed sequentially.
+     * @param identity  the result for no elements.
+     * @param operator  combines two elements - must be associative.
+     *
+     * @return the combined result.
+     *
+     * @throws IllegalArgumentException if operator is null or threshold is not positive.
+     */
+    default V parallelReduce(final int threshold, final V identity, final BinaryOperator<V> operator) {
+        return ParallelUtils.reduce(spliterator(), threshold, identity, operator);
+    }
+
+    /**
+     * Combine the elements in parallel using the default threshold.
+     *
+     * @param identity the result for no elements.
+     * @param operator combines two elements - must be associative.
+     *
+     * @return the combined result.
+     *
+     * @throws IllegalArgumentException if operator is null.
+     */
+    default V parallelReduce(final V identity, final BinaryOperator<V> operator) {
+        return parallelReduce(ParallelUtils.DEFAULT_THRESHOLD, identity, operator);
+    }
 }
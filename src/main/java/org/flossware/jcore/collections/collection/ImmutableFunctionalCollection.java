@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.collection;
+
+import java.util.Collection;
+import java.util.function.Consumer;
+import org.flossware.jcore.utils.ObjectUtils;
+
+/**
+ * An immutable functional collection, typically created via FunctionalCollection.freeze(). Elements are held in a flat array
+ * with an open addressing index of their positions, so contains() is constant time whatever collection was copied, and being
+ * immutable it is safe to share across threads without locking. Iterates in the order of the collection copied, duplicates
+ * included. Nulls are allowed.
+ *
+ * All mutators raise UnsupportedOperationException.
+ *
+ * @author Scot P. Floess
+ *
+ * @param <V> the type of value.
+ */
+public class ImmutableFunctionalCollection<V> extends AbstractFunctionalCollection<V> {
+
+    /**
+     * Error message when no collection is provided.
+     */
+    public static final String COLLECTION_ERROR_MSG = "Collection cannot be null!";
+
+    /**
+     * Our collection.
+     */
+    private final CompactCollection<V> collection;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected CompactCollection<V> getCollection() {
+        return collection;
+    }
+
+    /**
+     * Copies a collection - later changes to it are not seen.
+     *
+     * @param collection the collection to copy.
+     *
+     * @throws IllegalArgumentException if collection is null.
+     */
+    public ImmutableFunctionalCollection(final Collection<? extends V> collection) {
+        this.collection = new CompactCollection<>(ObjectUtils.ensureObject(collection, COLLECTION_ERROR_MSG));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Already immutable so returns self.
+     */
+    @Override
+    public ImmutableFunctionalCollection<V> freeze() {
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void forEach(final Consumer<? super V> action) {
+        collection.forEach(action);
+    }
+}
@@ -0,0 +1,349 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.collection;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.logging.Level;
+import org.flossware.jcore.IndexedFilter;
+import org.flossware.jcore.utils.ObjectUtils;
+import org.flossware.jcore.utils.collections.CollectionUtils;
+import org.flossware.jcore.utils.collections.FilterIndex;
+import org.flossware.jcore.utils.collections.IndexType;
+
+/**
+ * A functional collection keeping a FilterIndex of its elements by key in step with every change made through it - adds,
+ * removes, bulk changes and removal through its iterators. Looking elements up by key then costs O(1) (hash) or O(log n)
+ * (sorted) rather than a scan, and the filter returned by asFilter() lets IterableUtils.contains() and CollectionUtils.filter()
+ * use the index too - returning matches in the order they were indexed, not necessarily the order the collection iterates.
+ *
+ * Changes made directly to the wrapped collection bypass the index: call reindex() afterwards. Keys must be consistent with
+ * equals and must not change while an element is held. Not thread safe.
+ *
+ * @author Scot P. Floess
+ *
+ * @param <V> the type of element.
+ * @param <K> the key.
+ */
+public class IndexedFunctionalCollection<V, K> extends AbstractFunctionalCollection<V> {
+
+    /**
+     * Keeps the index in step with removals through an iterator.
+     */
+    final class IndexedIterator implements Iterator<V> {
+
+        /**
+         * The iterator of our collection.
+         */
+        private final Iterator<V> iterator;
+
+        /**
+         * The last element returned.
+         */
+        private V current;
+
+        /**
+         * Sets the iterator of our collection.
+         */
+        IndexedIterator(final Iterator<V> iterator) {
+            this.iterator = iterator;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean hasNext() {
+            return iterator.hasNext();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public V next() {
+            current = iterator.next();
+
+            return current;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void remove() {
+            iterator.remove();
+            index.remove(current);
+        }
+    }
+
+    /**
+     * A filter answering from our index when searching us.
+     */
+    final class KeyFilter implements IndexedFilter<V, K> {
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean accept(final V toFilter, final K value) {
+            return index.hasKey(toFilter, value);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean isIndexOf(final Iterable<?> toSearch) {
+            return IndexedFunctionalCollection.this == toSearch;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean contains(final K value) {
+            return containsKey(value);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Collection<V> filter(final K value) {
+            return IndexedFunctionalCollection.this.filter(value);
+        }
+    }
+
+    /**
+     * Our collection.
+     */
+    private final Collection<V> collection;
+
+    /**
+     * Our elements by key.
+     */
+    private final FilterIndex<V, K> index;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    protected <T extends Collection<V>> T getCollection() {
+        return (T) collection;
+    }
+
+    /**
+     * Index collection.
+     *
+     * @param collection the collection to use.
+     * @param key        computes the key of an element.
+     * @param type       how to organize keys.
+     * @param comparator orders keys for sorted indexes - may be null for natural ordering.
+     *
+     * @throws IllegalArgumentException if collection, key or type is null.
+     */
+    public IndexedFunctionalCollection(final Collection<V> collection, final Function<? super V, ? extends K> key, final IndexType type, final Comparator<? super K> comparator) {
+        this.collection = ObjectUtils.ensureObject(collection, CollectionUtils.COLLECTION_ERROR_MSG);
+        this.index = new FilterIndex<>(collection, key, type, comparator);
+    }
+
+    /**
+     * Index collection, sorted indexes using natural ordering.
+     *
+     * @param collection the collection to use.
+     * @param key        computes the key of an element.
+     * @param type       how to organize keys.
+     *
+     * @throws IllegalArgumentException if any param is null.
+     */
+    public IndexedFunctionalCollection(final Collection<V> collection, final Function<? super V, ? extends K> key, final IndexType type) {
+        this(collection, key, type, null);
+    }
+
+    /**
+     * Hash index collection.
+     *
+     * @param collection the collection to use.
+     * @param key        computes the key of an element.
+     *
+     * @throws IllegalArgumentException if any param is null.
+     */
+    public IndexedFunctionalCollection(final Collection<V> collection, final Function<? super V, ? extends K> key) {
+        this(collection, key, IndexType.HASH);
+    }
+
+    /**
+     * Return a filter accepting elements whose key matches the value filtered against (see FilterIndex), answered from our index
+     * when searching us.
+     *
+     * @return the filter.
+     */
+    public IndexedFilter<V, K> asFilter() {
+        return new KeyFilter();
+    }
+
+    /**
+     * Return true if any element has key.
+     *
+     * @param key the key.
+     *
+     * @return true if an element has key.
+     */
+    public boolean containsKey(final K key) {
+        return logAndReturn(Level.FINEST, "Contains key [{0}] for [{1}]", index.contains(key), key);
+    }
+
+    /**
+     * Return the elements having key.
+     *
+     * @param key the key.
+     *
+     * @return an unmodifiable view of the elements having key - empty if none.
+     */
+    public List<V> filter(final K key) {
+        return index.filter(key);
+    }
+
+    /**
+     * Return the elements whose key is from fromKey (inclusive) up to toKey (exclusive), in key order. Sorted indexes only.
+     *
+     * @param fromKey the lowest key.
+     * @param toKey   one past the highest key.
+     *
+     * @return a new list of the elements in range.
+     *
+     * @throws UnsupportedOperationException if the index is a hash index.
+     */
+    public List<V> filter(final K fromKey, final K toKey) {
+        return index.filter(fromKey, toKey);
+    }
+
+    /**
+     * Rebuild the index from our collection - after changing it directly.
+     *
+     * @return self.
+     */
+    public IndexedFunctionalCollection<V, K> reindex() {
+        log(Level.FINE, "Reindexing");
+
+        index.clear();
+
+        for (final V value : collection) {
+            index.add(value);
+        }
+
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Iterator<V> iterator() {
+        return new IndexedIterator(collection.iterator());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean add(final V e) {
+        if (!super.add(e)) {
+            return false;
+        }
+
+        index.add(e);
+
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean remove(final Object o) {
+        if (!super.remove(o)) {
+            return false;
+        }
+
+        index.remove(asElement(o));
+
+        return true;
+    }
+
+    /**
+     * Treat an object our collection just removed as an element - it equals one of ours, so is one given keys consistent with
+     * equals.
+     *
+     * @param o the object removed.
+     *
+     * @return o as an element.
+     */
+    @SuppressWarnings("unchecked")
+    private V asElement(final Object o) {
+        return (V) o;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean addAll(final Collection<? extends V> clctn) {
+        boolean retVal = false;
+
+        for (final V value : clctn) {
+            retVal |= add(value);
+        }
+
+        return retVal;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean removeAll(final Collection<?> clctn) {
+        ObjectUtils.ensureObject(clctn);
+
+        return removeIf(clctn::contains);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean retainAll(final Collection<?> clctn) {
+        ObjectUtils.ensureObject(clctn);
+
+        return removeIf(value -> !clctn.contains(value));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear() {
+        super.clear();
+
+        index.clear();
+    }
+}
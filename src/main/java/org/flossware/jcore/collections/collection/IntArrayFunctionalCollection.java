@@ -0,0 +1,278 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.collection;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+import java.util.logging.Level;
+import org.flossware.jcore.utils.IntUtils;
+import org.flossware.jcore.utils.ObjectUtils;
+import org.flossware.jcore.utils.collections.PrimitiveHashUtils;
+
+/**
+ * A int functional collection backed by a growable int[] - values are kept in insertion order and duplicates are allowed (much
+ * like an ArrayList). Best suited to appending and iterating, contains() is a linear scan: use IntHashFunctionalCollection when
+ * lookups dominate.
+ *
+ * Not thread safe. To keep the hot paths free of logging overhead only structural changes (growth and clearing) are logged.
+ *
+ * @author Scot P. Floess
+ */
+public class IntArrayFunctionalCollection extends AbstractIntFunctionalCollection {
+
+    /**
+     * Default initial capacity.
+     */
+    public static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * Error message when the initial capacity is negative.
+     */
+    public static final String CAPACITY_ERROR_MSG = "Capacity cannot be negative!";
+
+    /**
+     * Error message when an index is out of range.
+     */
+    public static final String INDEX_ERROR_MSG = "Index out of range!";
+
+    /**
+     * Beyond this many values to remove, removeAll() hashes them rather than scanning them for every element.
+     */
+    static final int REMOVE_ALL_HASH_THRESHOLD = 8;
+
+    /**
+     * The values.
+     */
+    private int[] values;
+
+    /**
+     * Number of values used.
+     */
+    private int size;
+
+    /**
+     * Ensure there is room for minCapacity values.
+     *
+     * @param minCapacity the capacity needed.
+     */
+    private void ensureCapacity(final int minCapacity) {
+        if (minCapacity > values.length) {
+            final int newCapacity = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(minCapacity, values.length + (values.length >> 1) + 1L));
+
+            if (newCapacity < minCapacity) {
+                throw new IllegalStateException(PrimitiveHashUtils.CAPACITY_ERROR_MSG);
+            }
+
+            log(Level.FINE, "Growing from [{0}] to [{1}]", values.length, newCapacity);
+
+            values = Arrays.copyOf(values, newCapacity);
+        }
+    }
+
+    /**
+     * Return the index of the first occurrence of value or -1 if not present.
+     *
+     * @param value the value to find.
+     *
+     * @return the index of the first occurrence of value or -1 if not present.
+     */
+    public int indexOf(final int value) {
+        for (int index = 0; index < size; index++) {
+            if (values[index] == value) {
+                return index;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Return the value at index.
+     *
+     * @param index the index of the value.
+     *
+     * @return the value at index.
+     *
+     * @throws IndexOutOfBoundsException if index is out of range.
+     */
+    public int get(final int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(INDEX_ERROR_MSG);
+        }
+
+        return values[index];
+    }
+
+    /**
+     * Reduce the backing array to the number of values.
+     *
+     * @return self.
+     */
+    public IntArrayFunctionalCollection trimToSize() {
+        if (values.length > size) {
+            values = Arrays.copyOf(values, size);
+        }
+
+        return this;
+    }
+
+    /**
+     * Sets the initial capacity.
+     *
+     * @param capacity the initial capacity.
+     *
+     * @throws IllegalArgumentException if capacity is negative.
+     */
+    public IntArrayFunctionalCollection(final int capacity) {
+        this.values = new int[IntUtils.ensureMinInt(capacity, 0, CAPACITY_ERROR_MSG)];
+    }
+
+    /**
+     * Copies values.
+     *
+     * @param values the initial values.
+     *
+     * @throws IllegalArgumentException if values is null.
+     */
+    public IntArrayFunctionalCollection(final int[] values) {
+        this.values = ObjectUtils.ensureObject(values, VALUES_ERROR_MSG).clone();
+        this.size = values.length;
+    }
+
+    /**
+     * Default constructor.
+     */
+    public IntArrayFunctionalCollection() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean contains(final int value) {
+        return indexOf(value) >= 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean add(final int value) {
+        ensureCapacity(size + 1);
+
+        values[size++] = value;
+
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean addAll(final int... toAdd) {
+        ObjectUtils.ensureObject(toAdd, VALUES_ERROR_MSG);
+
+        ensureCapacity(size + toAdd.length);
+
+        System.arraycopy(toAdd, 0, values, size, toAdd.length);
+
+        size += toAdd.length;
+
+        return toAdd.length > 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean remove(final int value) {
+        final int index = indexOf(value);
+
+        if (index < 0) {
+            return false;
+        }
+
+        System.arraycopy(values, index + 1, values, index, size - index - 1);
+
+        size--;
+
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean removeAll(final int... toRemove) {
+        ObjectUtils.ensureObject(toRemove, VALUES_ERROR_MSG);
+
+        final IntFunctionalCollection lookup = toRemove.length > REMOVE_ALL_HASH_THRESHOLD ? new IntHashFunctionalCollection(toRemove) : new IntArrayFunctionalCollection(toRemove);
+
+        int retained = 0;
+
+        for (int index = 0; index < size; index++) {
+            if (!lookup.contains(values[index])) {
+                values[retained++] = values[index];
+            }
+        }
+
+        final boolean retVal = retained != size;
+
+        size = retained;
+
+        return retVal;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear() {
+        log(Level.FINE, "Clearing [{0}] values", size);
+
+        size = 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void forEach(final IntConsumer consumer) {
+        ObjectUtils.ensureObject(consumer, CONSUMER_ERROR_MSG);
+
+        for (int index = 0; index < size; index++) {
+            consumer.accept(values[index]);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.collection;
+
+import java.util.function.LongConsumer;
+
+/**
+ * A "functional" collection of primitive longs. Values are never boxed and bulk operations work directly on long[]s. Like
+ * FunctionalCollection, mutators ending in F return self so calls may be chained: collection.addF(1).addF(2).removeF(1)
+ *
+ * @author Scot P. Floess
+ */
+public interface LongFunctionalCollection {
+
+    /**
+     * Return the number of values.
+     *
+     * @return the number of values.
+     */
+    int size();
+
+    /**
+     * Return true if there are no values.
+     *
+     * @return true if there are no values.
+     */
+    boolean isEmpty();
+
+    /**
+     * Return true if value is present.
+     *
+     * @param value the value to look for.
+     *
+     * @return true if value is present.
+     */
+    boolean contains(long value);
+
+    /**
+     * Return true if all values are present.
+     *
+     * @param values the values to look for.
+     *
+     * @return true if all values are present.
+     */
+    boolean containsAll(long... values);
+
+    /**
+     * Add value.
+     *
+     * @param value the value to add.
+     *
+     * @return true if the collection changed.
+     */
+    boolean add(long value);
+
+    /**
+     * Add all values.
+     *
+     * @param values the values to add.
+     *
+     * @return true if the collection changed.
+     */
+    boolean addAll(long... values);
+
+    /**
+     * Remove a single occurrence of value.
+     *
+     * @param value the value to remove.
+     *
+     * @return true if the collection changed.
+     */
+    boolean remove(long value);
+
+    /**
+     * Remove all occurrences of values.
+     *
+     * @param values the values to remove.
+     *
+     * @return true if the collection changed.
+     */
+    boolean removeAll(long... values);
+
+    /**
+     * Remove all values.
+     */
+    void clear();
+
+    /**
+     * Return a copy of the values.
+     *
+     * @return a copy of the values.
+     */
+    long[] toArray();
+
+    /**
+     * Present each value to consumer.
+     *
+     * @param consumer receives each value.
+     */
+    void forEach(LongConsumer consumer);
+
+    /**
+     * Add value.
+     *
+     * @param value the value to add.
+     *
+     * @return self.
+     */
+    LongFunctionalCollection addF(long value);
+
+    /**
+     * Remove a single occurrence of value.
+     *
+     * @param value the value to remove.
+     *
+     * @return self.
+     */
+    LongFunctionalCollection removeF(long value);
+
+    /**
+     * Add all values.
+     *
+     * @param values the values to add.
+     *
+     * @return self.
+     */
+    LongFunctionalCollection addAllF(long... values);
+
+    /**
+     * Add all values in collection.
+     *
+     * @param collection the values to add.
+     *
+     * @return self.
+     */
+    LongFunctionalCollection addAllF(LongFunctionalCollection collection);
+
+    /**
+     * Remove all occurrences of values.
+     *
+     * @param values the values to remove.
+     *
+     * @return self.
+     */
+    LongFunctionalCollection removeAllF(long... values);
+
+    /**
+     * Remove all occurrences of the values in collection.
+     *
+     * @param collection the values to remove.
+     *
+     * @return self.
+     */
+    LongFunctionalCollection removeAllF(LongFunctionalCollection collection);
+}
@@ -0,0 +1,332 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.collection;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+import java.util.logging.Level;
+import org.flossware.jcore.utils.ObjectUtils;
+import org.flossware.jcore.utils.collections.PrimitiveHashUtils;
+
+/**
+ * A long functional collection with set semantics (no duplicates) backed by an open addressing (linear probing) hash table of
+ * longs - no entry objects and no boxing, so contains() and remove() never chase pointers. Removal shifts following values back
+ * so no tombstones are left behind. The 0 value marks a free slot so it is tracked outside the table.
+ *
+ * Not thread safe. To keep the hot paths free of logging overhead only structural changes (growth and clearing) are logged.
+ *
+ * @author Scot P. Floess
+ */
+public class LongHashFunctionalCollection extends AbstractLongFunctionalCollection {
+
+    /**
+     * The load factor.
+     */
+    private final float loadFactor;
+
+    /**
+     * The values - 0 denotes a free slot.
+     */
+    private long[] table;
+
+    /**
+     * Mask used to compute a slot (table size - 1).
+     */
+    private int mask;
+
+    /**
+     * Number of values in the table (0 is not counted).
+     */
+    private int assigned;
+
+    /**
+     * Number of values in the table before it must grow.
+     */
+    private int maxFill;
+
+    /**
+     * True if 0 is present.
+     */
+    private boolean hasZero;
+
+    /**
+     * Allocate the table.
+     *
+     * @param tableSize the table size.
+     */
+    private void allocate(final int tableSize) {
+        table = new long[tableSize];
+        mask = tableSize - 1;
+        maxFill = PrimitiveHashUtils.maxFill(tableSize, loadFactor);
+    }
+
+    /**
+     * Double the table, rehashing all values.
+     */
+    private void grow() {
+        if (table.length >= PrimitiveHashUtils.MAX_CAPACITY) {
+            throw new IllegalStateException(PrimitiveHashUtils.CAPACITY_ERROR_MSG);
+        }
+
+        log(Level.FINE, "Growing table from [{0}] for [{1}] values", table.length, assigned);
+
+        final long[] oldTable = table;
+
+        allocate(oldTable.length << 1);
+
+        for (final long value : oldTable) {
+            if (value != 0) {
+                int slot = PrimitiveHashUtils.mix(value) & mask;
+
+                while (table[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+
+                table[slot] = value;
+            }
+        }
+    }
+
+    /**
+     * Return the slot holding value or -1 if not present.
+     *
+     * @param value the value - cannot be 0.
+     *
+     * @return the slot holding value or -1 if not present.
+     */
+    private int find(final long value) {
+        int slot = PrimitiveHashUtils.mix(value) & mask;
+
+        for (long current = table[slot]; current != 0; current = table[slot]) {
+            if (current == value) {
+                return slot;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Remove the value at slot, shifting back any following values whose probe sequence passes through slot.
+     *
+     * @param slot the slot to free.
+     */
+    private void removeSlot(final int slot) {
+        int free = slot;
+        int current = (free + 1) & mask;
+
+        for (long value = table[current]; value != 0; value = table[current]) {
+            final int home = PrimitiveHashUtils.mix(value) & mask;
+
+            if (free <= current ? (home <= free || home > current) : (home <= free && home > current)) {
+                table[free] = value;
+                free = current;
+            }
+
+            current = (current + 1) & mask;
+        }
+
+        table[free] = 0;
+        assigned--;
+    }
+
+    /**
+     * Sizes the collection to hold expectedSize values before growing at loadFactor.
+     *
+     * @param expectedSize the number of values expected.
+     * @param loadFactor   the fraction of the table that may be used before growing.
+     *
+     * @throws IllegalArgumentException if expectedSize is negative or loadFactor is not greater than 0 and less than 1.
+     */
+    public LongHashFunctionalCollection(final int expectedSize, final float loadFactor) {
+        this.loadFactor = PrimitiveHashUtils.ensureLoadFactor(loadFactor);
+
+        allocate(PrimitiveHashUtils.tableSize(expectedSize, loadFactor));
+    }
+
+    /**
+     * Sizes the collection to hold expectedSize values before growing.
+     *
+     * @param expectedSize the number of values expected.
+     *
+     * @throws IllegalArgumentException if expectedSize is negative.
+     */
+    public LongHashFunctionalCollection(final int expectedSize) {
+        this(expectedSize, PrimitiveHashUtils.DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Adds the distinct values.
+     *
+     * @param values the initial values.
+     *
+     * @throws IllegalArgumentException if values is null.
+     */
+    public LongHashFunctionalCollection(final long[] values) {
+        this(ObjectUtils.ensureObject(values, VALUES_ERROR_MSG).length);
+
+        addAll(values);
+    }
+
+    /**
+     * Default constructor.
+     */
+    public LongHashFunctionalCollection() {
+        this(PrimitiveHashUtils.DEFAULT_EXPECTED_SIZE);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return hasZero ? assigned + 1 : assigned;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean contains(final long value) {
+        return value == 0 ? hasZero : find(value) >= 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean add(final long value) {
+        if (value == 0) {
+            final boolean retVal = !hasZero;
+
+            hasZero = true;
+
+            return retVal;
+        }
+
+        int slot = PrimitiveHashUtils.mix(value) & mask;
+
+        for (long current = table[slot]; current != 0; current = table[slot]) {
+            if (current == value) {
+                return false;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+
+        table[slot] = value;
+
+        if (++assigned > maxFill) {
+            grow();
+        }
+
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean remove(final long value) {
+        if (value == 0) {
+            final boolean retVal = hasZero;
+
+            hasZero = false;
+
+            return retVal;
+        }
+
+        final int slot = find(value);
+
+        if (slot < 0) {
+            return false;
+        }
+
+        removeSlot(slot);
+
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean removeAll(final long... values) {
+        boolean retVal = false;
+
+        for (final long value : ObjectUtils.ensureObject(values, VALUES_ERROR_MSG)) {
+            retVal |= remove(value);
+        }
+
+        return retVal;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear() {
+        log(Level.FINE, "Clearing [{0}] values", size());
+
+        Arrays.fill(table, 0);
+
+        assigned = 0;
+        hasZero = false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long[] toArray() {
+        final long[] retVal = new long[size()];
+
+        int count = 0;
+
+        if (hasZero) {
+            retVal[count++] = 0;
+        }
+
+        for (final long value : table) {
+            if (value != 0) {
+                retVal[count++] = value;
+            }
+        }
+
+        return retVal;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void forEach(final LongConsumer consumer) {
+        ObjectUtils.ensureObject(consumer, CONSUMER_ERROR_MSG);
+
+        if (hasZero) {
+            consumer.accept(0);
+        }
+
+        for (final long value : table) {
+            if (value != 0) {
+                consumer.accept(value);
+            }
+        }
+    }
+}
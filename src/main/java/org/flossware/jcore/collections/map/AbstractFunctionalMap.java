@@ -21,6 +21,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.logging.Level;
 import org.flossware.jcore.AbstractCommonBase;
+import org.flossware.jcore.utils.collections.MapUtils;
 
 /**
  * Abstract base class for functional maps.
@@ -45,6 +46,23 @@ public abstract class AbstractFunctionalMap<K, V> extends AbstractCommonBase imp
      */
     protected abstract Map<K, V> getMap();
 
+    /**
+     * Make room for expectedSize entries so a batch can be added without repeated rehashing. Does nothing by default.
+     *
+     * @param expectedSize the number of entries expected.
+     */
+    protected void ensureCapacity(final int expectedSize) {
+    }
+
+    /**
+     * Make room for batchSize more entries than we currently hold.
+     *
+     * @param batchSize the number of entries about to be added.
+     */
+    protected void ensureAdditionalCapacity(final int batchSize) {
+        ensureCapacity((int) Math.min(Integer.MAX_VALUE, (long) getMap().size() + batchSize));
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -67,6 +85,39 @@ public abstract class AbstractFunctionalMap<K, V> extends AbstractCommonBase imp
         return this;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    public FunctionalMap<K, V> putAllF(final K[] keys, final V[] values) {
+        final int length = MapUtils.ensureParallel(keys, values);
+
+        log(Level.FINEST, "Putting [{0}] keys", length);
+
+        ensureAdditionalCapacity(length);
+
+        MapUtils.putAll(getMap(), keys, values);
+
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public FunctionalMap<K, V> removeAllF(final Collection<?> keys) {
+        log(Level.FINEST, "Removing keys {0}", keys);
+
+        MapUtils.removeAll(getMap(), keys);
+
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Map<K, V> getAll(final Collection<? extends K> keys) {
+        return logAndReturn(Level.FINEST, "Retrieved {0} for keys {1}", MapUtils.getAll(getMap(), keys), keys);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -107,7 +158,7 @@ public abstract class AbstractFunctionalMap<K, V> extends AbstractCommonBase imp
      */
     @Override
     public boolean containsValue(final Object o) {
-        return logAndReturn(Level.FINEST, "Map contains value result [{0}] for value [{1}]", getMap().containsValue(o), 0);
+        return logAndReturn(Level.FINEST, "Map contains value result [{0}] for value [{1}]", getMap().containsValue(o), o);
     }
 
     /**
@@ -141,6 +192,8 @@ public abstract class AbstractFunctionalMap<K, V> extends AbstractCommonBase imp
     public void putAll(Map<? extends K, ? extends V> map) {
         log(Level.FINEST, "Putting all {0}", map);
 
+        ensureAdditionalCapacity(map.size());
+
         getMap().putAll(map);
     }
 
@@ -0,0 +1,349 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.map;
+
+import java.util.Objects;
+
+/**
+ * A trie node with up to 32 branches, each either an entry held inline or a child node. Two bitmaps say which branches are
+ * which, and content holds only what is present: the inline keys and values, in branch order, followed by the children in
+ * branch order.
+ *
+ * @author Scot P. Floess
+ *
+ * @param <K> the key.
+ * @param <V> the value.
+ */
+final class BitmapIndexedNode<K, V> extends HamtNode<K, V> {
+
+    /**
+     * The root of an empty trie.
+     */
+    @SuppressWarnings("rawtypes")
+    static final BitmapIndexedNode EMPTY = new BitmapIndexedNode<>(0, 0, new Object[0]);
+
+    /**
+     * Branches holding an inline entry.
+     */
+    private final int dataMap;
+
+    /**
+     * Branches holding a child node.
+     */
+    private final int nodeMap;
+
+    /**
+     * Inline keys and values followed by the children.
+     */
+    private final Object[] content;
+
+    /**
+     * Return the index among the inline entries of a branch.
+     *
+     * @param bit the branch.
+     *
+     * @return the index.
+     */
+    private int dataIndex(final int bit) {
+        return Integer.bitCount(dataMap & (bit - 1));
+    }
+
+    /**
+     * Return the index among the children of a branch.
+     *
+     * @param bit the branch.
+     *
+     * @return the index.
+     */
+    private int nodeIndex(final int bit) {
+        return Integer.bitCount(nodeMap & (bit - 1));
+    }
+
+    /**
+     * Return a copy with an inline entry added.
+     *
+     * @param bit   the branch.
+     * @param key   the key.
+     * @param value the value.
+     *
+     * @return the new node.
+     */
+    private BitmapIndexedNode<K, V> copyAndInsertValue(final int bit, final K key, final V value) {
+        final int index = 2 * dataIndex(bit);
+        final Object[] newContent = new Object[content.length + 2];
+
+        System.arraycopy(content, 0, newContent, 0, index);
+
+        newContent[index] = key;
+        newContent[index + 1] = value;
+
+        System.arraycopy(content, index, newContent, index + 2, content.length - index);
+
+        return new BitmapIndexedNode<>(dataMap | bit, nodeMap, newContent);
+    }
+
+    /**
+     * Return a copy with an inline value replaced.
+     *
+     * @param bit   the branch.
+     * @param value the value.
+     *
+     * @return the new node.
+     */
+    private BitmapIndexedNode<K, V> copyAndSetValue(final int bit, final V value) {
+        final Object[] newContent = content.clone();
+
+        newContent[2 * dataIndex(bit) + 1] = value;
+
+        return new BitmapIndexedNode<>(dataMap, nodeMap, newContent);
+    }
+
+    /**
+     * Return a copy with an inline entry removed.
+     *
+     * @param bit the branch.
+     *
+     * @return the new node.
+     */
+    private BitmapIndexedNode<K, V> copyAndRemoveValue(final int bit) {
+        final int index = 2 * dataIndex(bit);
+        final Object[] newContent = new Object[content.length - 2];
+
+        System.arraycopy(content, 0, newContent, 0, index);
+        System.arraycopy(content, index + 2, newContent, index, content.length - index - 2);
+
+        return new BitmapIndexedNode<>(dataMap ^ bit, nodeMap, newContent);
+    }
+
+    /**
+     * Return a copy with a child replaced.
+     *
+     * @param bit  the branch.
+     * @param node the child.
+     *
+     * @return the new node.
+     */
+    private BitmapIndexedNode<K, V> copyAndSetNode(final int bit, final HamtNode<K, V> node) {
+        final Object[] newContent = content.clone();
+
+        newContent[2 * payloadArity() + nodeIndex(bit)] = node;
+
+        return new BitmapIndexedNode<>(dataMap, nodeMap, newContent);
+    }
+
+    /**
+     * Return a copy with an inline entry replaced by a child.
+     *
+     * @param bit  the branch.
+     * @param node the child.
+     *
+     * @return the new node.
+     */
+    private BitmapIndexedNode<K, V> copyAndMigrateToNode(final int bit, final HamtNode<K, V> node) {
+        final int oldIndex = 2 * dataIndex(bit);
+        final int newIndex = content.length - 2 - Integer.bitCount(nodeMap & ~(bit - 1));
+        final Object[] newContent = new Object[content.length - 1];
+
+        System.arraycopy(content, 0, newContent, 0, oldIndex);
+        System.arraycopy(content, oldIndex + 2, newContent, oldIndex, newIndex - oldIndex);
+
+        newContent[newIndex] = node;
+
+        System.arraycopy(content, newIndex + 2, newContent, newIndex + 1, content.length - newIndex - 2);
+
+        return new BitmapIndexedNode<>(dataMap ^ bit, nodeMap | bit, newContent);
+    }
+
+    /**
+     * Return a copy with a child replaced by an inline entry.
+     *
+     * @param bit   the branch.
+     * @param key   the key.
+     * @param value the value.
+     *
+     * @return the new node.
+     */
+    private BitmapIndexedNode<K, V> copyAndMigrateToInline(final int bit, final K key, final V value) {
+        final int oldIndex = 2 * payloadArity() + nodeIndex(bit);
+        final int newIndex = 2 * dataIndex(bit);
+        final Object[] newContent = new Object[content.length + 1];
+
+        System.arraycopy(content, 0, newContent, 0, newIndex);
+
+        newContent[newIndex] = key;
+        newContent[newIndex + 1] = value;
+
+        System.arraycopy(content, newIndex, newContent, newIndex + 2, oldIndex - newIndex);
+        System.arraycopy(content, oldIndex + 1, newContent, oldIndex + 2, content.length - oldIndex - 1);
+
+        return new BitmapIndexedNode<>(dataMap | bit, nodeMap ^ bit, newContent);
+    }
+
+    /**
+     * Sets the branches and content.
+     *
+     * @param dataMap branches holding an inline entry.
+     * @param nodeMap branches holding a child node.
+     * @param content inline keys and values followed by the children.
+     */
+    BitmapIndexedNode(final int dataMap, final int nodeMap, final Object[] content) {
+        this.dataMap = dataMap;
+        this.nodeMap = nodeMap;
+        this.content = content;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    Object find(final Object key, final int hash, final int shift) {
+        final int bit = bitpos(hash, shift);
+
+        if (0 != (dataMap & bit)) {
+            final int index = 2 * dataIndex(bit);
+
+            return Objects.equals(key, content[index]) ? content[index + 1] : NOT_FOUND;
+        }
+
+        if (0 != (nodeMap & bit)) {
+            return nodeAt(nodeIndex(bit)).find(key, hash, shift + BITS);
+        }
+
+        return NOT_FOUND;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    HamtNode<K, V> put(final K key, final V value, final int hash, final int shift, final Change<V> change) {
+        final int bit = bitpos(hash, shift);
+
+        if (0 != (dataMap & bit)) {
+            final int index = dataIndex(bit);
+            final K currentKey = keyAt(index);
+            final V currentValue = valueAt(index);
+
+            if (Objects.equals(key, currentKey)) {
+                change.oldValue = currentValue;
+
+                return currentValue == value ? this : copyAndSetValue(bit, value);
+            }
+
+            change.added = true;
+
+            return copyAndMigrateToNode(bit, mergeTwo(currentKey, currentValue, hash(currentKey), key, value, hash, shift + BITS));
+        }
+
+        if (0 != (nodeMap & bit)) {
+            final HamtNode<K, V> node = nodeAt(nodeIndex(bit));
+            final HamtNode<K, V> newNode = node.put(key, value, hash, shift + BITS, change);
+
+            return node == newNode ? this : copyAndSetNode(bit, newNode);
+        }
+
+        change.added = true;
+
+        return copyAndInsertValue(bit, key, value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    HamtNode<K, V> remove(final Object key, final int hash, final int shift, final Change<V> change) {
+        final int bit = bitpos(hash, shift);
+
+        if (0 != (dataMap & bit)) {
+            final int index = dataIndex(bit);
+
+            if (!Objects.equals(key, keyAt(index))) {
+                return this;
+            }
+
+            change.removed = true;
+            change.oldValue = valueAt(index);
+
+            return copyAndRemoveValue(bit);
+        }
+
+        if (0 != (nodeMap & bit)) {
+            final HamtNode<K, V> node = nodeAt(nodeIndex(bit));
+            final HamtNode<K, V> newNode = node.remove(key, hash, shift + BITS, change);
+
+            if (node == newNode) {
+                return this;
+            }
+
+            if (0 == newNode.nodeArity() && 1 == newNode.payloadArity()) {
+                // A lone entry moves up to the first level holding anything else, or the root...
+                if (0 == payloadArity() && 1 == nodeArity() && shift > 0) {
+                    return newNode;
+                }
+
+                return copyAndMigrateToInline(bit, newNode.keyAt(0), newNode.valueAt(0));
+            }
+
+            return copyAndSetNode(bit, newNode);
+        }
+
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    int payloadArity() {
+        return Integer.bitCount(dataMap);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    int nodeArity() {
+        return Integer.bitCount(nodeMap);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    K keyAt(final int index) {
+        return (K) content[2 * index];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    V valueAt(final int index) {
+        return (V) content[2 * index + 1];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    HamtNode<K, V> nodeAt(final int index) {
+        return (HamtNode<K, V>) content[2 * payloadArity() + index];
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.map;
+
+/**
+ * A cache entry linked into the write order, the access order and its eviction policy's queue.
+ *
+ * @author Scot P. Floess
+ *
+ * @param <K> the key.
+ * @param <V> the value.
+ */
+final class CacheNode<K, V> {
+
+    /**
+     * The key.
+     */
+    final K key;
+
+    /**
+     * The value.
+     */
+    V value;
+
+    /**
+     * The weight of the entry.
+     */
+    int weight;
+
+    /**
+     * When the value was last written, in ticker nanos.
+     */
+    long writeTime;
+
+    /**
+     * When the entry was last read or written, in ticker nanos.
+     */
+    long accessTime;
+
+    /**
+     * Use count for LFU.
+     */
+    long frequency;
+
+    /**
+     * Which queue the entry is in for policies with more than one.
+     */
+    int queue;
+
+    /**
+     * Previous in the policy queue.
+     */
+    CacheNode<K, V> policyPrev;
+
+    /**
+     * Next in the policy queue.
+     */
+    CacheNode<K, V> policyNext;
+
+    /**
+     * Previous in the write order.
+     */
+    CacheNode<K, V> writePrev;
+
+    /**
+     * Next in the write order.
+     */
+    CacheNode<K, V> writeNext;
+
+    /**
+     * Previous in the access order.
+     */
+    CacheNode<K, V> accessPrev;
+
+    /**
+     * Next in the access order.
+     */
+    CacheNode<K, V> accessNext;
+
+    /**
+     * Sets the entry.
+     *
+     * @param key    the key.
+     * @param value  the value.
+     * @param weight the weight.
+     * @param now    the current ticker time.
+     */
+    CacheNode(final K key, final V value, final int weight, final long now) {
+        this.key = key;
+        this.value = value;
+        this.weight = weight;
+        this.writeTime = now;
+        this.accessTime = now;
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.map;
+
+/**
+ * The bookkeeping behind an eviction policy: told about every insert, access, update and removal, and asked which entry to
+ * evict. The cache removes the victim itself (calling onRemove()).
+ *
+ * @author Scot P. Floess
+ *
+ * @param <K> the key.
+ * @param <V> the value.
+ */
+abstract class CachePolicy<K, V> {
+
+    /**
+     * An entry was added.
+     *
+     * @param node the entry.
+     */
+    abstract void onInsert(CacheNode<K, V> node);
+
+    /**
+     * An entry was read.
+     *
+     * @param node the entry.
+     */
+    abstract void onAccess(CacheNode<K, V> node);
+
+    /**
+     * An entry was removed or evicted.
+     *
+     * @param node the entry.
+     */
+    abstract void onRemove(CacheNode<K, V> node);
+
+    /**
+     * Return the entry to evict next.
+     *
+     * @return the entry to evict or null if there are none.
+     */
+    abstract CacheNode<K, V> victim();
+
+    /**
+     * Forget all entries.
+     */
+    abstract void clear();
+
+    /**
+     * A key was requested but not present - by default ignored.
+     *
+     * @param key the key requested.
+     */
+    void onMiss(final Object key) {
+    }
+
+    /**
+     * An entry's value was replaced - by default treated as an access.
+     *
+     * @param node      the entry whose weight is already updated.
+     * @param oldWeight the weight before the update.
+     */
+    void onUpdate(final CacheNode<K, V> node, final int oldWeight) {
+        onAccess(node);
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.map;
+
+/**
+ * An immutable snapshot of a cache's statistics.
+ *
+ * @author Scot P. Floess
+ */
+public final class CacheStats {
+
+    /**
+     * Number of reads finding a value.
+     */
+    private final long hitCount;
+
+    /**
+     * Number of reads not finding a value.
+     */
+    private final long missCount;
+
+    /**
+     * Number of entries evicted for size.
+     */
+    private final long evictionCount;
+
+    /**
+     * Total weight of the entries evicted for size.
+     */
+    private final long evictionWeight;
+
+    /**
+     * Number of entries removed because they expired.
+     */
+    private final long expirationCount;
+
+    /**
+     * Sets the counts.
+     *
+     * @param hitCount        number of reads finding a value.
+     * @param missCount       number of reads not finding a value.
+     * @param evictionCount   number of entries evicted for size.
+     * @param evictionWeight  total weight of the entries evicted for size.
+     * @param expirationCount number of entries removed because they expired.
+     */
+    public CacheStats(final long hitCount, final long missCount, final long evictionCount, final long evictionWeight, final long expirationCount) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.evictionWeight = evictionWeight;
+        this.expirationCount = expirationCount;
+    }
+
+    /**
+     * Return the number of reads finding a value.
+     *
+     * @return the number of hits.
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Return the number of reads not finding a value.
+     *
+     * @return the number of misses.
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Return the number of reads.
+     *
+     * @return hits plus misses.
+     */
+    public long getRequestCount() {
+        return hitCount + missCount;
+    }
+
+    /**
+     * Return the fraction of reads finding a value, 1 if there were no reads.
+     *
+     * @return the hit rate.
+     */
+    public double getHitRate() {
+        final long requestCount = getRequestCount();
+
+        return 0 == requestCount ? 1.0 : (double) hitCount / requestCount;
+    }
+
+    /**
+     * Return the fraction of reads not finding a value, 0 if there were no reads.
+     *
+     * @return the miss rate.
+     */
+    public double getMissRate() {
+        final long requestCount = getRequestCount();
+
+        return 0 == requestCount ? 0.0 : (double) missCount / requestCount;
+    }
+
+    /**
+     * Return the number of entries evicted for size.
+     *
+     * @return the number of evictions.
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Return the total weight of the entries evicted for size.
+     *
+     * @return the weight evicted.
+     */
+    public long getEvictionWeight() {
+        return evictionWeight;
+    }
+
+    /**
+     * Return the number of entries removed because they expired.
+     *
+     * @return the number of expirations.
+     */
+    public long getExpirationCount() {
+        return expirationCount;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "CacheStats[hits=" + hitCount + ", misses=" + missCount + ", evictions=" + evictionCount + ", evictionWeight=" + evictionWeight + ", expirations=" + expirationCount + "]";
+    }
+}
@@ -0,0 +1,531 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.map;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.LongSupplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.flossware.jcore.utils.IntUtils;
+import org.flossware.jcore.utils.LoggerUtils;
+import org.flossware.jcore.utils.ObjectUtils;
+
+/**
+ * The map behind CachingFunctionalMap: a HashMap of entries also linked in write order and access order (so expired entries
+ * are always at the front of one of them) and into an eviction policy. Every operation first removes expired entries, then
+ * evicts until the total weight is within the maximum.
+ *
+ * Operations are synchronized. Iteration is over a snapshot of the entries taken, under the lock, when it starts.
+ *
+ * @author Scot P. Floess
+ *
+ * @param <K> the key.
+ * @param <V> the value.
+ */
+final class CacheStore<K, V> extends AbstractMap<K, V> {
+
+    /**
+     * Our logger.
+     */
+    private static final Logger LOGGER = Logger.getLogger(CacheStore.class.getName());
+
+    /**
+     * The entries.
+     */
+    private final Map<K, CacheNode<K, V>> data;
+
+    /**
+     * Chooses what to evict.
+     */
+    private final CachePolicy<K, V> policy;
+
+    /**
+     * Weighs entries.
+     */
+    private final Weigher<? super K, ? super V> weigher;
+
+    /**
+     * The maximum total weight.
+     */
+    private final long maximumWeight;
+
+    /**
+     * Nanos after a write an entry expires, 0 for never.
+     */
+    private final long expireAfterWriteNanos;
+
+    /**
+     * Nanos after a read or write an entry expires, 0 for never.
+     */
+    private final long expireAfterAccessNanos;
+
+    /**
+     * Returns the current time in nanos.
+     */
+    private final LongSupplier ticker;
+
+    /**
+     * Entries eldest write first.
+     */
+    private final NodeDeque<K, V> writeOrder;
+
+    /**
+     * Entries eldest read or write first.
+     */
+    private final NodeDeque<K, V> accessOrder;
+
+    /**
+     * The total weight of all entries.
+     */
+    private long weight;
+
+    /**
+     * Number of reads finding a value.
+     */
+    private long hitCount;
+
+    /**
+     * Number of reads not finding a value.
+     */
+    private long missCount;
+
+    /**
+     * Number of entries evicted for size.
+     */
+    private long evictionCount;
+
+    /**
+     * Total weight of entries evicted for size.
+     */
+    private long evictionWeight;
+
+    /**
+     * Number of entries removed because they expired.
+     */
+    private long expirationCount;
+
+    /**
+     * Return the logger.
+     *
+     * @return the logger.
+     */
+    private static Logger getLogger() {
+        return LOGGER;
+    }
+
+    /**
+     * Unlink an entry from everything.
+     *
+     * @param node the entry.
+     */
+    private void unlink(final CacheNode<K, V> node) {
+        writeOrder.remove(node);
+        accessOrder.remove(node);
+        policy.onRemove(node);
+
+        weight -= node.weight;
+    }
+
+    /**
+     * Remove an entry.
+     *
+     * @param node the entry.
+     */
+    private void removeNode(final CacheNode<K, V> node) {
+        data.remove(node.key);
+
+        unlink(node);
+    }
+
+    /**
+     * Return true if an entry has expired.
+     *
+     * @param node the entry.
+     * @param now  the current time.
+     *
+     * @return true if expired.
+     */
+    private boolean isExpired(final CacheNode<K, V> node, final long now) {
+        return (expireAfterWriteNanos > 0 && now - node.writeTime >= expireAfterWriteNanos) || (expireAfterAccessNanos > 0 && now - node.accessTime >= expireAfterAccessNanos);
+    }
+
+    /**
+     * Remove expired entries from the front of an order.
+     *
+     * @param order the write or access order.
+     * @param now   the current time.
+     */
+    private void expire(final NodeDeque<K, V> order, final long now) {
+        while (!order.isEmpty() && isExpired(order.peekFirst(), now)) {
+            removeNode(order.peekFirst());
+
+            expirationCount++;
+        }
+    }
+
+    /**
+     * Remove all expired entries.
+     *
+     * @return the current time.
+     */
+    private long expireEntries() {
+        final long now = ticker.getAsLong();
+
+        if (expireAfterWriteNanos > 0) {
+            expire(writeOrder, now);
+        }
+
+        if (expireAfterAccessNanos > 0) {
+            expire(accessOrder, now);
+        }
+
+        return now;
+    }
+
+    /**
+     * Evict until within the maximum weight.
+     */
+    private void evict() {
+        while (weight > maximumWeight) {
+            final CacheNode<K, V> victim = policy.victim();
+
+            if (null == victim) {
+                return;
+            }
+
+            LoggerUtils.log(getLogger(), Level.FINEST, "Evicting [{0}]", victim.key);
+
+            removeNode(victim);
+
+            evictionCount++;
+            evictionWeight += victim.weight;
+        }
+    }
+
+    /**
+     * Weigh an entry.
+     *
+     * @param key   the key.
+     * @param value the value.
+     *
+     * @return the weight.
+     */
+    private int weigh(final K key, final V value) {
+        return IntUtils.ensureMinInt(weigher.weigh(key, value), 0, CachingFunctionalMap.WEIGHT_ERROR_MSG);
+    }
+
+    /**
+     * Sets the policy, bounds and expiry.
+     *
+     * @param policy                 chooses what to evict.
+     * @param maximumWeight          the maximum total weight.
+     * @param weigher                weighs entries.
+     * @param expireAfterWriteNanos  nanos after a write an entry expires, 0 for never.
+     * @param expireAfterAccessNanos nanos after a read or write an entry expires, 0 for never.
+     * @param ticker                 returns the current time in nanos.
+     */
+    CacheStore(final EvictionPolicy policy, final long maximumWeight, final Weigher<? super K, ? super V> weigher, final long expireAfterWriteNanos, final long expireAfterAccessNanos, final LongSupplier ticker) {
+        this.data = new HashMap<>();
+        this.policy = policy.newPolicy(maximumWeight);
+        this.weigher = weigher;
+        this.maximumWeight = maximumWeight;
+        this.expireAfterWriteNanos = expireAfterWriteNanos;
+        this.expireAfterAccessNanos = expireAfterAccessNanos;
+        this.ticker = ticker;
+        this.writeOrder = NodeDeque.writeOrder();
+        this.accessOrder = NodeDeque.accessOrder();
+    }
+
+    /**
+     * Return the total weight of all entries.
+     *
+     * @return the total weight.
+     */
+    synchronized long getWeight() {
+        expireEntries();
+
+        return weight;
+    }
+
+    /**
+     * Return a snapshot of the statistics.
+     *
+     * @return the statistics.
+     */
+    synchronized CacheStats getStats() {
+        return new CacheStats(hitCount, missCount, evictionCount, evictionWeight, expirationCount);
+    }
+
+    /**
+     * Remove expired entries now rather than on the next operation.
+     */
+    synchronized void cleanUp() {
+        expireEntries();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized int size() {
+        expireEntries();
+
+        return data.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Does not count as a read.
+     */
+    @Override
+    public synchronized boolean containsKey(final Object key) {
+        expireEntries();
+
+        return data.containsKey(key);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized boolean containsValue(final Object value) {
+        expireEntries();
+
+        for (final CacheNode<K, V> node : data.values()) {
+            if (Objects.equals(node.value, value)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized V get(final Object key) {
+        final long now = expireEntries();
+        final CacheNode<K, V> node = data.get(key);
+
+        if (null == node) {
+            missCount++;
+
+            if (null != key) {
+                policy.onMiss(key);
+            }
+
+            return null;
+        }
+
+        hitCount++;
+
+        node.accessTime = now;
+        accessOrder.moveToLast(node);
+        policy.onAccess(node);
+
+        return node.value;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized V put(final K key, final V value) {
+        ObjectUtils.ensureObject(key, CachingFunctionalMap.KEY_ERROR_MSG);
+        ObjectUtils.ensureObject(value, CachingFunctionalMap.VALUE_ERROR_MSG);
+
+        final int newWeight = weigh(key, value);
+        final long now = expireEntries();
+
+        CacheNode<K, V> node = data.get(key);
+
+        if (null == node) {
+            node = new CacheNode<>(key, value, newWeight, now);
+
+            data.put(key, node);
+            writeOrder.addLast(node);
+            accessOrder.addLast(node);
+            policy.onInsert(node);
+
+            weight += newWeight;
+
+            evict();
+
+            return null;
+        }
+
+        final V oldValue = node.value;
+        final int oldWeight = node.weight;
+
+        writeOrder.remove(node);
+        accessOrder.remove(node);
+
+        node.value = value;
+        node.weight = newWeight;
+        node.writeTime = now;
+        node.accessTime = now;
+
+        writeOrder.addLast(node);
+        accessOrder.addLast(node);
+        policy.onUpdate(node, oldWeight);
+
+        weight += newWeight - oldWeight;
+
+        evict();
+
+        return oldValue;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized V remove(final Object key) {
+        expireEntries();
+
+        final CacheNode<K, V> node = data.get(key);
+
+        if (null == node) {
+            return null;
+        }
+
+        removeNode(node);
+
+        return node.value;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void clear() {
+        data.clear();
+        writeOrder.clear();
+        accessOrder.clear();
+        policy.clear();
+
+        weight = 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Entries are immutable and iterating does not count as reading.
+     */
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        return new AbstractSet<Map.Entry<K, V>>() {
+            @Override
+            public Iterator<Map.Entry<K, V>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return CacheStore.this.size();
+            }
+
+            @Override
+            public void clear() {
+                CacheStore.this.clear();
+            }
+        };
+    }
+
+    /**
+     * Iterates a snapshot of the entries, removing expired ones first.
+     */
+    final class EntryIterator implements Iterator<Map.Entry<K, V>> {
+
+        /**
+         * Iterates the snapshot.
+         */
+        private final Iterator<Map.Entry<K, V>> iterator;
+
+        /**
+         * The entry last returned.
+         */
+        private Map.Entry<K, V> last;
+
+        /**
+         * Removes expired entries and takes the snapshot.
+         */
+        EntryIterator() {
+            synchronized (CacheStore.this) {
+                expireEntries();
+
+                final List<Map.Entry<K, V>> snapshot = new ArrayList<>(data.size());
+
+                for (final CacheNode<K, V> node : data.values()) {
+                    snapshot.add(new AbstractMap.SimpleImmutableEntry<>(node.key, node.value));
+                }
+
+                iterator = snapshot.iterator();
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean hasNext() {
+            return iterator.hasNext();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Map.Entry<K, V> next() {
+            last = iterator.next();
+
+            return last;
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * Only removes the entry if its key still maps to the value returned - a value put since the snapshot is kept.
+         */
+        @Override
+        public void remove() {
+            if (null == last) {
+                throw new IllegalStateException();
+            }
+
+            synchronized (CacheStore.this) {
+                final CacheNode<K, V> node = data.get(last.getKey());
+
+                if (null != node && Objects.equals(node.value, last.getValue())) {
+                    removeNode(node);
+                }
+            }
+
+            last = null;
+        }
+    }
+}
@@ -0,0 +1,278 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.map;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.logging.Level;
+import org.flossware.jcore.utils.LongUtils;
+import org.flossware.jcore.utils.ObjectUtils;
+
+/**
+ * A bounded functional map for use as a cache. Once the total weight of its entries (by default each entry weighs 1, so the
+ * maximum weight is the maximum size) exceeds the maximum, entries are evicted per an EvictionPolicy. Entries can also expire a
+ * fixed time after they were written and/or last accessed. Hits, misses, evictions and expirations are counted - see
+ * getStats().
+ *
+ * Only get() counts as an access - containsKey() and iteration do not. Expired entries are removed as part of each operation, or
+ * explicitly via cleanUp(). Null keys and values are not allowed.
+ *
+ * Thread safe: operations synchronize on the underlying map. Iteration is over a snapshot of the entries taken when it starts,
+ * so is safe while other threads use the cache but does not see their changes.
+ *
+ * @author Scot P. Floess
+ *
+ * @param <K> the key.
+ * @param <V> the value.
+ */
+public class CachingFunctionalMap<K, V> extends AbstractFunctionalMap<K, V> {
+
+    /**
+     * Denotes an entry never expires.
+     */
+    public static final long NO_EXPIRY = 0;
+
+    /**
+     * The policy used if none is provided.
+     */
+    public static final EvictionPolicy DEFAULT_POLICY = EvictionPolicy.TINY_LFU;
+
+    /**
+     * Error message when no policy is provided.
+     */
+    public static final String POLICY_ERROR_MSG = "Eviction policy cannot be null!";
+
+    /**
+     * Error message when no weigher is provided.
+     */
+    public static final String WEIGHER_ERROR_MSG = "Weigher cannot be null!";
+
+    /**
+     * Error message when the maximum weight is not positive.
+     */
+    public static final String MAXIMUM_WEIGHT_ERROR_MSG = "Maximum weight must be positive!";
+
+    /**
+     * Error message when an expiry is negative.
+     */
+    public static final String EXPIRY_ERROR_MSG = "Expiry cannot be negative!";
+
+    /**
+     * Error message when a weigher returns a negative weight.
+     */
+    public static final String WEIGHT_ERROR_MSG = "Weight cannot be negative!";
+
+    /**
+     * Error message when putting a null key.
+     */
+    public static final String KEY_ERROR_MSG = "Key cannot be null!";
+
+    /**
+     * Error message when putting a null value.
+     */
+    public static final String VALUE_ERROR_MSG = "Value cannot be null!";
+
+    /**
+     * Weighs every entry as 1.
+     */
+    private static final Weigher<Object, Object> SINGLETON_WEIGHER = (key, value) -> 1;
+
+    /**
+     * Our map.
+     */
+    private final CacheStore<K, V> store;
+
+    /**
+     * The policy.
+     */
+    private final EvictionPolicy evictionPolicy;
+
+    /**
+     * The maximum total weight.
+     */
+    private final long maximumWeight;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Map<K, V> getMap() {
+        return store;
+    }
+
+    /**
+     * Sets the policy, bounds, expiry and clock.
+     *
+     * @param evictionPolicy          chooses what to evict.
+     * @param maximumWeight           the maximum total weight.
+     * @param weigher                 weighs entries.
+     * @param expireAfterWriteMillis  millis after a write an entry expires, NO_EXPIRY for never.
+     * @param expireAfterAccessMillis millis after a read or write an entry expires, NO_EXPIRY for never.
+     * @param ticker                  returns the current time in nanos.
+     *
+     * @throws IllegalArgumentException if any object is null, maximumWeight is not positive or an expiry is negative.
+     */
+    CachingFunctionalMap(final EvictionPolicy evictionPolicy, final long maximumWeight, final Weigher<? super K, ? super V> weigher, final long expireAfterWriteMillis, final long expireAfterAccessMillis, final LongSupplier ticker) {
+        this.evictionPolicy = ObjectUtils.ensureObject(evictionPolicy, POLICY_ERROR_MSG);
+        this.maximumWeight = LongUtils.ensureMinLong(maximumWeight, 1, MAXIMUM_WEIGHT_ERROR_MSG);
+        this.store = new CacheStore<>(
+                evictionPolicy,
+                maximumWeight,
+                ObjectUtils.ensureObject(weigher, WEIGHER_ERROR_MSG),
+                TimeUnit.MILLISECONDS.toNanos(LongUtils.ensureMinLong(expireAfterWriteMillis, NO_EXPIRY, EXPIRY_ERROR_MSG)),
+                TimeUnit.MILLISECONDS.toNanos(LongUtils.ensureMinLong(expireAfterAccessMillis, NO_EXPIRY, EXPIRY_ERROR_MSG)),
+                ObjectUtils.ensureObject(ticker)
+        );
+    }
+
+    /**
+     * Sets the policy, bounds and expiry.
+     *
+     * @param evictionPolicy          chooses what to evict.
+     * @param maximumWeight           the maximum total weight.
+     * @param weigher                 weighs entries.
+     * @param expireAfterWriteMillis  millis after a write an entry expires, NO_EXPIRY for never.
+     * @param expireAfterAccessMillis millis after a read or write an entry expires, NO_EXPIRY for never.
+     *
+     * @throws IllegalArgumentException if any object is null, maximumWeight is not positive or an expiry is negative.
+     */
+    public CachingFunctionalMap(final EvictionPolicy evictionPolicy, final long maximumWeight, final Weigher<? super K, ? super V> weigher, final long expireAfterWriteMillis, final long expireAfterAccessMillis) {
+        this(evictionPolicy, maximumWeight, weigher, expireAfterWriteMillis, expireAfterAccessMillis, System::nanoTime);
+    }
+
+    /**
+     * Bounds the number of entries, which never expire.
+     *
+     * @param evictionPolicy chooses what to evict.
+     * @param maximumSize    the maximum number of entries.
+     *
+     * @throws IllegalArgumentException if evictionPolicy is null or maximumSize is not positive.
+     */
+    public CachingFunctionalMap(final EvictionPolicy evictionPolicy, final long maximumSize) {
+        this(evictionPolicy, maximumSize, SINGLETON_WEIGHER, NO_EXPIRY, NO_EXPIRY);
+    }
+
+    /**
+     * Bounds the number of entries, which never expire, using the DEFAULT_POLICY.
+     *
+     * @param maximumSize the maximum number of entries.
+     *
+     * @throws IllegalArgumentException if maximumSize is not positive.
+     */
+    public CachingFunctionalMap(final long maximumSize) {
+        this(DEFAULT_POLICY, maximumSize);
+    }
+
+    /**
+     * Return the eviction policy.
+     *
+     * @return the eviction policy.
+     */
+    public EvictionPolicy getEvictionPolicy() {
+        return evictionPolicy;
+    }
+
+    /**
+     * Return the maximum total weight.
+     *
+     * @return the maximum total weight.
+     */
+    public long getMaximumWeight() {
+        return maximumWeight;
+    }
+
+    /**
+     * Return the total weight of the entries.
+     *
+     * @return the total weight.
+     */
+    public long getWeight() {
+        return logAndReturn(Level.FINEST, "Weight [{0}]", store.getWeight());
+    }
+
+    /**
+     * Return a snapshot of the hit, miss, eviction and expiration counts since the cache was created.
+     *
+     * @return the statistics.
+     */
+    public CacheStats getStats() {
+        return logAndReturn(Level.FINEST, "Stats [{0}]", store.getStats());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Holds the cache lock for the whole batch.
+     */
+    @Override
+    public void putAll(final Map<? extends K, ? extends V> map) {
+        synchronized (store) {
+            super.putAll(map);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Holds the cache lock for the whole batch.
+     */
+    @Override
+    public FunctionalMap<K, V> putAllF(final K[] keys, final V[] values) {
+        synchronized (store) {
+            return super.putAllF(keys, values);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Holds the cache lock for the whole batch.
+     */
+    @Override
+    public FunctionalMap<K, V> removeAllF(final Collection<?> keys) {
+        synchronized (store) {
+            return super.removeAllF(keys);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Holds the cache lock for the whole batch - each key found counts as a hit, each missing key as a miss.
+     */
+    @Override
+    public Map<K, V> getAll(final Collection<? extends K> keys) {
+        synchronized (store) {
+            return super.getAll(keys);
+        }
+    }
+
+    /**
+     * Remove expired entries now rather than as part of the next operation.
+     *
+     * @return self.
+     */
+    public CachingFunctionalMap<K, V> cleanUp() {
+        log(Level.FINEST, "Cleaning up");
+
+        store.cleanUp();
+
+        return this;
+    }
+}
@@ -0,0 +1,306 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.map;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import org.flossware.jcore.utils.collections.HashIndexUtils;
+
+/**
+ * The map behind ImmutableFunctionalMap: keys and values in two flat arrays (in the iteration order of the map copied) and an
+ * open addressing index of positions - no Entry objects are kept. Mutators inherited from AbstractMap raise
+ * UnsupportedOperationException.
+ *
+ * @author Scot P. Floess
+ *
+ * @param <K> the key.
+ * @param <V> the value.
+ */
+final class CompactMap<K, V> extends AbstractMap<K, V> {
+
+    /**
+     * The keys.
+     */
+    private final Object[] keys;
+
+    /**
+     * The values, at the same position as their key.
+     */
+    private final Object[] values;
+
+    /**
+     * Positions of the keys by hash.
+     */
+    private final int[] index;
+
+    /**
+     * Splits a range of positions in halves, creating entries as they are visited.
+     */
+    final class EntrySpliterator implements Spliterator<Map.Entry<K, V>> {
+
+        /**
+         * The next position.
+         */
+        private int position;
+
+        /**
+         * One past the last position.
+         */
+        private final int end;
+
+        /**
+         * Sets the range.
+         */
+        EntrySpliterator(final int position, final int end) {
+            this.position = position;
+            this.end = end;
+        }
+
+        /**
+         * Return the entry at a position.
+         */
+        private Map.Entry<K, V> entryAt(final int at) {
+            return new AbstractMap.SimpleImmutableEntry<>(keyAt(at), valueAt(at));
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean tryAdvance(final Consumer<? super Map.Entry<K, V>> action) {
+            if (position >= end) {
+                return false;
+            }
+
+            action.accept(entryAt(position++));
+
+            return true;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void forEachRemaining(final Consumer<? super Map.Entry<K, V>> action) {
+            for (; position < end; position++) {
+                action.accept(entryAt(position));
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Spliterator<Map.Entry<K, V>> trySplit() {
+            final int middle = (position + end) >>> 1;
+
+            if (middle <= position) {
+                return null;
+            }
+
+            final EntrySpliterator retVal = new EntrySpliterator(position, middle);
+
+            position = middle;
+
+            return retVal;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public long estimateSize() {
+            return end - position;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int characteristics() {
+            return Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL | Spliterator.IMMUTABLE;
+        }
+    }
+
+    /**
+     * Copies a map. The map may change while being copied (say a concurrent or expiring map) - we keep what iteration returned.
+     *
+     * @param map the map to copy.
+     */
+    CompactMap(final Map<? extends K, ? extends V> map) {
+        Object[] theKeys = new Object[map.size()];
+        Object[] theValues = new Object[theKeys.length];
+
+        int position = 0;
+
+        for (final Map.Entry<? extends K, ? extends V> entry : map.entrySet()) {
+            if (position == theKeys.length) {
+                final int capacity = Math.max(16, position + (position >>> 1));
+
+                theKeys = Arrays.copyOf(theKeys, capacity);
+                theValues = Arrays.copyOf(theValues, capacity);
+            }
+
+            theKeys[position] = entry.getKey();
+            theValues[position] = entry.getValue();
+
+            position++;
+        }
+
+        this.keys = position == theKeys.length ? theKeys : Arrays.copyOf(theKeys, position);
+        this.values = position == theValues.length ? theValues : Arrays.copyOf(theValues, position);
+        this.index = HashIndexUtils.newIndex(this.keys, position);
+    }
+
+    /**
+     * Return the key at a position.
+     *
+     * @param position the position.
+     *
+     * @return the key.
+     */
+    @SuppressWarnings("unchecked")
+    K keyAt(final int position) {
+        return (K) keys[position];
+    }
+
+    /**
+     * Return the value at a position.
+     *
+     * @param position the position.
+     *
+     * @return the value.
+     */
+    @SuppressWarnings("unchecked")
+    V valueAt(final int position) {
+        return (V) values[position];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return keys.length;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean containsKey(final Object key) {
+        return HashIndexUtils.indexOf(index, keys, key) >= 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean containsValue(final Object value) {
+        for (final Object candidate : values) {
+            if (Objects.equals(value, candidate)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V get(final Object key) {
+        final int position = HashIndexUtils.indexOf(index, keys, key);
+
+        return position < 0 ? null : valueAt(position);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V getOrDefault(final Object key, final V defaultValue) {
+        final int position = HashIndexUtils.indexOf(index, keys, key);
+
+        return position < 0 ? defaultValue : valueAt(position);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void forEach(final BiConsumer<? super K, ? super V> action) {
+        for (int position = 0; position < keys.length; position++) {
+            action.accept(keyAt(position), valueAt(position));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Entries are created as iterated.
+     */
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        return new AbstractSet<Map.Entry<K, V>>() {
+            @Override
+            public Iterator<Map.Entry<K, V>> iterator() {
+                return new Iterator<Map.Entry<K, V>>() {
+                    private int position;
+
+                    @Override
+                    public boolean hasNext() {
+                        return position < keys.length;
+                    }
+
+                    @Override
+                    public Map.Entry<K, V> next() {
+                        if (position >= keys.length) {
+                            throw new NoSuchElementException();
+                        }
+
+                        final Map.Entry<K, V> retVal = new AbstractMap.SimpleImmutableEntry<>(keyAt(position), valueAt(position));
+
+                        position++;
+
+                        return retVal;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return keys.length;
+            }
+
+            @Override
+            public Spliterator<Map.Entry<K, V>> spliterator() {
+                return new EntrySpliterator(0, keys.length);
+            }
+        };
+    }
+}
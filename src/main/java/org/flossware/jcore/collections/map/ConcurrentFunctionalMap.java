@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.map;
+
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * A functional map safe for use by many threads at once. Each of the fluent operations here is atomic with respect to its key,
+ * so there is no need to synchronize around check-then-act sequences: for example counters.mergeF("hits", 1L, Long::sum).
+ *
+ * @author Scot P. Floess
+ *
+ * @param <K> the key.
+ * @param <V> the value.
+ */
+public interface ConcurrentFunctionalMap<K, V> extends FunctionalMap<K, V>, ConcurrentMap<K, V> {
+
+    /**
+     * Atomically associates value with key if key is not already present.
+     *
+     * @param key   the key associated with the value.
+     * @param value the value for the key.
+     *
+     * @return self.
+     */
+    ConcurrentFunctionalMap<K, V> putIfAbsentF(K key, V value);
+
+    /**
+     * Atomically computes a new value for key from its current value (null if not present) - a null result removes the key.
+     *
+     * @param key               the key.
+     * @param remappingFunction computes the new value.
+     *
+     * @return self.
+     */
+    ConcurrentFunctionalMap<K, V> computeF(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction);
+
+    /**
+     * Atomically computes a value for key if not already present.
+     *
+     * @param key             the key.
+     * @param mappingFunction computes the value.
+     *
+     * @return self.
+     */
+    ConcurrentFunctionalMap<K, V> computeIfAbsentF(K key, Function<? super K, ? extends V> mappingFunction);
+
+    /**
+     * Atomically computes a new value for key if present - a null result removes the key.
+     *
+     * @param key               the key.
+     * @param remappingFunction computes the new value.
+     *
+     * @return self.
+     */
+    ConcurrentFunctionalMap<K, V> computeIfPresentF(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction);
+
+    /**
+     * Atomically associates value with key if not present, otherwise combines the current value with value - a null result
+     * removes the key.
+     *
+     * @param key               the key.
+     * @param value             the value to associate or combine.
+     * @param remappingFunction combines the current value and value.
+     *
+     * @return self.
+     */
+    ConcurrentFunctionalMap<K, V> mergeF(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction);
+
+    /**
+     * Return the number of mappings - unlike size() this is not capped at Integer.MAX_VALUE.
+     *
+     * @return the number of mappings.
+     */
+    long mappingCount();
+}
@@ -0,0 +1,241 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.map;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.logging.Level;
+import org.flossware.jcore.utils.ObjectUtils;
+
+/**
+ * Default implementation of a concurrent functional map. By default a ConcurrentHashMap is used: reads are lock free, updates
+ * lock only the bin holding the key and the size is kept in striped counters, so threads do not serialize on a single lock. All
+ * of the Map default methods (compute, merge and friends) are delegated to the underlying map so they keep its atomicity.
+ *
+ * @author Scot P. Floess
+ *
+ * @param <K> the key.
+ * @param <V> the value.
+ */
+public class DefaultConcurrentFunctionalMap<K, V> extends AbstractFunctionalMap<K, V> implements ConcurrentFunctionalMap<K, V> {
+
+    /**
+     * Error message when no map is provided.
+     */
+    public static final String MAP_ERROR_MSG = "Map cannot be null!";
+
+    /**
+     * Our map.
+     */
+    private final ConcurrentMap<K, V> map;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected ConcurrentMap<K, V> getMap() {
+        return map;
+    }
+
+    /**
+     * This sets the map to be used.
+     *
+     * @param map the map to use.
+     *
+     * @throws IllegalArgumentException if <code>map</code> is null.
+     */
+    public DefaultConcurrentFunctionalMap(final ConcurrentMap<K, V> map) {
+        this.map = ObjectUtils.ensureObject(map, MAP_ERROR_MSG);
+    }
+
+    /**
+     * Uses a ConcurrentHashMap sized for expectedSize mappings.
+     *
+     * @param expectedSize the number of mappings expected.
+     */
+    public DefaultConcurrentFunctionalMap(final int expectedSize) {
+        this(new ConcurrentHashMap<K, V>(expectedSize));
+    }
+
+    /**
+     * Uses a ConcurrentHashMap.
+     */
+    public DefaultConcurrentFunctionalMap() {
+        this(new ConcurrentHashMap<K, V>());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ConcurrentFunctionalMap<K, V> putIfAbsentF(final K key, final V value) {
+        log(Level.FINEST, "Putting if absent [{0}] -> [{1}]", key, value);
+
+        putIfAbsent(key, value);
+
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ConcurrentFunctionalMap<K, V> computeF(final K key, final BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        log(Level.FINEST, "Computing key [{0}]", key);
+
+        compute(key, remappingFunction);
+
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ConcurrentFunctionalMap<K, V> computeIfAbsentF(final K key, final Function<? super K, ? extends V> mappingFunction) {
+        log(Level.FINEST, "Computing if absent key [{0}]", key);
+
+        computeIfAbsent(key, mappingFunction);
+
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ConcurrentFunctionalMap<K, V> computeIfPresentF(final K key, final BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        log(Level.FINEST, "Computing if present key [{0}]", key);
+
+        computeIfPresent(key, remappingFunction);
+
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ConcurrentFunctionalMap<K, V> mergeF(final K key, final V value, final BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        log(Level.FINEST, "Merging [{0}] -> [{1}]", key, value);
+
+        merge(key, value, remappingFunction);
+
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long mappingCount() {
+        return logAndReturn(Level.FINEST, "Mapping count [{0}]", map instanceof ConcurrentHashMap ? ((ConcurrentHashMap<K, V>) map).mappingCount() : map.size());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V getOrDefault(final Object key, final V defaultValue) {
+        return logAndReturn(Level.FINEST, "Retrieved value [{0}] for key [{1}]", getMap().getOrDefault(key, defaultValue), key);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V putIfAbsent(final K key, final V value) {
+        return logAndReturn(Level.FINEST, "Put if absent yielded [{0}] for [{1}] -> [{2}]", getMap().putIfAbsent(key, value), key, value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean remove(final Object key, final Object value) {
+        return logAndReturn(Level.FINEST, "Removed [{0}] for [{1}] -> [{2}]", getMap().remove(key, value), key, value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean replace(final K key, final V oldValue, final V newValue) {
+        return logAndReturn(Level.FINEST, "Replaced [{0}] for [{1}] -> [{2}]", getMap().replace(key, oldValue, newValue), key, newValue);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V replace(final K key, final V value) {
+        return logAndReturn(Level.FINEST, "Replace yielded [{0}] for [{1}] -> [{2}]", getMap().replace(key, value), key, value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V compute(final K key, final BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        return logAndReturn(Level.FINEST, "Computed [{0}] for key [{1}]", getMap().compute(key, remappingFunction), key);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V computeIfAbsent(final K key, final Function<? super K, ? extends V> mappingFunction) {
+        return logAndReturn(Level.FINEST, "Computed if absent [{0}] for key [{1}]", getMap().computeIfAbsent(key, mappingFunction), key);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V computeIfPresent(final K key, final BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        return logAndReturn(Level.FINEST, "Computed if present [{0}] for key [{1}]", getMap().computeIfPresent(key, remappingFunction), key);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V merge(final K key, final V value, final BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        return logAndReturn(Level.FINEST, "Merged [{0}] for key [{1}]", getMap().merge(key, value, remappingFunction), key);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void replaceAll(final BiFunction<? super K, ? super V, ? extends V> function) {
+        log(Level.FINEST, "Replacing all");
+
+        getMap().replaceAll(function);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void forEach(final BiConsumer<? super K, ? super V> action) {
+        getMap().forEach(action);
+    }
+}
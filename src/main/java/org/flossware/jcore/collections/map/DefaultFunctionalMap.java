@@ -49,4 +49,15 @@ public class DefaultFunctionalMap<K, V> extends AbstractFunctionalMap<K, V> {
     public DefaultFunctionalMap(final Map<K, V> map) {
         this.map = MapUtils.ensureMap(map, 0, "Map cannot be null!");
     }
+
+    /**
+     * Uses a HashMap sized to hold expectedSize entries without rehashing.
+     *
+     * @param expectedSize the number of entries expected.
+     *
+     * @throws IllegalArgumentException if <code>expectedSize</code> is negative.
+     */
+    public DefaultFunctionalMap(final int expectedSize) {
+        this(MapUtils.<K, V>newHashMap(expectedSize));
+    }
 }
@@ -0,0 +1,514 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.map;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.logging.Level;
+import org.flossware.jcore.AbstractCommonBase;
+import org.flossware.jcore.utils.ObjectUtils;
+import org.flossware.jcore.utils.collections.MapUtils;
+import org.flossware.jcore.utils.collections.PrimitiveHashUtils;
+
+/**
+ * Open addressing (linear probing) implementation of a LongFunctionalMap. Keys live in a long[] and values in a parallel
+ * Object[] - there are no entry objects and keys are never boxed. Removal shifts following entries back so no tombstones are
+ * left behind. The 0 key marks a free slot so it is kept outside the table.
+ *
+ * Not thread safe. To keep the hot paths free of logging overhead only structural changes (growth and clearing) are logged.
+ *
+ * @author Scot P. Floess
+ *
+ * @param <V> the type of value.
+ */
+public class DefaultLongFunctionalMap<V> extends AbstractCommonBase implements LongFunctionalMap<V> {
+
+    /**
+     * Error message when no map is provided.
+     */
+    public static final String MAP_ERROR_MSG = "Must provide a map!";
+
+    /**
+     * Error message when no consumer is provided.
+     */
+    public static final String CONSUMER_ERROR_MSG = "Must provide a consumer!";
+
+    /**
+     * The load factor.
+     */
+    private final float loadFactor;
+
+    /**
+     * The keys - 0 denotes a free slot.
+     */
+    private long[] keys;
+
+    /**
+     * The values, parallel to keys.
+     */
+    private Object[] values;
+
+    /**
+     * Mask used to compute a slot (table size - 1).
+     */
+    private int mask;
+
+    /**
+     * Number of keys in the table (the 0 key is not counted).
+     */
+    private int assigned;
+
+    /**
+     * Number of keys in the table before it must grow.
+     */
+    private int maxFill;
+
+    /**
+     * True if the 0 key is present.
+     */
+    private boolean hasZeroKey;
+
+    /**
+     * The value of the 0 key.
+     */
+    private V zeroValue;
+
+    /**
+     * Allocate the table.
+     *
+     * @param tableSize the table size.
+     */
+    private void allocate(final int tableSize) {
+        keys = new long[tableSize];
+        values = new Object[tableSize];
+        mask = tableSize - 1;
+        maxFill = PrimitiveHashUtils.maxFill(tableSize, loadFactor);
+    }
+
+    /**
+     * Double the table, rehashing all keys.
+     */
+    private void grow() {
+        if (keys.length >= PrimitiveHashUtils.MAX_CAPACITY) {
+            throw new IllegalStateException(PrimitiveHashUtils.CAPACITY_ERROR_MSG);
+        }
+
+        rehash(keys.length << 1);
+    }
+
+    /**
+     * Rehash all keys into a table of tableSize.
+     *
+     * @param tableSize the new table size.
+     */
+    private void rehash(final int tableSize) {
+        log(Level.FINE, "Growing table from [{0}] to [{1}] for [{2}] keys", keys.length, tableSize, assigned);
+
+        final long[] oldKeys = keys;
+        final Object[] oldValues = values;
+
+        allocate(tableSize);
+
+        for (int index = 0; index < oldKeys.length; index++) {
+            if (oldKeys[index] != 0) {
+                int slot = PrimitiveHashUtils.mix(oldKeys[index]) & mask;
+
+                while (keys[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+
+                keys[slot] = oldKeys[index];
+                values[slot] = oldValues[index];
+            }
+        }
+    }
+
+    /**
+     * Return the slot holding key or -1 if not present.
+     *
+     * @param key the key - cannot be 0.
+     *
+     * @return the slot holding key or -1 if not present.
+     */
+    private int find(final long key) {
+        int slot = PrimitiveHashUtils.mix(key) & mask;
+
+        for (long current = keys[slot]; current != 0; current = keys[slot]) {
+            if (current == key) {
+                return slot;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Remove the entry at slot, shifting back any following entries whose probe sequence passes through slot.
+     *
+     * @param slot the slot to free.
+     */
+    private void removeSlot(final int slot) {
+        int free = slot;
+        int current = (free + 1) & mask;
+
+        for (long key = keys[current]; key != 0; key = keys[current]) {
+            final int home = PrimitiveHashUtils.mix(key) & mask;
+
+            if (free <= current ? (home <= free || home > current) : (home <= free && home > current)) {
+                keys[free] = key;
+                values[free] = values[current];
+                free = current;
+            }
+
+            current = (current + 1) & mask;
+        }
+
+        keys[free] = 0;
+        values[free] = null;
+        assigned--;
+    }
+
+    /**
+     * Cast a stored value.
+     *
+     * @param value the value.
+     *
+     * @return value as V.
+     */
+    @SuppressWarnings("unchecked")
+    private V cast(final Object value) {
+        return (V) value;
+    }
+
+    /**
+     * Sizes the map to hold expectedSize entries before growing at loadFactor.
+     *
+     * @param expectedSize the number of entries expected.
+     * @param loadFactor   the fraction of the table that may be used before growing.
+     *
+     * @throws IllegalArgumentException if expectedSize is negative or loadFactor is not greater than 0 and less than 1.
+     */
+    public DefaultLongFunctionalMap(final int expectedSize, final float loadFactor) {
+        this.loadFactor = PrimitiveHashUtils.ensureLoadFactor(loadFactor);
+
+        allocate(PrimitiveHashUtils.tableSize(expectedSize, loadFactor));
+    }
+
+    /**
+     * Sizes the map to hold expectedSize entries before growing.
+     *
+     * @param expectedSize the number of entries expected.
+     *
+     * @throws IllegalArgumentException if expectedSize is negative.
+     */
+    public DefaultLongFunctionalMap(final int expectedSize) {
+        this(expectedSize, PrimitiveHashUtils.DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Default constructor.
+     */
+    public DefaultLongFunctionalMap() {
+        this(PrimitiveHashUtils.DEFAULT_EXPECTED_SIZE);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return hasZeroKey ? assigned + 1 : assigned;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean containsKey(final long key) {
+        return key == 0 ? hasZeroKey : find(key) >= 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean containsValue(final Object value) {
+        if (hasZeroKey && Objects.equals(zeroValue, value)) {
+            return true;
+        }
+
+        for (int index = 0; index < keys.length; index++) {
+            if (keys[index] != 0 && Objects.equals(values[index], value)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V get(final long key) {
+        return getOrDefault(key, null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V getOrDefault(final long key, final V defaultValue) {
+        if (key == 0) {
+            return hasZeroKey ? zeroValue : defaultValue;
+        }
+
+        final int slot = find(key);
+
+        return slot < 0 ? defaultValue : cast(values[slot]);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V put(final long key, final V value) {
+        if (key == 0) {
+            final V retVal = zeroValue;
+
+            zeroValue = value;
+            hasZeroKey = true;
+
+            return retVal;
+        }
+
+        int slot = PrimitiveHashUtils.mix(key) & mask;
+
+        for (long current = keys[slot]; current != 0; current = keys[slot]) {
+            if (current == key) {
+                final V retVal = cast(values[slot]);
+
+                values[slot] = value;
+
+                return retVal;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+
+        keys[slot] = key;
+        values[slot] = value;
+
+        if (++assigned > maxFill) {
+            grow();
+        }
+
+        return null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V remove(final long key) {
+        if (key == 0) {
+            final V retVal = zeroValue;
+
+            zeroValue = null;
+            hasZeroKey = false;
+
+            return retVal;
+        }
+
+        final int slot = find(key);
+
+        if (slot < 0) {
+            return null;
+        }
+
+        final V retVal = cast(values[slot]);
+
+        removeSlot(slot);
+
+        return retVal;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear() {
+        log(Level.FINE, "Clearing [{0}] entries", size());
+
+        Arrays.fill(keys, 0);
+        Arrays.fill(values, null);
+
+        assigned = 0;
+        hasZeroKey = false;
+        zeroValue = null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long[] keys() {
+        final long[] retVal = new long[size()];
+
+        int count = 0;
+
+        if (hasZeroKey) {
+            retVal[count++] = 0;
+        }
+
+        for (final long key : keys) {
+            if (key != 0) {
+                retVal[count++] = key;
+            }
+        }
+
+        return retVal;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void forEach(final LongObjectConsumer<? super V> consumer) {
+        ObjectUtils.ensureObject(consumer, CONSUMER_ERROR_MSG);
+
+        if (hasZeroKey) {
+            consumer.accept(0, zeroValue);
+        }
+
+        for (int index = 0; index < keys.length; index++) {
+            if (keys[index] != 0) {
+                consumer.accept(keys[index], cast(values[index]));
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public LongFunctionalMap<V> putF(final long key, final V value) {
+        put(key, value);
+
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public LongFunctionalMap<V> putAllF(final LongFunctionalMap<? extends V> map) {
+        ensureAdditionalCapacity(ObjectUtils.ensureObject(map, MAP_ERROR_MSG).size());
+
+        map.forEach(this::put);
+
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public LongFunctionalMap<V> ensureCapacity(final int expectedSize) {
+        final int tableSize = PrimitiveHashUtils.tableSize(expectedSize, loadFactor);
+
+        if (tableSize > keys.length) {
+            rehash(tableSize);
+        }
+
+        return this;
+    }
+
+    /**
+     * Make room for batchSize more entries than we currently hold.
+     *
+     * @param batchSize the number of entries about to be added.
+     */
+    private void ensureAdditionalCapacity(final int batchSize) {
+        ensureCapacity((int) Math.min(Integer.MAX_VALUE, (long) size() + batchSize));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public LongFunctionalMap<V> putAllF(final long[] newKeys, final V[] newValues) {
+        ObjectUtils.ensureObject(newKeys, MapUtils.KEYS_ERROR_MSG);
+        ObjectUtils.ensureObject(newValues, MapUtils.VALUES_ERROR_MSG);
+
+        if (newKeys.length != newValues.length) {
+            throw new IllegalArgumentException(MapUtils.LENGTH_ERROR_MSG);
+        }
+
+        ensureAdditionalCapacity(newKeys.length);
+
+        for (int index = 0; index < newKeys.length; index++) {
+            put(newKeys[index], newValues[index]);
+        }
+
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public LongFunctionalMap<V> removeAllF(final long[] oldKeys) {
+        for (final long key : ObjectUtils.ensureObject(oldKeys, MapUtils.KEYS_ERROR_MSG)) {
+            remove(key);
+        }
+
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public LongFunctionalMap<V> removeF(final long key) {
+        remove(key);
+
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("{");
+
+        forEach((key, value) -> sb.append(sb.length() > 1 ? ", " : "").append(key).append('=').append(value));
+
+        return sb.append('}').toString();
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.map;
+
+/**
+ * Denotes how a bounded cache chooses what to evict once it holds more than its maximum weight.
+ *
+ * @author Scot P. Floess
+ */
+public enum EvictionPolicy {
+    /**
+     * Evict the least recently used entry.
+     */
+    LRU {
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        <K, V> CachePolicy<K, V> newPolicy(final long maximumWeight) {
+            return new LruCachePolicy<>();
+        }
+    },
+    /**
+     * Evict the least frequently used entry, the least recently used one when frequencies tie.
+     */
+    LFU {
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        <K, V> CachePolicy<K, V> newPolicy(final long maximumWeight) {
+            return new LfuCachePolicy<>();
+        }
+    },
+    /**
+     * Window TinyLFU: new entries enter a small LRU window and are only admitted into the main (segmented LRU) space when
+     * their estimated frequency - including requests that missed - beats the entry they would displace. Resists scans and
+     * one-hit wonders better than LRU while still adapting to recency, unlike LFU.
+     */
+    TINY_LFU {
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        <K, V> CachePolicy<K, V> newPolicy(final long maximumWeight) {
+            return new TinyLfuCachePolicy<>(maximumWeight);
+        }
+    };
+
+    /**
+     * Create the bookkeeping implementing this policy.
+     *
+     * @param <K> the key.
+     * @param <V> the value.
+     *
+     * @param maximumWeight the maximum weight of the cache.
+     *
+     * @return a new policy.
+     */
+    abstract <K, V> CachePolicy<K, V> newPolicy(long maximumWeight);
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.map;
+
+import org.flossware.jcore.utils.collections.PrimitiveHashUtils;
+
+/**
+ * A count-min sketch of 4 bit counters estimating how often keys were requested, in a fixed amount of memory. All counters
+ * are halved once enough requests have been recorded so the estimates favor recent history.
+ *
+ * @author Scot P. Floess
+ */
+final class FrequencySketch {
+
+    /**
+     * Seeds picking the 4 counters of a key.
+     */
+    static final long[] SEEDS = {0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+
+    /**
+     * Clears the high bit of every counter after shifting them all right.
+     */
+    static final long RESET_MASK = 0x7777777777777777L;
+
+    /**
+     * The largest value a counter holds.
+     */
+    static final int MAX_COUNT = 15;
+
+    /**
+     * The smallest table.
+     */
+    static final int MIN_TABLE_SIZE = 16;
+
+    /**
+     * The largest table.
+     */
+    static final int MAX_TABLE_SIZE = 1 << 26;
+
+    /**
+     * Each long holds 16 counters.
+     */
+    private long[] table = new long[0];
+
+    /**
+     * Masks a hash into the table.
+     */
+    private int mask;
+
+    /**
+     * Number of increments before halving all counters.
+     */
+    private int sampleSize;
+
+    /**
+     * Increments since the last halving.
+     */
+    private int additions;
+
+    /**
+     * Return the index in the table of one of a key's counters.
+     *
+     * @param hash  the spread hash of the key.
+     * @param which which of the 4 counters.
+     *
+     * @return the index into the table.
+     */
+    private int indexOf(final int hash, final int which) {
+        long index = (hash + SEEDS[which]) * SEEDS[which];
+
+        index += index >>> 32;
+
+        return (int) index & mask;
+    }
+
+    /**
+     * Increment a counter unless it is saturated.
+     *
+     * @param index   the index into the table.
+     * @param counter which counter in the long.
+     *
+     * @return true if incremented.
+     */
+    private boolean incrementAt(final int index, final int counter) {
+        final int offset = counter << 2;
+        final long counterMask = ((long) MAX_COUNT) << offset;
+
+        if ((table[index] & counterMask) != counterMask) {
+            table[index] += 1L << offset;
+
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Halve all counters.
+     */
+    private void reset() {
+        for (int index = 0; index < table.length; index++) {
+            table[index] = (table[index] >>> 1) & RESET_MASK;
+        }
+
+        additions >>>= 1;
+    }
+
+    /**
+     * Size the sketch for a number of keys - growing discards what was recorded.
+     *
+     * @param maximumSize the number of keys to estimate well.
+     */
+    void ensureCapacity(final long maximumSize) {
+        final int maximum = (int) Math.min(Math.max(maximumSize, MIN_TABLE_SIZE), MAX_TABLE_SIZE);
+
+        if (table.length >= maximum) {
+            return;
+        }
+
+        table = new long[Integer.highestOneBit(maximum - 1) << 1];
+        mask = table.length - 1;
+        sampleSize = 10 * maximum;
+        additions = 0;
+    }
+
+    /**
+     * Return the number of slots in the table.
+     *
+     * @return the number of slots.
+     */
+    int capacity() {
+        return table.length;
+    }
+
+    /**
+     * Return the estimated number of times a hash was recorded, at most 15.
+     *
+     * @param hashCode the hash code of the key.
+     *
+     * @return the estimated frequency.
+     */
+    int frequency(final int hashCode) {
+        final int hash = PrimitiveHashUtils.mix(hashCode);
+        final int start = (hash & 3) << 2;
+
+        int frequency = MAX_COUNT;
+
+        for (int which = 0; which < 4; which++) {
+            final int count = (int) ((table[indexOf(hash, which)] >>> ((start + which) << 2)) & MAX_COUNT);
+
+            frequency = Math.min(frequency, count);
+        }
+
+        return frequency;
+    }
+
+    /**
+     * Record a hash.
+     *
+     * @param hashCode the hash code of the key.
+     */
+    void increment(final int hashCode) {
+        final int hash = PrimitiveHashUtils.mix(hashCode);
+        final int start = (hash & 3) << 2;
+
+        boolean added = false;
+
+        for (int which = 0; which < 4; which++) {
+            added |= incrementAt(indexOf(hash, which), start + which);
+        }
+
+        if (added && ++additions == sampleSize) {
+            reset();
+        }
+    }
+}
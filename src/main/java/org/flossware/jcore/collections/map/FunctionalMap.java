@@ -16,7 +16,17 @@
  */
 package org.flossware.jcore.collections.map;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+import java.util.function.BinaryOperator;
+import org.flossware.jcore.utils.ObjectUtils;
+import org.flossware.jcore.utils.collections.MapUtils;
+import org.flossware.jcore.utils.collections.ParallelUtils;
 
 /**
  * Represents a "functional" map which allows us to extend the core functions with values that return self so we can chain calls.
@@ -45,6 +55,40 @@ public interface FunctionalMap<K, V> extends Map<K, V> {
      */
     FunctionalMap<K, V> putAllF(Map<? extends K, ? extends V> map);
 
+    /**
+     * Copies keys[i] -&gt; values[i] for every i to self, sizing for the whole batch up front.
+     *
+     * @param keys   the keys.
+     * @param values the values, parallel to keys.
+     *
+     * @return self.
+     *
+     * @throws IllegalArgumentException if keys or values are null or differ in length.
+     */
+    FunctionalMap<K, V> putAllF(K[] keys, V[] values);
+
+    /**
+     * Remove all keys.
+     *
+     * @param keys the keys to remove.
+     *
+     * @return self.
+     *
+     * @throws IllegalArgumentException if keys is null.
+     */
+    FunctionalMap<K, V> removeAllF(Collection<?> keys);
+
+    /**
+     * Return the mappings for all keys present, in the order of keys.
+     *
+     * @param keys the keys to look up.
+     *
+     * @return a new map of the keys present to their values.
+     *
+     * @throws IllegalArgumentException if keys is null.
+     */
+    Map<K, V> getAll(Collection<? extends K> keys);
+
     /**
      * Remote a key.
      *
@@ -53,4 +97,150 @@ public interface FunctionalMap<K, V> extends Map<K, V> {
      * @return self.
      */
     FunctionalMap<K, V> removeF(K key);
+
+    /**
+     * Return an immutable, compact copy of self - safe to share across threads without locking.
+     *
+     * @return an immutable copy.
+     */
+    default FunctionalMap<K, V> freeze() {
+        return new ImmutableFunctionalMap<>(this);
+    }
+
+    /**
+     * Perform action on each entry in parallel, splitting into pieces of no more than threshold entries.
+     *
+     * @param threshold number of entries below which a piece is processed sequentially.
+     * @param action    performed on each entry, in no particular order - must be thread safe.
+     *
+     * @return self.
+     *
+     * @throws IllegalArgumentException if action is null or threshold is not positive.
+     */
+    default FunctionalMap<K, V> parallelForEach(final int threshold, final BiConsumer<? super K, ? super V> action) {
+        ObjectUtils.ensureObject(action, ParallelUtils.ACTION_ERROR_MSG);
+
+        ParallelUtils.forEach(entrySet().spliterator(), threshold, entry -> action.accept(entry.getKey(), entry.getValue()));
+
+        return this;
+    }
+
+    /**
+     * Perform action on each entry in parallel using the default threshold.
+     *
+     * @param action performed on each entry, in no particular order - must be thread safe.
+     *
+     * @return self.
+     *
+     * @throws IllegalArgumentException if action is null.
+     */
+    default FunctionalMap<K, V> parallelForEach(final BiConsumer<? super K, ? super V> action) {
+        return parallelForEach(ParallelUtils.DEFAULT_THRESHOLD, action);
+    }
+
+    /**
+     * Return the entries matching predicate, tested in parallel.
+     *
+     * @param threshold number of entries below which a piece is processed sequentially.
+     * @param predicate the entries to keep - must be thread safe.
+     *
+     * @return a new map of the matching entries in iteration order.
+     *
+     * @throws IllegalArgumentException if predicate is null or threshold is not positive.
+     */
+    default Map<K, V> parallelFilter(final int threshold, final BiPredicate<? super K, ? super V> predicate) {
+        ObjectUtils.ensureObject(predicate, ParallelUtils.PREDICATE_ERROR_MSG);
+
+        final List<Map.Entry<K, V>> entries = ParallelUtils.filter(entrySet().spliterator(), threshold, entry -> predicate.test(entry.getKey(), entry.getValue()));
+        final Map<K, V> retVal = new LinkedHashMap<>(MapUtils.capacityFor(entries.size()), MapUtils.LOAD_FACTOR);
+
+        for (final Map.Entry<K, V> entry : entries) {
+            retVal.put(entry.getKey(), entry.getValue());
+        }
+
+        return retVal;
+    }
+
+    /**
+     * Return the entries matching predicate, tested in parallel using the default threshold.
+     *
+     * @param predicate the entries to keep - must be thread safe.
+     *
+     * @return a new map of the matching entries in iteration order.
+     *
+     * @throws IllegalArgumentException if predicate is null.
+     */
+    default Map<K, V> parallelFilter(final BiPredicate<? super K, ? super V> predicate) {
+        return parallelFilter(ParallelUtils.DEFAULT_THRESHOLD, predicate);
+    }
+
+    /**
+     * Return function applied to each entry in parallel.
+     *
+     * @param <R> the type of result.
+     *
+     * @param threshold number of entries below which a piece is processed sequentially.
+     * @param function  applied to each entry - must be thread safe.
+     *
+     * @return the results in iteration order.
+     *
+     * @throws IllegalArgumentException if function is null or threshold is not positive.
+     */
+    default <R> List<R> parallelMap(final int threshold, final BiFunction<? super K, ? super V, ? extends R> function) {
+        ObjectUtils.ensureObject(function, ParallelUtils.FUNCTION_ERROR_MSG);
+
+        return ParallelUtils.map(entrySet().spliterator(), threshold, entry -> function.apply(entry.getKey(), entry.getValue()));
+    }
+
+    /**
+     * Return function applied to each entry in parallel using the default threshold.
+     *
+     * @param <R> the type of result.
+     *
+     * @param function applied to each entry - must be thread safe.
+     *
+     * @return the results in iteration order.
+     *
+     * @throws IllegalArgumentException if function is null.
+     */
+    default <R> List<R> parallelMap(final BiFunction<? super K, ? super V, ? extends R> function) {
+        return parallelMap(ParallelUtils.DEFAULT_THRESHOLD, function);
+    }
+
+    /**
+     * Apply function to each entry and combine the results, in parallel.
+     *
+     * @param <R> the type of result.
+     *
+     * @param threshold number of entries below which a piece is processed sequentially.
+     * @param function  applied to each entry - must be thread safe.
+     * @param identity  the result for no entries.
+     * @param operator  combines two results - must be associative.
+     *
+     * @return the combined result.
+     *
+     * @throws IllegalArgumentException if function or operator is null or threshold is not positive.
+     */
+    default <R> R parallelReduce(final int threshold, final BiFunction<? super K, ? super V, ? extends R> function, final R identity, final BinaryOperator<R> operator) {
+        ObjectUtils.ensureObject(function, ParallelUtils.FUNCTION_ERROR_MSG);
+
+        return ParallelUtils.mapReduce(entrySet().spliterator(), threshold, entry -> function.apply(entry.getKey(), entry.getValue()), identity, operator);
+    }
+
+    /**
+     * Apply function to each entry and combine the results, in parallel using the default threshold.
+     *
+     * @param <R> the type of result.
+     *
+     * @param function applied to each entry - must be thread safe.
+     * @param identity the result for no entries.
+     * @param operator combines two results - must be associative.
+     *
+     * @return the combined result.
+     *
+     * @throws IllegalArgumentException if function or operator is null.
+     */
+    default <R> R parallelReduce(final BiFunction<? super K, ? super V, ? extends R> function, final R identity, final BinaryOperator<R> operator) {
+        return parallelReduce(ParallelUtils.DEFAULT_THRESHOLD, function, identity, operator);
+    }
 }
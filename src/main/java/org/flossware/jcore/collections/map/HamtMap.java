@@ -0,0 +1,216 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.map;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * A read only map view of one version of a hash array mapped trie. Mutators inherited from AbstractMap raise
+ * UnsupportedOperationException.
+ *
+ * @author Scot P. Floess
+ *
+ * @param <K> the key.
+ * @param <V> the value.
+ */
+final class HamtMap<K, V> extends AbstractMap<K, V> {
+
+    /**
+     * The root of the trie.
+     */
+    private final HamtNode<K, V> root;
+
+    /**
+     * The number of entries.
+     */
+    private final int size;
+
+    /**
+     * Visit every entry under a node.
+     *
+     * @param node   the node.
+     * @param action what to do with each entry.
+     */
+    private static <K, V> void forEach(final HamtNode<K, V> node, final BiConsumer<? super K, ? super V> action) {
+        for (int index = 0; index < node.payloadArity(); index++) {
+            action.accept(node.keyAt(index), node.valueAt(index));
+        }
+
+        for (int index = 0; index < node.nodeArity(); index++) {
+            forEach(node.nodeAt(index), action);
+        }
+    }
+
+    /**
+     * Sets the trie.
+     *
+     * @param root the root of the trie.
+     * @param size the number of entries.
+     */
+    HamtMap(final HamtNode<K, V> root, final int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * Return the root of the trie.
+     *
+     * @return the root.
+     */
+    HamtNode<K, V> getRoot() {
+        return root;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean containsKey(final Object key) {
+        return HamtNode.NOT_FOUND != root.find(key, HamtNode.hash(key), 0);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(final Object key) {
+        final Object value = root.find(key, HamtNode.hash(key), 0);
+
+        return HamtNode.NOT_FOUND == value ? null : (V) value;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public V getOrDefault(final Object key, final V defaultValue) {
+        final Object value = root.find(key, HamtNode.hash(key), 0);
+
+        return HamtNode.NOT_FOUND == value ? defaultValue : (V) value;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void forEach(final BiConsumer<? super K, ? super V> action) {
+        forEach(root, action);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Entries are created as iterated.
+     */
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        return new AbstractSet<Map.Entry<K, V>>() {
+            @Override
+            public Iterator<Map.Entry<K, V>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * Iterates the entries of each node, depth first.
+     */
+    final class EntryIterator implements Iterator<Map.Entry<K, V>> {
+
+        /**
+         * Nodes yet to visit.
+         */
+        private final Deque<HamtNode<K, V>> pending = new ArrayDeque<>();
+
+        /**
+         * The node whose entries are being returned.
+         */
+        private HamtNode<K, V> current;
+
+        /**
+         * The next entry of current to return.
+         */
+        private int index;
+
+        /**
+         * Starts at the root.
+         */
+        EntryIterator() {
+            pending.push(root);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean hasNext() {
+            while (null == current || index >= current.payloadArity()) {
+                if (pending.isEmpty()) {
+                    return false;
+                }
+
+                current = pending.pop();
+                index = 0;
+
+                for (int child = current.nodeArity() - 1; child >= 0; child--) {
+                    pending.push(current.nodeAt(child));
+                }
+            }
+
+            return true;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Map.Entry<K, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            final Map.Entry<K, V> retVal = new AbstractMap.SimpleImmutableEntry<>(current.keyAt(index), current.valueAt(index));
+
+            index++;
+
+            return retVal;
+        }
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.map;
+
+import org.flossware.jcore.utils.collections.HashIndexUtils;
+
+/**
+ * A node of an immutable hash array mapped trie. Each level consumes 5 bits of a key's hash to pick one of 32 branches.
+ * Updates never change a node - they copy the path from the root to the change and share everything else, so each version of
+ * a map costs O(log32 n) new nodes.
+ *
+ * Nodes are kept canonical: a branch holding a single entry is always inlined into its parent, so equal maps have the same
+ * shape and no node is ever empty (bar the root).
+ *
+ * @author Scot P. Floess
+ *
+ * @param <K> the key.
+ * @param <V> the value.
+ */
+abstract class HamtNode<K, V> {
+
+    /**
+     * Hash bits consumed per level.
+     */
+    static final int BITS = 5;
+
+    /**
+     * Masks the hash bits of a level.
+     */
+    static final int FRAGMENT_MASK = (1 << BITS) - 1;
+
+    /**
+     * Shift at which all hash bits are consumed and keys with equal hashes share a collision node.
+     */
+    static final int HASH_BITS = 32;
+
+    /**
+     * Returned by find() when a key is not present.
+     */
+    static final Object NOT_FOUND = new Object();
+
+    /**
+     * What an update did.
+     *
+     * @param <V> the value.
+     */
+    static final class Change<V> {
+
+        /**
+         * True if an entry was added.
+         */
+        boolean added;
+
+        /**
+         * True if an entry was removed.
+         */
+        boolean removed;
+
+        /**
+         * The value replaced or removed.
+         */
+        V oldValue;
+    }
+
+    /**
+     * Return the hash of a key.
+     *
+     * @param key the key, may be null.
+     *
+     * @return the hash.
+     */
+    static int hash(final Object key) {
+        return HashIndexUtils.hash(key);
+    }
+
+    /**
+     * Return the bit for a level of a hash.
+     *
+     * @param hash  the hash.
+     * @param shift the shift of the level.
+     *
+     * @return the bit.
+     */
+    static int bitpos(final int hash, final int shift) {
+        return 1 << ((hash >>> shift) & FRAGMENT_MASK);
+    }
+
+    /**
+     * Return a node holding two entries whose keys differ, from the level of shift down.
+     *
+     * @param <K> the key.
+     * @param <V> the value.
+     *
+     * @param key0   the first key.
+     * @param value0 the first value.
+     * @param hash0  the hash of the first key.
+     * @param key1   the second key.
+     * @param value1 the second value.
+     * @param hash1  the hash of the second key.
+     * @param shift  the shift of the level.
+     *
+     * @return the node.
+     */
+    static <K, V> HamtNode<K, V> mergeTwo(final K key0, final V value0, final int hash0, final K key1, final V value1, final int hash1, final int shift) {
+        if (shift >= HASH_BITS) {
+            return new HashCollisionNode<>(hash0, new Object[]{key0, value0, key1, value1});
+        }
+
+        final int bit0 = bitpos(hash0, shift);
+        final int bit1 = bitpos(hash1, shift);
+
+        if (bit0 == bit1) {
+            return new BitmapIndexedNode<>(0, bit0, new Object[]{mergeTwo(key0, value0, hash0, key1, value1, hash1, shift + BITS)});
+        }
+
+        return new BitmapIndexedNode<>(bit0 | bit1, 0, Integer.compareUnsigned(bit0, bit1) < 0 ? new Object[]{key0, value0, key1, value1} : new Object[]{key1, value1, key0, value0});
+    }
+
+    /**
+     * Return the value of a key.
+     *
+     * @param key   the key.
+     * @param hash  the hash of the key.
+     * @param shift the shift of this node's level.
+     *
+     * @return the value or NOT_FOUND.
+     */
+    abstract Object find(Object key, int hash, int shift);
+
+    /**
+     * Return a node with a key mapped to a value.
+     *
+     * @param key    the key.
+     * @param value  the value.
+     * @param hash   the hash of the key.
+     * @param shift  the shift of this node's level.
+     * @param change records what was done.
+     *
+     * @return self if nothing changed, else the new node.
+     */
+    abstract HamtNode<K, V> put(K key, V value, int hash, int shift, Change<V> change);
+
+    /**
+     * Return a node without a key.
+     *
+     * @param key    the key.
+     * @param hash   the hash of the key.
+     * @param shift  the shift of this node's level.
+     * @param change records what was done.
+     *
+     * @return self if nothing changed, else the new node.
+     */
+    abstract HamtNode<K, V> remove(Object key, int hash, int shift, Change<V> change);
+
+    /**
+     * Return the number of entries held directly.
+     *
+     * @return the number of entries.
+     */
+    abstract int payloadArity();
+
+    /**
+     * Return the number of child nodes.
+     *
+     * @return the number of child nodes.
+     */
+    abstract int nodeArity();
+
+    /**
+     * Return a key held directly.
+     *
+     * @param index which entry.
+     *
+     * @return the key.
+     */
+    abstract K keyAt(int index);
+
+    /**
+     * Return a value held directly.
+     *
+     * @param index which entry.
+     *
+     * @return the value.
+     */
+    abstract V valueAt(int index);
+
+    /**
+     * Return a child node.
+     *
+     * @param index which child.
+     *
+     * @return the child.
+     */
+    abstract HamtNode<K, V> nodeAt(int index);
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.map;
+
+import java.util.Objects;
+
+/**
+ * A trie node below the last level, holding the (two or more) entries whose keys have exactly the same hash.
+ *
+ * @author Scot P. Floess
+ *
+ * @param <K> the key.
+ * @param <V> the value.
+ */
+final class HashCollisionNode<K, V> extends HamtNode<K, V> {
+
+    /**
+     * The hash shared by all keys.
+     */
+    private final int hash;
+
+    /**
+     * Keys and values.
+     */
+    private final Object[] content;
+
+    /**
+     * Return the index of a key.
+     *
+     * @param key the key.
+     *
+     * @return the index of the entry or -1 if not found.
+     */
+    private int indexOf(final Object key) {
+        for (int index = 0; index < content.length; index += 2) {
+            if (Objects.equals(key, content[index])) {
+                return index / 2;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Sets the hash and entries.
+     *
+     * @param hash    the hash shared by all keys.
+     * @param content keys and values.
+     */
+    HashCollisionNode(final int hash, final Object[] content) {
+        this.hash = hash;
+        this.content = content;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    Object find(final Object key, final int hash, final int shift) {
+        final int index = this.hash == hash ? indexOf(key) : -1;
+
+        return index < 0 ? NOT_FOUND : content[2 * index + 1];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    HamtNode<K, V> put(final K key, final V value, final int hash, final int shift, final Change<V> change) {
+        final int index = indexOf(key);
+
+        if (index >= 0) {
+            change.oldValue = valueAt(index);
+
+            if (change.oldValue == value) {
+                return this;
+            }
+
+            final Object[] newContent = content.clone();
+
+            newContent[2 * index + 1] = value;
+
+            return new HashCollisionNode<>(hash, newContent);
+        }
+
+        final Object[] newContent = new Object[content.length + 2];
+
+        System.arraycopy(content, 0, newContent, 0, content.length);
+
+        newContent[content.length] = key;
+        newContent[content.length + 1] = value;
+
+        change.added = true;
+
+        return new HashCollisionNode<>(hash, newContent);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    HamtNode<K, V> remove(final Object key, final int hash, final int shift, final Change<V> change) {
+        final int index = this.hash == hash ? indexOf(key) : -1;
+
+        if (index < 0) {
+            return this;
+        }
+
+        change.removed = true;
+        change.oldValue = valueAt(index);
+
+        final Object[] newContent = new Object[content.length - 2];
+
+        System.arraycopy(content, 0, newContent, 0, 2 * index);
+        System.arraycopy(content, 2 * index + 2, newContent, 2 * index, content.length - 2 * index - 2);
+
+        return new HashCollisionNode<>(hash, newContent);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    int payloadArity() {
+        return content.length / 2;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    int nodeArity() {
+        return 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    K keyAt(final int index) {
+        return (K) content[2 * index];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    V valueAt(final int index) {
+        return (V) content[2 * index + 1];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    HamtNode<K, V> nodeAt(final int index) {
+        throw new IndexOutOfBoundsException();
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.map;
+
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.logging.Level;
+import org.flossware.jcore.utils.ObjectUtils;
+
+/**
+ * An immutable functional map, typically created via FunctionalMap.freeze(). Keys and values are held in two flat arrays with an
+ * open addressing index of their positions - no Entry objects - so it is far smaller than a HashMap of the same entries, and
+ * being immutable is safe to share across threads without locking. Iterates in the order of the map copied. Null keys and
+ * values are allowed.
+ *
+ * All mutators raise UnsupportedOperationException.
+ *
+ * @author Scot P. Floess
+ *
+ * @param <K> the key.
+ * @param <V> the value.
+ */
+public class ImmutableFunctionalMap<K, V> extends AbstractFunctionalMap<K, V> {
+
+    /**
+     * Error message when no map is provided.
+     */
+    public static final String MAP_ERROR_MSG = "Map cannot be null!";
+
+    /**
+     * Our map.
+     */
+    private final CompactMap<K, V> map;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Map<K, V> getMap() {
+        return map;
+    }
+
+    /**
+     * Copies a map - later changes to it are not seen.
+     *
+     * @param map the map to copy.
+     *
+     * @throws IllegalArgumentException if map is null.
+     */
+    public ImmutableFunctionalMap(final Map<? extends K, ? extends V> map) {
+        this.map = new CompactMap<>(ObjectUtils.ensureObject(map, MAP_ERROR_MSG));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Already immutable so returns self.
+     */
+    @Override
+    public ImmutableFunctionalMap<K, V> freeze() {
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V getOrDefault(final Object key, final V defaultValue) {
+        return logAndReturn(Level.FINEST, "Retrieved value [{0}] for key [{1}]", map.getOrDefault(key, defaultValue), key);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void forEach(final BiConsumer<? super K, ? super V> action) {
+        map.forEach(action);
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.map;
+
+/**
+ * A "functional" map keyed by primitive ints. Keys are never boxed and there are no entry objects so lookups do not allocate.
+ * Like FunctionalMap, mutators ending in F return self so calls may be chained: map.putF(1, "one").putF(2, "two")
+ *
+ * @author Scot P. Floess
+ *
+ * @param <V> the type of value.
+ */
+public interface IntFunctionalMap<V> {
+
+    /**
+     * Return the number of entries.
+     *
+     * @return the number of entries.
+     */
+    int size();
+
+    /**
+     * Return true if there are no entries.
+     *
+     * @return true if there are no entries.
+     */
+    boolean isEmpty();
+
+    /**
+     * Return true if key is present.
+     *
+     * @param key the key to look for.
+     *
+     * @return true if key is present.
+     */
+    boolean containsKey(int key);
+
+    /**
+     * Return true if value is present.
+     *
+     * @param value the value to look for - may be null.
+     *
+     * @return true if value is present.
+     */
+    boolean containsValue(Object value);
+
+    /**
+     * Return the value for key.
+     *
+     * @param key the key.
+     *
+     * @return the value for key or null if not present.
+     */
+    V get(int key);
+
+    /**
+     * Return the value for key, or defaultValue if not present.
+     *
+     * @param key          the key.
+     * @param defaultValue returned if key is not present.
+     *
+     * @return the value for key, or defaultValue if not present.
+     */
+    V getOrDefault(int key, V defaultValue);
+
+    /**
+     * Associates value with key.
+     *
+     * @param key   the key.
+     * @param value the value.
+     *
+     * @return the previous value or null if there was none.
+     */
+    V put(int key, V value);
+
+    /**
+     * Remove key.
+     *
+     * @param key the key to remove.
+     *
+     * @return the value removed or null if there was none.
+     */
+    V remove(int key);
+
+    /**
+     * Remove all entries.
+     */
+    void clear();
+
+    /**
+     * Return a copy of the keys.
+     *
+     * @return a copy of the keys.
+     */
+    int[] keys();
+
+    /**
+     * Present each key and value to consumer.
+     *
+     * @param consumer receives each key and value.
+     */
+    void forEach(IntObjectConsumer<? super V> consumer);
+
+    /**
+     * Associates value with key.
+     *
+     * @param key   the key.
+     * @param value the value.
+     *
+     * @return self.
+     */
+    IntFunctionalMap<V> putF(int key, V value);
+
+    /**
+     * Copies all the entries of map to self.
+     *
+     * @param map the map to copy.
+     *
+     * @return self.
+     */
+    IntFunctionalMap<V> putAllF(IntFunctionalMap<? extends V> map);
+
+    /**
+     * Make room for expectedSize entries so they can be added without the table growing again.
+     *
+     * @param expectedSize the number of entries expected.
+     *
+     * @return self.
+     *
+     * @throws IllegalArgumentException if expectedSize is negative or too large.
+     */
+    IntFunctionalMap<V> ensureCapacity(int expectedSize);
+
+    /**
+     * Copies keys[i] -&gt; values[i] for every i to self, sizing for the whole batch up front.
+     *
+     * @param keys   the keys.
+     * @param values the values, parallel to keys.
+     *
+     * @return self.
+     *
+     * @throws IllegalArgumentException if keys or values are null or differ in length.
+     */
+    IntFunctionalMap<V> putAllF(int[] keys, V[] values);
+
+    /**
+     * Remove all keys.
+     *
+     * @param keys the keys to remove.
+     *
+     * @return self.
+     *
+     * @throws IllegalArgumentException if keys is null.
+     */
+    IntFunctionalMap<V> removeAllF(int[] keys);
+
+    /**
+     * Remove a key.
+     *
+     * @param key the key to remove.
+     *
+     * @return self.
+     */
+    IntFunctionalMap<V> removeF(int key);
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.map;
+
+/**
+ * A "functional" map of primitive int keys to primitive int values. Neither keys nor values are boxed and there are no entry
+ * objects. As primitives cannot be null, lookups of a missing key return the map's "no entry value". Mutators ending in F return
+ * self so calls may be chained: map.putF(1, 10).putF(2, 20)
+ *
+ * @author Scot P. Floess
+ */
+public interface IntIntFunctionalMap {
+
+    /**
+     * Return the value returned by lookups of a missing key.
+     *
+     * @return the value returned by lookups of a missing key.
+     */
+    int getNoEntryValue();
+
+    /**
+     * Return the number of entries.
+     *
+     * @return the number of entries.
+     */
+    int size();
+
+    /**
+     * Return true if there are no entries.
+     *
+     * @return true if there are no entries.
+     */
+    boolean isEmpty();
+
+    /**
+     * Return true if key is present.
+     *
+     * @param key the key to look for.
+     *
+     * @return true if key is present.
+     */
+    boolean containsKey(int key);
+
+    /**
+     * Return true if value is present.
+     *
+     * @param value the value to look for.
+     *
+     * @return true if value is present.
+     */
+    boolean containsValue(int value);
+
+    /**
+     * Return the value for key.
+     *
+     * @param key the key.
+     *
+     * @return the value for key or the no entry value if not present.
+     */
+    int get(int key);
+
+    /**
+     * Return the value for key, or defaultValue if not present.
+     *
+     * @param key          the key.
+     * @param defaultValue returned if key is not present.
+     *
+     * @return the value for key, or defaultValue if not present.
+     */
+    int getOrDefault(int key, int defaultValue);
+
+    /**
+     * Associates value with key.
+     *
+     * @param key   the key.
+     * @param value the value.
+     *
+     * @return the previous value or the no entry value if there was none.
+     */
+    int put(int key, int value);
+
+    /**
+     * Adds delta to the value for key - a missing key is treated as having the no entry value.
+     *
+     * @param key   the key.
+     * @param delta the amount to add.
+     *
+     * @return the new value.
+     */
+    int addTo(int key, int delta);
+
+    /**
+     * Remove key.
+     *
+     * @param key the key to remove.
+     *
+     * @return the value removed or the no entry value if there was none.
+     */
+    int remove(int key);
+
+    /**
+     * Remove all entries.
+     */
+    void clear();
+
+    /**
+     * Return a copy of the keys.
+     *
+     * @return a copy of the keys.
+     */
+    int[] keys();
+
+    /**
+     * Return a copy of the values, in the same order as keys().
+     *
+     * @return a copy of the values.
+     */
+    int[] values();
+
+    /**
+     * Present each key and value to consumer.
+     *
+     * @param consumer receives each key and value.
+     */
+    void forEach(IntIntConsumer consumer);
+
+    /**
+     * Associates value with key.
+     *
+     * @param key   the key.
+     * @param value the value.
+     *
+     * @return self.
+     */
+    IntIntFunctionalMap putF(int key, int value);
+
+    /**
+     * Copies all the entries of map to self.
+     *
+     * @param map the map to copy.
+     *
+     * @return self.
+     */
+    IntIntFunctionalMap putAllF(IntIntFunctionalMap map);
+
+    /**
+     * Make room for expectedSize entries so they can be added without the table growing again.
+     *
+     * @param expectedSize the number of entries expected.
+     *
+     * @return self.
+     *
+     * @throws IllegalArgumentException if expectedSize is negative or too large.
+     */
+    IntIntFunctionalMap ensureCapacity(int expectedSize);
+
+    /**
+     * Copies keys[i] -&gt; values[i] for every i to self, sizing for the whole batch up front.
+     *
+     * @param keys   the keys.
+     * @param values the values, parallel to keys.
+     *
+     * @return self.
+     *
+     * @throws IllegalArgumentException if keys or values are null or differ in length.
+     */
+    IntIntFunctionalMap putAllF(int[] keys, int[] values);
+
+    /**
+     * Remove all keys.
+     *
+     * @param keys the keys to remove.
+     *
+     * @return self.
+     *
+     * @throws IllegalArgumentException if keys is null.
+     */
+    IntIntFunctionalMap removeAllF(int[] keys);
+
+    /**
+     * Remove a key.
+     *
+     * @param key the key to remove.
+     *
+     * @return self.
+     */
+    IntIntFunctionalMap removeF(int key);
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.map;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Least frequently used eviction - entries are bucketed by use count, each bucket in least recently used order so ties evict
+ * the eldest.
+ *
+ * @author Scot P. Floess
+ *
+ * @param <K> the key.
+ * @param <V> the value.
+ */
+final class LfuCachePolicy<K, V> extends CachePolicy<K, V> {
+
+    /**
+     * Use count to entries with that count.
+     */
+    private final TreeMap<Long, NodeDeque<K, V>> buckets = new TreeMap<>();
+
+    /**
+     * Add an entry to the bucket for its frequency.
+     *
+     * @param node the entry.
+     */
+    private void addToBucket(final CacheNode<K, V> node) {
+        NodeDeque<K, V> bucket = buckets.get(node.frequency);
+
+        if (null == bucket) {
+            bucket = NodeDeque.policyOrder();
+            buckets.put(node.frequency, bucket);
+        }
+
+        bucket.addLast(node);
+    }
+
+    /**
+     * Remove an entry from the bucket for its frequency, dropping the bucket if empty.
+     *
+     * @param node the entry.
+     */
+    private void removeFromBucket(final CacheNode<K, V> node) {
+        final NodeDeque<K, V> bucket = buckets.get(node.frequency);
+
+        bucket.remove(node);
+
+        if (bucket.isEmpty()) {
+            buckets.remove(node.frequency);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    void onInsert(final CacheNode<K, V> node) {
+        node.frequency = 1;
+
+        addToBucket(node);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    void onAccess(final CacheNode<K, V> node) {
+        removeFromBucket(node);
+
+        node.frequency++;
+
+        addToBucket(node);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    void onRemove(final CacheNode<K, V> node) {
+        removeFromBucket(node);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    CacheNode<K, V> victim() {
+        final Map.Entry<Long, NodeDeque<K, V>> lowest = buckets.firstEntry();
+
+        return null == lowest ? null : lowest.getValue().peekFirst();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    void clear() {
+        buckets.clear();
+    }
+}
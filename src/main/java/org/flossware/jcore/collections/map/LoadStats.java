@@ -0,0 +1,151 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.map;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An immutable snapshot of a loading map's statistics.
+ *
+ * @author Scot P. Floess
+ */
+public final class LoadStats {
+
+    /**
+     * Number of loads and reloads returning normally.
+     */
+    private final long loadSuccessCount;
+
+    /**
+     * Number of loads and reloads raising an exception.
+     */
+    private final long loadFailureCount;
+
+    /**
+     * Total time spent in loads and reloads.
+     */
+    private final long totalLoadTimeNanos;
+
+    /**
+     * Number of requests that waited on a load already in progress rather than loading again.
+     */
+    private final long coalescedCount;
+
+    /**
+     * Number of reloads started ahead of expiry.
+     */
+    private final long refreshCount;
+
+    /**
+     * Sets the counts.
+     *
+     * @param loadSuccessCount   number of loads and reloads returning normally.
+     * @param loadFailureCount   number of loads and reloads raising an exception.
+     * @param totalLoadTimeNanos total time spent in loads and reloads.
+     * @param coalescedCount     number of requests that waited on a load already in progress.
+     * @param refreshCount       number of reloads started ahead of expiry.
+     */
+    public LoadStats(final long loadSuccessCount, final long loadFailureCount, final long totalLoadTimeNanos, final long coalescedCount, final long refreshCount) {
+        this.loadSuccessCount = loadSuccessCount;
+        this.loadFailureCount = loadFailureCount;
+        this.totalLoadTimeNanos = totalLoadTimeNanos;
+        this.coalescedCount = coalescedCount;
+        this.refreshCount = refreshCount;
+    }
+
+    /**
+     * Return the number of loads and reloads returning normally.
+     *
+     * @return the number of successful loads.
+     */
+    public long getLoadSuccessCount() {
+        return loadSuccessCount;
+    }
+
+    /**
+     * Return the number of loads and reloads raising an exception.
+     *
+     * @return the number of failed loads.
+     */
+    public long getLoadFailureCount() {
+        return loadFailureCount;
+    }
+
+    /**
+     * Return the number of loads and reloads.
+     *
+     * @return successful plus failed loads.
+     */
+    public long getLoadCount() {
+        return loadSuccessCount + loadFailureCount;
+    }
+
+    /**
+     * Return the total time spent in loads and reloads.
+     *
+     * @return the total load time in nanos.
+     */
+    public long getTotalLoadTimeNanos() {
+        return totalLoadTimeNanos;
+    }
+
+    /**
+     * Return the average time of a load or reload, 0 if there were none.
+     *
+     * @return the average load time in nanos.
+     */
+    public double getAverageLoadPenaltyNanos() {
+        final long loadCount = getLoadCount();
+
+        return 0 == loadCount ? 0.0 : (double) totalLoadTimeNanos / loadCount;
+    }
+
+    /**
+     * Return the average time of a load or reload, 0 if there were none.
+     *
+     * @return the average load time in millis.
+     */
+    public double getAverageLoadPenaltyMillis() {
+        return getAverageLoadPenaltyNanos() / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * Return the number of requests that waited on a load already in progress rather than loading again.
+     *
+     * @return the number of coalesced requests.
+     */
+    public long getCoalescedCount() {
+        return coalescedCount;
+    }
+
+    /**
+     * Return the number of reloads started ahead of expiry.
+     *
+     * @return the number of refreshes.
+     */
+    public long getRefreshCount() {
+        return refreshCount;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "LoadStats[successes=" + loadSuccessCount + ", failures=" + loadFailureCount + ", totalLoadTimeNanos=" + totalLoadTimeNanos + ", coalesced=" + coalescedCount + ", refreshes=" + refreshCount + "]";
+    }
+}
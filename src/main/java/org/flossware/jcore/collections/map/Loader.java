@@ -0,0 +1,54 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.map;
+
+/**
+ * Computes values for a loading map - typically by calling a slow backend.
+ *
+ * @author Scot P. Floess
+ *
+ * @param <K> the key.
+ * @param <V> the value.
+ */
+@FunctionalInterface
+public interface Loader<K, V> {
+
+    /**
+     * Compute the value for a key.
+     *
+     * @param key the key.
+     *
+     * @return the value or null if there is none.
+     *
+     * @throws Exception if the value cannot be computed.
+     */
+    V load(K key) throws Exception;
+
+    /**
+     * Compute a new value for a key already loaded - by default load() is called.
+     *
+     * @param key      the key.
+     * @param oldValue the current value.
+     *
+     * @return the new value or null if there no longer is one.
+     *
+     * @throws Exception if the value cannot be computed.
+     */
+    default V reload(final K key, final V oldValue) throws Exception {
+        return load(key);
+    }
+}
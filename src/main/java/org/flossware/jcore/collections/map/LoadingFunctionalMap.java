@@ -0,0 +1,682 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.map;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.logging.Level;
+import org.flossware.jcore.utils.LongUtils;
+import org.flossware.jcore.utils.ObjectUtils;
+import org.flossware.jcore.utils.ThreadUtils;
+import org.flossware.jcore.utils.collections.MapUtils;
+
+/**
+ * A read-through functional map: get() of a missing key calls a Loader and stores what it returns. Concurrent requests for a key
+ * being loaded wait for that load rather than calling the loader again, so a hot key going missing (say evicted or expired from
+ * a CachingFunctionalMap used as the underlying map) results in one backend call, not one per requesting thread.
+ *
+ * Optionally, a value older than a refresh interval is reloaded in the background the next time it is read - the old value is
+ * returned meanwhile, so readers never wait for a hot key. Load times, failures and coalesced requests are counted - see
+ * getStats().
+ *
+ * Loader failures are raised as LoadException (with the loader's exception as cause) to every request waiting on that load,
+ * and nothing is stored. A loader returning null stores nothing and get() returns null. Only get() loads - containsKey(),
+ * getIfPresent() and iteration see what is currently stored.
+ *
+ * A reload only stores its result if the key still maps to the value reloaded - a value put or removed while the reload ran
+ * wins. A loader asking the map for its own key, on the thread loading it, raises IllegalStateException rather than waiting on
+ * itself forever.
+ *
+ * The underlying map must be thread safe. Null keys are not allowed.
+ *
+ * @author Scot P. Floess
+ *
+ * @param <K> the key.
+ * @param <V> the value.
+ */
+public class LoadingFunctionalMap<K, V> extends AbstractFunctionalMap<K, V> {
+
+    /**
+     * Denotes values are never refreshed.
+     */
+    public static final long NO_REFRESH = 0;
+
+    /**
+     * Error message when no map is provided.
+     */
+    public static final String MAP_ERROR_MSG = "Map cannot be null!";
+
+    /**
+     * Error message when no loader is provided.
+     */
+    public static final String LOADER_ERROR_MSG = "Loader cannot be null!";
+
+    /**
+     * Error message when no executor is provided.
+     */
+    public static final String EXECUTOR_ERROR_MSG = "Executor cannot be null!";
+
+    /**
+     * Error message when the refresh interval is negative.
+     */
+    public static final String REFRESH_ERROR_MSG = "Refresh interval cannot be negative!";
+
+    /**
+     * Error message when loading with a null key.
+     */
+    public static final String KEY_ERROR_MSG = "Key cannot be null!";
+
+    /**
+     * Message of the LoadException raised when a loader fails.
+     */
+    public static final String LOAD_ERROR_MSG = "Unable to load value for key!";
+
+    /**
+     * Message of the LoadException raised when interrupted waiting for a load.
+     */
+    public static final String INTERRUPTED_ERROR_MSG = "Interrupted waiting for load!";
+
+    /**
+     * Error message when a loader asks for the key it is loading.
+     */
+    public static final String RECURSIVE_LOAD_ERROR_MSG = "Loader cannot get the key it is loading!";
+
+    /**
+     * Holds the executor for refreshes, created on first use.
+     */
+    static final class DefaultExecutor {
+
+        /**
+         * Runs refreshes - each on its own (virtual when supported) thread.
+         */
+        static final Executor EXECUTOR = ThreadUtils.newTaskExecutor();
+
+        /**
+         * Default constructor not allowed.
+         */
+        private DefaultExecutor() {
+        }
+    }
+
+    /**
+     * A load or reload in progress.
+     *
+     * @param <V> the value.
+     */
+    static final class Load<V> extends CompletableFuture<V> {
+
+        /**
+         * The thread calling the loader, null until it starts.
+         */
+        private volatile Thread thread;
+
+        /**
+         * Record the current thread as the one calling the loader.
+         */
+        void start() {
+            thread = Thread.currentThread();
+        }
+
+        /**
+         * Return true if the current thread is the one calling the loader.
+         *
+         * @return true if the current thread is loading.
+         */
+        boolean isLoadingThread() {
+            return Thread.currentThread() == thread;
+        }
+    }
+
+    /**
+     * Our map.
+     */
+    private final Map<K, V> map;
+
+    /**
+     * Computes values.
+     */
+    private final Loader<? super K, V> loader;
+
+    /**
+     * Nanos after a load a value is refreshed when read, 0 for never.
+     */
+    private final long refreshAfterWriteNanos;
+
+    /**
+     * Runs refreshes.
+     */
+    private final Executor executor;
+
+    /**
+     * Returns the current time in nanos.
+     */
+    private final LongSupplier ticker;
+
+    /**
+     * Loads and refreshes in progress.
+     */
+    private final ConcurrentMap<K, Load<V>> loads;
+
+    /**
+     * When each value was stored - only kept when refreshing.
+     */
+    private final ConcurrentMap<K, Long> writeTimes;
+
+    /**
+     * Number of loads and reloads returning normally.
+     */
+    private final LongAdder loadSuccessCount;
+
+    /**
+     * Number of loads and reloads raising an exception.
+     */
+    private final LongAdder loadFailureCount;
+
+    /**
+     * Total time spent in loads and reloads.
+     */
+    private final LongAdder totalLoadTimeNanos;
+
+    /**
+     * Number of requests that waited on a load already in progress.
+     */
+    private final LongAdder coalescedCount;
+
+    /**
+     * Number of reloads started ahead of expiry.
+     */
+    private final LongAdder refreshCount;
+
+    /**
+     * Return true if refreshing.
+     *
+     * @return true if refreshing.
+     */
+    private boolean isRefreshing() {
+        return refreshAfterWriteNanos > 0;
+    }
+
+    /**
+     * Record when a value was stored, dropping records of keys no longer stored once they outnumber the stored ones.
+     *
+     * @param key the key stored.
+     * @param now when.
+     */
+    private void recordWrite(final K key, final long now) {
+        if (!isRefreshing()) {
+            return;
+        }
+
+        writeTimes.put(key, now);
+
+        if (writeTimes.size() > 2 * map.size() + 16) {
+            final Iterator<K> iter = writeTimes.keySet().iterator();
+
+            while (iter.hasNext()) {
+                if (!map.containsKey(iter.next())) {
+                    iter.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Store a loaded value, or remove the key if null.
+     *
+     * @param key   the key.
+     * @param value the value loaded.
+     */
+    private void store(final K key, final V value) {
+        if (null == value) {
+            map.remove(key);
+            writeTimes.remove(key);
+        } else {
+            map.put(key, value);
+            recordWrite(key, ticker.getAsLong());
+        }
+    }
+
+    /**
+     * Store a reloaded value, or remove the key if null - only if the key still maps to the value reloaded.
+     *
+     * @param key      the key.
+     * @param oldValue the value reloaded.
+     * @param value    the value loaded.
+     */
+    private void store(final K key, final V oldValue, final V value) {
+        if (null == value) {
+            if (map.remove(key, oldValue)) {
+                writeTimes.remove(key);
+
+                return;
+            }
+        } else if (map.replace(key, oldValue, value)) {
+            recordWrite(key, ticker.getAsLong());
+
+            return;
+        }
+
+        log(Level.FINEST, "Dropping refresh of [{0}] - changed while reloading", key);
+    }
+
+    /**
+     * Call the loader, timing it and storing the result.
+     *
+     * @param key      the key.
+     * @param oldValue the current value or null to load rather than reload.
+     *
+     * @return the value loaded.
+     *
+     * @throws Exception if the loader fails.
+     */
+    private V callLoader(final K key, final V oldValue) throws Exception {
+        final long start = ticker.getAsLong();
+
+        try {
+            final V value = null == oldValue ? loader.load(key) : loader.reload(key, oldValue);
+
+            loadSuccessCount.increment();
+
+            if (null == oldValue) {
+                store(key, value);
+            } else {
+                store(key, oldValue, value);
+            }
+
+            return value;
+        } catch (final Exception | Error failure) {
+            loadFailureCount.increment();
+
+            throw failure;
+        } finally {
+            totalLoadTimeNanos.add(ticker.getAsLong() - start);
+        }
+    }
+
+    /**
+     * Wait for a load in progress.
+     *
+     * @param future the load.
+     *
+     * @return the value loaded.
+     *
+     * @throws LoadException if the load failed or we were interrupted.
+     */
+    private V await(final Load<V> future) {
+        try {
+            return future.get();
+        } catch (final InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+
+            throw new LoadException(INTERRUPTED_ERROR_MSG, interruptedException);
+        } catch (final ExecutionException executionException) {
+            throw new LoadException(LOAD_ERROR_MSG, executionException.getCause());
+        }
+    }
+
+    /**
+     * Load a key, or wait for the load in progress for it.
+     *
+     * @param key the key.
+     *
+     * @return the value.
+     *
+     * @throws IllegalStateException if the current thread is already loading key.
+     */
+    private V load(final K key) {
+        final Load<V> future = new Load<>();
+        final Load<V> inProgress = loads.putIfAbsent(key, future);
+
+        if (null != inProgress) {
+            if (inProgress.isLoadingThread()) {
+                throw new IllegalStateException(RECURSIVE_LOAD_ERROR_MSG);
+            }
+
+            coalescedCount.increment();
+
+            log(Level.FINEST, "Waiting on load in progress for [{0}]", key);
+
+            return await(inProgress);
+        }
+
+        try {
+            // A load may have completed between our miss and registering ours...
+            V value = map.get(key);
+
+            if (null == value) {
+                log(Level.FINEST, "Loading [{0}]", key);
+
+                future.start();
+
+                value = callLoader(key, null);
+            }
+
+            future.complete(value);
+
+            return value;
+        } catch (final Exception exception) {
+            future.completeExceptionally(exception);
+
+            throw new LoadException(LOAD_ERROR_MSG, exception);
+        } catch (final Error error) {
+            future.completeExceptionally(error);
+
+            throw error;
+        } finally {
+            loads.remove(key, future);
+        }
+    }
+
+    /**
+     * Reload a key in the background unless a load is already in progress.
+     *
+     * @param key      the key.
+     * @param oldValue the current value.
+     *
+     * @return the reload, or the load already in progress.
+     */
+    private CompletableFuture<V> reload(final K key, final V oldValue) {
+        final Load<V> future = new Load<>();
+        final Load<V> inProgress = loads.putIfAbsent(key, future);
+
+        if (null != inProgress) {
+            return inProgress;
+        }
+
+        refreshCount.increment();
+
+        log(Level.FINEST, "Refreshing [{0}]", key);
+
+        try {
+            executor.execute(() -> {
+                future.start();
+
+                try {
+                    future.complete(callLoader(key, oldValue));
+                } catch (final Throwable throwable) {
+                    // Keep serving the old value, trying again after another interval...
+                    recordWrite(key, ticker.getAsLong());
+
+                    log(Level.WARNING, "Unable to refresh [{0}]", key);
+
+                    future.completeExceptionally(throwable);
+                } finally {
+                    loads.remove(key, future);
+                }
+            });
+        } catch (final RuntimeException exception) {
+            loads.remove(key, future);
+
+            future.completeExceptionally(exception);
+        }
+
+        return future;
+    }
+
+    /**
+     * Sets the map, loader, refresh interval, executor and clock.
+     *
+     * @param map                     the thread safe map to store values in.
+     * @param loader                  computes values.
+     * @param refreshAfterWriteMillis millis after a load a value is refreshed when read, NO_REFRESH for never.
+     * @param executor                runs refreshes.
+     * @param ticker                  returns the current time in nanos.
+     *
+     * @throws IllegalArgumentException if any object is null or refreshAfterWriteMillis is negative.
+     */
+    LoadingFunctionalMap(final Map<K, V> map, final Loader<? super K, V> loader, final long refreshAfterWriteMillis, final Executor executor, final LongSupplier ticker) {
+        this.map = ObjectUtils.ensureObject(map, MAP_ERROR_MSG);
+        this.loader = ObjectUtils.ensureObject(loader, LOADER_ERROR_MSG);
+        this.refreshAfterWriteNanos = TimeUnit.MILLISECONDS.toNanos(LongUtils.ensureMinLong(refreshAfterWriteMillis, NO_REFRESH, REFRESH_ERROR_MSG));
+        this.executor = ObjectUtils.ensureObject(executor, EXECUTOR_ERROR_MSG);
+        this.ticker = ObjectUtils.ensureObject(ticker);
+        this.loads = new ConcurrentHashMap<>();
+        this.writeTimes = new ConcurrentHashMap<>();
+        this.loadSuccessCount = new LongAdder();
+        this.loadFailureCount = new LongAdder();
+        this.totalLoadTimeNanos = new LongAdder();
+        this.coalescedCount = new LongAdder();
+        this.refreshCount = new LongAdder();
+    }
+
+    /**
+     * Sets the map, loader, refresh interval and the executor running refreshes.
+     *
+     * @param map                     the thread safe map to store values in.
+     * @param loader                  computes values.
+     * @param refreshAfterWriteMillis millis after a load a value is refreshed when read, NO_REFRESH for never.
+     * @param executor                runs refreshes.
+     *
+     * @throws IllegalArgumentException if any object is null or refreshAfterWriteMillis is negative.
+     */
+    public LoadingFunctionalMap(final Map<K, V> map, final Loader<? super K, V> loader, final long refreshAfterWriteMillis, final Executor executor) {
+        this(map, loader, refreshAfterWriteMillis, executor, System::nanoTime);
+    }
+
+    /**
+     * Sets the map, loader and refresh interval - refreshes run on their own threads.
+     *
+     * @param map                     the thread safe map to store values in.
+     * @param loader                  computes values.
+     * @param refreshAfterWriteMillis millis after a load a value is refreshed when read, NO_REFRESH for never.
+     *
+     * @throws IllegalArgumentException if any object is null or refreshAfterWriteMillis is negative.
+     */
+    public LoadingFunctionalMap(final Map<K, V> map, final Loader<? super K, V> loader, final long refreshAfterWriteMillis) {
+        this(map, loader, refreshAfterWriteMillis, DefaultExecutor.EXECUTOR);
+    }
+
+    /**
+     * Sets the map and loader - values are never refreshed.
+     *
+     * @param map    the thread safe map to store values in.
+     * @param loader computes values.
+     *
+     * @throws IllegalArgumentException if any object is null.
+     */
+    public LoadingFunctionalMap(final Map<K, V> map, final Loader<? super K, V> loader) {
+        this(map, loader, NO_REFRESH, Runnable::run);
+    }
+
+    /**
+     * Stores values in a ConcurrentHashMap - values are never refreshed.
+     *
+     * @param loader computes values.
+     *
+     * @throws IllegalArgumentException if loader is null.
+     */
+    public LoadingFunctionalMap(final Loader<? super K, V> loader) {
+        this(new ConcurrentHashMap<>(), loader);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Map<K, V> getMap() {
+        return map;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Loads the value if missing, and starts a refresh if the value is due one.
+     *
+     * @throws IllegalArgumentException if key is null.
+     * @throws LoadException            if the loader fails.
+     * @throws IllegalStateException    if called by the loader for the key it is loading.
+     * @throws ClassCastException       if key is not a K.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(final Object key) {
+        final K theKey = (K) ObjectUtils.ensureObject(key, KEY_ERROR_MSG);
+        final V value = map.get(theKey);
+
+        if (null == value) {
+            return logAndReturn(Level.FINEST, "Loaded value [{0}] for key [{1}]", load(theKey), theKey);
+        }
+
+        if (isRefreshing()) {
+            final Long writeTime = writeTimes.get(theKey);
+
+            if (null == writeTime || ticker.getAsLong() - writeTime >= refreshAfterWriteNanos) {
+                reload(theKey, value);
+            }
+        }
+
+        return logAndReturn(Level.FINEST, "Retrieved value [{0}] for key [{1}]", value, theKey);
+    }
+
+    /**
+     * Return the value stored for a key without loading it.
+     *
+     * @param key the key.
+     *
+     * @return the value or null if not stored.
+     */
+    public V getIfPresent(final Object key) {
+        return logAndReturn(Level.FINEST, "Retrieved value [{0}] for key [{1}]", map.get(key), key);
+    }
+
+    /**
+     * Reload a key in the background - the current value, if any, is returned by get() meanwhile.
+     *
+     * @param key the key.
+     *
+     * @return completes with the new value, or exceptionally if the loader fails.
+     *
+     * @throws IllegalArgumentException if key is null.
+     */
+    public CompletableFuture<V> refresh(final K key) {
+        ObjectUtils.ensureObject(key, KEY_ERROR_MSG);
+
+        final V value = map.get(key);
+
+        return null == value ? CompletableFuture.supplyAsync(() -> load(key), executor) : reload(key, value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V put(final K key, final V value) {
+        final V retVal = super.put(key, value);
+
+        recordWrite(key, ticker.getAsLong());
+
+        return retVal;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void putAll(final Map<? extends K, ? extends V> map) {
+        log(Level.FINEST, "Putting all {0}", map);
+
+        final long now = ticker.getAsLong();
+
+        for (final Map.Entry<? extends K, ? extends V> entry : map.entrySet()) {
+            this.map.put(entry.getKey(), entry.getValue());
+
+            recordWrite(entry.getKey(), now);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public FunctionalMap<K, V> putAllF(final K[] keys, final V[] values) {
+        final int length = MapUtils.ensureParallel(keys, values);
+
+        log(Level.FINEST, "Putting [{0}] keys", length);
+
+        final long now = ticker.getAsLong();
+
+        for (int index = 0; index < length; index++) {
+            map.put(keys[index], values[index]);
+
+            recordWrite(keys[index], now);
+        }
+
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public FunctionalMap<K, V> removeAllF(final Collection<?> keys) {
+        for (final Object key : ObjectUtils.ensureObject(keys, MapUtils.KEYS_ERROR_MSG)) {
+            writeTimes.remove(key);
+        }
+
+        return super.removeAllF(keys);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Loads any missing values, so the result has every key.
+     *
+     * @throws LoadException if the loader fails.
+     */
+    @Override
+    public Map<K, V> getAll(final Collection<? extends K> keys) {
+        return logAndReturn(Level.FINEST, "Retrieved {0} for keys {1}", MapUtils.getAll(this, keys), keys);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V remove(final Object key) {
+        writeTimes.remove(key);
+
+        return super.remove(key);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear() {
+        super.clear();
+
+        writeTimes.clear();
+    }
+
+    /**
+     * Return a snapshot of the load counts and times since the map was created.
+     *
+     * @return the statistics.
+     */
+    public LoadStats getStats() {
+        return logAndReturn(Level.FINEST, "Stats [{0}]", new LoadStats(loadSuccessCount.sum(), loadFailureCount.sum(), totalLoadTimeNanos.sum(), coalescedCount.sum(), refreshCount.sum()));
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.map;
+
+/**
+ * Accepts a primitive long key and its value, avoiding the boxing a BiConsumer would need.
+ *
+ * @author Scot P. Floess
+ *
+ * @param <V> the type of value.
+ */
+@FunctionalInterface
+public interface LongObjectConsumer<V> {
+
+    /**
+     * Accept a key and its value.
+     *
+     * @param key   the key.
+     * @param value the value for the key.
+     */
+    void accept(long key, V value);
+}
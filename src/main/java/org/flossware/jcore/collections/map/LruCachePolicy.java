@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.map;
+
+/**
+ * Least recently used eviction.
+ *
+ * @author Scot P. Floess
+ *
+ * @param <K> the key.
+ * @param <V> the value.
+ */
+final class LruCachePolicy<K, V> extends CachePolicy<K, V> {
+
+    /**
+     * Entries eldest access first.
+     */
+    private final NodeDeque<K, V> queue = NodeDeque.policyOrder();
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    void onInsert(final CacheNode<K, V> node) {
+        queue.addLast(node);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    void onAccess(final CacheNode<K, V> node) {
+        queue.moveToLast(node);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    void onRemove(final CacheNode<K, V> node) {
+        queue.remove(node);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    CacheNode<K, V> victim() {
+        return queue.peekFirst();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    void clear() {
+        queue.clear();
+    }
+}
@@ -0,0 +1,303 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.map;
+
+/**
+ * An intrusive doubly linked list of cache entries - the links live in the entries themselves so moving an entry is constant
+ * time and allocation free. Each entry has one set of links per kind of list, so it can be in one list of each kind.
+ *
+ * @author Scot P. Floess
+ *
+ * @param <K> the key.
+ * @param <V> the value.
+ */
+abstract class NodeDeque<K, V> {
+
+    /**
+     * The first (eldest) entry.
+     */
+    private CacheNode<K, V> first;
+
+    /**
+     * The last (youngest) entry.
+     */
+    private CacheNode<K, V> last;
+
+    /**
+     * The number of entries.
+     */
+    private int size;
+
+    /**
+     * The total weight of the entries.
+     */
+    private long weight;
+
+    /**
+     * Return the previous entry.
+     *
+     * @param node the entry.
+     *
+     * @return the previous entry.
+     */
+    abstract CacheNode<K, V> getPrev(CacheNode<K, V> node);
+
+    /**
+     * Return the next entry.
+     *
+     * @param node the entry.
+     *
+     * @return the next entry.
+     */
+    abstract CacheNode<K, V> getNext(CacheNode<K, V> node);
+
+    /**
+     * Set the previous entry.
+     *
+     * @param node the entry.
+     * @param prev the previous entry.
+     */
+    abstract void setPrev(CacheNode<K, V> node, CacheNode<K, V> prev);
+
+    /**
+     * Set the next entry.
+     *
+     * @param node the entry.
+     * @param next the next entry.
+     */
+    abstract void setNext(CacheNode<K, V> node, CacheNode<K, V> next);
+
+    /**
+     * Return the first (eldest) entry.
+     *
+     * @return the first entry or null if empty.
+     */
+    CacheNode<K, V> peekFirst() {
+        return first;
+    }
+
+    /**
+     * Return the last (youngest) entry.
+     *
+     * @return the last entry or null if empty.
+     */
+    CacheNode<K, V> peekLast() {
+        return last;
+    }
+
+    /**
+     * Return true if empty.
+     *
+     * @return true if empty.
+     */
+    boolean isEmpty() {
+        return null == first;
+    }
+
+    /**
+     * Return the number of entries.
+     *
+     * @return the number of entries.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Return the total weight of the entries.
+     *
+     * @return the total weight.
+     */
+    long getWeight() {
+        return weight;
+    }
+
+    /**
+     * Adjust the total weight when an entry in the list changes weight.
+     *
+     * @param delta the change in weight.
+     */
+    void addWeight(final long delta) {
+        weight += delta;
+    }
+
+    /**
+     * Add an entry at the end.
+     *
+     * @param node the entry.
+     */
+    void addLast(final CacheNode<K, V> node) {
+        setPrev(node, last);
+        setNext(node, null);
+
+        if (null == last) {
+            first = node;
+        } else {
+            setNext(last, node);
+        }
+
+        last = node;
+        size++;
+        weight += node.weight;
+    }
+
+    /**
+     * Remove an entry.
+     *
+     * @param node an entry in this list.
+     */
+    void remove(final CacheNode<K, V> node) {
+        final CacheNode<K, V> prev = getPrev(node);
+        final CacheNode<K, V> next = getNext(node);
+
+        if (null == prev) {
+            first = next;
+        } else {
+            setNext(prev, next);
+        }
+
+        if (null == next) {
+            last = prev;
+        } else {
+            setPrev(next, prev);
+        }
+
+        setPrev(node, null);
+        setNext(node, null);
+
+        size--;
+        weight -= node.weight;
+    }
+
+    /**
+     * Move an entry to the end.
+     *
+     * @param node an entry in this list.
+     */
+    void moveToLast(final CacheNode<K, V> node) {
+        if (node != last) {
+            remove(node);
+            addLast(node);
+        }
+    }
+
+    /**
+     * Forget all entries - their links are left as is.
+     */
+    void clear() {
+        first = null;
+        last = null;
+        size = 0;
+        weight = 0;
+    }
+
+    /**
+     * Return a list using the policy links.
+     *
+     * @param <K> the key.
+     * @param <V> the value.
+     *
+     * @return a list using the policy links.
+     */
+    static <K, V> NodeDeque<K, V> policyOrder() {
+        return new NodeDeque<K, V>() {
+            @Override
+            CacheNode<K, V> getPrev(final CacheNode<K, V> node) {
+                return node.policyPrev;
+            }
+
+            @Override
+            CacheNode<K, V> getNext(final CacheNode<K, V> node) {
+                return node.policyNext;
+            }
+
+            @Override
+            void setPrev(final CacheNode<K, V> node, final CacheNode<K, V> prev) {
+                node.policyPrev = prev;
+            }
+
+            @Override
+            void setNext(final CacheNode<K, V> node, final CacheNode<K, V> next) {
+                node.policyNext = next;
+            }
+        };
+    }
+
+    /**
+     * Return a list using the write links.
+     *
+     * @param <K> the key.
+     * @param <V> the value.
+     *
+     * @return a list using the write links.
+     */
+    static <K, V> NodeDeque<K, V> writeOrder() {
+        return new NodeDeque<K, V>() {
+            @Override
+            CacheNode<K, V> getPrev(final CacheNode<K, V> node) {
+                return node.writePrev;
+            }
+
+            @Override
+            CacheNode<K, V> getNext(final CacheNode<K, V> node) {
+                return node.writeNext;
+            }
+
+            @Override
+            void setPrev(final CacheNode<K, V> node, final CacheNode<K, V> prev) {
+                node.writePrev = prev;
+            }
+
+            @Override
+            void setNext(final CacheNode<K, V> node, final CacheNode<K, V> next) {
+                node.writeNext = next;
+            }
+        };
+    }
+
+    /**
+     * Return a list using the access links.
+     *
+     * @param <K> the key.
+     * @param <V> the value.
+     *
+     * @return a list using the access links.
+     */
+    static <K, V> NodeDeque<K, V> accessOrder() {
+        return new NodeDeque<K, V>() {
+            @Override
+            CacheNode<K, V> getPrev(final CacheNode<K, V> node) {
+                return node.accessPrev;
+            }
+
+            @Override
+            CacheNode<K, V> getNext(final CacheNode<K, V> node) {
+                return node.accessNext;
+            }
+
+            @Override
+            void setPrev(final CacheNode<K, V> node, final CacheNode<K, V> prev) {
+                node.accessPrev = prev;
+            }
+
+            @Override
+            void setNext(final CacheNode<K, V> node, final CacheNode<K, V> next) {
+                node.accessNext = next;
+            }
+        };
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.map;
+
+import java.io.Closeable;
+import java.io.File;
+import java.util.Map;
+import java.util.logging.Level;
+import org.flossware.jcore.io.BufferAllocator;
+import org.flossware.jcore.io.DirectBufferAllocator;
+import org.flossware.jcore.io.MappedFileBufferAllocator;
+import org.flossware.jcore.io.Serializer;
+
+/**
+ * A functional map whose keys and values are serialized outside the heap - either into direct buffers or a memory mapped file -
+ * so very large maps add next to nothing to garbage collection work. Reads deserialize a fresh copy of the value, so mutating
+ * a value returned by get() does not change the map.
+ *
+ * Memory is released when the map is closed (or cleared) rather than when it is garbage collected, so always close it:
+ * <code>try (OffHeapFunctionalMap&lt;String, String&gt; map = new OffHeapFunctionalMap&lt;&gt;(...)) { ... }</code>
+ *
+ * Null keys and values are not allowed. Not thread safe.
+ *
+ * @author Scot P. Floess
+ *
+ * @param <K> the key.
+ * @param <V> the value.
+ */
+public class OffHeapFunctionalMap<K, V> extends AbstractFunctionalMap<K, V> implements Closeable {
+
+    /**
+     * Default size of each log segment.
+     */
+    public static final int DEFAULT_SEGMENT_SIZE = 4 << 20;
+
+    /**
+     * Our storage.
+     */
+    private final OffHeapStore<K, V> store;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Map<K, V> getMap() {
+        return store;
+    }
+
+    /**
+     * Sets the serializers, where memory comes from and the sizing.
+     *
+     * @param keySerializer   converts keys to and from bytes.
+     * @param valueSerializer converts values to and from bytes.
+     * @param allocator       allocates the memory used - closed when the map is closed.
+     * @param segmentSize     the size of each log segment, an entry cannot be larger than a segment.
+     * @param expectedSize    the number of entries expected.
+     *
+     * @throws IllegalArgumentException if any param is null, segmentSize is too small or expectedSize is negative.
+     */
+    public OffHeapFunctionalMap(final Serializer<K> keySerializer, final Serializer<V> valueSerializer, final BufferAllocator allocator, final int segmentSize, final int expectedSize) {
+        this.store = new OffHeapStore<>(keySerializer, valueSerializer, allocator, segmentSize, expectedSize);
+    }
+
+    /**
+     * Stores entries in direct buffers.
+     *
+     * @param keySerializer   converts keys to and from bytes.
+     * @param valueSerializer converts values to and from bytes.
+     * @param expectedSize    the number of entries expected.
+     *
+     * @throws IllegalArgumentException if any param is null or expectedSize is negative.
+     */
+    public OffHeapFunctionalMap(final Serializer<K> keySerializer, final Serializer<V> valueSerializer, final int expectedSize) {
+        this(keySerializer, valueSerializer, new DirectBufferAllocator(), DEFAULT_SEGMENT_SIZE, expectedSize);
+    }
+
+    /**
+     * Stores entries in direct buffers.
+     *
+     * @param keySerializer   converts keys to and from bytes.
+     * @param valueSerializer converts values to and from bytes.
+     *
+     * @throws IllegalArgumentException if any param is null.
+     */
+    public OffHeapFunctionalMap(final Serializer<K> keySerializer, final Serializer<V> valueSerializer) {
+        this(keySerializer, valueSerializer, 0);
+    }
+
+    /**
+     * Stores entries in a memory mapped file, deleted when the map is closed.
+     *
+     * @param keySerializer   converts keys to and from bytes.
+     * @param valueSerializer converts values to and from bytes.
+     * @param file            the file to map - any content is discarded.
+     *
+     * @throws IllegalArgumentException if any param is null.
+     */
+    public OffHeapFunctionalMap(final Serializer<K> keySerializer, final Serializer<V> valueSerializer, final File file) {
+        this(keySerializer, valueSerializer, new MappedFileBufferAllocator(file), DEFAULT_SEGMENT_SIZE, 0);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Unlike put(), does not deserialize any previous value.
+     */
+    @Override
+    public FunctionalMap<K, V> putF(final K key, final V value) {
+        log(Level.FINEST, "Putting [{0}] -> [{1}]", key, value);
+
+        store.set(key, value);
+
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Unlike remove(), does not deserialize the value removed.
+     */
+    @Override
+    public FunctionalMap<K, V> removeF(final K key) {
+        log(Level.FINEST, "Removing key [{0}]", key);
+
+        store.delete(key);
+
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Grows the index once for the whole batch.
+     */
+    @Override
+    protected void ensureCapacity(final int expectedSize) {
+        store.ensureCapacity(expectedSize);
+    }
+
+    /**
+     * Rewrite live entries into new segments now, releasing the space held by replaced and removed entries. This happens
+     * automatically once replaced and removed entries outweigh live ones.
+     *
+     * @return self.
+     */
+    public OffHeapFunctionalMap<K, V> compact() {
+        store.compact();
+
+        return this;
+    }
+
+    /**
+     * Return the bytes used by live entries (excluding the index).
+     *
+     * @return the bytes used by live entries.
+     */
+    public long getLiveBytes() {
+        return store.getLiveBytes();
+    }
+
+    /**
+     * Return the bytes held by replaced and removed entries awaiting compaction.
+     *
+     * @return the bytes held by replaced and removed entries.
+     */
+    public long getGarbageBytes() {
+        return store.getGarbageBytes();
+    }
+
+    /**
+     * Return true once closed.
+     *
+     * @return true once closed.
+     */
+    public boolean isClosed() {
+        return store.isClosed();
+    }
+
+    /**
+     * Releases all memory held by the map and closes its allocator. The map cannot be used afterwards.
+     */
+    @Override
+    public void close() {
+        log(Level.FINE, "Closing");
+
+        store.close();
+    }
+}
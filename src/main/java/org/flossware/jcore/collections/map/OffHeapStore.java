@@ -0,0 +1,944 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.map;
+
+import java.io.Closeable;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.flossware.jcore.io.BufferAllocator;
+import org.flossware.jcore.io.Serializer;
+import org.flossware.jcore.utils.IntUtils;
+import org.flossware.jcore.utils.LoggerUtils;
+import org.flossware.jcore.utils.ObjectUtils;
+import org.flossware.jcore.utils.collections.PrimitiveHashUtils;
+
+/**
+ * The storage behind OffHeapFunctionalMap, presented as a Map.
+ *
+ * Entries are serialized into an append only log spread over fixed size segments allocated outside the heap. Each record is a
+ * header (hash, key length and value length) followed by the key and value bytes. Replacing or removing an entry marks its
+ * record dead, and once dead records outweigh live ones the log is compacted. Lookups go through an open addressing index,
+ * also outside the heap, whose 16 byte slots hold the record address and hash. Keys are compared by their serialized bytes.
+ *
+ * Not thread safe.
+ *
+ * @author Scot P. Floess
+ *
+ * @param <K> the key.
+ * @param <V> the value.
+ */
+final class OffHeapStore<K, V> extends AbstractMap<K, V> implements Closeable {
+
+    /**
+     * Error message when the store has been closed.
+     */
+    static final String CLOSED_ERROR_MSG = "Map is closed!";
+
+    /**
+     * Error message when a serialized entry cannot fit in a segment.
+     */
+    static final String ENTRY_SIZE_ERROR_MSG = "Entry is too large for a segment!";
+
+    /**
+     * Error message when the segment size is too small.
+     */
+    static final String SEGMENT_SIZE_ERROR_MSG = "Segment size is too small!";
+
+    /**
+     * Smallest segment allowed.
+     */
+    static final int MIN_SEGMENT_SIZE = 64;
+
+    /**
+     * Size of a record header: hash, key length and value length.
+     */
+    static final int HEADER_SIZE = 12;
+
+    /**
+     * Size of an index slot: record address + 1 (0 denotes free) and hash.
+     */
+    static final int SLOT_SIZE = 16;
+
+    /**
+     * Largest number of index slots - the index is a single buffer, so MAX_SLOTS * SLOT_SIZE bytes must fit in an int.
+     */
+    static final int MAX_SLOTS = 1 << 26;
+
+    /**
+     * Set on a record's key length once the record is dead.
+     */
+    static final int DEAD = 0x80000000;
+
+    /**
+     * Initial size of the serialization scratch buffers.
+     */
+    static final int INITIAL_SCRATCH_SIZE = 256;
+
+    /**
+     * Our logger.
+     */
+    private static final Logger LOGGER = Logger.getLogger(OffHeapStore.class.getName());
+
+    /**
+     * Converts keys to and from bytes.
+     */
+    private final Serializer<K> keySerializer;
+
+    /**
+     * Converts values to and from bytes.
+     */
+    private final Serializer<V> valueSerializer;
+
+    /**
+     * Where segments and the index are allocated.
+     */
+    private final BufferAllocator allocator;
+
+    /**
+     * Size of each log segment in bytes.
+     */
+    private final int segmentSize;
+
+    /**
+     * Number of index slots to start with (and return to when cleared).
+     */
+    private final int initialSlots;
+
+    /**
+     * The log segments.
+     */
+    private final List<ByteBuffer> segments;
+
+    /**
+     * How many bytes of each segment are used.
+     */
+    private int[] segmentLimits;
+
+    /**
+     * Where the next record is appended - null when a segment is needed.
+     */
+    private ByteBuffer writeBuffer;
+
+    /**
+     * The index - SLOT_SIZE bytes per slot.
+     */
+    private ByteBuffer index;
+
+    /**
+     * Mask used to compute a slot (number of slots - 1).
+     */
+    private int mask;
+
+    /**
+     * Number of entries before the index must grow.
+     */
+    private int maxFill;
+
+    /**
+     * Number of entries.
+     */
+    private int size;
+
+    /**
+     * Bytes used by live records.
+     */
+    private long liveBytes;
+
+    /**
+     * Bytes used by dead records.
+     */
+    private long garbageBytes;
+
+    /**
+     * Keys are serialized here before being compared or appended.
+     */
+    private ByteBuffer keyScratch;
+
+    /**
+     * Values are serialized here before being appended.
+     */
+    private ByteBuffer valueScratch;
+
+    /**
+     * Counts structural changes so iterators can fail fast.
+     */
+    private int modCount;
+
+    /**
+     * True once closed.
+     */
+    private boolean closed;
+
+    /**
+     * Return our logger.
+     */
+    private static Logger getLogger() {
+        return LOGGER;
+    }
+
+    /**
+     * Return the segment of an address.
+     */
+    static int segmentOf(final long address) {
+        return (int) (address >>> 32);
+    }
+
+    /**
+     * Return the offset of an address within its segment.
+     */
+    static int offsetOf(final long address) {
+        return (int) address;
+    }
+
+    /**
+     * Ensure the store is open.
+     */
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException(CLOSED_ERROR_MSG);
+        }
+    }
+
+    /**
+     * Serialize value into scratch, growing scratch as needed.
+     *
+     * @return the scratch buffer holding the bytes between 0 and its position.
+     */
+    private <T> ByteBuffer serialize(final Serializer<T> serializer, final T value, final ByteBuffer scratch) {
+        ByteBuffer buffer = scratch;
+
+        while (true) {
+            buffer.clear();
+
+            try {
+                serializer.write(value, buffer);
+
+                return buffer;
+            } catch (final BufferOverflowException bufferOverflowException) {
+                if (buffer.capacity() >= segmentSize) {
+                    throw new IllegalArgumentException(ENTRY_SIZE_ERROR_MSG, bufferOverflowException);
+                }
+
+                buffer = ByteBuffer.allocate((int) Math.min(segmentSize, buffer.capacity() * 2L));
+            }
+        }
+    }
+
+    /**
+     * Serialize key into the key scratch buffer.
+     */
+    private int serializeKey(final K key) {
+        keyScratch = serialize(keySerializer, ObjectUtils.ensureObject(key, "Key cannot be null!"), keyScratch);
+
+        return keyScratch.position();
+    }
+
+    /**
+     * Find the slot of a key passed to a Map method taking an Object.
+     *
+     * @return the slot, or -1 if key is null or not a K our key serializer can write - neither can be stored.
+     */
+    @SuppressWarnings("unchecked")
+    private int slotOf(final Object key) {
+        if (null == key) {
+            return -1;
+        }
+
+        final int keyLength;
+
+        try {
+            keyLength = serializeKey((K) key);
+        } catch (final ClassCastException classCastException) {
+            return -1;
+        }
+
+        return findSlot(hashKey(keyLength), keyLength);
+    }
+
+    /**
+     * Serialize value into the value scratch buffer.
+     */
+    private int serializeValue(final V value) {
+        valueScratch = serialize(valueSerializer, ObjectUtils.ensureObject(value, "Value cannot be null!"), valueScratch);
+
+        return valueScratch.position();
+    }
+
+    /**
+     * Hash the serialized key.
+     */
+    private int hashKey(final int keyLength) {
+        final byte[] bytes = keyScratch.array();
+
+        int hash = 1;
+
+        for (int pos = 0; pos < keyLength; pos++) {
+            hash = 31 * hash + bytes[pos];
+        }
+
+        return PrimitiveHashUtils.mix(hash);
+    }
+
+    /**
+     * Return the record length at address.
+     */
+    private int recordLength(final long address) {
+        final ByteBuffer segment = segments.get(segmentOf(address));
+        final int offset = offsetOf(address);
+
+        return HEADER_SIZE + (segment.getInt(offset + 4) & ~DEAD) + segment.getInt(offset + 8);
+    }
+
+    /**
+     * Return true if the record at address has the serialized key in the key scratch buffer.
+     */
+    private boolean isKey(final long address, final int keyLength) {
+        final ByteBuffer segment = segments.get(segmentOf(address));
+        final int offset = offsetOf(address) + HEADER_SIZE;
+
+        if (segment.getInt(offset - 8) != keyLength) {
+            return false;
+        }
+
+        int pos = 0;
+
+        for (; pos + 8 <= keyLength; pos += 8) {
+            if (segment.getLong(offset + pos) != keyScratch.getLong(pos)) {
+                return false;
+            }
+        }
+
+        for (; pos < keyLength; pos++) {
+            if (segment.get(offset + pos) != keyScratch.get(pos)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Return the index slot for the serialized key in the key scratch buffer - either its slot or the free slot it would occupy.
+     */
+    private int findSlot(final int hash, final int keyLength) {
+        int slot = hash & mask;
+
+        for (long address = index.getLong(slot * SLOT_SIZE); address != 0; address = index.getLong(slot * SLOT_SIZE)) {
+            if (index.getInt(slot * SLOT_SIZE + 8) == hash && isKey(address - 1, keyLength)) {
+                return slot;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+
+        return slot;
+    }
+
+    /**
+     * Return the address held in slot or -1 if the slot is free.
+     */
+    private long addressAt(final int slot) {
+        return index.getLong(slot * SLOT_SIZE) - 1;
+    }
+
+    /**
+     * Read the key of the record at address.
+     */
+    private K readKey(final long address) {
+        final ByteBuffer buffer = segments.get(segmentOf(address)).duplicate();
+        final int offset = offsetOf(address);
+
+        buffer.limit(offset + HEADER_SIZE + (buffer.getInt(offset + 4) & ~DEAD)).position(offset + HEADER_SIZE);
+
+        return keySerializer.read(buffer);
+    }
+
+    /**
+     * Read the value of the record at address.
+     */
+    private V readValue(final long address) {
+        final ByteBuffer buffer = segments.get(segmentOf(address)).duplicate();
+        final int offset = offsetOf(address);
+        final int start = offset + HEADER_SIZE + (buffer.getInt(offset + 4) & ~DEAD);
+
+        buffer.limit(start + buffer.getInt(offset + 8)).position(start);
+
+        return valueSerializer.read(buffer);
+    }
+
+    /**
+     * Allocate a new segment to append to.
+     */
+    private void newSegment() {
+        LoggerUtils.log(getLogger(), Level.FINE, "Allocating segment [{0}] of [{1}] bytes", segments.size(), segmentSize);
+
+        segments.add(allocator.allocate(segmentSize));
+
+        if (segments.size() > segmentLimits.length) {
+            segmentLimits = Arrays.copyOf(segmentLimits, segmentLimits.length * 2);
+        }
+
+        segmentLimits[segments.size() - 1] = 0;
+
+        writeBuffer = segments.get(segments.size() - 1).duplicate();
+    }
+
+    /**
+     * Append a record, returning its address.
+     */
+    private long append(final int hash, final byte[] key, final int keyLength, final byte[] value, final int valueLength) {
+        final int length = HEADER_SIZE + keyLength + valueLength;
+
+        if (length > segmentSize) {
+            throw new IllegalArgumentException(ENTRY_SIZE_ERROR_MSG);
+        }
+
+        if (null == writeBuffer || writeBuffer.remaining() < length) {
+            newSegment();
+        }
+
+        final int segment = segments.size() - 1;
+        final long retVal = ((long) segment << 32) | writeBuffer.position();
+
+        writeBuffer.putInt(hash).putInt(keyLength).putInt(valueLength).put(key, 0, keyLength).put(value, 0, valueLength);
+
+        segmentLimits[segment] = writeBuffer.position();
+        liveBytes += length;
+
+        return retVal;
+    }
+
+    /**
+     * Mark the record at address dead.
+     */
+    private void kill(final long address) {
+        final ByteBuffer segment = segments.get(segmentOf(address));
+        final int offset = offsetOf(address) + 4;
+        final int length = recordLength(address);
+
+        segment.putInt(offset, segment.getInt(offset) | DEAD);
+
+        liveBytes -= length;
+        garbageBytes += length;
+    }
+
+    /**
+     * Allocate an index of slots slots.
+     */
+    private void newIndex(final int slots) {
+        index = allocator.allocate(slots * SLOT_SIZE);
+        mask = slots - 1;
+        maxFill = PrimitiveHashUtils.maxFill(slots, PrimitiveHashUtils.DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Place address in the first free slot for hash.
+     */
+    private void insert(final long address, final int hash) {
+        int slot = hash & mask;
+
+        while (index.getLong(slot * SLOT_SIZE) != 0) {
+            slot = (slot + 1) & mask;
+        }
+
+        index.putLong(slot * SLOT_SIZE, address + 1).putInt(slot * SLOT_SIZE + 8, hash);
+    }
+
+    /**
+     * Double the index.
+     */
+    private void growIndex() {
+        if (mask + 1 >= MAX_SLOTS) {
+            throw new IllegalStateException(PrimitiveHashUtils.CAPACITY_ERROR_MSG);
+        }
+
+        resizeIndex((mask + 1) << 1);
+    }
+
+    /**
+     * Move the index to slots slots.
+     */
+    private void resizeIndex(final int slots) {
+        final ByteBuffer oldIndex = index;
+        final int oldSlots = mask + 1;
+
+        LoggerUtils.log(getLogger(), Level.FINE, "Growing index from [{0}] to [{1}] slots for [{2}] entries", oldSlots, slots, size);
+
+        newIndex(slots);
+
+        for (int slot = 0; slot < oldSlots; slot++) {
+            final long address = oldIndex.getLong(slot * SLOT_SIZE);
+
+            if (address != 0) {
+                insert(address - 1, oldIndex.getInt(slot * SLOT_SIZE + 8));
+            }
+        }
+
+        allocator.free(oldIndex);
+    }
+
+    /**
+     * Free slot, shifting back following slots whose probe sequence passes through it.
+     */
+    private void removeSlot(final int slot) {
+        int free = slot;
+        int current = (free + 1) & mask;
+
+        for (long address = index.getLong(current * SLOT_SIZE); address != 0; address = index.getLong(current * SLOT_SIZE)) {
+            final int hash = index.getInt(current * SLOT_SIZE + 8);
+            final int home = hash & mask;
+
+            if (free <= current ? (home <= free || home > current) : (home <= free && home > current)) {
+                index.putLong(free * SLOT_SIZE, address).putInt(free * SLOT_SIZE + 8, hash);
+                free = current;
+            }
+
+            current = (current + 1) & mask;
+        }
+
+        index.putLong(free * SLOT_SIZE, 0).putInt(free * SLOT_SIZE + 8, 0);
+        size--;
+    }
+
+    /**
+     * Compact if dead records outweigh live ones and would free at least a segment.
+     */
+    private void compactIfNeeded() {
+        if (garbageBytes > liveBytes && garbageBytes >= segmentSize) {
+            compact();
+        }
+    }
+
+    /**
+     * Sets the serializers, where memory comes from and the initial sizing.
+     */
+    OffHeapStore(final Serializer<K> keySerializer, final Serializer<V> valueSerializer, final BufferAllocator allocator, final int segmentSize, final int expectedSize) {
+        this.keySerializer = ObjectUtils.ensureObject(keySerializer, "Must provide a key serializer!");
+        this.valueSerializer = ObjectUtils.ensureObject(valueSerializer, "Must provide a value serializer!");
+        this.allocator = ObjectUtils.ensureObject(allocator, "Must provide an allocator!");
+        this.segmentSize = IntUtils.ensureMinInt(segmentSize, MIN_SEGMENT_SIZE, SEGMENT_SIZE_ERROR_MSG);
+        this.initialSlots = Math.min(MAX_SLOTS, PrimitiveHashUtils.tableSize(expectedSize, PrimitiveHashUtils.DEFAULT_LOAD_FACTOR));
+        this.segments = new ArrayList<>();
+        this.segmentLimits = new int[4];
+        this.keyScratch = ByteBuffer.allocate(Math.min(INITIAL_SCRATCH_SIZE, segmentSize));
+        this.valueScratch = ByteBuffer.allocate(Math.min(INITIAL_SCRATCH_SIZE, segmentSize));
+
+        newIndex(initialSlots);
+    }
+
+    /**
+     * Associate value with key without reading any previous value.
+     *
+     * @return true if key was already present.
+     */
+    boolean set(final K key, final V value) {
+        ensureOpen();
+        compactIfNeeded();
+
+        final int keyLength = serializeKey(key);
+        final int valueLength = serializeValue(value);
+        final int hash = hashKey(keyLength);
+        final int slot = findSlot(hash, keyLength);
+        final long oldAddress = addressAt(slot);
+        final long address = append(hash, keyScratch.array(), keyLength, valueScratch.array(), valueLength);
+
+        modCount++;
+
+        if (oldAddress >= 0) {
+            kill(oldAddress);
+
+            index.putLong(slot * SLOT_SIZE, address + 1);
+
+            return true;
+        }
+
+        index.putLong(slot * SLOT_SIZE, address + 1).putInt(slot * SLOT_SIZE + 8, hash);
+
+        if (++size > maxFill) {
+            growIndex();
+        }
+
+        return false;
+    }
+
+    /**
+     * Remove key without reading its value.
+     *
+     * @return true if key was present.
+     */
+    boolean delete(final K key) {
+        ensureOpen();
+
+        final int keyLength = serializeKey(key);
+        final int slot = findSlot(hashKey(keyLength), keyLength);
+        final long address = addressAt(slot);
+
+        if (address < 0) {
+            return false;
+        }
+
+        removeAt(slot, address);
+
+        return true;
+    }
+
+    /**
+     * Remove the record at address, indexed at slot.
+     */
+    private void removeAt(final int slot, final long address) {
+        kill(address);
+        removeSlot(slot);
+
+        modCount++;
+    }
+
+    /**
+     * Remove the live record at address.
+     */
+    void deleteAt(final long address) {
+        ensureOpen();
+
+        final ByteBuffer segment = segments.get(segmentOf(address));
+        int slot = segment.getInt(offsetOf(address)) & mask;
+
+        while (addressAt(slot) != address) {
+            slot = (slot + 1) & mask;
+        }
+
+        kill(address);
+        removeSlot(slot);
+
+        modCount++;
+    }
+
+    /**
+     * Grow the index, at most once, so it holds expectedSize entries without growing again.
+     */
+    void ensureCapacity(final int expectedSize) {
+        ensureOpen();
+
+        final int slots = Math.min(MAX_SLOTS, PrimitiveHashUtils.tableSize(Math.min(expectedSize, MAX_SLOTS), PrimitiveHashUtils.DEFAULT_LOAD_FACTOR));
+
+        if (slots > mask + 1) {
+            resizeIndex(slots);
+        }
+    }
+
+    /**
+     * Rewrite the live records into new segments, releasing the dead ones.
+     */
+    void compact() {
+        ensureOpen();
+
+        LoggerUtils.log(getLogger(), Level.FINE, "Compacting [{0}] live bytes, [{1}] dead bytes", liveBytes, garbageBytes);
+
+        final List<ByteBuffer> oldSegments = new ArrayList<>(segments);
+        final int[] oldLimits = segmentLimits;
+        final int oldSegmentCount = segments.size();
+
+        segments.clear();
+        segmentLimits = new int[Math.max(4, oldLimits.length)];
+        writeBuffer = null;
+        liveBytes = 0;
+        garbageBytes = 0;
+
+        final ByteBuffer oldIndex = index;
+
+        newIndex(mask + 1);
+
+        allocator.free(oldIndex);
+
+        for (int segment = 0; segment < oldSegmentCount; segment++) {
+            final ByteBuffer buffer = oldSegments.get(segment);
+
+            for (int offset = 0; offset < oldLimits[segment];) {
+                final int keyLength = buffer.getInt(offset + 4);
+                final int length = HEADER_SIZE + (keyLength & ~DEAD) + buffer.getInt(offset + 8);
+
+                if ((keyLength & DEAD) == 0) {
+                    if (null == writeBuffer || writeBuffer.remaining() < length) {
+                        newSegment();
+                    }
+
+                    final int newSegment = segments.size() - 1;
+                    final long address = ((long) newSegment << 32) | writeBuffer.position();
+                    final ByteBuffer record = buffer.duplicate();
+
+                    record.limit(offset + length).position(offset);
+                    writeBuffer.put(record);
+
+                    segmentLimits[newSegment] = writeBuffer.position();
+                    liveBytes += length;
+
+                    insert(address, buffer.getInt(offset));
+                }
+
+                offset += length;
+            }
+
+            allocator.free(buffer);
+        }
+
+        modCount++;
+    }
+
+    /**
+     * Return the bytes used by live records.
+     */
+    long getLiveBytes() {
+        return liveBytes;
+    }
+
+    /**
+     * Return the bytes used by dead records awaiting compaction.
+     */
+    long getGarbageBytes() {
+        return garbageBytes;
+    }
+
+    /**
+     * Return the number of segments.
+     */
+    int getSegmentCount() {
+        return segments.size();
+    }
+
+    /**
+     * Return true once closed.
+     */
+    boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        ensureOpen();
+
+        return size;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean containsKey(final Object key) {
+        ensureOpen();
+
+        final int slot = slotOf(key);
+
+        return slot >= 0 && addressAt(slot) >= 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V get(final Object key) {
+        ensureOpen();
+
+        final int slot = slotOf(key);
+        final long address = slot < 0 ? -1 : addressAt(slot);
+
+        return address < 0 ? null : readValue(address);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V put(final K key, final V value) {
+        final V retVal = get(key);
+
+        set(key, value);
+
+        return retVal;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V remove(final Object key) {
+        ensureOpen();
+
+        final int slot = slotOf(key);
+        final long address = slot < 0 ? -1 : addressAt(slot);
+
+        if (address < 0) {
+            return null;
+        }
+
+        final V retVal = readValue(address);
+
+        removeAt(slot, address);
+
+        return retVal;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear() {
+        ensureOpen();
+
+        for (final ByteBuffer segment : segments) {
+            allocator.free(segment);
+        }
+
+        segments.clear();
+        writeBuffer = null;
+        liveBytes = 0;
+        garbageBytes = 0;
+        size = 0;
+
+        allocator.free(index);
+        newIndex(initialSlots);
+
+        modCount++;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        return new AbstractSet<Map.Entry<K, V>>() {
+            @Override
+            public Iterator<Map.Entry<K, V>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return OffHeapStore.this.size();
+            }
+
+            @Override
+            public void clear() {
+                OffHeapStore.this.clear();
+            }
+        };
+    }
+
+    /**
+     * Releases all memory - the store cannot be used afterwards. Closes the allocator.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+
+        for (final ByteBuffer segment : segments) {
+            allocator.free(segment);
+        }
+
+        allocator.free(index);
+        allocator.close();
+
+        segments.clear();
+        writeBuffer = null;
+        index = null;
+        size = 0;
+        closed = true;
+    }
+
+    /**
+     * Walks the log returning live entries.
+     */
+    final class EntryIterator implements Iterator<Map.Entry<K, V>> {
+
+        private int expectedModCount = modCount;
+        private int segment;
+        private int offset;
+        private long last = -1;
+
+        /**
+         * Skip dead records, returns false when there are no more records.
+         */
+        private boolean advance() {
+            ensureOpen();
+
+            if (expectedModCount != modCount) {
+                throw new ConcurrentModificationException();
+            }
+
+            for (; segment < segments.size(); segment++, offset = 0) {
+                final ByteBuffer buffer = segments.get(segment);
+
+                while (offset < segmentLimits[segment]) {
+                    if ((buffer.getInt(offset + 4) & DEAD) == 0) {
+                        return true;
+                    }
+
+                    offset += recordLength(((long) segment << 32) | offset);
+                }
+            }
+
+            return false;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return advance();
+        }
+
+        @Override
+        public Map.Entry<K, V> next() {
+            if (!advance()) {
+                throw new NoSuchElementException();
+            }
+
+            last = ((long) segment << 32) | offset;
+            offset += recordLength(last);
+
+            return new AbstractMap.SimpleImmutableEntry<>(readKey(last), readValue(last));
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+
+            if (expectedModCount != modCount) {
+                throw new ConcurrentModificationException();
+            }
+
+            deleteAt(last);
+
+            last = -1;
+            expectedModCount = modCount;
+        }
+    }
+}
@@ -0,0 +1,304 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.map;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.logging.Level;
+import org.flossware.jcore.utils.ObjectUtils;
+import org.flossware.jcore.utils.collections.MapUtils;
+
+/**
+ * A persistent functional map: never changes once created. putF(), putAllF() and removeF() return a new version of the map,
+ * leaving this one as is - the versions share all but the O(log32 n) trie nodes on the path to the change, so each costs a
+ * handful of small allocations rather than a copy of the map. For example:
+ * <code>PersistentFunctionalMap&lt;String, String&gt; v2 = v1.putF("1", "2").removeF("3");</code>
+ *
+ * A version can be published to any number of reader threads without locking or copying - typically by storing it in a volatile
+ * field or AtomicReference - and readers keep a consistent view for as long as they hold it.
+ *
+ * Backed by a hash array mapped trie. Null keys and values are allowed. Map mutators (put(), remove(), putAll() and clear()) raise
+ * UnsupportedOperationException as they cannot change this version.
+ *
+ * @author Scot P. Floess
+ *
+ * @param <K> the key.
+ * @param <V> the value.
+ */
+public class PersistentFunctionalMap<K, V> extends AbstractFunctionalMap<K, V> {
+
+    /**
+     * Error message when no map is provided.
+     */
+    public static final String MAP_ERROR_MSG = "Map cannot be null!";
+
+    /**
+     * Error message when trying to change a version in place.
+     */
+    public static final String MUTATE_ERROR_MSG = "Persistent maps cannot be changed in place - use putF(), putAllF() or removeF() for a new version!";
+
+    /**
+     * The empty map.
+     */
+    @SuppressWarnings("rawtypes")
+    private static final PersistentFunctionalMap EMPTY = new PersistentFunctionalMap<>();
+
+    /**
+     * This version.
+     */
+    private final HamtMap<K, V> map;
+
+    /**
+     * Return a version with a key mapped to a value.
+     *
+     * @param version the version to change.
+     * @param key     the key.
+     * @param value   the value.
+     *
+     * @return version if unchanged, else the new version.
+     */
+    private static <K, V> HamtMap<K, V> put(final HamtMap<K, V> version, final K key, final V value) {
+        final HamtNode.Change<V> change = new HamtNode.Change<>();
+        final HamtNode<K, V> root = version.getRoot().put(key, value, HamtNode.hash(key), 0, change);
+
+        return root == version.getRoot() ? version : new HamtMap<>(root, change.added ? version.size() + 1 : version.size());
+    }
+
+    /**
+     * Creates a version.
+     *
+     * @param map the version.
+     */
+    private PersistentFunctionalMap(final HamtMap<K, V> map) {
+        this.map = map;
+    }
+
+    /**
+     * Return a new version if changed.
+     *
+     * @param newMap the possibly changed version.
+     *
+     * @return self if unchanged, else the new version.
+     */
+    private PersistentFunctionalMap<K, V> newVersion(final HamtMap<K, V> newMap) {
+        return newMap == map ? this : new PersistentFunctionalMap<>(newMap);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Map<K, V> getMap() {
+        return map;
+    }
+
+    /**
+     * Return the empty map.
+     *
+     * @param <K> the key.
+     * @param <V> the value.
+     *
+     * @return the empty map.
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> PersistentFunctionalMap<K, V> empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Creates an empty map - consider empty() which shares one instance.
+     */
+    @SuppressWarnings("unchecked")
+    public PersistentFunctionalMap() {
+        this(new HamtMap<K, V>(BitmapIndexedNode.EMPTY, 0));
+    }
+
+    /**
+     * Creates a map holding a copy of another.
+     *
+     * @param map the map to copy.
+     *
+     * @throws IllegalArgumentException if map is null.
+     */
+    @SuppressWarnings("unchecked")
+    public PersistentFunctionalMap(final Map<? extends K, ? extends V> map) {
+        HamtMap<K, V> version = new HamtMap<>(BitmapIndexedNode.EMPTY, 0);
+
+        for (final Map.Entry<? extends K, ? extends V> entry : ObjectUtils.ensureObject(map, MAP_ERROR_MSG).entrySet()) {
+            version = put(version, entry.getKey(), entry.getValue());
+        }
+
+        this.map = version;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return a new version with key mapped to value, or self if it already is.
+     */
+    @Override
+    public PersistentFunctionalMap<K, V> putF(final K key, final V value) {
+        log(Level.FINEST, "Putting [{0}] -> [{1}]", key, value);
+
+        return newVersion(put(map, key, value));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return a new version with all the mappings, or self if it already has them.
+     */
+    @Override
+    public PersistentFunctionalMap<K, V> putAllF(final Map<? extends K, ? extends V> map) {
+        log(Level.FINEST, "Putting whole map {0}", map);
+
+        HamtMap<K, V> version = this.map;
+
+        for (final Map.Entry<? extends K, ? extends V> entry : map.entrySet()) {
+            version = put(version, entry.getKey(), entry.getValue());
+        }
+
+        return newVersion(version);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return a single new version with all the mappings, or self if it already has them.
+     */
+    @Override
+    public PersistentFunctionalMap<K, V> putAllF(final K[] keys, final V[] values) {
+        final int length = MapUtils.ensureParallel(keys, values);
+
+        log(Level.FINEST, "Putting [{0}] keys", length);
+
+        HamtMap<K, V> version = map;
+
+        for (int index = 0; index < length; index++) {
+            version = put(version, keys[index], values[index]);
+        }
+
+        return newVersion(version);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return a single new version without keys, or self if none are present.
+     */
+    @Override
+    public PersistentFunctionalMap<K, V> removeAllF(final Collection<?> keys) {
+        log(Level.FINEST, "Removing keys {0}", keys);
+
+        HamtNode<K, V> root = map.getRoot();
+        int size = map.size();
+
+        for (final Object key : ObjectUtils.ensureObject(keys, MapUtils.KEYS_ERROR_MSG)) {
+            final HamtNode.Change<V> change = new HamtNode.Change<>();
+
+            root = root.remove(key, HamtNode.hash(key), 0, change);
+
+            if (change.removed) {
+                size--;
+            }
+        }
+
+        return size == map.size() ? this : new PersistentFunctionalMap<>(new HamtMap<>(root, size));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return a new version without key, or self if key is not present.
+     */
+    @Override
+    public PersistentFunctionalMap<K, V> removeF(final K key) {
+        log(Level.FINEST, "Removing key [{0}]", key);
+
+        final HamtNode.Change<V> change = new HamtNode.Change<>();
+        final HamtNode<K, V> root = map.getRoot().remove(key, HamtNode.hash(key), 0, change);
+
+        return change.removed ? new PersistentFunctionalMap<>(new HamtMap<>(root, map.size() - 1)) : this;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Already immutable so returns self.
+     */
+    @Override
+    public PersistentFunctionalMap<K, V> freeze() {
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V getOrDefault(final Object key, final V defaultValue) {
+        return logAndReturn(Level.FINEST, "Retrieved value [{0}] for key [{1}]", map.getOrDefault(key, defaultValue), key);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void forEach(final BiConsumer<? super K, ? super V> action) {
+        map.forEach(action);
+    }
+
+    /**
+     * Not supported - use putF().
+     *
+     * @throws UnsupportedOperationException always.
+     */
+    @Override
+    public V put(final K key, final V value) {
+        throw new UnsupportedOperationException(MUTATE_ERROR_MSG);
+    }
+
+    /**
+     * Not supported - use putAllF().
+     *
+     * @throws UnsupportedOperationException always.
+     */
+    @Override
+    public void putAll(final Map<? extends K, ? extends V> map) {
+        throw new UnsupportedOperationException(MUTATE_ERROR_MSG);
+    }
+
+    /**
+     * Not supported - use removeF().
+     *
+     * @throws UnsupportedOperationException always.
+     */
+    @Override
+    public V remove(final Object key) {
+        throw new UnsupportedOperationException(MUTATE_ERROR_MSG);
+    }
+
+    /**
+     * Not supported - use empty().
+     *
+     * @throws UnsupportedOperationException always.
+     */
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException(MUTATE_ERROR_MSG);
+    }
+}
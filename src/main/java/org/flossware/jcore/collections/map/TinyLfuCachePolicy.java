@@ -0,0 +1,216 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.map;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Window TinyLFU eviction. New entries enter a window (1% of the weight) in least recently used order. Entries overflowing the
+ * window join the probation queue of the main space, and are promoted to its protected queue (80% of the main space) when
+ * accessed again. When the cache is too heavy, the newest probation entry (usually fresh from the window) competes with the
+ * eldest one - whichever a frequency sketch says was requested less often is evicted.
+ *
+ * @author Scot P. Floess
+ *
+ * @param <K> the key.
+ * @param <V> the value.
+ */
+final class TinyLfuCachePolicy<K, V> extends CachePolicy<K, V> {
+
+    /**
+     * Queue of new entries.
+     */
+    static final int WINDOW = 0;
+
+    /**
+     * Queue of main space entries not accessed since joining it.
+     */
+    static final int PROBATION = 1;
+
+    /**
+     * Queue of main space entries accessed since joining it.
+     */
+    static final int PROTECTED = 2;
+
+    /**
+     * Sketch size to start with, grown as entries are added.
+     */
+    static final long INITIAL_SKETCH_SIZE = 1 << 10;
+
+    /**
+     * Estimates how often keys were requested.
+     */
+    private final FrequencySketch sketch;
+
+    /**
+     * The queues indexed by WINDOW, PROBATION and PROTECTED.
+     */
+    private final List<NodeDeque<K, V>> queues;
+
+    /**
+     * The maximum weight of the window.
+     */
+    private final long windowMax;
+
+    /**
+     * The maximum weight of the protected queue.
+     */
+    private final long protectedMax;
+
+    /**
+     * Move an entry to the end of a queue.
+     *
+     * @param node  the entry.
+     * @param queue the queue to join.
+     */
+    private void moveTo(final CacheNode<K, V> node, final int queue) {
+        queues.get(node.queue).remove(node);
+
+        node.queue = queue;
+
+        queues.get(queue).addLast(node);
+    }
+
+    /**
+     * Move the eldest entries out of the window into probation until the window is light enough.
+     */
+    private void drainWindow() {
+        while (queues.get(WINDOW).getWeight() > windowMax) {
+            moveTo(queues.get(WINDOW).peekFirst(), PROBATION);
+        }
+    }
+
+    /**
+     * Demote the eldest protected entries to probation until the protected queue is light enough.
+     */
+    private void drainProtected() {
+        while (queues.get(PROTECTED).getWeight() > protectedMax) {
+            moveTo(queues.get(PROTECTED).peekFirst(), PROBATION);
+        }
+    }
+
+    /**
+     * Sizes the queues and sketch.
+     *
+     * @param maximumWeight the maximum weight of the cache.
+     */
+    TinyLfuCachePolicy(final long maximumWeight) {
+        this.sketch = new FrequencySketch();
+        this.queues = Arrays.asList(NodeDeque.policyOrder(), NodeDeque.policyOrder(), NodeDeque.policyOrder());
+        this.windowMax = Math.max(1, maximumWeight / 100);
+        this.protectedMax = (maximumWeight - windowMax) * 4 / 5;
+
+        sketch.ensureCapacity(Math.min(maximumWeight, INITIAL_SKETCH_SIZE));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    void onInsert(final CacheNode<K, V> node) {
+        sketch.increment(node.key.hashCode());
+
+        node.queue = WINDOW;
+        queues.get(WINDOW).addLast(node);
+
+        final long size = queues.get(WINDOW).size() + queues.get(PROBATION).size() + queues.get(PROTECTED).size();
+
+        if (size > sketch.capacity()) {
+            sketch.ensureCapacity(size << 1);
+        }
+
+        drainWindow();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    void onAccess(final CacheNode<K, V> node) {
+        sketch.increment(node.key.hashCode());
+
+        switch (node.queue) {
+            case PROBATION:
+                moveTo(node, PROTECTED);
+                drainProtected();
+                break;
+
+            default:
+                queues.get(node.queue).moveToLast(node);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    void onUpdate(final CacheNode<K, V> node, final int oldWeight) {
+        queues.get(node.queue).addWeight(node.weight - oldWeight);
+
+        onAccess(node);
+        drainWindow();
+        drainProtected();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    void onMiss(final Object key) {
+        sketch.increment(key.hashCode());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    void onRemove(final CacheNode<K, V> node) {
+        queues.get(node.queue).remove(node);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    CacheNode<K, V> victim() {
+        final NodeDeque<K, V> probation = queues.get(PROBATION);
+
+        if (probation.isEmpty()) {
+            return queues.get(PROTECTED).isEmpty() ? queues.get(WINDOW).peekFirst() : queues.get(PROTECTED).peekFirst();
+        }
+
+        final CacheNode<K, V> victim = probation.peekFirst();
+        final CacheNode<K, V> candidate = probation.peekLast();
+
+        if (victim == candidate) {
+            return victim;
+        }
+
+        return sketch.frequency(candidate.key.hashCode()) > sketch.frequency(victim.key.hashCode()) ? victim : candidate;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    void clear() {
+        for (final NodeDeque<K, V> queue : queues) {
+            queue.clear();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.map;
+
+/**
+ * Computes the weight of a cache entry - the cache evicts once the total weight exceeds its maximum.
+ *
+ * @author Scot P. Floess
+ *
+ * @param <K> the key.
+ * @param <V> the value.
+ */
+@FunctionalInterface
+public interface Weigher<K, V> {
+
+    /**
+     * Return the weight of an entry, weighed once when the entry is put.
+     *
+     * @param key   the key.
+     * @param value the value for the key.
+     *
+     * @return the weight which cannot be negative - an entry weighing 0 is never evicted for size.
+     */
+    int weigh(K key, V value);
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.io;
+
+import java.io.Closeable;
+import java.nio.ByteBuffer;
+
+/**
+ * Allocates buffers outside the heap and frees them explicitly rather than waiting on the garbage collector.
+ *
+ * @author Scot P. Floess
+ */
+public interface BufferAllocator extends Closeable {
+
+    /**
+     * Allocate a zeroed buffer.
+     *
+     * @param capacity the size of the buffer in bytes.
+     *
+     * @return the buffer.
+     */
+    ByteBuffer allocate(int capacity);
+
+    /**
+     * Release buffer - it must not be used afterwards.
+     *
+     * @param buffer a buffer previously returned by allocate().
+     */
+    void free(ByteBuffer buffer);
+
+    /**
+     * Release any resources held by the allocator.
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.io;
+
+import java.nio.ByteBuffer;
+import org.flossware.jcore.utils.IntUtils;
+import org.flossware.jcore.utils.io.BufferUtils;
+
+/**
+ * Allocates direct (native memory) buffers.
+ *
+ * @author Scot P. Floess
+ */
+public class DirectBufferAllocator implements BufferAllocator {
+
+    /**
+     * Error message when capacity is negative.
+     */
+    public static final String CAPACITY_ERROR_MSG = "Capacity cannot be negative!";
+
+    /**
+     * Shared instance, the allocator is stateless.
+     */
+    public static final DirectBufferAllocator INSTANCE = new DirectBufferAllocator();
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ByteBuffer allocate(final int capacity) {
+        return ByteBuffer.allocateDirect(IntUtils.ensureMinInt(capacity, 0, CAPACITY_ERROR_MSG));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void free(final ByteBuffer buffer) {
+        BufferUtils.free(buffer);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import org.flossware.jcore.utils.io.IoException;
+
+/**
+ * Serializes any Serializable value using Java serialization. Convenient but slow and bulky - prefer a dedicated serializer for
+ * large maps.
+ *
+ * @author Scot P. Floess
+ *
+ * @param <T> the type of value serialized.
+ */
+public class JavaSerializer<T extends Serializable> implements Serializer<T> {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void write(final T value, final ByteBuffer buffer) throws BufferOverflowException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (final ObjectOutputStream oos = new ObjectOutputStream(bytes)) {
+            oos.writeObject(value);
+        } catch (final IOException ioException) {
+            throw new IoException("Trouble serializing [" + value + "]", ioException);
+        }
+
+        buffer.put(bytes.toByteArray());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T read(final ByteBuffer buffer) {
+        final byte[] bytes = new byte[buffer.remaining()];
+
+        buffer.get(bytes);
+
+        try (final ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return (T) ois.readObject();
+        } catch (final IOException | ClassNotFoundException exception) {
+            throw new IoException("Trouble deserializing", exception);
+        }
+    }
+}
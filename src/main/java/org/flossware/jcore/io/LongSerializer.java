@@ -0,0 +1,49 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.io;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Serializes longs as 8 bytes.
+ *
+ * @author Scot P. Floess
+ */
+public class LongSerializer implements Serializer<Long> {
+
+    /**
+     * Shared instance, serializers are stateless.
+     */
+    public static final LongSerializer INSTANCE = new LongSerializer();
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void write(final Long value, final ByteBuffer buffer) throws BufferOverflowException {
+        buffer.putLong(value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Long read(final ByteBuffer buffer) {
+        return buffer.getLong();
+    }
+}
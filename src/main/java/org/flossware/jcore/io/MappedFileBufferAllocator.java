@@ -0,0 +1,288 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.flossware.jcore.utils.IntUtils;
+import org.flossware.jcore.utils.LoggerUtils;
+import org.flossware.jcore.utils.ObjectUtils;
+import org.flossware.jcore.utils.io.BufferUtils;
+import org.flossware.jcore.utils.io.IoException;
+
+/**
+ * Allocates buffers memory mapped onto regions of a file, letting the operating system page data to disk. The file is scratch
+ * space, deleted when the allocator is closed.
+ *
+ * Freed regions are kept in a free list - merged with free neighbours - and reused, best fit, by later allocations, so a map
+ * repeatedly growing and compacting doesn't grow the file forever. Free space at the end of the file is truncated.
+ *
+ * @author Scot P. Floess
+ */
+public class MappedFileBufferAllocator implements BufferAllocator {
+
+    /**
+     * Error message when no file is provided.
+     */
+    public static final String FILE_ERROR_MSG = "Must provide a file!";
+
+    /**
+     * Our logger.
+     */
+    private static final Logger LOGGER = Logger.getLogger(MappedFileBufferAllocator.class.getName());
+
+    /**
+     * The file backing our buffers.
+     */
+    private final File file;
+
+    /**
+     * The file's channel.
+     */
+    private final RandomAccessFile randomAccessFile;
+
+    /**
+     * The end of the regions in use - where a region is mapped when none is free.
+     */
+    private long position;
+
+    /**
+     * The offset of each buffer allocated and not yet freed.
+     */
+    private final Map<ByteBuffer, Long> regions;
+
+    /**
+     * The length of each free region by its offset - never adjacent to one another or to the end.
+     */
+    private final NavigableMap<Long, Long> freeRegions;
+
+    /**
+     * Return the offset of the smallest free region of at least capacity bytes, taking capacity bytes off its front.
+     *
+     * @param capacity the bytes needed.
+     *
+     * @return the offset or -1 if no region is large enough.
+     */
+    private long takeFreeRegion(final int capacity) {
+        Map.Entry<Long, Long> bestFit = null;
+
+        for (final Map.Entry<Long, Long> region : freeRegions.entrySet()) {
+            if (region.getValue() >= capacity && (null == bestFit || region.getValue() < bestFit.getValue())) {
+                bestFit = region;
+            }
+        }
+
+        if (null == bestFit) {
+            return -1;
+        }
+
+        freeRegions.remove(bestFit.getKey());
+
+        if (bestFit.getValue() > capacity) {
+            freeRegions.put(bestFit.getKey() + capacity, bestFit.getValue() - capacity);
+        }
+
+        return bestFit.getKey();
+    }
+
+    /**
+     * Add a region to the free list, merging it with free neighbours, and truncating the file if it ends up at the end.
+     *
+     * @param offset where the region starts.
+     * @param length the length of the region.
+     */
+    private void addFreeRegion(final long offset, final long length) {
+        long start = offset;
+        long end = offset + length;
+
+        final Map.Entry<Long, Long> before = freeRegions.floorEntry(start);
+
+        if (null != before && before.getKey() + before.getValue() == start) {
+            freeRegions.remove(before.getKey());
+
+            start = before.getKey();
+        }
+
+        final Long after = freeRegions.remove(end);
+
+        if (null != after) {
+            end += after;
+        }
+
+        if (end < position) {
+            freeRegions.put(start, end - start);
+
+            return;
+        }
+
+        position = start;
+
+        try {
+            randomAccessFile.setLength(position);
+        } catch (final IOException ioException) {
+            // Some platforms won't truncate a file still mapped - the space is reused anyway...
+            LoggerUtils.log(LOGGER, Level.FINE, "Could not truncate [{0}] to [{1}]", file, position);
+        }
+    }
+
+    /**
+     * Zero a buffer mapped onto a reused region.
+     *
+     * @param buffer the buffer.
+     *
+     * @return buffer.
+     */
+    private static ByteBuffer zero(final ByteBuffer buffer) {
+        int index = 0;
+
+        for (; index + Long.BYTES <= buffer.capacity(); index += Long.BYTES) {
+            buffer.putLong(index, 0);
+        }
+
+        for (; index < buffer.capacity(); index++) {
+            buffer.put(index, (byte) 0);
+        }
+
+        return buffer;
+    }
+
+    /**
+     * Maps buffers onto file.
+     *
+     * @param file the file to map buffers onto - any content is discarded.
+     *
+     * @throws IllegalArgumentException if file is null.
+     * @throws IoException              if the file cannot be opened.
+     */
+    public MappedFileBufferAllocator(final File file) {
+        this.file = ObjectUtils.ensureObject(file, FILE_ERROR_MSG);
+        this.regions = new IdentityHashMap<>();
+        this.freeRegions = new TreeMap<>();
+
+        try {
+            this.randomAccessFile = new RandomAccessFile(file, "rw");
+            this.randomAccessFile.setLength(0);
+        } catch (final IOException ioException) {
+            throw new IoException("Trouble opening [" + file + "]", ioException);
+        }
+    }
+
+    /**
+     * Return the file backing our buffers.
+     *
+     * @return the file backing our buffers.
+     */
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Return the number of bytes of the file in use or free for reuse.
+     *
+     * @return the length of the file.
+     */
+    public synchronized long getLength() {
+        return position;
+    }
+
+    /**
+     * Return the number of bytes freed and waiting to be reused.
+     *
+     * @return the number of free bytes.
+     */
+    public synchronized long getFreeLength() {
+        long retVal = 0;
+
+        for (final long length : freeRegions.values()) {
+            retVal += length;
+        }
+
+        return retVal;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Reuses a freed region if one is large enough.
+     */
+    @Override
+    public synchronized ByteBuffer allocate(final int capacity) {
+        IntUtils.ensureMinInt(capacity, 0, DirectBufferAllocator.CAPACITY_ERROR_MSG);
+
+        final long reused = takeFreeRegion(capacity);
+        final long offset = reused < 0 ? position : reused;
+
+        try {
+            final ByteBuffer retVal = randomAccessFile.getChannel().map(FileChannel.MapMode.READ_WRITE, offset, capacity);
+
+            if (reused < 0) {
+                position += capacity;
+            } else {
+                zero(retVal);
+            }
+
+            regions.put(retVal, offset);
+
+            return retVal;
+        } catch (final IOException ioException) {
+            if (reused >= 0) {
+                addFreeRegion(reused, capacity);
+            }
+
+            throw new IoException("Trouble mapping [" + capacity + "] bytes of [" + file + "]", ioException);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The buffer's region is reused by later allocations.
+     */
+    @Override
+    public synchronized void free(final ByteBuffer buffer) {
+        final Long offset = regions.remove(ObjectUtils.ensureObject(buffer, BufferUtils.BUFFER_ERROR_MSG));
+
+        BufferUtils.free(buffer);
+
+        if (null != offset && buffer.capacity() > 0) {
+            addFreeRegion(offset, buffer.capacity());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void close() {
+        try {
+            randomAccessFile.close();
+        } catch (final IOException ioException) {
+            throw new IoException("Trouble closing [" + file + "]", ioException);
+        } finally {
+            file.delete();
+        }
+    }
+}
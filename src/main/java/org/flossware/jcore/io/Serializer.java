@@ -0,0 +1,49 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.io;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Converts values to and from bytes held in a ByteBuffer - used, for example, to store values outside the heap.
+ *
+ * @author Scot P. Floess
+ *
+ * @param <T> the type of value serialized.
+ */
+public interface Serializer<T> {
+
+    /**
+     * Write value at the buffer's position, advancing the position past the bytes written.
+     *
+     * @param value  the value to write.
+     * @param buffer the buffer to write to.
+     *
+     * @throws BufferOverflowException if buffer does not have enough room - the caller will retry with a larger buffer.
+     */
+    void write(T value, ByteBuffer buffer) throws BufferOverflowException;
+
+    /**
+     * Read a value from the bytes between the buffer's position and limit.
+     *
+     * @param buffer the buffer to read from.
+     *
+     * @return the value read.
+     */
+    T read(ByteBuffer buffer);
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.io;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Serializes strings as UTF-8, encoding straight into the destination buffer.
+ *
+ * @author Scot P. Floess
+ */
+public class StringSerializer implements Serializer<String> {
+
+    /**
+     * Shared instance, serializers are stateless.
+     */
+    public static final StringSerializer INSTANCE = new StringSerializer();
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void write(final String value, final ByteBuffer buffer) throws BufferOverflowException {
+        final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder().onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+        final CoderResult result = encoder.encode(CharBuffer.wrap(value), buffer, true);
+
+        if (result.isOverflow() || encoder.flush(buffer).isOverflow()) {
+            throw new BufferOverflowException();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String read(final ByteBuffer buffer) {
+        return StandardCharsets.UTF_8.decode(buffer).toString();
+    }
+}
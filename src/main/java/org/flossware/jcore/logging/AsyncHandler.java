@@ -0,0 +1,500 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.logging;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.ConsoleHandler;
+import java.util.logging.ErrorManager;
+import java.util.logging.Formatter;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogManager;
+import java.util.logging.LogRecord;
+import org.flossware.jcore.utils.IntUtils;
+import org.flossware.jcore.utils.ObjectUtils;
+
+/**
+ * A handler that takes log records off of the calling thread. Records are placed in a bounded buffer and a single background
+ * writer publishes them in batches to a delegate handler, flushing the delegate once per batch. When the buffer is full, the
+ * overflow policy decides if the caller waits or the record is dropped - dropped records are counted.
+ *
+ * When configured via logging.properties, the following properties are honored (prefixed by this class' name):
+ * <ul>
+ * <li>level - the level of this handler (defaults to ALL).</li>
+ * <li>handler - the class name of the delegate handler (defaults to java.util.logging.ConsoleHandler).</li>
+ * <li>capacity - the size of the buffer (defaults to 8192).</li>
+ * <li>batchSize - the maximum number of records published per flush (defaults to 256).</li>
+ * <li>policy - DROP or BLOCK (defaults to BLOCK).</li>
+ * </ul>
+ *
+ * @author Scot P. Floess
+ */
+public class AsyncHandler extends Handler {
+
+    /**
+     * Default size of the buffer.
+     */
+    public static final int DEFAULT_CAPACITY = 8192;
+
+    /**
+     * Default maximum number of records published per flush.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 256;
+
+    /**
+     * Default overflow policy.
+     */
+    public static final OverflowPolicy DEFAULT_POLICY = OverflowPolicy.BLOCK;
+
+    /**
+     * Used to generate unique names for our writer threads.
+     */
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    /**
+     * Placed in the buffer to denote the writer should stop.
+     */
+    private static final LogRecord SHUTDOWN = new LogRecord(Level.OFF, "");
+
+    /**
+     * Formats the messages of records with mutable parameters.
+     */
+    private static final MessageFormatter MESSAGE_FORMATTER = new MessageFormatter();
+
+    /**
+     * Parameter types that are immutable, so are left for the writer thread to format.
+     */
+    private static final Set<Class<?>> IMMUTABLE_TYPES = new HashSet<>(Arrays.asList(
+            String.class, Boolean.class, Character.class, Byte.class, Short.class, Integer.class, Long.class, Float.class,
+            Double.class, BigInteger.class, BigDecimal.class
+    ));
+
+    /**
+     * The handler that actually publishes our records.
+     */
+    private final Handler handler;
+
+    /**
+     * Our buffer of records waiting to be published.
+     */
+    private final BlockingQueue<LogRecord> buffer;
+
+    /**
+     * The maximum number of records published per flush.
+     */
+    private final int batchSize;
+
+    /**
+     * What to do when the buffer is full.
+     */
+    private final OverflowPolicy overflowPolicy;
+
+    /**
+     * The number of records dropped.
+     */
+    private final AtomicLong droppedCount;
+
+    /**
+     * The number of records published to our handler.
+     */
+    private final AtomicLong publishedCount;
+
+    /**
+     * Publishes our records.
+     */
+    private final Thread writer;
+
+    /**
+     * Denotes if we have been closed.
+     */
+    private volatile boolean closed;
+
+    /**
+     * Formats a record's message with its parameters.
+     */
+    static final class MessageFormatter extends Formatter {
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String format(final LogRecord record) {
+            return formatMessage(record);
+        }
+    }
+
+    /**
+     * Return a LogManager property for this class, or <code>defaultValue</code> if not set.
+     */
+    static String getProperty(final String name, final String defaultValue) {
+        final String retVal = LogManager.getLogManager().getProperty(AsyncHandler.class.getName() + "." + name);
+
+        return null == retVal ? defaultValue : retVal.trim();
+    }
+
+    /**
+     * Create the handler named in our configuration.
+     */
+    static Handler createHandler() {
+        final String className = getProperty("handler", ConsoleHandler.class.getName());
+
+        try {
+            return (Handler) ClassLoader.getSystemClassLoader().loadClass(className).getDeclaredConstructor().newInstance();
+        } catch (final ReflectiveOperationException | ClassCastException exception) {
+            throw new IllegalArgumentException("Cannot create handler [" + className + "]", exception);
+        }
+    }
+
+    /**
+     * Return the handler that actually publishes our records.
+     *
+     * @return the handler that actually publishes our records.
+     */
+    Handler getHandler() {
+        return handler;
+    }
+
+    /**
+     * Return our buffer.
+     *
+     * @return our buffer.
+     */
+    BlockingQueue<LogRecord> getBuffer() {
+        return buffer;
+    }
+
+    /**
+     * Return the writer thread.
+     *
+     * @return the writer thread.
+     */
+    Thread getWriter() {
+        return writer;
+    }
+
+    /**
+     * Publish <code>batch</code> to our handler and flush it.
+     *
+     * @param batch the records to publish.
+     *
+     * @return true if the writer should continue or false if a shutdown was requested.
+     */
+    boolean publishBatch(final List<LogRecord> batch) {
+        boolean retVal = true;
+
+        for (final LogRecord record : batch) {
+            if (SHUTDOWN == record) {
+                retVal = false;
+            } else {
+                try {
+                    getHandler().publish(record);
+                    publishedCount.incrementAndGet();
+                } catch (final RuntimeException exception) {
+                    reportError("Trouble publishing record", exception, ErrorManager.WRITE_FAILURE);
+                }
+            }
+        }
+
+        try {
+            getHandler().flush();
+        } catch (final RuntimeException exception) {
+            reportError("Trouble flushing handler", exception, ErrorManager.FLUSH_FAILURE);
+        }
+
+        batch.clear();
+
+        return retVal;
+    }
+
+    /**
+     * Return true if <code>parameter</code> can be left for the writer thread to format - it is immutable or a deferred message.
+     *
+     * @param parameter a record parameter.
+     *
+     * @return true if <code>parameter</code> can be formatted later.
+     */
+    static boolean isDeferrable(final Object parameter) {
+        return null == parameter || parameter instanceof Enum || parameter instanceof DeferredMessage || IMMUTABLE_TYPES.contains(parameter.getClass());
+    }
+
+    /**
+     * Return true if none of <code>parameters</code> need formatting on the calling thread.
+     *
+     * @param parameters the record parameters, may be null.
+     *
+     * @return true if all parameters can be formatted later.
+     */
+    static boolean isDeferrable(final Object[] parameters) {
+        if (null != parameters) {
+            for (final Object parameter : parameters) {
+                if (!isDeferrable(parameter)) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Return <code>record</code>, or a copy of it with its parameters formatted into the message if any of them may change - the
+     * caller is free to change a mutable parameter once publish() returns, so it can't be left for the writer thread to format.
+     * Immutable parameters and deferred messages are left for the writer thread.
+     *
+     * @param record the record to publish.
+     *
+     * @return the record to buffer.
+     */
+    static LogRecord snapshot(final LogRecord record) {
+        final Object[] parameters = record.getParameters();
+
+        if (isDeferrable(parameters)) {
+            return record;
+        }
+
+        final LogRecord retVal = new LogRecord(record.getLevel(), MESSAGE_FORMATTER.formatMessage(record));
+
+        retVal.setLoggerName(record.getLoggerName());
+        retVal.setResourceBundle(record.getResourceBundle());
+        retVal.setResourceBundleName(record.getResourceBundleName());
+        retVal.setSequenceNumber(record.getSequenceNumber());
+        retVal.setSourceClassName(record.getSourceClassName());
+        retVal.setSourceMethodName(record.getSourceMethodName());
+        retVal.setThreadID(record.getThreadID());
+        retVal.setThrown(record.getThrown());
+
+        LogRecordTime.copy(record, retVal);
+
+        return retVal;
+    }
+
+    /**
+     * Place <code>record</code> in the buffer, waiting for room or not per our overflow policy.
+     *
+     * @param record the record to buffer.
+     *
+     * @return true if buffered or false if the buffer was full (or we were interrupted waiting for room).
+     */
+    boolean enqueue(final LogRecord record) {
+        if (OverflowPolicy.DROP == getOverflowPolicy()) {
+            return getBuffer().offer(record);
+        }
+
+        try {
+            getBuffer().put(record);
+
+            return true;
+        } catch (final InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+
+            return false;
+        }
+    }
+
+    /**
+     * Drains the buffer in batches until a shutdown is requested.
+     */
+    void write() {
+        final List<LogRecord> batch = new ArrayList<>(batchSize);
+
+        boolean isRunning = true;
+
+        while (isRunning) {
+            try {
+                batch.add(getBuffer().take());
+                getBuffer().drainTo(batch, batchSize - 1);
+
+                isRunning = publishBatch(batch);
+            } catch (final InterruptedException interruptedException) {
+                isRunning = !closed;
+            }
+        }
+
+        getBuffer().drainTo(batch);
+        publishBatch(batch);
+    }
+
+    /**
+     * This constructor sets the handler to publish to, the size of the buffer, the maximum number of records published per flush
+     * and what to do when the buffer is full.
+     *
+     * @param handler        the handler that will actually publish records.
+     * @param capacity       the size of the buffer.
+     * @param batchSize      the maximum number of records published per flush.
+     * @param overflowPolicy what to do when the buffer is full.
+     *
+     * @throws IllegalArgumentException if <code>handler</code> or <code>overflowPolicy</code> is null or <code>capacity</code> or
+     *                                  <code>batchSize</code> is less than 1.
+     */
+    public AsyncHandler(final Handler handler, final int capacity, final int batchSize, final OverflowPolicy overflowPolicy) {
+        this.handler = ObjectUtils.ensureObject(handler, "Must provide a handler!");
+        this.buffer = new ArrayBlockingQueue<>(IntUtils.ensureMinInt(capacity, 1, "Capacity must be at least 1!"));
+        this.batchSize = IntUtils.ensureMinInt(batchSize, 1, "Batch size must be at least 1!");
+        this.overflowPolicy = ObjectUtils.ensureObject(overflowPolicy, "Must provide an overflow policy!");
+        this.droppedCount = new AtomicLong();
+        this.publishedCount = new AtomicLong();
+
+        this.writer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                write();
+            }
+        }, "jCore-AsyncHandler-" + THREAD_COUNT.incrementAndGet());
+
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * This constructor sets the handler to publish to using the default capacity, batch size and overflow policy.
+     *
+     * @param handler the handler that will actually publish records.
+     */
+    public AsyncHandler(final Handler handler) {
+        this(handler, DEFAULT_CAPACITY, DEFAULT_BATCH_SIZE, DEFAULT_POLICY);
+    }
+
+    /**
+     * Default constructor - configures self from the LogManager.
+     */
+    public AsyncHandler() {
+        this(createHandler(), Integer.parseInt(getProperty("capacity", String.valueOf(DEFAULT_CAPACITY))), Integer.parseInt(getProperty("batchSize", String.valueOf(DEFAULT_BATCH_SIZE))), OverflowPolicy.valueOf(getProperty("policy", DEFAULT_POLICY.name())));
+
+        setLevel(Level.parse(getProperty("level", Level.ALL.getName())));
+    }
+
+    /**
+     * Return what we do when the buffer is full.
+     *
+     * @return what we do when the buffer is full.
+     */
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    /**
+     * Return the number of records dropped because the buffer was full or we were closed.
+     *
+     * @return the number of records dropped.
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    /**
+     * Return the number of records published to our handler.
+     *
+     * @return the number of records published.
+     */
+    public long getPublishedCount() {
+        return publishedCount.get();
+    }
+
+    /**
+     * Return the number of records waiting to be published.
+     *
+     * @return the number of records waiting to be published.
+     */
+    public int getPendingCount() {
+        return getBuffer().size();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The source class and method are computed here, on the calling thread, as they can't be inferred from the writer thread.
+     * Likewise, any mutable parameters are formatted into the message here, before the caller can change them.
+     */
+    @Override
+    public void publish(final LogRecord record) {
+        if (closed || !isLoggable(record)) {
+            if (closed) {
+                droppedCount.incrementAndGet();
+            }
+
+            return;
+        }
+
+        record.getSourceMethodName();
+
+        final LogRecord snapshot = snapshot(record);
+
+        if (!enqueue(snapshot)) {
+            droppedCount.incrementAndGet();
+
+            return;
+        }
+
+        // Closed while we were enqueuing - the writer may have already done its final drain...
+        if (closed && getBuffer().remove(snapshot)) {
+            droppedCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Only flushes our handler - records still in the buffer are published by the writer.
+     */
+    @Override
+    public void flush() {
+        getHandler().flush();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Publishes all records in the buffer and then closes our handler. Records published while closing that the writer missed are
+     * counted as dropped - removing them frees up the buffer for any callers still waiting for room, who then see we are closed.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+
+        try {
+            getBuffer().put(SHUTDOWN);
+            getWriter().join();
+        } catch (final InterruptedException interruptedException) {
+            getWriter().interrupt();
+
+            Thread.currentThread().interrupt();
+        }
+
+        final List<LogRecord> missed = new ArrayList<>();
+
+        getBuffer().drainTo(missed);
+        missed.remove(SHUTDOWN);
+
+        droppedCount.addAndGet(missed.size());
+
+        getHandler().close();
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.logging;
+
+import org.flossware.jcore.utils.ObjectUtils;
+
+/**
+ * Wraps a message supplier so it can be handed to a logger as a parameter. A logger only renders parameters when a handler
+ * formats the record, so the supplier is not called unless the log is actually published. Once computed, the message is
+ * retained so multiple handlers do not render it more than once.
+ *
+ * @author Scot P. Floess
+ */
+public final class DeferredMessage {
+
+    /**
+     * Computes our message.
+     */
+    private final MessageSupplier messageSupplier;
+
+    /**
+     * The message once computed.
+     */
+    private volatile String message;
+
+    /**
+     * Return the message supplier.
+     *
+     * @return the message supplier.
+     */
+    MessageSupplier getMessageSupplier() {
+        return messageSupplier;
+    }
+
+    /**
+     * This constructor sets the supplier of our message.
+     *
+     * @param messageSupplier computes our message.
+     *
+     * @throws IllegalArgumentException if <code>messageSupplier</code> is null.
+     */
+    public DeferredMessage(final MessageSupplier messageSupplier) {
+        this.messageSupplier = ObjectUtils.ensureObject(messageSupplier, "Must provide a message supplier!");
+    }
+
+    /**
+     * Return true if the message has been computed.
+     *
+     * @return true if the message has been computed.
+     */
+    public boolean isComputed() {
+        return null != message;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return the message as computed by our message supplier.
+     */
+    @Override
+    public String toString() {
+        if (null == message) {
+            message = String.valueOf(getMessageSupplier().get());
+        }
+
+        return message;
+    }
+}
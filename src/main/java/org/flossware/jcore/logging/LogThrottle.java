@@ -0,0 +1,381 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.logging;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.flossware.jcore.utils.IntUtils;
+import org.flossware.jcore.utils.LongUtils;
+import org.flossware.jcore.utils.ObjectUtils;
+
+/**
+ * Decides if an enabled log should be published so that tracing hot code does not flood the logs. A log is identified by its
+ * call site - the logger and format string. Checks are applied in the following order, and a log rejected by any of them is
+ * counted as suppressed for its call site:
+ * <ul>
+ * <li>sampling - only 1 in <code>sampleRate</code> logs per call site are considered.</li>
+ * <li>deduplication - a call site is published at most once per <code>dedupWindowMillis</code>, the window starting when a log
+ * is published (not merely considered).</li>
+ * <li>rate limiting - a token bucket shared by all call sites allows <code>logsPerSecond</code> with bursts of
+ * <code>burst</code>.</li>
+ * </ul>
+ *
+ * Every <code>summaryIntervalMillis</code> a summary of the suppressed counts is logged for each call site that had logs
+ * suppressed. Summaries are emitted by the logging threads themselves - no background thread is used.
+ *
+ * @author Scot P. Floess
+ */
+public class LogThrottle {
+
+    /**
+     * Denotes every log is sampled.
+     */
+    public static final int NO_SAMPLING = 1;
+
+    /**
+     * Denotes no rate limit.
+     */
+    public static final double NO_RATE_LIMIT = 0;
+
+    /**
+     * Denotes no deduplication.
+     */
+    public static final long NO_DEDUP = 0;
+
+    /**
+     * Default summary interval.
+     */
+    public static final long DEFAULT_SUMMARY_INTERVAL = 60000;
+
+    /**
+     * The format of suppressed summaries.
+     */
+    public static final String SUMMARY_MSG = "Suppressed [{0}] logs in the last [{1}] ms for [{2}]";
+
+    /**
+     * The state kept for a call site.
+     */
+    static final class CallSite {
+
+        /**
+         * The number of logs seen - used for sampling.
+         */
+        final AtomicLong count = new AtomicLong();
+
+        /**
+         * The number of logs suppressed since the last summary.
+         */
+        final AtomicLong suppressed = new AtomicLong();
+
+        /**
+         * When we last published in nanos.
+         */
+        final AtomicLong lastPublished = new AtomicLong(Long.MIN_VALUE);
+
+        /**
+         * The level last seen, used when summarizing.
+         */
+        volatile Level level;
+    }
+
+    /**
+     * The call sites for a logger.
+     */
+    static final class LoggerSites {
+
+        /**
+         * The logger.
+         */
+        final Logger logger;
+
+        /**
+         * Call sites keyed by format string.
+         */
+        final ConcurrentMap<String, CallSite> callSites = new ConcurrentHashMap<>();
+
+        LoggerSites(final Logger logger) {
+            this.logger = logger;
+        }
+    }
+
+    /**
+     * Only 1 in this many logs per call site are considered.
+     */
+    private final int sampleRate;
+
+    /**
+     * The nanos that must pass per token in our bucket or 0 if not rate limiting.
+     */
+    private final long nanosPerLog;
+
+    /**
+     * The nanos of burst tolerated by our bucket.
+     */
+    private final long burstNanos;
+
+    /**
+     * A call site is published at most once within this many nanos.
+     */
+    private final long dedupWindowNanos;
+
+    /**
+     * How often we summarize in nanos.
+     */
+    private final long summaryIntervalNanos;
+
+    /**
+     * Theoretical arrival time of the next log in our bucket.
+     */
+    private final AtomicLong nextArrival;
+
+    /**
+     * When the next summary is due in nanos.
+     */
+    private final AtomicLong nextSummary;
+
+    /**
+     * All call sites keyed by logger name.
+     */
+    private final ConcurrentMap<String, LoggerSites> loggerSites;
+
+    /**
+     * Return the current time in nanos.
+     *
+     * @return the current time in nanos.
+     */
+    long nanoTime() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Return the call site for <code>logger</code> and <code>str</code>, creating it if needed.
+     *
+     * @param logger the logger for the call site.
+     * @param str    the format string of the call site.
+     *
+     * @return the call site.
+     */
+    CallSite getCallSite(final Logger logger, final String str) {
+        LoggerSites sites = loggerSites.get(logger.getName());
+
+        if (null == sites) {
+            final LoggerSites newSites = new LoggerSites(logger);
+
+            sites = loggerSites.putIfAbsent(logger.getName(), newSites);
+            if (null == sites) {
+                sites = newSites;
+            }
+        }
+
+        CallSite retVal = sites.callSites.get(str);
+
+        if (null == retVal) {
+            final CallSite newCallSite = new CallSite();
+
+            retVal = sites.callSites.putIfAbsent(str, newCallSite);
+            if (null == retVal) {
+                retVal = newCallSite;
+            }
+        }
+
+        return retVal;
+    }
+
+    /**
+     * Return true if the call site is sampled.
+     */
+    boolean isSampled(final CallSite callSite) {
+        return NO_SAMPLING == sampleRate || 0 == callSite.count.getAndIncrement() % sampleRate;
+    }
+
+    /**
+     * Return true if a call site last published at lastPublished is outside the dedup window - nothing is recorded, see
+     * markPublished().
+     */
+    boolean isUnique(final long lastPublished, final long now) {
+        return NO_DEDUP == dedupWindowNanos || Long.MIN_VALUE == lastPublished || now - lastPublished >= dedupWindowNanos;
+    }
+
+    /**
+     * Record the call site as published now, returning false if another thread published it since we read lastPublished.
+     */
+    boolean markPublished(final CallSite callSite, final long lastPublished, final long now) {
+        return NO_DEDUP == dedupWindowNanos || callSite.lastPublished.compareAndSet(lastPublished, now);
+    }
+
+    /**
+     * Return true if our token bucket has a token - lock free using the generic cell rate algorithm.
+     */
+    boolean isWithinRate(final long now) {
+        if (0 == nanosPerLog) {
+            return true;
+        }
+
+        while (true) {
+            final long arrival = nextArrival.get();
+            final long newArrival = Math.max(arrival, now) + nanosPerLog;
+
+            if (newArrival - now > burstNanos) {
+                return false;
+            }
+
+            if (nextArrival.compareAndSet(arrival, newArrival)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Give back a token taken by isWithinRate() for a log that was not published - otherwise the effective rate would fall
+     * below the configured one whenever markPublished() loses a race.
+     */
+    void returnToken() {
+        if (0 != nanosPerLog) {
+            nextArrival.addAndGet(-nanosPerLog);
+        }
+    }
+
+    /**
+     * If a summary is due, log the suppressed counts of all call sites and reset them.
+     *
+     * @param now the current time in nanos.
+     */
+    void summarizeIfDue(final long now) {
+        final long summaryDue = nextSummary.get();
+
+        if (now - summaryDue < 0 || !nextSummary.compareAndSet(summaryDue, now + summaryIntervalNanos)) {
+            return;
+        }
+
+        final long intervalMillis = TimeUnit.NANOSECONDS.toMillis(summaryIntervalNanos);
+
+        for (final LoggerSites sites : loggerSites.values()) {
+            for (final Map.Entry<String, CallSite> entry : sites.callSites.entrySet()) {
+                final long suppressed = entry.getValue().suppressed.getAndSet(0);
+
+                if (suppressed > 0 && sites.logger.isLoggable(entry.getValue().level)) {
+                    sites.logger.log(entry.getValue().level, SUMMARY_MSG, new Object[]{suppressed, intervalMillis, entry.getKey()});
+                }
+            }
+        }
+    }
+
+    /**
+     * This constructor sets all the throttling parameters.
+     *
+     * @param sampleRate            only 1 in this many logs per call site are considered - use NO_SAMPLING to consider all.
+     * @param logsPerSecond         the rate allowed by our token bucket - use NO_RATE_LIMIT for no rate limit.
+     * @param burst                 the number of logs our token bucket allows in a burst.
+     * @param dedupWindowMillis     a call site is published at most once per this many millis - use NO_DEDUP to disable.
+     * @param summaryIntervalMillis how often suppressed counts are summarized.
+     *
+     * @throws IllegalArgumentException if any of the values are out of range.
+     */
+    public LogThrottle(final int sampleRate, final double logsPerSecond, final int burst, final long dedupWindowMillis, final long summaryIntervalMillis) {
+        if (logsPerSecond < 0) {
+            throw new IllegalArgumentException("Logs per second cannot be negative!");
+        }
+
+        this.sampleRate = IntUtils.ensureMinInt(sampleRate, NO_SAMPLING, "Sample rate must be at least 1!");
+        this.nanosPerLog = NO_RATE_LIMIT == logsPerSecond ? 0 : Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / logsPerSecond));
+        this.burstNanos = this.nanosPerLog * IntUtils.ensureMinInt(burst, 1, "Burst must be at least 1!");
+        this.dedupWindowNanos = TimeUnit.MILLISECONDS.toNanos(LongUtils.ensureMinLong(dedupWindowMillis, NO_DEDUP, "Dedup window cannot be negative!"));
+        this.summaryIntervalNanos = TimeUnit.MILLISECONDS.toNanos(LongUtils.ensureMinLong(summaryIntervalMillis, 1, "Summary interval must be at least 1!"));
+        this.nextArrival = new AtomicLong(nanoTime());
+        this.nextSummary = new AtomicLong(nanoTime() + summaryIntervalNanos);
+        this.loggerSites = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * This constructor only samples 1 in <code>sampleRate</code> logs per call site.
+     *
+     * @param sampleRate only 1 in this many logs per call site are considered.
+     */
+    public LogThrottle(final int sampleRate) {
+        this(sampleRate, NO_RATE_LIMIT, 1, NO_DEDUP, DEFAULT_SUMMARY_INTERVAL);
+    }
+
+    /**
+     * This constructor only rate limits.
+     *
+     * @param logsPerSecond the rate allowed by our token bucket.
+     * @param burst         the number of logs our token bucket allows in a burst.
+     */
+    public LogThrottle(final double logsPerSecond, final int burst) {
+        this(NO_SAMPLING, logsPerSecond, burst, NO_DEDUP, DEFAULT_SUMMARY_INTERVAL);
+    }
+
+    /**
+     * Return the number of logs suppressed for a call site since the last summary.
+     *
+     * @param logger the logger of the call site.
+     * @param str    the format string of the call site.
+     *
+     * @return the number of logs suppressed.
+     */
+    public long getSuppressedCount(final Logger logger, final String str) {
+        return getCallSite(logger, str).suppressed.get();
+    }
+
+    /**
+     * Return true if a log at <code>level</code> for the call site denoted by <code>logger</code> and <code>str</code> should be
+     * published. Returns false without counting it as suppressed if <code>level</code> is not enabled for <code>logger</code>.
+     *
+     * @param logger the logger to use.
+     * @param level  the level of the log.
+     * @param str    the format string of the log.
+     *
+     * @return true if the log should be published.
+     */
+    public boolean isPermitted(final Logger logger, final Level level, final String str) {
+        ObjectUtils.ensureObject(logger, "Must provide a logger!");
+
+        if (!logger.isLoggable(level)) {
+            return false;
+        }
+
+        final long now = nanoTime();
+        final CallSite callSite = getCallSite(logger, String.valueOf(str));
+
+        callSite.level = level;
+
+        summarizeIfDue(now);
+
+        // The dedup window only starts once a log is actually published - a log rejected by the rate limit must not mute its
+        // call site...
+        if (isSampled(callSite)) {
+            final long lastPublished = callSite.lastPublished.get();
+
+            if (isUnique(lastPublished, now) && isWithinRate(now)) {
+                if (markPublished(callSite, lastPublished, now)) {
+                    return true;
+                }
+
+                returnToken();
+            }
+        }
+
+        callSite.suppressed.incrementAndGet();
+
+        return false;
+    }
+}
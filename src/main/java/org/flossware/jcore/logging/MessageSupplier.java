@@ -0,0 +1,33 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.logging;
+
+/**
+ * Supplies a log message on demand. Implementations are only asked for their message once it is known the log will be
+ * published, so expensive rendering (stack traces, SOAP messages, large collections) is skipped when the level is disabled.
+ *
+ * @author Scot P. Floess
+ */
+public interface MessageSupplier {
+
+    /**
+     * Compute the message.
+     *
+     * @return the message.
+     */
+    String get();
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.logging;
+
+/**
+ * Denotes what an asynchronous handler does when its buffer is full.
+ *
+ * @author Scot P. Floess
+ */
+public enum OverflowPolicy {
+    /**
+     * The log record is discarded and counted as dropped - the logging thread never waits.
+     */
+    DROP,
+    /**
+     * The logging thread waits until there is room in the buffer.
+     */
+    BLOCK
+}
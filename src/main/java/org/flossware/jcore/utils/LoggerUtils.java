@@ -20,6 +20,9 @@ import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import org.flossware.jcore.logging.AsyncHandler;
+import org.flossware.jcore.logging.DeferredMessage;
+import org.flossware.jcore.logging.MessageSupplier;
 
 /**
  * A logger utility class that adds the ability to log and return values as well as present a var args array to log vs creating an
@@ -71,6 +74,146 @@ import java.util.logging.Logger;
  * @author Scot P. Floess
  */
 public final class LoggerUtils {
+    /**
+     * The name of the logger that is the parent of all jCore loggers.
+     */
+    public static final String JCORE_LOGGER_NAME = "org.flossware.jcore";
+
+    /**
+     * The parent of all jCore loggers - we hold a reference so any handlers routed here are not lost to garbage collection.
+     */
+    private static final Logger JCORE_LOGGER = Logger.getLogger(JCORE_LOGGER_NAME);
+
+    /**
+     * Return the parent of all jCore loggers.
+     *
+     * @return the parent of all jCore loggers.
+     */
+    public static Logger getJCoreLogger() {
+        return JCORE_LOGGER;
+    }
+
+    /**
+     * Route all logs of <code>logger</code> (and its children) through <code>asyncHandler</code> instead of its parent's
+     * handlers. The caller's thread then only places records in the buffer of <code>asyncHandler</code>.
+     *
+     * @param logger       the logger to route.
+     * @param asyncHandler the handler that will publish asynchronously.
+     *
+     * @return <code>asyncHandler</code>.
+     */
+    public static AsyncHandler routeAsync(final Logger logger, final AsyncHandler asyncHandler) {
+        ObjectUtils.ensureObject(logger, "Must provide a logger!");
+        ObjectUtils.ensureObject(asyncHandler, "Must provide an async handler!");
+
+        logger.addHandler(asyncHandler);
+        logger.setUseParentHandlers(false);
+
+        return asyncHandler;
+    }
+
+    /**
+     * Route all jCore logs (including those from AbstractCommonBase subclasses and the utility classes) through
+     * <code>asyncHandler</code>.
+     *
+     * @param asyncHandler the handler that will publish asynchronously.
+     *
+     * @return <code>asyncHandler</code>.
+     */
+    public static AsyncHandler routeAsync(final AsyncHandler asyncHandler) {
+        return routeAsync(getJCoreLogger(), asyncHandler);
+    }
+
+    /**
+     * Return true if <code>logger</code> will publish records at <code>level</code>. The logger keeps its effective level as a
+     * cached int that the LogManager refreshes whenever the configuration (or the logger's level) changes, so this check is a
+     * simple comparison and is safe to call on hot paths before building any log arguments.
+     *
+     * @param logger the logger to use.
+     * @param level  the level of the log.
+     *
+     * @return true if <code>level</code> is enabled for <code>logger</code>.
+     */
+    public static boolean isLoggable(final Logger logger, final Level level) {
+        return logger.isLoggable(level);
+    }
+
+    /**
+     * Render the stack trace of <code>throwable</code>.
+     *
+     * @param throwable the throwable whose stack trace is desired.
+     *
+     * @return the stack trace of <code>throwable</code>.
+     */
+    public static String toStackTrace(final Throwable throwable) {
+        final StringWriter sw = new StringWriter();
+
+        try (final PrintWriter pw = new PrintWriter(sw)) {
+            throwable.printStackTrace(pw);
+        }
+
+        return sw.toString();
+    }
+
+    /**
+     * Return an object that can be used as a log parameter whose string representation is computed by
+     * <code>messageSupplier</code> only when the log is formatted.
+     *
+     * @param messageSupplier computes the string representation.
+     *
+     * @return an object whose toString() is computed from <code>messageSupplier</code>.
+     */
+    public static DeferredMessage defer(final MessageSupplier messageSupplier) {
+        return new DeferredMessage(messageSupplier);
+    }
+
+    /**
+     * Return an object that can be used as a log parameter whose string representation is the stack trace of
+     * <code>throwable</code> - the stack trace is only rendered when the log is formatted.
+     *
+     * @param throwable the throwable whose stack trace will be rendered.
+     *
+     * @return an object whose toString() is the stack trace of <code>throwable</code>.
+     */
+    public static DeferredMessage defer(final Throwable throwable) {
+        ObjectUtils.ensureObject(throwable, "Must provide a throwable!");
+
+        return defer(new MessageSupplier() {
+            @Override
+            public String get() {
+                return toStackTrace(throwable);
+            }
+        });
+    }
+
+    /**
+     * Log the message computed by <code>messageSupplier</code> - the message is only computed if <code>level</code> is enabled.
+     *
+     * @param logger          the logger to use.
+     * @param level           the level of the log.
+     * @param messageSupplier computes the message to log.
+     */
+    public static void log(final Logger logger, final Level level, final MessageSupplier messageSupplier) {
+        if (isLoggable(logger, level)) {
+            logger.log(level, messageSupplier.get());
+        }
+    }
+
+    /**
+     * Log the message computed by <code>messageSupplier</code> with <code>throwable</code> - the message is only computed if
+     * <code>level</code> is enabled.
+     *
+     * @param logger          the logger to use.
+     * @param level           the level of the log.
+     * @param throwable       the throwable to log with the message.
+     * @param messageSupplier computes the message to log.
+     */
+    public static void log(final Logger logger, final Level level, final Throwable throwable, final MessageSupplier messageSupplier) {
+        if (isLoggable(logger, level)) {
+            logger.log(level, messageSupplier.get(), throwable);
+        }
+    }
+
     /**
      * Performs a log using the var args <code>objs</code> as an array that can be presented to the logger.
      *
@@ -81,12 +224,11 @@ public final class LoggerUtils {
      * @param objs      a var arg thats converted to an object array for logging.
      */
     public static void log(final Logger logger, final Level level, final Throwable throwable, final String str, final Object... objs) {
-        final StringWriter sw = new StringWriter();
-        try (final PrintWriter pw = new PrintWriter(sw)) {
-            throwable.printStackTrace(pw);
-            final String toLog = StringUtils.concat(str, System.getProperty("line.separator"), sw.toString());
-            logger.log(level, toLog, objs);
+        if (!isLoggable(logger, level)) {
+            return;
         }
+
+        logger.log(level, StringUtils.concat(str, System.getProperty("line.separator"), toStackTrace(throwable)), objs);
     }
 
     /**
@@ -113,6 +255,68 @@ public final class LoggerUtils {
         logger.log(level, str, objs);
     }
 
+    /**
+     * Performs a log of a single parameter without creating a var args array.
+     *
+     * @param logger the logger to use.
+     * @param level  the level of the log.
+     * @param str    the format string.
+     * @param obj0   the value for {0} in <code>str</code>.
+     */
+    public static void log(final Logger logger, final Level level, final String str, final Object obj0) {
+        if (isLoggable(logger, level)) {
+            logger.log(level, str, obj0);
+        }
+    }
+
+    /**
+     * Performs a log of two parameters - the parameter array is only created if <code>level</code> is enabled.
+     *
+     * @param logger the logger to use.
+     * @param level  the level of the log.
+     * @param str    the format string.
+     * @param obj0   the value for {0} in <code>str</code>.
+     * @param obj1   the value for {1} in <code>str</code>.
+     */
+    public static void log(final Logger logger, final Level level, final String str, final Object obj0, final Object obj1) {
+        if (isLoggable(logger, level)) {
+            logger.log(level, str, new Object[]{obj0, obj1});
+        }
+    }
+
+    /**
+     * Performs a log of three parameters - the parameter array is only created if <code>level</code> is enabled.
+     *
+     * @param logger the logger to use.
+     * @param level  the level of the log.
+     * @param str    the format string.
+     * @param obj0   the value for {0} in <code>str</code>.
+     * @param obj1   the value for {1} in <code>str</code>.
+     * @param obj2   the value for {2} in <code>str</code>.
+     */
+    public static void log(final Logger logger, final Level level, final String str, final Object obj0, final Object obj1, final Object obj2) {
+        if (isLoggable(logger, level)) {
+            logger.log(level, str, new Object[]{obj0, obj1, obj2});
+        }
+    }
+
+    /**
+     * Performs a log of four parameters - the parameter array is only created if <code>level</code> is enabled.
+     *
+     * @param logger the logger to use.
+     * @param level  the level of the log.
+     * @param str    the format string.
+     * @param obj0   the value for {0} in <code>str</code>.
+     * @param obj1   the value for {1} in <code>str</code>.
+     * @param obj2   the value for {2} in <code>str</code>.
+     * @param obj3   the value for {3} in <code>str</code>.
+     */
+    public static void log(final Logger logger, final Level level, final String str, final Object obj0, final Object obj1, final Object obj2, final Object obj3) {
+        if (isLoggable(logger, level)) {
+            logger.log(level, str, new Object[]{obj0, obj1, obj2, obj3});
+        }
+    }
+
     /**
      * Log and return the value.
      *
@@ -131,6 +335,126 @@ public final class LoggerUtils {
         return retVal;
     }
 
+    /**
+     * Log and return the value along with one other parameter.
+     *
+     * @param <V>    the type of data to return.
+     *
+     * @param logger the logger to use.
+     * @param level  the level to log at.
+     * @param str    the log string.
+     * @param retVal the value to return and the value for {0} in <code>str</code>.
+     * @param obj1   the value for {1} in <code>str</code>.
+     *
+     * @return <code>retVal</code>.
+     */
+    public static <V> V logAndReturn(final Logger logger, final Level level, final String str, final V retVal, final Object obj1) {
+        if (isLoggable(logger, level)) {
+            logger.log(level, str, new Object[]{retVal, obj1});
+        }
+
+        return retVal;
+    }
+
+    /**
+     * Log and return the value along with two other parameters.
+     *
+     * @param <V>    the type of data to return.
+     *
+     * @param logger the logger to use.
+     * @param level  the level to log at.
+     * @param str    the log string.
+     * @param retVal the value to return and the value for {0} in <code>str</code>.
+     * @param obj1   the value for {1} in <code>str</code>.
+     * @param obj2   the value for {2} in <code>str</code>.
+     *
+     * @return <code>retVal</code>.
+     */
+    public static <V> V logAndReturn(final Logger logger, final Level level, final String str, final V retVal, final Object obj1, final Object obj2) {
+        if (isLoggable(logger, level)) {
+            logger.log(level, str, new Object[]{retVal, obj1, obj2});
+        }
+
+        return retVal;
+    }
+
+    /**
+     * Log and return the value along with three other parameters.
+     *
+     * @param <V>    the type of data to return.
+     *
+     * @param logger the logger to use.
+     * @param level  the level to log at.
+     * @param str    the log string.
+     * @param retVal the value to return and the value for {0} in <code>str</code>.
+     * @param obj1   the value for {1} in <code>str</code>.
+     * @param obj2   the value for {2} in <code>str</code>.
+     * @param obj3   the value for {3} in <code>str</code>.
+     *
+     * @return <code>retVal</code>.
+     */
+    public static <V> V logAndReturn(final Logger logger, final Level level, final String str, final V retVal, final Object obj1, final Object obj2, final Object obj3) {
+        if (isLoggable(logger, level)) {
+            logger.log(level, str, new Object[]{retVal, obj1, obj2, obj3});
+        }
+
+        return retVal;
+    }
+
+    /**
+     * Log and return the boolean value - <code>retVal</code> is only boxed if <code>level</code> is enabled.
+     *
+     * @param logger the logger to use.
+     * @param level  the level to log at.
+     * @param str    the log string.
+     * @param retVal the value to return and the value for {0} in <code>str</code>.
+     *
+     * @return <code>retVal</code>.
+     */
+    public static boolean logAndReturn(final Logger logger, final Level level, final String str, final boolean retVal) {
+        if (isLoggable(logger, level)) {
+            logger.log(level, str, retVal);
+        }
+
+        return retVal;
+    }
+
+    /**
+     * Log and return the int value - <code>retVal</code> is only boxed if <code>level</code> is enabled.
+     *
+     * @param logger the logger to use.
+     * @param level  the level to log at.
+     * @param str    the log string.
+     * @param retVal the value to return and the value for {0} in <code>str</code>.
+     *
+     * @return <code>retVal</code>.
+     */
+    public static int logAndReturn(final Logger logger, final Level level, final String str, final int retVal) {
+        if (isLoggable(logger, level)) {
+            logger.log(level, str, retVal);
+        }
+
+        return retVal;
+    }
+
+    /**
+     * Log and return the long value - <code>retVal</code> is only boxed if <code>level</code> is enabled.
+     *
+     * @param logger the logger to use.
+     * @param level  the level to log at.
+     * @param str    the log string.
+     * @param retVal the value to return and the value for {0} in <code>str</code>.
+     *
+     * @return <code>retVal</code>.
+     */
+    public static long logAndReturn(final Logger logger, final Level level, final String str, final long retVal) {
+        if (isLoggable(logger, level)) {
+            logger.log(level, str, retVal);
+        }
+
+        return retVal;
+    }
+
     /**
      * Log and return the value thats found at <code>index</code> in the var arg <code>objs</code>.
      *
@@ -17,12 +17,14 @@
 package org.flossware.jcore.utils;
 
 import java.util.Random;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * A utility class to pause execution of code. There are two pauses available: pause for a total time and random pause which will
- * pause up to a pause time in millis (but computed via a random number).
+ * pause up to a pause time in millis (but computed via a random number). Pausing sleeps rather than waiting on a monitor so a
+ * virtual thread is unmounted instead of pinning its carrier thread.
  *
  * @author Scot P. Floess
  */
@@ -53,13 +55,11 @@ public final class PauseUtils {
         try {
             LoggerUtils.log(getLogger(), Level.INFO, "Pausing current thread [{0} ms]...", pauseTime);
 
-            final byte[] lock = new byte[0];
-
-            synchronized (lock) {
-                lock.wait(pauseTime);
-            }
+            TimeUnit.MILLISECONDS.sleep(pauseTime);
         } catch (final InterruptedException ex) {
             LoggerUtils.log(getLogger(), Level.WARNING, "Trouble pausing current thread...", ex);
+
+            Thread.currentThread().interrupt();
         }
     }
 
@@ -72,6 +72,23 @@ public final class PauseUtils {
         pause(RANDOM_PAUSE.nextInt(maxPause));
     }
 
+    /**
+     * Hint to the processor the current thread is busy waiting (for example while spinning on a volatile flag). On Java 9 and
+     * above this delegates to Thread.onSpinWait(), on Java 8 it does nothing.
+     */
+    public static void onSpinWait() {
+        SpinWaitHint.onSpinWait();
+    }
+
+    /**
+     * Return true if onSpinWait() is delivered to the processor.
+     *
+     * @return true if onSpinWait() is delivered to the processor.
+     */
+    public static boolean isSpinWaitSupported() {
+        return SpinWaitHint.isSupported();
+    }
+
     /**
      * Default constructor is not allowed.
      */
@@ -0,0 +1,47 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.utils;
+
+/**
+ * Baseline spin wait hint. Java 8 has no way to tell the processor we are busy waiting so this is a no-op - on Java 9 and above
+ * the multi-release jar replaces this class with one calling Thread.onSpinWait().
+ *
+ * @author Scot P. Floess
+ */
+final class SpinWaitHint {
+
+    /**
+     * Hint we are in a spin loop.
+     */
+    static void onSpinWait() {
+    }
+
+    /**
+     * Return true if the hint is delivered to the processor.
+     *
+     * @return true if the hint is delivered to the processor.
+     */
+    static boolean isSupported() {
+        return false;
+    }
+
+    /**
+     * Default constructor not allowed.
+     */
+    private SpinWaitHint() {
+    }
+}
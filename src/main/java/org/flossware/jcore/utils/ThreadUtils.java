@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.utils;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Thread utilities that take advantage of the running JDK: on Java 21 and above tasks run on virtual threads, otherwise on
+ * pooled daemon platform threads.
+ *
+ * @author Scot P. Floess
+ */
+public final class ThreadUtils {
+
+    /**
+     * Error message when no thread is provided.
+     */
+    public static final String THREAD_ERROR_MSG = "Must provide a thread!";
+
+    /**
+     * Return true if the running JDK supports virtual threads.
+     *
+     * @return true if the running JDK supports virtual threads.
+     */
+    public static boolean isVirtualThreadSupported() {
+        return VirtualThreads.isSupported();
+    }
+
+    /**
+     * Return true if thread is a virtual thread.
+     *
+     * @param thread the thread to examine.
+     *
+     * @return true if thread is a virtual thread.
+     *
+     * @throws IllegalArgumentException if thread is null.
+     */
+    public static boolean isVirtual(final Thread thread) {
+        return VirtualThreads.isVirtual(ObjectUtils.ensureObject(thread, THREAD_ERROR_MSG));
+    }
+
+    /**
+     * Return true if the current thread is a virtual thread.
+     *
+     * @return true if the current thread is a virtual thread.
+     */
+    public static boolean isCurrentThreadVirtual() {
+        return isVirtual(Thread.currentThread());
+    }
+
+    /**
+     * Return an executor that runs each task on its own thread - virtual threads when supported, otherwise pooled daemon
+     * threads. The caller is responsible for shutting it down.
+     *
+     * @return an executor that runs each task on its own thread.
+     */
+    public static ExecutorService newTaskExecutor() {
+        return VirtualThreads.newTaskExecutor();
+    }
+
+    /**
+     * Default constructor not allowed.
+     */
+    private ThreadUtils() {
+    }
+}
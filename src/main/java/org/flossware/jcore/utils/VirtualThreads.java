@@ -0,0 +1,82 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.utils;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Baseline thread support for JDKs without virtual threads. On Java 21 and above the multi-release jar replaces this class with
+ * one using virtual threads.
+ *
+ * @author Scot P. Floess
+ */
+final class VirtualThreads {
+
+    /**
+     * Used to number our task threads.
+     */
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    /**
+     * Creates daemon task threads.
+     */
+    private static final ThreadFactory THREAD_FACTORY = runnable -> {
+        final Thread retVal = new Thread(runnable, "jCore-task-" + THREAD_COUNT.incrementAndGet());
+
+        retVal.setDaemon(true);
+
+        return retVal;
+    };
+
+    /**
+     * Return true if virtual threads are supported.
+     *
+     * @return true if virtual threads are supported.
+     */
+    static boolean isSupported() {
+        return false;
+    }
+
+    /**
+     * Return true if thread is a virtual thread.
+     *
+     * @param thread the thread to examine.
+     *
+     * @return true if thread is a virtual thread.
+     */
+    static boolean isVirtual(final Thread thread) {
+        return false;
+    }
+
+    /**
+     * Return an executor running each task on its own (pooled) daemon thread.
+     *
+     * @return an executor running each task on its own (pooled) daemon thread.
+     */
+    static ExecutorService newTaskExecutor() {
+        return Executors.newCachedThreadPool(THREAD_FACTORY);
+    }
+
+    /**
+     * Default constructor not allowed.
+     */
+    private VirtualThreads() {
+    }
+}
@@ -29,6 +29,11 @@ public class ArrayUtils {
      */
     public static final int DEFAULT_MIN_ARRAY_LENGTH = 1;
 
+    /**
+     * Error message when a range does not fit within an array.
+     */
+    public static final String RANGE_ERROR_MSG = "Offset and length must be within the array!";
+
     /**
      * Ensure an array has something in it.
      *
@@ -103,6 +108,25 @@ public class ArrayUtils {
         return ensureArray(values, ObjectUtils.DEFAULT_ERROR_MSG);
     }
 
+    /**
+     * Ensure offset and length describe a range within an array.
+     *
+     * @param arrayLength the length of the array.
+     * @param offset      the first index of the range.
+     * @param length      the number of elements in the range.
+     *
+     * @return one past the last index of the range (offset + length).
+     *
+     * @throws IllegalArgumentException if offset or length are negative or the range extends beyond arrayLength.
+     */
+    public static int ensureRange(final int arrayLength, final int offset, final int length) throws IllegalArgumentException {
+        if (offset < 0 || length < 0 || offset > arrayLength - length) {
+            throw new IllegalArgumentException(RANGE_ERROR_MSG);
+        }
+
+        return offset + length;
+    }
+
     /**
      * See if a collection meets a filter.
      *
@@ -17,16 +17,25 @@
 package org.flossware.jcore.utils.collections;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.LinkedList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.ListIterator;
+import java.util.PriorityQueue;
 import java.util.Set;
-import java.util.TreeSet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.flossware.jcore.Filter;
+import org.flossware.jcore.IndexedFilter;
+import org.flossware.jcore.utils.IntUtils;
 import org.flossware.jcore.utils.ObjectUtils;
 
 /**
@@ -72,6 +81,31 @@ public class CollectionUtils {
      */
     public static final String FILTER_ERROR_MSG = "Must have a filter";
 
+    /**
+     * Error message when a copy strategy is null.
+     */
+    public static final String STRATEGY_ERROR_MSG = "Must have a copy strategy";
+
+    /**
+     * Error message when a key extractor is null.
+     */
+    public static final String KEY_ERROR_MSG = "Must have a key extractor";
+
+    /**
+     * Error message when the number of elements to select is negative.
+     */
+    public static final String COUNT_ERROR_MSG = "Count cannot be negative";
+
+    /**
+     * Inputs at least this size are sorted in parallel - below it the fork/join overhead outweighs the gain.
+     */
+    public static final int PARALLEL_SORT_THRESHOLD = 1 << 13;
+
+    /**
+     * Ranges smaller than this are insertion sorted when sorting by long keys.
+     */
+    static final int INSERTION_SORT_THRESHOLD = 32;
+
     /**
      * Ensures collection is not empty or null.
      *
@@ -194,13 +228,9 @@ public class CollectionUtils {
     public static <V> List<V> asList(final Collection<V> toCopy) {
         ensureCollection(toCopy, 0, COLLECTION_ERROR_MSG);
 
-        final List<V> retVal = new LinkedList<>();
-
         getLogger().log(Level.FINE, "Creating a copy of {0}", toCopy);
 
-        retVal.addAll(toCopy);
-
-        return retVal;
+        return new ArrayList<>(toCopy);
     }
 
     /**
@@ -214,15 +244,141 @@ public class CollectionUtils {
     public static <V> Set<V> asSet(final Collection<V> toCopy) {
         ensureCollection(toCopy, 0, COLLECTION_ERROR_MSG);
 
-        final Set<V> retVal = new TreeSet<>();
-
         getLogger().log(Level.FINE, "Creating a copy of {0}", toCopy);
 
+        return toSet(toCopy);
+    }
+
+    /**
+     * Copy toCopy into an ArrayList. Unlike asList(), null elements are allowed and are not scanned for.
+     *
+     * @param <V> the type of data to copy.
+     * @param toCopy the collection to copy.
+     *
+     * @return a new list.
+     *
+     * @throws IllegalArgumentException if toCopy is null.
+     */
+    public static <V> List<V> toList(final Collection<V> toCopy) {
+        return new ArrayList<>(ObjectUtils.ensureObject(toCopy, COLLECTION_ERROR_MSG));
+    }
+
+    /**
+     * Copy toCopy into a HashSet sized so it never rehashes. Unlike asSet(), null elements are allowed and are not scanned for.
+     *
+     * @param <V> the type of data to copy.
+     * @param toCopy the collection to copy.
+     *
+     * @return a new set.
+     *
+     * @throws IllegalArgumentException if toCopy is null.
+     */
+    public static <V> Set<V> toSet(final Collection<V> toCopy) {
+        final Set<V> retVal = new HashSet<>(MapUtils.capacityFor(ObjectUtils.ensureObject(toCopy, COLLECTION_ERROR_MSG).size()));
+
+        retVal.addAll(toCopy);
+
+        return retVal;
+    }
+
+    /**
+     * Copy toCopy into a LinkedHashSet sized so it never rehashes, keeping toCopy's iteration order.
+     *
+     * @param <V> the type of data to copy.
+     * @param toCopy the collection to copy.
+     *
+     * @return a new set.
+     *
+     * @throws IllegalArgumentException if toCopy is null.
+     */
+    public static <V> Set<V> toLinkedSet(final Collection<V> toCopy) {
+        final Set<V> retVal = new LinkedHashSet<>(MapUtils.capacityFor(ObjectUtils.ensureObject(toCopy, COLLECTION_ERROR_MSG).size()));
+
         retVal.addAll(toCopy);
 
         return retVal;
     }
 
+    /**
+     * Copy toCopy into one array, sort it and return it as a fixed size list - no per element nodes as with a TreeSet, and
+     * duplicates are kept.
+     *
+     * @param <V> the type of data to copy.
+     * @param toCopy the collection to copy.
+     * @param comparator the sort order - if null the elements must be Comparable.
+     *
+     * @return a new, fixed size, sorted list.
+     *
+     * @throws IllegalArgumentException if toCopy is null.
+     */
+    public static <V> List<V> toSortedList(final Collection<V> toCopy, final Comparator<? super V> comparator) {
+        final V[] retVal = asTypedArray(ObjectUtils.ensureObject(toCopy, COLLECTION_ERROR_MSG).toArray());
+
+        sortArray(retVal, comparator);
+
+        return Arrays.asList(retVal);
+    }
+
+    /**
+     * Return an unmodifiable view of toCopy without copying it - lists stay lists and sets stay sets.
+     *
+     * @param <V> the type of data.
+     * @param toCopy the collection to view.
+     *
+     * @return an unmodifiable view.
+     *
+     * @throws IllegalArgumentException if toCopy is null.
+     */
+    public static <V> Collection<V> toUnmodifiable(final Collection<V> toCopy) {
+        ObjectUtils.ensureObject(toCopy, COLLECTION_ERROR_MSG);
+
+        if (toCopy instanceof List) {
+            return Collections.unmodifiableList((List<V>) toCopy);
+        }
+
+        if (toCopy instanceof Set) {
+            return Collections.unmodifiableSet((Set<V>) toCopy);
+        }
+
+        return Collections.unmodifiableCollection(toCopy);
+    }
+
+    /**
+     * Copy toCopy as denoted by strategy.
+     *
+     * @param <V> the type of data to copy.
+     * @param toCopy the collection to copy.
+     * @param strategy what to copy into.
+     * @param comparator the ordering used by strategies that sort - may be null for natural ordering.
+     *
+     * @return the copy.
+     *
+     * @throws IllegalArgumentException if toCopy or strategy is null.
+     */
+    public static <V> Collection<V> copy(final Collection<V> toCopy, final CopyStrategy strategy, final Comparator<? super V> comparator) {
+        ObjectUtils.ensureObject(toCopy, COLLECTION_ERROR_MSG);
+        ObjectUtils.ensureObject(strategy, STRATEGY_ERROR_MSG);
+
+        getLogger().log(Level.FINE, "Copying using {0}", strategy);
+
+        return strategy.copy(toCopy, comparator);
+    }
+
+    /**
+     * Copy toCopy as denoted by strategy, using natural ordering for strategies that sort.
+     *
+     * @param <V> the type of data to copy.
+     * @param toCopy the collection to copy.
+     * @param strategy what to copy into.
+     *
+     * @return the copy.
+     *
+     * @throws IllegalArgumentException if toCopy or strategy is null.
+     */
+    public static <V> Collection<V> copy(final Collection<V> toCopy, final CopyStrategy strategy) {
+        return copy(toCopy, strategy, null);
+    }
+
     /**
      * Take a collection and sort it, returning a new collection of the sort.
      *
@@ -234,20 +390,267 @@ public class CollectionUtils {
      * @return a newly sorted collection.
      */
     public static <V> Collection<V> sort(final Collection<V> toSort, final Comparator<V> comparator) {
+        return sort(toSort, comparator, false);
+    }
+
+    /**
+     * Sort a collection. Large collections are sorted in parallel.
+     *
+     * @param <V> the type to sort.
+     *
+     * @param toSort the collection to sort.
+     * @param comparator will perform comparisons for sort order.
+     * @param inPlace if true and toSort is a list, toSort itself is sorted and returned - otherwise a sorted copy is returned.
+     *
+     * @return the sorted collection.
+     */
+    public static <V> Collection<V> sort(final Collection<V> toSort, final Comparator<V> comparator, final boolean inPlace) {
         ensureCollection(toSort, 0, COLLECTION_ERROR_MSG);
-        ObjectUtils.ensureObject(comparator, "Must have a comparator");
+        ObjectUtils.ensureObject(comparator, COMPARATOR_ERROR_MSG);
 
-        final List<V> retVal = asList(toSort);
+        final List<V> retVal = inPlace && toSort instanceof List ? (List<V>) toSort : asList(toSort);
 
         getLogger().log(Level.FINE, "Sorting {0}", toSort);
 
-        Collections.sort(retVal, comparator);
+        return sortInPlace(retVal, comparator);
+    }
+
+    /**
+     * Sort a list in place. Large lists are copied to an array once, sorted in parallel and written back.
+     *
+     * @param <V> the type to sort.
+     *
+     * @param toSort the list to sort.
+     * @param comparator will perform comparisons for sort order - if null the elements must be Comparable.
+     *
+     * @return toSort.
+     *
+     * @throws IllegalArgumentException if toSort is null.
+     */
+    public static <V> List<V> sortInPlace(final List<V> toSort, final Comparator<? super V> comparator) {
+        ObjectUtils.ensureObject(toSort, COLLECTION_ERROR_MSG);
 
-        return retVal;
+        if (toSort.size() < PARALLEL_SORT_THRESHOLD) {
+            toSort.sort(comparator);
+
+            return toSort;
+        }
+
+        final V[] sorted = asTypedArray(toSort.toArray());
+
+        Arrays.parallelSort(sorted, comparator);
+
+        final ListIterator<V> itr = toSort.listIterator();
+
+        for (final V value : sorted) {
+            itr.next();
+            itr.set(value);
+        }
+
+        return toSort;
+    }
+
+    /**
+     * Treat an array holding only Vs as a V[]. Safe as long as the array, created as an Object[], never escapes as a V[] - we
+     * only read from it, write Vs to it or hand it to Arrays.asList().
+     *
+     * @param <V> the type of element.
+     *
+     * @param values the array.
+     *
+     * @return values.
+     */
+    @SuppressWarnings("unchecked")
+    static <V> V[] asTypedArray(final Object[] values) {
+        return (V[]) values;
     }
 
     /**
-     * Filter a collection.
+     * Sort an array, in parallel if it is large.
+     *
+     * @param <V> the type to sort.
+     *
+     * @param toSort the array to sort.
+     * @param comparator will perform comparisons for sort order - if null the elements must be Comparable.
+     */
+    static <V> void sortArray(final V[] toSort, final Comparator<? super V> comparator) {
+        if (toSort.length < PARALLEL_SORT_THRESHOLD) {
+            Arrays.sort(toSort, comparator);
+        } else {
+            Arrays.parallelSort(toSort, comparator);
+        }
+    }
+
+    /**
+     * Return a fixed size list of the elements of toSort ordered by an int key. Each key is computed once and the sort runs on
+     * primitives - each key is packed with its element's position into one long - so nothing is boxed and equal keys keep
+     * their original order. Large collections are sorted in parallel.
+     *
+     * @param <V> the type to sort.
+     *
+     * @param toSort the collection to sort - will not be affected.
+     * @param key computes the key of an element.
+     *
+     * @return a new, fixed size, sorted list.
+     *
+     * @throws IllegalArgumentException if toSort or key is null.
+     */
+    public static <V> List<V> sortByInt(final Collection<V> toSort, final ToIntFunction<? super V> key) {
+        final V[] values = asTypedArray(ObjectUtils.ensureObject(toSort, COLLECTION_ERROR_MSG).toArray());
+
+        ObjectUtils.ensureObject(key, KEY_ERROR_MSG);
+
+        final long[] packed = new long[values.length];
+
+        for (int index = 0; index < values.length; index++) {
+            packed[index] = ((long) key.applyAsInt(values[index]) << 32) | index;
+        }
+
+        if (packed.length < PARALLEL_SORT_THRESHOLD) {
+            Arrays.sort(packed);
+        } else {
+            Arrays.parallelSort(packed);
+        }
+
+        final V[] retVal = asTypedArray(new Object[values.length]);
+
+        for (int index = 0; index < packed.length; index++) {
+            retVal[index] = values[(int) packed[index]];
+        }
+
+        return Arrays.asList(retVal);
+    }
+
+    /**
+     * Return a fixed size list of the elements of toSort ordered by a long key. Each key is computed once and positions are
+     * merge sorted by key, so nothing is boxed and equal keys keep their original order.
+     *
+     * @param <V> the type to sort.
+     *
+     * @param toSort the collection to sort - will not be affected.
+     * @param key computes the key of an element.
+     *
+     * @return a new, fixed size, sorted list.
+     *
+     * @throws IllegalArgumentException if toSort or key is null.
+     */
+    public static <V> List<V> sortByLong(final Collection<V> toSort, final ToLongFunction<? super V> key) {
+        final V[] values = asTypedArray(ObjectUtils.ensureObject(toSort, COLLECTION_ERROR_MSG).toArray());
+
+        ObjectUtils.ensureObject(key, KEY_ERROR_MSG);
+
+        final long[] keys = new long[values.length];
+        final int[] positions = new int[values.length];
+
+        for (int index = 0; index < values.length; index++) {
+            keys[index] = key.applyAsLong(values[index]);
+            positions[index] = index;
+        }
+
+        mergeSort(positions, new int[positions.length], keys, 0, positions.length);
+
+        final V[] retVal = asTypedArray(new Object[values.length]);
+
+        for (int index = 0; index < positions.length; index++) {
+            retVal[index] = values[positions[index]];
+        }
+
+        return Arrays.asList(retVal);
+    }
+
+    /**
+     * Stable merge sort of a range of positions by their keys.
+     *
+     * @param positions the positions to sort.
+     * @param scratch   work space the size of positions.
+     * @param keys      the key of each position.
+     * @param low       the first index of the range.
+     * @param high      one past the last index of the range.
+     */
+    static void mergeSort(final int[] positions, final int[] scratch, final long[] keys, final int low, final int high) {
+        if (high - low < INSERTION_SORT_THRESHOLD) {
+            for (int index = low + 1; index < high; index++) {
+                final int position = positions[index];
+                int at = index;
+
+                for (; at > low && keys[positions[at - 1]] > keys[position]; at--) {
+                    positions[at] = positions[at - 1];
+                }
+
+                positions[at] = position;
+            }
+
+            return;
+        }
+
+        final int middle = (low + high) >>> 1;
+
+        mergeSort(positions, scratch, keys, low, middle);
+        mergeSort(positions, scratch, keys, middle, high);
+
+        // Already in order...
+        if (keys[positions[middle - 1]] <= keys[positions[middle]]) {
+            return;
+        }
+
+        System.arraycopy(positions, low, scratch, low, high - low);
+
+        for (int index = low, left = low, right = middle; index < high; index++) {
+            if (right >= high || (left < middle && keys[scratch[left]] <= keys[scratch[right]])) {
+                positions[index] = scratch[left++];
+            } else {
+                positions[index] = scratch[right++];
+            }
+        }
+    }
+
+    /**
+     * Return the first count elements of toSelect in comparator order, sorted. Keeps a heap of count elements rather than
+     * sorting everything: O(n log count) time and O(count) space. Ties at the boundary are broken arbitrarily. Use a reversed
+     * comparator for the largest elements.
+     *
+     * @param <V> the type to select.
+     *
+     * @param toSelect the collection to select from - will not be affected.
+     * @param count the number of elements wanted.
+     * @param comparator will perform comparisons for sort order.
+     *
+     * @return a new, sorted list of at most count elements.
+     *
+     * @throws IllegalArgumentException if toSelect or comparator is null, or count is negative.
+     */
+    public static <V> List<V> top(final Collection<V> toSelect, final int count, final Comparator<? super V> comparator) {
+        ObjectUtils.ensureObject(toSelect, COLLECTION_ERROR_MSG);
+        ObjectUtils.ensureObject(comparator, COMPARATOR_ERROR_MSG);
+        IntUtils.ensureMinInt(count, 0, COUNT_ERROR_MSG);
+
+        if (0 == count) {
+            return new ArrayList<>();
+        }
+
+        if (count >= toSelect.size()) {
+            return sortInPlace(new ArrayList<>(toSelect), comparator);
+        }
+
+        // The head is the greatest element kept - the one a better element replaces...
+        final PriorityQueue<V> kept = new PriorityQueue<>(count, (value1, value2) -> comparator.compare(value2, value1));
+
+        for (final V value : toSelect) {
+            if (kept.size() < count) {
+                kept.add(value);
+            } else if (comparator.compare(value, kept.peek()) < 0) {
+                kept.poll();
+                kept.add(value);
+            }
+        }
+
+        return sortInPlace(new ArrayList<>(kept), comparator);
+    }
+
+    /**
+     * Filter a collection. Use IterableUtils.filter() for a lazy view when only some of the matches are needed. An IndexedFilter
+     * of collection answers from its index rather than a scan - the matches are then in the order indexed rather than the order
+     * iterated, which can differ (say for a HashSet).
      *
      * @param <T> the type to filter upon.
      * @param <V> the value to find.
@@ -256,17 +659,26 @@ public class CollectionUtils {
      * @param filter is the filter to apply.
      * @param value the value to search for.
      *
-     * @return a collection of those items in the collection that satisfy the filter.
+     * @return a collection of those items in the collection that satisfy the filter, in iteration order - or the order indexed
+     *         for an IndexedFilter of collection.
      *
      */
     public static <T, V> Collection<T> filter(final Collection<T> collection, final Filter<T, V> filter, final V value) {
+        // Before validating - ensureCollection() scans the whole collection...
+        if (filter instanceof IndexedFilter && ((IndexedFilter<T, V>) filter).isIndexOf(collection)) {
+            return new ArrayList<>(((IndexedFilter<T, V>) filter).filter(value));
+        }
+
         ensureCollection(collection, 0, COLLECTION_ERROR_MSG);
         ObjectUtils.ensureObject(filter, FILTER_ERROR_MSG);
 
-        final List<T> retVal = new ArrayList(collection.size());
+        // Grows with the matches rather than reserving room for every element...
+        final List<T> retVal = new ArrayList<>();
 
         for (final T toFilter : collection) {
-            addValue(retVal, toFilter, filter.accept(toFilter, value));
+            if (filter.accept(toFilter, value)) {
+                retVal.add(toFilter);
+            }
         }
 
         getLogger().log(Level.FINE, "Filtered {0}", retVal);
@@ -274,6 +686,52 @@ public class CollectionUtils {
         return retVal;
     }
 
+    /**
+     * Filter a collection in parallel, keeping its iteration order - for filters expensive enough to be worth spreading across
+     * threads. Chunks of the collection are filtered on executor.
+     *
+     * @param <T> the type to filter upon.
+     * @param <V> the value to find.
+     *
+     * @param collection is the collection to filter.
+     * @param filter is the filter to apply - must be thread safe.
+     * @param value the value to search for.
+     * @param executor runs the chunks.
+     * @param chunkSize the number of elements in each chunk.
+     *
+     * @return a list of those items in the collection that satisfy the filter.
+     *
+     * @throws IllegalArgumentException if any object is null or chunkSize is not positive.
+     */
+    public static <T, V> List<T> parallelFilter(final Collection<T> collection, final Filter<T, V> filter, final V value, final Executor executor, final int chunkSize) {
+        ObjectUtils.ensureObject(collection, COLLECTION_ERROR_MSG);
+        ObjectUtils.ensureObject(filter, FILTER_ERROR_MSG);
+
+        final List<T> retVal = ParallelUtils.filter(CollectionUtils.<T>asTypedArray(collection.toArray()), toFilter -> filter.accept(toFilter, value), executor, chunkSize);
+
+        getLogger().log(Level.FINE, "Filtered {0}", retVal);
+
+        return retVal;
+    }
+
+    /**
+     * Filter a collection in parallel on the common pool, keeping its iteration order.
+     *
+     * @param <T> the type to filter upon.
+     * @param <V> the value to find.
+     *
+     * @param collection is the collection to filter.
+     * @param filter is the filter to apply - must be thread safe.
+     * @param value the value to search for.
+     *
+     * @return a list of those items in the collection that satisfy the filter.
+     *
+     * @throws IllegalArgumentException if collection or filter is null.
+     */
+    public static <T, V> List<T> parallelFilter(final Collection<T> collection, final Filter<T, V> filter, final V value) {
+        return parallelFilter(collection, filter, value, ForkJoinPool.commonPool(), ParallelUtils.defaultChunkSize(ObjectUtils.ensureObject(collection, COLLECTION_ERROR_MSG).size()));
+    }
+
     /**
      * Default constructor not allowed.
      */
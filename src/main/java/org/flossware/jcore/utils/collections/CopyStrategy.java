@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.utils.collections;
+
+import java.util.Collection;
+import java.util.Comparator;
+
+/**
+ * Denotes what CollectionUtils.copy() copies a collection into. All copies are sized up front.
+ *
+ * @author Scot P. Floess
+ */
+public enum CopyStrategy {
+    /**
+     * An ArrayList in the source's iteration order.
+     */
+    LIST {
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        <V> Collection<V> copy(final Collection<V> toCopy, final Comparator<? super V> comparator) {
+            return CollectionUtils.toList(toCopy);
+        }
+    },
+    /**
+     * A HashSet - no ordering and no need for the elements to be comparable.
+     */
+    SET {
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        <V> Collection<V> copy(final Collection<V> toCopy, final Comparator<? super V> comparator) {
+            return CollectionUtils.toSet(toCopy);
+        }
+    },
+    /**
+     * A LinkedHashSet keeping the first occurrence of each element in the source's iteration order.
+     */
+    LINKED_SET {
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        <V> Collection<V> copy(final Collection<V> toCopy, final Comparator<? super V> comparator) {
+            return CollectionUtils.toLinkedSet(toCopy);
+        }
+    },
+    /**
+     * A fixed size list over one sorted array - sorted by the comparator, or natural ordering if there is none.
+     */
+    SORTED {
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        <V> Collection<V> copy(final Collection<V> toCopy, final Comparator<? super V> comparator) {
+            return CollectionUtils.toSortedList(toCopy, comparator);
+        }
+    },
+    /**
+     * No copy at all: an unmodifiable view of the source, seeing later changes to it.
+     */
+    VIEW {
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        <V> Collection<V> copy(final Collection<V> toCopy, final Comparator<? super V> comparator) {
+            return CollectionUtils.toUnmodifiable(toCopy);
+        }
+    };
+
+    /**
+     * Copy a collection.
+     *
+     * @param <V> the type of data to copy.
+     *
+     * @param toCopy     the collection to copy.
+     * @param comparator the ordering used by strategies that sort - may be null for natural ordering.
+     *
+     * @return the copy.
+     */
+    abstract <V> Collection<V> copy(Collection<V> toCopy, Comparator<? super V> comparator);
+}
@@ -0,0 +1,273 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.utils.collections;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.function.Function;
+import org.flossware.jcore.Filter;
+import org.flossware.jcore.utils.ObjectUtils;
+
+/**
+ * Indexes elements by a key so the question "which elements have this key" - what a Filter comparing an element's key to the
+ * value filtered against answers with a scan - costs a lookup instead: O(1) for hash indexes, O(log n) for sorted ones, which
+ * also answer key ranges. contains(key) answers exactly what IterableUtils.contains(source, asFilter(), key) would.
+ *
+ * Hash indexes match keys by equals, sorted indexes by their comparator - a key comparing equal to the one looked up matches,
+ * and asFilter() matches the same way. Sorted indexes without a comparator use natural ordering, nulls first.
+ *
+ * The index is a snapshot: keep it current with add() and remove(), or use IndexedFunctionalCollection which does so. Keys must
+ * be consistent with equals - equal elements must have equal keys - and must not change while indexed. Not thread safe.
+ *
+ * @author Scot P. Floess
+ *
+ * @param <T> the type of element.
+ * @param <K> the key.
+ */
+public class FilterIndex<T, K> {
+
+    /**
+     * Error message when a key extractor is null.
+     */
+    public static final String KEY_ERROR_MSG = "Must have a key extractor";
+
+    /**
+     * Error message when an index type is null.
+     */
+    public static final String TYPE_ERROR_MSG = "Must have an index type";
+
+    /**
+     * Error message when asking a hash index for a range.
+     */
+    public static final String RANGE_ERROR_MSG = "Only sorted indexes support ranges";
+
+    /**
+     * Computes the key of an element.
+     */
+    private final Function<? super T, ? extends K> key;
+
+    /**
+     * Matches keys for sorted indexes, null when matching by equals.
+     */
+    private final Comparator<? super K> comparator;
+
+    /**
+     * Each key to the elements having it, in the order added.
+     */
+    private final Map<K, List<T>> index;
+
+    /**
+     * The number of elements indexed.
+     */
+    private int size;
+
+    /**
+     * Index source.
+     *
+     * @param source     the elements to index.
+     * @param key        computes the key of an element.
+     * @param type       how to organize keys.
+     * @param comparator orders keys for sorted indexes - may be null for natural ordering.
+     *
+     * @throws IllegalArgumentException if source, key or type is null.
+     */
+    public FilterIndex(final Iterable<? extends T> source, final Function<? super T, ? extends K> key, final IndexType type, final Comparator<? super K> comparator) {
+        ObjectUtils.ensureObject(source, IterableUtils.ITERABLE_ERROR_MSG);
+
+        this.key = ObjectUtils.ensureObject(key, KEY_ERROR_MSG);
+        this.comparator = ObjectUtils.ensureObject(type, TYPE_ERROR_MSG).keyOrder(comparator);
+        this.index = type.newIndex(comparator);
+
+        for (final T value : source) {
+            add(value);
+        }
+    }
+
+    /**
+     * Index source, sorted indexes using natural ordering.
+     *
+     * @param source the elements to index.
+     * @param key    computes the key of an element.
+     * @param type   how to organize keys.
+     *
+     * @throws IllegalArgumentException if any param is null.
+     */
+    public FilterIndex(final Iterable<? extends T> source, final Function<? super T, ? extends K> key, final IndexType type) {
+        this(source, key, type, null);
+    }
+
+    /**
+     * Hash index source.
+     *
+     * @param source the elements to index.
+     * @param key    computes the key of an element.
+     *
+     * @throws IllegalArgumentException if any param is null.
+     */
+    public FilterIndex(final Iterable<? extends T> source, final Function<? super T, ? extends K> key) {
+        this(source, key, IndexType.HASH);
+    }
+
+    /**
+     * Return the key of value.
+     *
+     * @param value the element.
+     *
+     * @return the key.
+     */
+    public K keyOf(final T value) {
+        return key.apply(value);
+    }
+
+    /**
+     * Return true if the key of value matches key - as the index matches them.
+     *
+     * @param value the element.
+     * @param key   the key.
+     *
+     * @return true if value has key.
+     */
+    public boolean hasKey(final T value, final K key) {
+        return null == comparator ? Objects.equals(keyOf(value), key) : 0 == comparator.compare(keyOf(value), key);
+    }
+
+    /**
+     * Return a filter accepting elements whose key matches the value filtered against - the scan this index replaces.
+     *
+     * @return the filter.
+     */
+    public Filter<T, K> asFilter() {
+        return this::hasKey;
+    }
+
+    /**
+     * Index value.
+     *
+     * @param value the element to add.
+     *
+     * @return self.
+     */
+    public FilterIndex<T, K> add(final T value) {
+        index.computeIfAbsent(keyOf(value), toAdd -> new ArrayList<>(1)).add(value);
+        size++;
+
+        return this;
+    }
+
+    /**
+     * Stop indexing one occurrence of value.
+     *
+     * @param value the element to remove.
+     *
+     * @return true if value was indexed.
+     */
+    public boolean remove(final T value) {
+        final K toRemove = keyOf(value);
+        final List<T> values = index.get(toRemove);
+
+        if (null == values || !values.remove(value)) {
+            return false;
+        }
+
+        if (values.isEmpty()) {
+            index.remove(toRemove);
+        }
+
+        size--;
+
+        return true;
+    }
+
+    /**
+     * Stop indexing everything.
+     */
+    public void clear() {
+        index.clear();
+        size = 0;
+    }
+
+    /**
+     * Return the number of elements indexed.
+     *
+     * @return the number of elements indexed.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Return the number of distinct keys.
+     *
+     * @return the number of distinct keys.
+     */
+    public int keyCount() {
+        return index.size();
+    }
+
+    /**
+     * Return true if any element has key.
+     *
+     * @param key the key.
+     *
+     * @return true if an element has key.
+     */
+    public boolean contains(final K key) {
+        return index.containsKey(key);
+    }
+
+    /**
+     * Return the elements having key, in the order indexed.
+     *
+     * @param key the key.
+     *
+     * @return an unmodifiable view of the elements having key - empty if none.
+     */
+    public List<T> filter(final K key) {
+        final List<T> retVal = index.get(key);
+
+        return null == retVal ? Collections.emptyList() : Collections.unmodifiableList(retVal);
+    }
+
+    /**
+     * Return the elements whose key is from fromKey (inclusive) up to toKey (exclusive), in key order. Sorted indexes only.
+     *
+     * @param fromKey the lowest key.
+     * @param toKey   one past the highest key.
+     *
+     * @return a new list of the elements in range.
+     *
+     * @throws UnsupportedOperationException if this is a hash index.
+     */
+    public List<T> filter(final K fromKey, final K toKey) {
+        if (!(index instanceof NavigableMap)) {
+            throw new UnsupportedOperationException(RANGE_ERROR_MSG);
+        }
+
+        final List<T> retVal = new ArrayList<>();
+
+        for (final List<T> values : ((NavigableMap<K, List<T>>) index).subMap(fromKey, true, toKey, false).values()) {
+            retVal.addAll(values);
+        }
+
+        return retVal;
+    }
+}
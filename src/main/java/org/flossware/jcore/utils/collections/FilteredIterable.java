@@ -0,0 +1,325 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.utils.collections;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.flossware.jcore.Filter;
+import org.flossware.jcore.utils.IntUtils;
+import org.flossware.jcore.utils.ObjectUtils;
+
+/**
+ * A lazy view of the elements of an iterable satisfying a filter. Nothing is evaluated until the view is iterated, and then only
+ * as far as the caller goes - so asking for the first few matches of a huge collection only filters until they are found.
+ * Chained filters are combined into one test per element rather than one view per filter, and no intermediate collections are
+ * created. Each iteration re-evaluates the filters against the current contents of the source.
+ *
+ * @author Scot P. Floess
+ *
+ * @param <T> the type of element.
+ */
+public class FilteredIterable<T> implements Iterable<T> {
+
+    /**
+     * Iterates the elements of a source satisfying a predicate, looking one match ahead.
+     *
+     * @param <T> the type of element.
+     */
+    static final class FilteredIterator<T> implements Iterator<T> {
+
+        /**
+         * The source.
+         */
+        private final Iterator<T> source;
+
+        /**
+         * The test for each element.
+         */
+        private final Predicate<T> predicate;
+
+        /**
+         * How many more matches we may return.
+         */
+        private int remaining;
+
+        /**
+         * The next match once found.
+         */
+        private T next;
+
+        /**
+         * True when next holds a match not yet returned.
+         */
+        private boolean found;
+
+        /**
+         * Sets the source, test and maximum matches.
+         */
+        FilteredIterator(final Iterator<T> source, final Predicate<T> predicate, final int limit) {
+            this.source = source;
+            this.predicate = predicate;
+            this.remaining = limit;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean hasNext() {
+            if (found) {
+                return true;
+            }
+
+            if (remaining <= 0) {
+                return false;
+            }
+
+            while (source.hasNext()) {
+                final T value = source.next();
+
+                if (predicate.test(value)) {
+                    next = value;
+                    found = true;
+                    remaining--;
+
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException(NEXT_ERROR_MSG);
+            }
+
+            final T retVal = next;
+
+            next = null;
+            found = false;
+
+            return retVal;
+        }
+    }
+
+    /**
+     * Error message when an iterable is null.
+     */
+    public static final String ITERABLE_ERROR_MSG = IterableUtils.ITERABLE_ERROR_MSG;
+
+    /**
+     * Error message when a filter is null.
+     */
+    public static final String FILTER_ERROR_MSG = IterableUtils.FILTER_ERROR_MSG;
+
+    /**
+     * Error message when a limit is negative.
+     */
+    public static final String LIMIT_ERROR_MSG = "Limit cannot be negative";
+
+    /**
+     * Error message when iterating past the last match.
+     */
+    public static final String NEXT_ERROR_MSG = "No more matches!";
+
+    /**
+     * The iterable we filter.
+     */
+    private final Iterable<T> source;
+
+    /**
+     * All chained filters as one test.
+     */
+    private final Predicate<T> predicate;
+
+    /**
+     * The maximum number of matches.
+     */
+    private final int limit;
+
+    /**
+     * Return a test applying filter against value.
+     *
+     * @param <T> the type of element.
+     * @param <V> the value filtered against.
+     *
+     * @param filter the filter.
+     * @param value  the value filtered against.
+     *
+     * @return the test.
+     */
+    static <T, V> Predicate<T> toPredicate(final Filter<T, V> filter, final V value) {
+        ObjectUtils.ensureObject(filter, FILTER_ERROR_MSG);
+
+        return toFilter -> filter.accept(toFilter, value);
+    }
+
+    /**
+     * Sets an already validated source, test and limit.
+     *
+     * @param source    the iterable to filter.
+     * @param predicate the test for each element.
+     * @param limit     the maximum number of matches.
+     */
+    FilteredIterable(final Iterable<T> source, final Predicate<T> predicate, final int limit) {
+        this.source = source;
+        this.predicate = predicate;
+        this.limit = limit;
+    }
+
+    /**
+     * Filter source.
+     *
+     * @param <V> the value filtered against.
+     *
+     * @param source the iterable to filter.
+     * @param filter the filter to apply.
+     * @param value  the value filtered against.
+     *
+     * @throws IllegalArgumentException if source or filter is null.
+     */
+    public <V> FilteredIterable(final Iterable<T> source, final Filter<T, V> filter, final V value) {
+        this(ObjectUtils.ensureObject(source, ITERABLE_ERROR_MSG), toPredicate(filter, value), Integer.MAX_VALUE);
+    }
+
+    /**
+     * Return a view of our matches that also satisfy filter. Filters chained before any limit are combined into one test.
+     *
+     * @param <V> the value filtered against.
+     *
+     * @param filter the filter to apply.
+     * @param value  the value filtered against.
+     *
+     * @return the view.
+     *
+     * @throws IllegalArgumentException if filter is null.
+     */
+    public <V> FilteredIterable<T> filter(final Filter<T, V> filter, final V value) {
+        final Predicate<T> toAdd = toPredicate(filter, value);
+
+        // Filtering the limited matches is not the same as limiting the filtered ones...
+        if (Integer.MAX_VALUE != limit) {
+            return new FilteredIterable<>(this, toAdd, Integer.MAX_VALUE);
+        }
+
+        return new FilteredIterable<>(source, predicate.and(toAdd), limit);
+    }
+
+    /**
+     * Return a view of at most max of our matches - iteration stops once they are found.
+     *
+     * @param max the maximum number of matches.
+     *
+     * @return the view.
+     *
+     * @throws IllegalArgumentException if max is negative.
+     */
+    public FilteredIterable<T> limit(final int max) {
+        return new FilteredIterable<>(source, predicate, Math.min(limit, IntUtils.ensureMinInt(max, 0, LIMIT_ERROR_MSG)));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Each call returns a new iterator.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new FilteredIterator<>(source.iterator(), predicate, limit);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Stops once the limit is reached.
+     */
+    @Override
+    public void forEach(final Consumer<? super T> action) {
+        ObjectUtils.ensureObject(action);
+
+        if (limit <= 0) {
+            return;
+        }
+
+        int remaining = limit;
+
+        for (final T value : source) {
+            if (predicate.test(value)) {
+                action.accept(value);
+
+                if (--remaining <= 0) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Return true if nothing matches - stops at the first match.
+     *
+     * @return true if nothing matches.
+     */
+    public boolean isEmpty() {
+        return !iterator().hasNext();
+    }
+
+    /**
+     * Return the number of matches.
+     *
+     * @return the number of matches.
+     */
+    public int count() {
+        final int[] retVal = new int[1];
+
+        forEach(value -> retVal[0]++);
+
+        return retVal[0];
+    }
+
+    /**
+     * Copy the matches into a new list.
+     *
+     * @return a new list of the matches.
+     */
+    public List<T> toList() {
+        final List<T> retVal = new ArrayList<>();
+
+        forEach(retVal::add);
+
+        return retVal;
+    }
+
+    /**
+     * Return a sequential stream of the matches.
+     *
+     * @return a sequential stream.
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+}
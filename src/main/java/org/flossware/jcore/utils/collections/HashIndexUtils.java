@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.utils.collections;
+
+import java.util.Objects;
+
+/**
+ * Utility class for read only open addressing hash indexes over an array of objects. The index is an int[] whose slots hold the
+ * position in the array plus 1 (0 being empty), so looking up an object costs no allocation and the array itself keeps its
+ * order. Null is allowed and hashes to 0.
+ *
+ * @author Scot P. Floess
+ */
+public final class HashIndexUtils {
+
+    /**
+     * The fraction of index slots used, traded for shorter probes.
+     */
+    public static final float LOAD_FACTOR = 0.5f;
+
+    /**
+     * Return the scrambled hash of an object.
+     *
+     * @param object the object, may be null.
+     *
+     * @return the hash.
+     */
+    public static int hash(final Object object) {
+        return null == object ? 0 : PrimitiveHashUtils.mix(object.hashCode());
+    }
+
+    /**
+     * Build an index over the first size elements of an array. Where elements are equal the first one is found, as equal
+     * elements probe from the same slot in the order indexed.
+     *
+     * @param elements the elements to index.
+     * @param size     how many elements to index.
+     *
+     * @return the index.
+     *
+     * @throws IllegalArgumentException if size is negative or too large.
+     */
+    public static int[] newIndex(final Object[] elements, final int size) {
+        final int[] index = new int[PrimitiveHashUtils.tableSize(size, LOAD_FACTOR)];
+        final int mask = index.length - 1;
+
+        for (int position = 0; position < size; position++) {
+            int slot = hash(elements[position]) & mask;
+
+            while (0 != index[slot]) {
+                slot = (slot + 1) & mask;
+            }
+
+            index[slot] = position + 1;
+        }
+
+        return index;
+    }
+
+    /**
+     * Return the position in elements of an object.
+     *
+     * @param index    the index built over elements.
+     * @param elements the elements indexed.
+     * @param object   the object to find, may be null.
+     *
+     * @return the position of the first element equal to object or -1 if none.
+     */
+    public static int indexOf(final int[] index, final Object[] elements, final Object object) {
+        final int mask = index.length - 1;
+
+        int slot = hash(object) & mask;
+        int found;
+
+        while (0 != (found = index[slot])) {
+            if (Objects.equals(object, elements[found - 1])) {
+                return found - 1;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Default constructor not allowed.
+     */
+    private HashIndexUtils() {
+    }
+}
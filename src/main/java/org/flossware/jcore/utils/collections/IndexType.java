@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.utils.collections;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Denotes how a FilterIndex organizes its keys.
+ *
+ * @author Scot P. Floess
+ */
+public enum IndexType {
+    /**
+     * Hashes keys: O(1) lookups, no ranges. Keys match by equals. Null keys are allowed.
+     */
+    HASH {
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        <K> Comparator<? super K> keyOrder(final Comparator<? super K> comparator) {
+            return null;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        <K, T> Map<K, List<T>> newIndex(final Comparator<? super K> comparator) {
+            return new HashMap<>();
+        }
+    },
+    /**
+     * Sorts keys - by the comparator, or natural ordering (nulls first) if there is none: O(log n) lookups and ranges in key
+     * order. Keys match when they compare equal.
+     */
+    SORTED {
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        <K> Comparator<? super K> keyOrder(final Comparator<? super K> comparator) {
+            return null == comparator ? NATURAL_ORDER : comparator;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        <K, T> Map<K, List<T>> newIndex(final Comparator<? super K> comparator) {
+            return new TreeMap<>(keyOrder(comparator));
+        }
+    };
+
+    /**
+     * Natural ordering of keys, nulls first.
+     */
+    @SuppressWarnings("unchecked")
+    static final Comparator<Object> NATURAL_ORDER = Comparator.nullsFirst((left, right) -> ((Comparable<Object>) left).compareTo(right));
+
+    /**
+     * Return the order keys are matched by, or null if matched by equals.
+     *
+     * @param <K> the key.
+     *
+     * @param comparator orders keys for sorted indexes - may be null for natural ordering.
+     *
+     * @return the order keys are matched by, or null for equals.
+     */
+    abstract <K> Comparator<? super K> keyOrder(Comparator<? super K> comparator);
+
+    /**
+     * Create the map from each key to the elements having it.
+     *
+     * @param <K> the key.
+     * @param <T> the type of element.
+     *
+     * @param comparator orders keys for sorted indexes - may be null for natural ordering.
+     *
+     * @return a new, empty map.
+     */
+    abstract <K, T> Map<K, List<T>> newIndex(Comparator<? super K> comparator);
+}
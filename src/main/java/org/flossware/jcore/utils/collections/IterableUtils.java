@@ -16,9 +16,15 @@
  */
 package org.flossware.jcore.utils.collections;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.flossware.jcore.Filter;
+import org.flossware.jcore.IndexedFilter;
 import org.flossware.jcore.utils.LoggerUtils;
 import org.flossware.jcore.utils.ObjectUtils;
 
@@ -54,7 +60,7 @@ public class IterableUtils {
     public static final String FILTER_ERROR_MSG = "Must have a filter";
 
     /**
-     * See if a collection meets a filter.
+     * See if a collection meets a filter. An IndexedFilter of toSearch answers from its index rather than a scan.
      *
      * @param <T> the type within the collection to search.
      * @param <V> the value to search for within the collection.
@@ -71,6 +77,10 @@ public class IterableUtils {
         ObjectUtils.ensureObject(toSearch, ITERABLE_ERROR_MSG);
         ObjectUtils.ensureObject(filter, FILTER_ERROR_MSG);
 
+        if (filter instanceof IndexedFilter && ((IndexedFilter<T, V>) filter).isIndexOf(toSearch)) {
+            return ((IndexedFilter<T, V>) filter).contains(value);
+        }
+
         for (final T item : toSearch) {
             if (filter.accept(item, value)) {
                 return true;
@@ -80,6 +90,98 @@ public class IterableUtils {
         return false;
     }
 
+    /**
+     * Copy the elements of an iterable into an array.
+     *
+     * @param toCopy the iterable.
+     *
+     * @return the elements.
+     */
+    static Object[] toArray(final Iterable<?> toCopy) {
+        if (toCopy instanceof Collection) {
+            return ((Collection<?>) toCopy).toArray();
+        }
+
+        final List<Object> retVal = new ArrayList<>();
+
+        for (final Object value : toCopy) {
+            retVal.add(value);
+        }
+
+        return retVal.toArray();
+    }
+
+    /**
+     * See if a collection meets a filter, testing chunks of it in parallel on executor - for filters expensive enough to be worth
+     * spreading across threads. Once a match is found chunks not yet started are cancelled and running ones stop at their next
+     * element.
+     *
+     * @param <T> the type within the collection to search.
+     * @param <V> the value to search for within the collection.
+     *
+     * @param toSearch the collection to search.
+     * @param filter the filter to apply to each object - must be thread safe.
+     * @param value using filter, determining if it is contained in <code>toSearch</code>.
+     * @param executor runs the chunks.
+     * @param chunkSize the number of elements in each chunk.
+     *
+     * @return true if the collection meets the filter or false if not.
+     *
+     * @throws IllegalArgumentException if any object is null or chunkSize is not positive.
+     */
+    public static <T, V> boolean parallelContains(final Iterable<T> toSearch, final Filter<T, V> filter, final V value, final Executor executor, final int chunkSize) {
+        LoggerUtils.log(getLogger(), Level.FINE, "Determining in parallel if [{0}] is found in {1}", value, toSearch);
+
+        ObjectUtils.ensureObject(toSearch, ITERABLE_ERROR_MSG);
+        ObjectUtils.ensureObject(filter, FILTER_ERROR_MSG);
+
+        return ParallelUtils.anyMatch(CollectionUtils.<T>asTypedArray(toArray(toSearch)), item -> filter.accept(item, value), executor, chunkSize);
+    }
+
+    /**
+     * See if a collection meets a filter, testing chunks of it in parallel on the common pool.
+     *
+     * @param <T> the type within the collection to search.
+     * @param <V> the value to search for within the collection.
+     *
+     * @param toSearch the collection to search.
+     * @param filter the filter to apply to each object - must be thread safe.
+     * @param value using filter, determining if it is contained in <code>toSearch</code>.
+     *
+     * @return true if the collection meets the filter or false if not.
+     *
+     * @throws IllegalArgumentException if toSearch or filter is null.
+     */
+    public static <T, V> boolean parallelContains(final Iterable<T> toSearch, final Filter<T, V> filter, final V value) {
+        LoggerUtils.log(getLogger(), Level.FINE, "Determining in parallel if [{0}] is found in {1}", value, toSearch);
+
+        ObjectUtils.ensureObject(toSearch, ITERABLE_ERROR_MSG);
+        ObjectUtils.ensureObject(filter, FILTER_ERROR_MSG);
+
+        final T[] values = CollectionUtils.asTypedArray(toArray(toSearch));
+
+        return ParallelUtils.anyMatch(values, item -> filter.accept(item, value), ForkJoinPool.commonPool(), ParallelUtils.defaultChunkSize(values.length));
+    }
+
+    /**
+     * Return a lazy view of the elements of toFilter satisfying filter. Nothing is evaluated until the view is iterated, and
+     * views can be chained or limited without creating intermediate collections.
+     *
+     * @param <T> the type within the iterable to filter.
+     * @param <V> the value filtered against.
+     *
+     * @param toFilter the iterable to filter.
+     * @param filter the filter to apply to each object.
+     * @param value the value filtered against.
+     *
+     * @return the view.
+     *
+     * @throws IllegalArgumentException if toFilter or filter is null.
+     */
+    public static <T, V> FilteredIterable<T> filter(final Iterable<T> toFilter, final Filter<T, V> filter, final V value) {
+        return new FilteredIterable<>(toFilter, filter, value);
+    }
+
     /**
      * Default constructor not allowed.
      */
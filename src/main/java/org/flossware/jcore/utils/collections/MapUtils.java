@@ -16,7 +16,11 @@
  */
 package org.flossware.jcore.utils.collections;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import org.flossware.jcore.utils.IntUtils;
 import org.flossware.jcore.utils.ObjectUtils;
 
 /**
@@ -35,6 +39,31 @@ public class MapUtils {
      */
     public static final String MAP_ERROR_MSG = "Must have a map";
 
+    /**
+     * Error message when no keys are provided.
+     */
+    public static final String KEYS_ERROR_MSG = "Must provide keys!";
+
+    /**
+     * Error message when no values are provided.
+     */
+    public static final String VALUES_ERROR_MSG = "Must provide values!";
+
+    /**
+     * Error message when keys and values differ in length.
+     */
+    public static final String LENGTH_ERROR_MSG = "Keys and values must be the same length!";
+
+    /**
+     * Error message when the expected size is negative.
+     */
+    public static final String EXPECTED_SIZE_ERROR_MSG = "Expected size cannot be negative!";
+
+    /**
+     * Load factor of maps we create - same as HashMap's default.
+     */
+    public static final float LOAD_FACTOR = 0.75f;
+
     /**
      * Ensures map is not empty or null.
      *
@@ -109,6 +138,134 @@ public class MapUtils {
         return ensureMap(map, DEFAULT_MIN_MAP_SIZE);
     }
 
+    /**
+     * Return the capacity a HashMap needs to hold expectedSize entries without rehashing.
+     *
+     * @param expectedSize the number of entries expected.
+     *
+     * @return the capacity.
+     *
+     * @throws IllegalArgumentException if expectedSize is negative.
+     */
+    public static int capacityFor(final int expectedSize) throws IllegalArgumentException {
+        return (int) Math.min(Integer.MAX_VALUE, (long) Math.ceil(IntUtils.ensureMinInt(expectedSize, 0, EXPECTED_SIZE_ERROR_MSG) / (double) LOAD_FACTOR));
+    }
+
+    /**
+     * Return a HashMap able to hold expectedSize entries without rehashing.
+     *
+     * @param <K> key type.
+     * @param <V> value type.
+     *
+     * @param expectedSize the number of entries expected.
+     *
+     * @return a presized HashMap.
+     *
+     * @throws IllegalArgumentException if expectedSize is negative.
+     */
+    public static <K, V> Map<K, V> newHashMap(final int expectedSize) throws IllegalArgumentException {
+        return new HashMap<>(capacityFor(expectedSize), LOAD_FACTOR);
+    }
+
+    /**
+     * Ensure keys and values are parallel arrays - neither null and both the same length.
+     *
+     * @param keys   the keys.
+     * @param values the values.
+     *
+     * @return the number of keys.
+     *
+     * @throws IllegalArgumentException if keys or values are null or differ in length.
+     */
+    public static int ensureParallel(final Object[] keys, final Object[] values) throws IllegalArgumentException {
+        ObjectUtils.ensureObject(keys, KEYS_ERROR_MSG);
+        ObjectUtils.ensureObject(values, VALUES_ERROR_MSG);
+
+        if (keys.length != values.length) {
+            throw new IllegalArgumentException(LENGTH_ERROR_MSG);
+        }
+
+        return keys.length;
+    }
+
+    /**
+     * Put keys[i] -> values[i] for every i.
+     *
+     * @param <K> key type.
+     * @param <V> value type.
+     *
+     * @param map    the map to put to.
+     * @param keys   the keys.
+     * @param values the values.
+     *
+     * @return map.
+     *
+     * @throws IllegalArgumentException if map, keys or values are null or keys and values differ in length.
+     */
+    public static <K, V> Map<K, V> putAll(final Map<K, V> map, final K[] keys, final V[] values) throws IllegalArgumentException {
+        ObjectUtils.ensureObject(map, MAP_ERROR_MSG);
+
+        final int length = ensureParallel(keys, values);
+
+        for (int index = 0; index < length; index++) {
+            map.put(keys[index], values[index]);
+        }
+
+        return map;
+    }
+
+    /**
+     * Remove all keys from map.
+     *
+     * @param <K> key type.
+     * @param <V> value type.
+     *
+     * @param map  the map to remove from.
+     * @param keys the keys to remove.
+     *
+     * @return map.
+     *
+     * @throws IllegalArgumentException if map or keys are null.
+     */
+    public static <K, V> Map<K, V> removeAll(final Map<K, V> map, final Collection<?> keys) throws IllegalArgumentException {
+        ObjectUtils.ensureObject(map, MAP_ERROR_MSG);
+
+        for (final Object key : ObjectUtils.ensureObject(keys, KEYS_ERROR_MSG)) {
+            map.remove(key);
+        }
+
+        return map;
+    }
+
+    /**
+     * Return the mappings for keys found in map, in the order of keys.
+     *
+     * @param <K> key type.
+     * @param <V> value type.
+     *
+     * @param map  the map to look in.
+     * @param keys the keys to look up.
+     *
+     * @return a new map of the keys found to their values.
+     *
+     * @throws IllegalArgumentException if map or keys are null.
+     */
+    public static <K, V> Map<K, V> getAll(final Map<K, V> map, final Collection<? extends K> keys) throws IllegalArgumentException {
+        ObjectUtils.ensureObject(map, MAP_ERROR_MSG);
+
+        final Map<K, V> retVal = new LinkedHashMap<>(capacityFor(ObjectUtils.ensureObject(keys, KEYS_ERROR_MSG).size()), LOAD_FACTOR);
+
+        for (final K key : keys) {
+            final V value = map.get(key);
+
+            if (null != value || map.containsKey(key)) {
+                retVal.put(key, value);
+            }
+        }
+
+        return retVal;
+    }
+
     /**
      * Default constructor not allowed.
      */
@@ -0,0 +1,615 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.utils.collections;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import org.flossware.jcore.utils.IntUtils;
+import org.flossware.jcore.utils.ObjectUtils;
+
+/**
+ * Runs bulk operations over a spliterator on the fork/join common pool. The spliterator is split until its pieces hold no more
+ * than a threshold of elements, each piece is processed on its own task and the results are combined in encounter order - so
+ * filter() and map() return elements in the same order a sequential loop would.
+ *
+ * Splitting is only as even as the spliterator: array and hash table backed ones halve their storage, iterator backed ones do
+ * not split well and are best processed sequentially.
+ *
+ * The array variants instead cut an array into fixed size chunks run on any executor - useful when each element is expensive
+ * (a regex, a remote lookup) and the work belongs on a dedicated pool.
+ *
+ * @author Scot P. Floess
+ */
+public final class ParallelUtils {
+
+    /**
+     * Default number of elements below which a piece is processed sequentially.
+     */
+    public static final int DEFAULT_THRESHOLD = 1 << 10;
+
+    /**
+     * Error message when no spliterator is provided.
+     */
+    public static final String SPLITERATOR_ERROR_MSG = "Must provide a spliterator!";
+
+    /**
+     * Error message when the threshold is not positive.
+     */
+    public static final String THRESHOLD_ERROR_MSG = "Threshold must be positive!";
+
+    /**
+     * Error message when no action is provided.
+     */
+    public static final String ACTION_ERROR_MSG = "Must provide an action!";
+
+    /**
+     * Error message when no predicate is provided.
+     */
+    public static final String PREDICATE_ERROR_MSG = "Must provide a predicate!";
+
+    /**
+     * Error message when no function is provided.
+     */
+    public static final String FUNCTION_ERROR_MSG = "Must provide a function!";
+
+    /**
+     * Error message when no operator is provided.
+     */
+    public static final String OPERATOR_ERROR_MSG = "Must provide an operator!";
+
+    /**
+     * Error message when no array is provided.
+     */
+    public static final String ARRAY_ERROR_MSG = "Must provide an array!";
+
+    /**
+     * Error message when no executor is provided.
+     */
+    public static final String EXECUTOR_ERROR_MSG = "Must provide an executor!";
+
+    /**
+     * Error message when the chunk size is not positive.
+     */
+    public static final String CHUNK_ERROR_MSG = "Chunk size must be positive!";
+
+    /**
+     * Error message when interrupted waiting for chunks.
+     */
+    public static final String INTERRUPTED_ERROR_MSG = "Interrupted waiting for parallel work!";
+
+    /**
+     * Number of chunks per thread of the common pool, by default - more chunks than threads evens out uneven elements.
+     */
+    static final int CHUNKS_PER_THREAD = 4;
+
+    /**
+     * Processes the elements of an array from start up to end.
+     *
+     * @param <R> the type of result.
+     */
+    @FunctionalInterface
+    interface Chunk<R> {
+
+        /**
+         * Process a chunk.
+         *
+         * @param start the first index.
+         * @param end   one past the last index.
+         *
+         * @return the result of the chunk.
+         */
+        R process(int start, int end);
+    }
+
+    /**
+     * Splits a spliterator until pieces are small enough, processing each piece with leaf and combining results with combiner.
+     *
+     * @param <V> the type of element.
+     * @param <R> the type of result.
+     */
+    static final class SpliteratorTask<V, R> extends RecursiveTask<R> {
+
+        /**
+         * RecursiveTask is serializable - we never are, our spliterator and functions not being so.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The elements to process.
+         */
+        private final Spliterator<V> spliterator;
+
+        /**
+         * Number of elements below which we process sequentially.
+         */
+        private final int threshold;
+
+        /**
+         * Processes a piece.
+         */
+        private final Function<Spliterator<V>, R> leaf;
+
+        /**
+         * Combines the result of an earlier piece with a later one.
+         */
+        private final BinaryOperator<R> combiner;
+
+        /**
+         * Sets the elements and how to process them.
+         */
+        SpliteratorTask(final Spliterator<V> spliterator, final int threshold, final Function<Spliterator<V>, R> leaf, final BinaryOperator<R> combiner) {
+            this.spliterator = spliterator;
+            this.threshold = threshold;
+            this.leaf = leaf;
+            this.combiner = combiner;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected R compute() {
+            if (spliterator.estimateSize() > threshold) {
+                final Spliterator<V> prefix = spliterator.trySplit();
+
+                if (null != prefix) {
+                    final SpliteratorTask<V, R> left = new SpliteratorTask<>(prefix, threshold, leaf, combiner);
+
+                    left.fork();
+
+                    final R right = new SpliteratorTask<>(spliterator, threshold, leaf, combiner).compute();
+
+                    return combiner.apply(left.join(), right);
+                }
+            }
+
+            return leaf.apply(spliterator);
+        }
+    }
+
+    /**
+     * Return a list sized for the elements of spliterator.
+     */
+    private static <V, R> List<R> newList(final Spliterator<V> spliterator) {
+        return spliterator.hasCharacteristics(Spliterator.SIZED) ? new ArrayList<>((int) Math.min(Integer.MAX_VALUE, spliterator.estimateSize())) : new ArrayList<>();
+    }
+
+    /**
+     * Append right to left.
+     */
+    private static <V> List<V> concat(final List<V> left, final List<V> right) {
+        left.addAll(right);
+
+        return left;
+    }
+
+    /**
+     * Process the elements of spliterator in parallel.
+     *
+     * @param <V> the type of element.
+     * @param <R> the type of result.
+     *
+     * @param spliterator the elements.
+     * @param threshold   number of elements below which a piece is processed sequentially.
+     * @param leaf        processes a piece.
+     * @param combiner    combines the result of an earlier piece with a later one.
+     *
+     * @return the combined result.
+     *
+     * @throws IllegalArgumentException if any object is null or threshold is not positive.
+     */
+    public static <V, R> R invoke(final Spliterator<V> spliterator, final int threshold, final Function<Spliterator<V>, R> leaf, final BinaryOperator<R> combiner) throws IllegalArgumentException {
+        return new SpliteratorTask<>(
+                ObjectUtils.ensureObject(spliterator, SPLITERATOR_ERROR_MSG),
+                IntUtils.ensureMinInt(threshold, 1, THRESHOLD_ERROR_MSG),
+                ObjectUtils.ensureObject(leaf, FUNCTION_ERROR_MSG),
+                ObjectUtils.ensureObject(combiner, OPERATOR_ERROR_MSG)
+        ).invoke();
+    }
+
+    /**
+     * Perform action on each element in parallel - in no particular order.
+     *
+     * @param <V> the type of element.
+     *
+     * @param spliterator the elements.
+     * @param threshold   number of elements below which a piece is processed sequentially.
+     * @param action      performed on each element - must be thread safe.
+     *
+     * @throws IllegalArgumentException if any object is null or threshold is not positive.
+     */
+    public static <V> void forEach(final Spliterator<V> spliterator, final int threshold, final Consumer<? super V> action) throws IllegalArgumentException {
+        ObjectUtils.ensureObject(action, ACTION_ERROR_MSG);
+
+        invoke(spliterator, threshold, piece -> {
+            piece.forEachRemaining(action);
+
+            return null;
+        }, (left, right) -> null);
+    }
+
+    /**
+     * Return the elements matching predicate, in encounter order.
+     *
+     * @param <V> the type of element.
+     *
+     * @param spliterator the elements.
+     * @param threshold   number of elements below which a piece is processed sequentially.
+     * @param predicate   the elements to keep - must be thread safe.
+     *
+     * @return the matching elements.
+     *
+     * @throws IllegalArgumentException if any object is null or threshold is not positive.
+     */
+    public static <V> List<V> filter(final Spliterator<V> spliterator, final int threshold, final Predicate<? super V> predicate) throws IllegalArgumentException {
+        ObjectUtils.ensureObject(predicate, PREDICATE_ERROR_MSG);
+
+        return invoke(spliterator, threshold, piece -> {
+            final List<V> retVal = new ArrayList<>();
+
+            piece.forEachRemaining(element -> {
+                if (predicate.test(element)) {
+                    retVal.add(element);
+                }
+            });
+
+            return retVal;
+        }, ParallelUtils::concat);
+    }
+
+    /**
+     * Return the result of function applied to each element, in encounter order.
+     *
+     * @param <V> the type of element.
+     * @param <R> the type of result.
+     *
+     * @param spliterator the elements.
+     * @param threshold   number of elements below which a piece is processed sequentially.
+     * @param function    applied to each element - must be thread safe.
+     *
+     * @return the results.
+     *
+     * @throws IllegalArgumentException if any object is null or threshold is not positive.
+     */
+    public static <V, R> List<R> map(final Spliterator<V> spliterator, final int threshold, final Function<? super V, ? extends R> function) throws IllegalArgumentException {
+        ObjectUtils.ensureObject(function, FUNCTION_ERROR_MSG);
+
+        return invoke(spliterator, threshold, piece -> {
+            final List<R> retVal = newList(piece);
+
+            piece.forEachRemaining(element -> retVal.add(function.apply(element)));
+
+            return retVal;
+        }, ParallelUtils::concat);
+    }
+
+    /**
+     * Map each element and combine the results with operator.
+     *
+     * @param <V> the type of element.
+     * @param <R> the type of result.
+     *
+     * @param spliterator the elements.
+     * @param threshold   number of elements below which a piece is processed sequentially.
+     * @param function    applied to each element - must be thread safe.
+     * @param identity    the result for no elements - combining it with any value must yield that value.
+     * @param operator    combines two results - must be associative.
+     *
+     * @return the combined result.
+     *
+     * @throws IllegalArgumentException if any object (other than identity) is null or threshold is not positive.
+     */
+    @SuppressWarnings("unchecked")
+    public static <V, R> R mapReduce(final Spliterator<V> spliterator, final int threshold, final Function<? super V, ? extends R> function, final R identity, final BinaryOperator<R> operator) throws IllegalArgumentException {
+        ObjectUtils.ensureObject(function, FUNCTION_ERROR_MSG);
+        ObjectUtils.ensureObject(operator, OPERATOR_ERROR_MSG);
+
+        return invoke(spliterator, threshold, piece -> {
+            final Object[] retVal = {identity};
+
+            piece.forEachRemaining(element -> retVal[0] = operator.apply((R) retVal[0], function.apply(element)));
+
+            return (R) retVal[0];
+        }, operator);
+    }
+
+    /**
+     * Combine the elements with operator.
+     *
+     * @param <V> the type of element.
+     *
+     * @param spliterator the elements.
+     * @param threshold   number of elements below which a piece is processed sequentially.
+     * @param identity    the result for no elements - combining it with any value must yield that value.
+     * @param operator    combines two elements - must be associative.
+     *
+     * @return the combined result.
+     *
+     * @throws IllegalArgumentException if any object (other than identity) is null or threshold is not positive.
+     */
+    public static <V> V reduce(final Spliterator<V> spliterator, final int threshold, final V identity, final BinaryOperator<V> operator) throws IllegalArgumentException {
+        return mapReduce(spliterator, threshold, Function.<V>identity(), identity, operator);
+    }
+
+    /**
+     * Return the default chunk size for an array - a few chunks per thread of the common pool.
+     *
+     * @param length the length of the array.
+     *
+     * @return the chunk size.
+     */
+    public static int defaultChunkSize(final int length) {
+        final long chunks = (long) CHUNKS_PER_THREAD * ForkJoinPool.getCommonPoolParallelism();
+
+        return (int) Math.max(1, (length + chunks - 1) / chunks);
+    }
+
+    /**
+     * Run chunk on each chunkSize piece of an array of length elements.
+     *
+     * @param <R> the type of result.
+     *
+     * @param length    the length of the array.
+     * @param chunkSize the number of elements in each chunk.
+     * @param executor  runs the chunks.
+     * @param chunk     processes a chunk.
+     *
+     * @return the running chunks in array order.
+     */
+    static <R> List<FutureTask<R>> execute(final int length, final int chunkSize, final Executor executor, final Chunk<R> chunk) {
+        final List<FutureTask<R>> retVal = new ArrayList<>((int) ((length + (long) chunkSize - 1) / chunkSize));
+
+        for (long start = 0; start < length; start += chunkSize) {
+            final int from = (int) start;
+            final int to = (int) Math.min(length, start + chunkSize);
+            final FutureTask<R> task = new FutureTask<>(() -> chunk.process(from, to));
+
+            retVal.add(task);
+            executor.execute(task);
+        }
+
+        return retVal;
+    }
+
+    /**
+     * Cancel the chunks not yet run - chunks already running finish.
+     *
+     * @param tasks the chunks.
+     */
+    static void cancel(final List<? extends FutureTask<?>> tasks) {
+        for (final FutureTask<?> task : tasks) {
+            task.cancel(false);
+        }
+    }
+
+    /**
+     * Rethrow what a chunk threw.
+     *
+     * @param cause what the chunk threw.
+     *
+     * @return never returns - declared so callers can throw.
+     */
+    static RuntimeException rethrow(final Throwable cause) {
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+
+        if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        }
+
+        throw new IllegalStateException(cause);
+    }
+
+    /**
+     * Wait for a future, cancelling tasks should it fail. The future is a CompletableFuture, not one of the tasks, as waiting on
+     * it from a fork/join worker lets the pool add a thread in our place - waiting on a task would park the worker and, when
+     * called from within the pool, could leave no thread to run the very tasks we wait for.
+     *
+     * @param <R> the type of result.
+     *
+     * @param future the future.
+     * @param tasks  cancelled on failure.
+     *
+     * @return the result.
+     */
+    static <R> R await(final CompletableFuture<R> future, final List<? extends FutureTask<?>> tasks) {
+        try {
+            return future.get();
+        } catch (final InterruptedException interruptedException) {
+            cancel(tasks);
+            Thread.currentThread().interrupt();
+
+            throw new IllegalStateException(INTERRUPTED_ERROR_MSG, interruptedException);
+        } catch (final ExecutionException executionException) {
+            cancel(tasks);
+
+            throw rethrow(executionException.getCause());
+        }
+    }
+
+    /**
+     * Return the elements of values matching predicate, in array order. Chunks of values are tested on executor.
+     *
+     * @param <V> the type of element.
+     *
+     * @param values    the elements.
+     * @param predicate the elements to keep - must be thread safe.
+     * @param executor  runs the chunks.
+     * @param chunkSize the number of elements in each chunk.
+     *
+     * @return the matching elements.
+     *
+     * @throws IllegalArgumentException if any object is null or chunkSize is not positive.
+     */
+    public static <V> List<V> filter(final V[] values, final Predicate<? super V> predicate, final Executor executor, final int chunkSize) throws IllegalArgumentException {
+        ObjectUtils.ensureObject(values, ARRAY_ERROR_MSG);
+        ObjectUtils.ensureObject(predicate, PREDICATE_ERROR_MSG);
+        ObjectUtils.ensureObject(executor, EXECUTOR_ERROR_MSG);
+        IntUtils.ensureMinInt(chunkSize, 1, CHUNK_ERROR_MSG);
+
+        final int count = (int) ((values.length + (long) chunkSize - 1) / chunkSize);
+
+        // Each chunk stores its matches at its own index - the last chunk to finish, or the first failure, completes done...
+        final AtomicReferenceArray<List<V>> matches = new AtomicReferenceArray<>(count);
+        final AtomicInteger pending = new AtomicInteger(count);
+        final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        if (0 == count) {
+            done.complete(null);
+        }
+
+        final List<FutureTask<Void>> tasks = execute(values.length, chunkSize, executor, (start, end) -> {
+            try {
+                final List<V> retVal = new ArrayList<>();
+
+                for (int index = start; index < end; index++) {
+                    if (predicate.test(values[index])) {
+                        retVal.add(values[index]);
+                    }
+                }
+
+                matches.set(start / chunkSize, retVal);
+
+                if (0 == pending.decrementAndGet()) {
+                    done.complete(null);
+                }
+            } catch (final RuntimeException | Error failure) {
+                done.completeExceptionally(failure);
+            }
+
+            return null;
+        });
+
+        await(done, tasks);
+
+        final List<V> retVal = new ArrayList<>();
+
+        for (int index = 0; index < count; index++) {
+            retVal.addAll(matches.get(index));
+        }
+
+        return retVal;
+    }
+
+    /**
+     * Return the elements of values matching predicate, in array order, using the common pool.
+     *
+     * @param <V> the type of element.
+     *
+     * @param values    the elements.
+     * @param predicate the elements to keep - must be thread safe.
+     *
+     * @return the matching elements.
+     *
+     * @throws IllegalArgumentException if any object is null.
+     */
+    public static <V> List<V> filter(final V[] values, final Predicate<? super V> predicate) throws IllegalArgumentException {
+        return filter(values, predicate, ForkJoinPool.commonPool(), defaultChunkSize(ObjectUtils.ensureObject(values, ARRAY_ERROR_MSG).length));
+    }
+
+    /**
+     * Return true if any element of values matches predicate. Chunks of values are tested on executor - once a match is found
+     * chunks not yet started are cancelled and running ones stop at their next element.
+     *
+     * @param <V> the type of element.
+     *
+     * @param values    the elements.
+     * @param predicate the test - must be thread safe.
+     * @param executor  runs the chunks.
+     * @param chunkSize the number of elements in each chunk.
+     *
+     * @return true if any element matches.
+     *
+     * @throws IllegalArgumentException if any object is null or chunkSize is not positive.
+     */
+    public static <V> boolean anyMatch(final V[] values, final Predicate<? super V> predicate, final Executor executor, final int chunkSize) throws IllegalArgumentException {
+        ObjectUtils.ensureObject(values, ARRAY_ERROR_MSG);
+        ObjectUtils.ensureObject(predicate, PREDICATE_ERROR_MSG);
+        ObjectUtils.ensureObject(executor, EXECUTOR_ERROR_MSG);
+        IntUtils.ensureMinInt(chunkSize, 1, CHUNK_ERROR_MSG);
+
+        if (0 == values.length) {
+            return false;
+        }
+
+        // Completed by the first match, the first failure or the last chunk to finish...
+        final CompletableFuture<Boolean> result = new CompletableFuture<>();
+        final AtomicInteger pending = new AtomicInteger((int) ((values.length + (long) chunkSize - 1) / chunkSize));
+
+        final List<FutureTask<Void>> tasks = execute(values.length, chunkSize, executor, (start, end) -> {
+            try {
+                for (int index = start; index < end && !result.isDone(); index++) {
+                    if (predicate.test(values[index])) {
+                        result.complete(true);
+
+                        return null;
+                    }
+                }
+
+                if (0 == pending.decrementAndGet()) {
+                    result.complete(false);
+                }
+            } catch (final RuntimeException | Error failure) {
+                result.completeExceptionally(failure);
+            }
+
+            return null;
+        });
+
+        try {
+            return await(result, tasks);
+        } finally {
+            cancel(tasks);
+        }
+    }
+
+    /**
+     * Return true if any element of values matches predicate, using the common pool.
+     *
+     * @param <V> the type of element.
+     *
+     * @param values    the elements.
+     * @param predicate the test - must be thread safe.
+     *
+     * @return true if any element matches.
+     *
+     * @throws IllegalArgumentException if any object is null.
+     */
+    public static <V> boolean anyMatch(final V[] values, final Predicate<? super V> predicate) throws IllegalArgumentException {
+        return anyMatch(values, predicate, ForkJoinPool.commonPool(), defaultChunkSize(ObjectUtils.ensureObject(values, ARRAY_ERROR_MSG).length));
+    }
+
+    /**
+     * Default constructor not allowed.
+     */
+    private ParallelUtils() {
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.utils.collections;
+
+import org.flossware.jcore.utils.IntUtils;
+
+/**
+ * Hashing and sizing shared by the open addressing primitive maps and collections.
+ *
+ * @author Scot P. Floess
+ */
+public final class PrimitiveHashUtils {
+
+    /**
+     * Default number of entries a primitive map expects.
+     */
+    public static final int DEFAULT_EXPECTED_SIZE = 16;
+
+    /**
+     * Default load factor.
+     */
+    public static final float DEFAULT_LOAD_FACTOR = 0.75f;
+
+    /**
+     * Largest table we will allocate.
+     */
+    public static final int MAX_CAPACITY = 1 << 30;
+
+    /**
+     * Error message when the expected size is negative.
+     */
+    public static final String EXPECTED_SIZE_ERROR_MSG = "Expected size cannot be negative!";
+
+    /**
+     * Error message when the load factor is not between 0 and 1.
+     */
+    public static final String LOAD_FACTOR_ERROR_MSG = "Load factor must be greater than 0 and less than 1!";
+
+    /**
+     * Error message when the map cannot grow any further.
+     */
+    public static final String CAPACITY_ERROR_MSG = "Cannot grow any further!";
+
+    /**
+     * Golden ratio used to scramble int keys.
+     */
+    public static final int INT_PHI = 0x9E3779B9;
+
+    /**
+     * Golden ratio used to scramble long keys.
+     */
+    public static final long LONG_PHI = 0x9E3779B97F4A7C15L;
+
+    /**
+     * Scramble an int key so sequential ids spread over the table.
+     *
+     * @param key the key.
+     *
+     * @return the scrambled key.
+     */
+    public static int mix(final int key) {
+        final int hash = key * INT_PHI;
+
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Scramble a long key so sequential ids spread over the table.
+     *
+     * @param key the key.
+     *
+     * @return the scrambled key.
+     */
+    public static int mix(final long key) {
+        final long hash = key * LONG_PHI;
+
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    /**
+     * Ensure the load factor is sane.
+     *
+     * @param loadFactor the load factor.
+     *
+     * @return the load factor.
+     *
+     * @throws IllegalArgumentException if the load factor is not greater than 0 and less than 1.
+     */
+    public static float ensureLoadFactor(final float loadFactor) {
+        if (!(loadFactor > 0 && loadFactor < 1)) {
+            throw new IllegalArgumentException(LOAD_FACTOR_ERROR_MSG);
+        }
+
+        return loadFactor;
+    }
+
+    /**
+     * Compute the power of two table size needed to hold expectedSize entries without exceeding loadFactor.
+     *
+     * @param expectedSize the number of entries expected.
+     * @param loadFactor   the load factor.
+     *
+     * @return the table size.
+     *
+     * @throws IllegalArgumentException if expectedSize is negative or too large.
+     */
+    public static int tableSize(final int expectedSize, final float loadFactor) {
+        final long needed = (long) Math.ceil(IntUtils.ensureMinInt(expectedSize, 0, EXPECTED_SIZE_ERROR_MSG) / (double) loadFactor);
+
+        if (needed > MAX_CAPACITY) {
+            throw new IllegalArgumentException(CAPACITY_ERROR_MSG);
+        }
+
+        return Math.max(2, Integer.highestOneBit((int) Math.max(1, needed - 1)) << 1);
+    }
+
+    /**
+     * Return the maximum number of entries a table can hold before it must grow.
+     *
+     * @param tableSize  the size of the table.
+     * @param loadFactor the load factor.
+     *
+     * @return the maximum number of entries.
+     */
+    public static int maxFill(final int tableSize, final float loadFactor) {
+        return Math.min(tableSize - 1, (int) Math.ceil(tableSize * loadFactor));
+    }
+
+    /**
+     * Default constructor not allowed.
+     */
+    private PrimitiveHashUtils() {
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.utils.io;
+
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+
+/**
+ * Java 8 release of direct and mapped buffers, invoking the buffer's cleaner reflectively. On Java 9 and above the multi-release
+ * jar replaces this class with one using Unsafe.invokeCleaner().
+ *
+ * @author Scot P. Floess
+ */
+final class BufferCleaner {
+
+    /**
+     * Release buffer's native memory now.
+     *
+     * @param buffer a direct buffer.
+     *
+     * @return true if released, false if the memory is left to the garbage collector.
+     */
+    static boolean clean(final ByteBuffer buffer) {
+        try {
+            final Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+
+            cleanerMethod.setAccessible(true);
+
+            final Object cleaner = cleanerMethod.invoke(buffer);
+
+            if (null == cleaner) {
+                return false;
+            }
+
+            cleaner.getClass().getMethod("clean").invoke(cleaner);
+
+            return true;
+        } catch (final ReflectiveOperationException | RuntimeException exception) {
+            return false;
+        }
+    }
+
+    /**
+     * Default constructor not allowed.
+     */
+    private BufferCleaner() {
+    }
+}
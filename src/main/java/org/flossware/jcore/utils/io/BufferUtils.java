@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.utils.io;
+
+import java.nio.ByteBuffer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.flossware.jcore.utils.LoggerUtils;
+import org.flossware.jcore.utils.ObjectUtils;
+
+/**
+ * ByteBuffer utility class.
+ *
+ * @author Scot P. Floess
+ */
+public final class BufferUtils {
+
+    /**
+     * Error message when no buffer is provided.
+     */
+    public static final String BUFFER_ERROR_MSG = "Must provide a buffer!";
+
+    /**
+     * Our logger.
+     */
+    private static final Logger LOGGER = Logger.getLogger(BufferUtils.class.getName());
+
+    /**
+     * Return the LOGGER.
+     */
+    private static Logger getLogger() {
+        return LOGGER;
+    }
+
+    /**
+     * Release a direct or memory mapped buffer's memory immediately instead of waiting for the garbage collector. The buffer
+     * (and any slice or duplicate of it) must not be used afterwards. Heap buffers, slices and duplicates are left alone.
+     *
+     * @param buffer the buffer to free.
+     *
+     * @return true if the memory was released.
+     *
+     * @throws IllegalArgumentException if buffer is null.
+     */
+    public static boolean free(final ByteBuffer buffer) {
+        if (!ObjectUtils.ensureObject(buffer, BUFFER_ERROR_MSG).isDirect()) {
+            return false;
+        }
+
+        final boolean retVal = BufferCleaner.clean(buffer);
+
+        if (!retVal) {
+            LoggerUtils.log(getLogger(), Level.FINE, "Could not free buffer, leaving it to the garbage collector");
+        }
+
+        return retVal;
+    }
+
+    /**
+     * Default constructor not allowed.
+     */
+    private BufferUtils() {
+    }
+}
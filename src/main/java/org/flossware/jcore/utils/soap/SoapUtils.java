@@ -283,7 +283,8 @@ public class SoapUtils {
     }
 
     /**
-     * Log the <code>soapMessage</code>.
+     * Log the <code>soapMessage</code> - the message is only converted to a string if <code>level</code> is enabled for
+     * <code>logger</code>.
      *
      * @param logger      for logging.
      * @param level       the log level.
@@ -291,7 +292,9 @@ public class SoapUtils {
      * @param soapMessage the SOAP message to log.
      */
     public static void logSoapMessage(final Logger logger, final Level level, final String message, final SOAPMessage soapMessage) {
-        LoggerUtils.log(logger, level, message, convertToString(soapMessage));
+        if (LoggerUtils.isLoggable(logger, level)) {
+            LoggerUtils.log(logger, level, message, convertToString(soapMessage));
+        }
     }
 
     /**
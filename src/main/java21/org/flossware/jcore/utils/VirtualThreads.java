@@ -0,0 +1,69 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.utils;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Java 21 thread support - tasks are run on virtual threads.
+ *
+ * @author Scot P. Floess
+ */
+final class VirtualThreads {
+
+    /**
+     * Creates virtual task threads.
+     */
+    private static final ThreadFactory THREAD_FACTORY = Thread.ofVirtual().name("jCore-task-", 1).factory();
+
+    /**
+     * Return true if virtual threads are supported.
+     *
+     * @return true if virtual threads are supported.
+     */
+    static boolean isSupported() {
+        return true;
+    }
+
+    /**
+     * Return true if thread is a virtual thread.
+     *
+     * @param thread the thread to examine.
+     *
+     * @return true if thread is a virtual thread.
+     */
+    static boolean isVirtual(final Thread thread) {
+        return thread.isVirtual();
+    }
+
+    /**
+     * Return an executor running each task on its own virtual thread.
+     *
+     * @return an executor running each task on its own virtual thread.
+     */
+    static ExecutorService newTaskExecutor() {
+        return Executors.newThreadPerTaskExecutor(THREAD_FACTORY);
+    }
+
+    /**
+     * Default constructor not allowed.
+     */
+    private VirtualThreads() {
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * An atomic index into an array using a VarHandle on an inline volatile field.
+ *
+ * @author Scot P. Floess
+ */
+final class ArrayIndex {
+
+    /**
+     * Updates our value.
+     */
+    private static final VarHandle VALUE;
+
+    static {
+        try {
+            VALUE = MethodHandles.lookup().findVarHandle(ArrayIndex.class, "value", int.class);
+        } catch (final NoSuchFieldException | IllegalAccessException exception) {
+            throw new ExceptionInInitializerError(exception);
+        }
+    }
+
+    /**
+     * The current index.
+     */
+    private volatile int value;
+
+    /**
+     * Start at index.
+     *
+     * @param index the starting index.
+     */
+    ArrayIndex(final int index) {
+        this.value = index;
+    }
+
+    /**
+     * Start at zero.
+     */
+    ArrayIndex() {
+        this(0);
+    }
+
+    /**
+     * Return the current index.
+     *
+     * @return the current index.
+     */
+    int get() {
+        return value;
+    }
+
+    /**
+     * Increment the index returning the previous value.
+     *
+     * @return the previous value.
+     */
+    int getAndIncrement() {
+        return (int) VALUE.getAndAdd(this, 1);
+    }
+
+    /**
+     * Add delta to the index returning the previous value.
+     *
+     * @param delta the amount to add.
+     *
+     * @return the previous value.
+     */
+    int getAndAdd(final int delta) {
+        return (int) VALUE.getAndAdd(this, delta);
+    }
+
+    /**
+     * Set the index to update if it is currently expect.
+     *
+     * @param expect the expected index.
+     * @param update the new index.
+     *
+     * @return true if the index was changed.
+     */
+    boolean compareAndSet(final int expect, final int update) {
+        return VALUE.compareAndSet(this, expect, update);
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.logging;
+
+import java.util.logging.LogRecord;
+
+/**
+ * Java 9 log record time copier, copies the record's Instant so sub-millisecond precision is kept.
+ *
+ * @author Scot P. Floess
+ */
+final class LogRecordTime {
+
+    /**
+     * Copy the time of <code>from</code> to <code>to</code>.
+     *
+     * @param from the record whose time is copied.
+     * @param to   the record receiving the time.
+     */
+    static void copy(final LogRecord from, final LogRecord to) {
+        to.setInstant(from.getInstant());
+    }
+
+    /**
+     * Default constructor not allowed.
+     */
+    private LogRecordTime() {
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.utils.io;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+
+/**
+ * Java 9 release of direct and mapped buffers using Unsafe.invokeCleaner() - the supported replacement for calling the cleaner
+ * directly now that it is encapsulated.
+ *
+ * @author Scot P. Floess
+ */
+final class BufferCleaner {
+
+    /**
+     * The Unsafe instance or null if unavailable.
+     */
+    private static final Object UNSAFE;
+
+    /**
+     * Unsafe.invokeCleaner(ByteBuffer) or null if unavailable.
+     */
+    private static final Method INVOKE_CLEANER;
+
+    static {
+        Object unsafe = null;
+        Method invokeCleaner = null;
+
+        try {
+            final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            final Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+
+            theUnsafe.setAccessible(true);
+
+            unsafe = theUnsafe.get(null);
+            invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+        } catch (final ReflectiveOperationException | RuntimeException exception) {
+            unsafe = null;
+            invokeCleaner = null;
+        }
+
+        UNSAFE = unsafe;
+        INVOKE_CLEANER = invokeCleaner;
+    }
+
+    /**
+     * Release buffer's native memory now.
+     *
+     * @param buffer a direct buffer.
+     *
+     * @return true if released, false if the memory is left to the garbage collector.
+     */
+    static boolean clean(final ByteBuffer buffer) {
+        if (null == INVOKE_CLEANER) {
+            return false;
+        }
+
+        try {
+            INVOKE_CLEANER.invoke(UNSAFE, buffer);
+
+            return true;
+        } catch (final ReflectiveOperationException | RuntimeException exception) {
+            return false;
+        }
+    }
+
+    /**
+     * Default constructor not allowed.
+     */
+    private BufferCleaner() {
+    }
+}
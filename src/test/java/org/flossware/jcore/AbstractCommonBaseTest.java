@@ -16,7 +16,12 @@
  */
 package org.flossware.jcore;
 
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Handler;
 import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import org.flossware.jcore.logging.LogThrottle;
+import org.flossware.jcore.logging.MessageSupplier;
 import org.flossware.jcore.utils.TestUtils;
 import org.junit.Assert;
 import org.junit.Test;
@@ -102,4 +107,137 @@ public class AbstractCommonBaseTest {
 
         Assert.assertSame("Should have gotten correct return value", str0, new Stub().logAndReturn(Level.SEVERE, "This is it {0} {1} {2} {3}", str0, str1, str2, str3));
     }
+
+    /**
+     * Tests isLoggable.
+     */
+    @Test
+    public void test_isLoggable() {
+        final Stub stub = new Stub();
+
+        Assert.assertEquals("Should match the logger", stub.getLogger().isLoggable(Level.FINEST), stub.isLoggable(Level.FINEST));
+        Assert.assertEquals("Should match the logger", stub.getLogger().isLoggable(Level.SEVERE), stub.isLoggable(Level.SEVERE));
+    }
+
+    /**
+     * Doesn't really test anything - just ensures we can log with fixed parameters.
+     */
+    @Test
+    public void test_log_fixedParams() {
+        final Stub stub = new Stub();
+
+        stub.log(Level.FINEST, "{0}", TestUtils.generateUniqueStr("0"));
+        stub.log(Level.FINEST, "{0} {1}", TestUtils.generateUniqueStr("0"), TestUtils.generateUniqueStr("1"));
+        stub.log(Level.FINEST, "{0} {1} {2}", TestUtils.generateUniqueStr("0"), TestUtils.generateUniqueStr("1"), TestUtils.generateUniqueStr("2"));
+        stub.log(Level.FINEST, "{0} {1} {2} {3}", TestUtils.generateUniqueStr("0"), TestUtils.generateUniqueStr("1"), TestUtils.generateUniqueStr("2"), TestUtils.generateUniqueStr("3"));
+    }
+
+    /**
+     * Tests we log and return the correct value with fixed parameters.
+     */
+    @Test
+    public void test_logAndReturn_fixedParams() {
+        final Stub stub = new Stub();
+        final String str0 = TestUtils.generateUniqueStr("0");
+
+        Assert.assertSame("Should have gotten correct return value", str0, stub.logAndReturn(Level.FINEST, "{0} {1}", str0, "1"));
+        Assert.assertSame("Should have gotten correct return value", str0, stub.logAndReturn(Level.FINEST, "{0} {1} {2}", str0, "1", "2"));
+        Assert.assertSame("Should have gotten correct return value", str0, stub.logAndReturn(Level.FINEST, "{0} {1} {2} {3}", str0, "1", "2", "3"));
+    }
+
+    /**
+     * Tests we log and return primitive values.
+     */
+    @Test
+    public void test_logAndReturn_primitives() {
+        final Stub stub = new Stub();
+
+        Assert.assertTrue("Should have gotten correct return value", stub.logAndReturn(Level.FINEST, "{0}", true));
+        Assert.assertEquals("Should have gotten correct return value", 1234, stub.logAndReturn(Level.FINEST, "{0}", 1234));
+        Assert.assertEquals("Should have gotten correct return value", 5678L, stub.logAndReturn(Level.FINEST, "{0}", 5678L));
+    }
+
+    /**
+     * Doesn't really test anything - just ensures we can log using a message supplier.
+     */
+    @Test
+    public void test_log_MessageSupplier() {
+        final MessageSupplier messageSupplier = new MessageSupplier() {
+            @Override
+            public String get() {
+                return TestUtils.generateUniqueStr("supplied");
+            }
+        };
+
+        new Stub().log(Level.FINEST, messageSupplier);
+        new Stub().log(Level.FINEST, new RuntimeException("FOR A TEST"), messageSupplier);
+    }
+
+    /**
+     * Tests the default throttle is used when an instance has none.
+     */
+    @Test
+    public void test_getLogThrottle() {
+        final Stub stub = new Stub();
+        final LogThrottle defaultLogThrottle = new LogThrottle(2);
+        final LogThrottle logThrottle = new LogThrottle(3);
+
+        Assert.assertNull("Should not throttle by default", stub.getLogThrottle());
+
+        AbstractCommonBase.setDefaultLogThrottle(defaultLogThrottle);
+
+        try {
+            Assert.assertSame("Should be the default throttle", defaultLogThrottle, stub.getLogThrottle());
+
+            stub.setLogThrottle(logThrottle);
+
+            Assert.assertSame("Should be our throttle", logThrottle, stub.getLogThrottle());
+
+            stub.setLogThrottle(null);
+
+            Assert.assertSame("Should be the default throttle", defaultLogThrottle, stub.getLogThrottle());
+        } finally {
+            AbstractCommonBase.setDefaultLogThrottle(null);
+        }
+
+        Assert.assertNull("Should be no default", AbstractCommonBase.getDefaultLogThrottle());
+    }
+
+    /**
+     * Tests logs are throttled.
+     */
+    @Test
+    public void test_log_throttled() {
+        final AtomicInteger count = new AtomicInteger();
+        final Stub stub = new Stub();
+        final Handler handler = new Handler() {
+            @Override
+            public void publish(final LogRecord record) {
+                count.incrementAndGet();
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+
+        stub.getLogger().addHandler(handler);
+        stub.setLogThrottle(new LogThrottle(10));
+
+        try {
+            for (int index = 0; index < 100; index++) {
+                stub.log(Level.SEVERE, "Throttled {0}", index);
+                Assert.assertEquals("Should always return the value", index, stub.logAndReturn(Level.SEVERE, "Throttled return {0} {1}", index, "1").intValue());
+                Assert.assertEquals("Should always return the value", index, stub.logAndReturn(Level.SEVERE, "Throttled int {0}", index));
+            }
+
+            Assert.assertEquals("Should have sampled 1 in 10 for each call site", 30, count.get());
+        } finally {
+            stub.getLogger().removeHandler(handler);
+        }
+    }
 }
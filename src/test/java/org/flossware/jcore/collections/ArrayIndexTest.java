@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the ArrayIndex class.
+ *
+ * @author Scot P. Floess
+ */
+public class ArrayIndexTest {
+
+    /**
+     * Tests incrementing.
+     */
+    @Test
+    public void test_getAndIncrement() {
+        final ArrayIndex index = new ArrayIndex();
+
+        Assert.assertEquals("Should start at zero", 0, index.get());
+        Assert.assertEquals("Should return previous value", 0, index.getAndIncrement());
+        Assert.assertEquals("Should return previous value", 1, index.getAndIncrement());
+        Assert.assertEquals("Should be incremented", 2, index.get());
+    }
+
+    /**
+     * Tests adding.
+     */
+    @Test
+    public void test_getAndAdd() {
+        final ArrayIndex index = new ArrayIndex();
+
+        Assert.assertEquals("Should return previous value", 0, index.getAndAdd(5));
+        Assert.assertEquals("Should return previous value", 5, index.getAndAdd(3));
+        Assert.assertEquals("Should be added", 8, index.get());
+    }
+
+    /**
+     * Tests compare and set.
+     */
+    @Test
+    public void test_compareAndSet() {
+        final ArrayIndex index = new ArrayIndex();
+
+        Assert.assertFalse("Should not set when value differs", index.compareAndSet(1, 2));
+        Assert.assertEquals("Should be unchanged", 0, index.get());
+        Assert.assertTrue("Should set when value matches", index.compareAndSet(0, 2));
+        Assert.assertEquals("Should be set", 2, index.get());
+    }
+
+    /**
+     * Tests starting at an index.
+     */
+    @Test
+    public void test_initialValue() {
+        final ArrayIndex index = new ArrayIndex(7);
+
+        Assert.assertEquals("Should start at the index", 7, index.get());
+        Assert.assertEquals("Should return previous value", 7, index.getAndIncrement());
+    }
+}
@@ -16,8 +16,17 @@
  */
 package org.flossware.jcore.collections;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.Spliterator;
 import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import org.flossware.jcore.utils.collections.ArrayUtils;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -60,4 +69,223 @@ public class ArrayIterableTest {
         Assert.assertTrue("Should be no more elements", set.isEmpty());
         Assert.assertEquals("Shouldbe the same number removed as in set", count, removed);
     }
+
+    /**
+     * Tests a range of an array.
+     */
+    @Test
+    public void test_range() {
+        final ArrayIterable<String> itr = new ArrayIterable<>(new String[]{"zero", "one", "two", "three"}, 1, 2);
+        final List<String> found = new ArrayList<>();
+
+        for (final String str : itr) {
+            found.add(str);
+        }
+
+        Assert.assertEquals("Should be the range", Arrays.asList("one", "two"), found);
+        Assert.assertEquals("Should be the size of the range", 2, itr.size());
+
+        try {
+            new ArrayIterable<>(new String[]{"zero"}, 1, 1);
+            Assert.fail("Should not allow a range past the end");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertEquals("Should be correct failure message", ArrayUtils.RANGE_ERROR_MSG, illegalArgumentException.getMessage());
+        }
+    }
+
+    /**
+     * Tests the spliterator and streams.
+     */
+    @Test
+    public void test_spliterator() {
+        final Integer[] values = new Integer[1000];
+
+        for (int index = 0; index < values.length; index++) {
+            values[index] = index;
+        }
+
+        final ArrayIterable<Integer> itr = new ArrayIterable<>(values, 100, 800);
+        final Spliterator<Integer> spliterator = itr.spliterator();
+
+        Assert.assertTrue("Should be sized", spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED));
+        Assert.assertEquals("Should be the size of the range", 800, spliterator.estimateSize());
+        Assert.assertEquals("Should split in half", 400, spliterator.trySplit().estimateSize());
+        Assert.assertEquals("Should be the range", Integer.valueOf(100), itr.stream().findFirst().get());
+        Assert.assertEquals("Should sum the range", 100 * 800 + 799 * 800 / 2, itr.parallelStream().mapToInt(Integer::intValue).sum());
+        Assert.assertEquals("Should keep order", itr.stream().collect(Collectors.toList()), itr.parallelStream().collect(Collectors.toList()));
+    }
+
+    /**
+     * Copies the elements of an iterable into a list.
+     */
+    static <T> List<T> toList(final Iterable<T> iterable) {
+        final List<T> retVal = new ArrayList<>();
+
+        for (final T value : iterable) {
+            retVal.add(value);
+        }
+
+        return retVal;
+    }
+
+    /**
+     * Tests iterating more than once and with independent iterators at the same time.
+     */
+    @Test
+    public void test_reiterate() {
+        final ArrayIterable<String> itr = new ArrayIterable<>(new String[]{"zero", "one", "two"});
+
+        Assert.assertEquals("Should iterate", Arrays.asList("zero", "one", "two"), toList(itr));
+        Assert.assertEquals("Should iterate again", Arrays.asList("zero", "one", "two"), toList(itr));
+
+        final Iterator<String> first = itr.iterator();
+        final Iterator<String> second = itr.iterator();
+
+        Assert.assertNotSame("Should be a new iterator", first, second);
+        Assert.assertEquals("Should be the first element", "zero", first.next());
+        Assert.assertEquals("Should be the second element", "one", first.next());
+        Assert.assertEquals("Should not be moved by another iterator", "zero", second.next());
+    }
+
+    /**
+     * Tests many threads iterating the same instance.
+     */
+    @Test
+    public void test_concurrent() throws InterruptedException {
+        final Integer[] values = new Integer[10000];
+
+        for (int index = 0; index < values.length; index++) {
+            values[index] = index;
+        }
+
+        final ArrayIterable<Integer> itr = new ArrayIterable<>(values);
+        final AtomicInteger failures = new AtomicInteger();
+        final Thread[] threads = new Thread[4];
+
+        for (int index = 0; index < threads.length; index++) {
+            threads[index] = new Thread(() -> {
+                int expected = 0;
+
+                for (final Integer value : itr) {
+                    if (value != expected++) {
+                        failures.incrementAndGet();
+                    }
+                }
+
+                if (expected != values.length) {
+                    failures.incrementAndGet();
+                }
+            });
+
+            threads[index].start();
+        }
+
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+
+        Assert.assertEquals("Should each see every element in order", 0, failures.get());
+    }
+
+    /**
+     * Tests sub ranges.
+     */
+    @Test
+    public void test_subIterable() {
+        final ArrayIterable<String> itr = new ArrayIterable<>(new String[]{"zero", "one", "two", "three", "four"}, 1, 3);
+        final ArrayIterable<String> sub = itr.subIterable(1, 2);
+
+        Assert.assertEquals("Should be the sub range", Arrays.asList("two", "three"), toList(sub));
+        Assert.assertEquals("Should be the size of the sub range", 2, sub.size());
+        Assert.assertEquals("Should allow an empty sub range", 0, itr.subIterable(3, 0).size());
+
+        try {
+            itr.subIterable(2, 2);
+            Assert.fail("Should not allow a sub range past the end");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertEquals("Should be correct failure message", ArrayUtils.RANGE_ERROR_MSG, illegalArgumentException.getMessage());
+        }
+
+        try {
+            itr.subIterable(-1, 1);
+            Assert.fail("Should not allow a negative sub range");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertEquals("Should be correct failure message", ArrayUtils.RANGE_ERROR_MSG, illegalArgumentException.getMessage());
+        }
+    }
+
+    /**
+     * Tests reversed views.
+     */
+    @Test
+    public void test_reverse() {
+        final ArrayIterable<String> itr = new ArrayIterable<>(new String[]{"zero", "one", "two", "three", "four"}, 1, 3);
+        final ArrayIterable<String> reversed = itr.reverse();
+
+        Assert.assertFalse("Should not be reversed", itr.isReversed());
+        Assert.assertTrue("Should be reversed", reversed.isReversed());
+        Assert.assertEquals("Should iterate backwards", Arrays.asList("three", "two", "one"), toList(reversed));
+        Assert.assertEquals("Should iterate backwards again", Arrays.asList("three", "two", "one"), toList(reversed));
+        Assert.assertEquals("Should be positions in reverse order", Arrays.asList("two", "one"), toList(reversed.subIterable(1, 2)));
+        Assert.assertEquals("Should be forwards again", toList(itr), toList(reversed.reverse()));
+
+        final List<String> found = new ArrayList<>();
+
+        reversed.forEach(found::add);
+
+        Assert.assertEquals("Should visit backwards", Arrays.asList("three", "two", "one"), found);
+
+        final Iterator<String> iterator = reversed.iterator();
+
+        iterator.next();
+
+        final List<String> rest = new ArrayList<>();
+
+        iterator.forEachRemaining(rest::add);
+
+        Assert.assertEquals("Should be the rest backwards", Arrays.asList("two", "one"), rest);
+        Assert.assertFalse("Should be exhausted", iterator.hasNext());
+
+        try {
+            iterator.next();
+            Assert.fail("Should not return past the start");
+        } catch (final NoSuchElementException noSuchElementException) {
+            Assert.assertEquals("Should be correct failure message", ArrayIterator.NEXT_ERROR_MSG, noSuchElementException.getMessage());
+        }
+
+        try {
+            iterator.remove();
+            Assert.fail("Should not allow removal");
+        } catch (final UnsupportedOperationException unsupportedOperationException) {
+            Assert.assertEquals("Should be correct failure message", ArrayIterator.REMOVE_ERROR_MSG, unsupportedOperationException.getMessage());
+        }
+    }
+
+    /**
+     * Tests the spliterator and streams of a reversed view.
+     */
+    @Test
+    public void test_reverse_spliterator() {
+        final Integer[] values = new Integer[1000];
+
+        for (int index = 0; index < values.length; index++) {
+            values[index] = index;
+        }
+
+        final ArrayIterable<Integer> itr = new ArrayIterable<>(values, 100, 800).reverse();
+        final Spliterator<Integer> spliterator = itr.spliterator();
+
+        Assert.assertTrue("Should be sized", spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED));
+        Assert.assertEquals("Should be the size of the range", 800, spliterator.estimateSize());
+
+        final Spliterator<Integer> prefix = spliterator.trySplit();
+
+        Assert.assertEquals("Should split in half", 400, prefix.estimateSize());
+        Assert.assertEquals("Should keep the rest", 400, spliterator.estimateSize());
+        Assert.assertTrue("Should hand off the start of the encounter order", prefix.tryAdvance(value -> Assert.assertEquals("Should be the last element", Integer.valueOf(899), value)));
+        Assert.assertEquals("Should be the last element first", Integer.valueOf(899), itr.stream().findFirst().get());
+        Assert.assertEquals("Should sum the range", 100 * 800 + 799 * 800 / 2, itr.parallelStream().mapToInt(Integer::intValue).sum());
+        Assert.assertEquals("Should keep order", itr.stream().collect(Collectors.toList()), itr.parallelStream().collect(Collectors.toList()));
+        Assert.assertNull("Should not split a single element", itr.subIterable(0, 1).spliterator().trySplit());
+    }
 }
@@ -16,9 +16,16 @@
  */
 package org.flossware.jcore.collections;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.Spliterator;
 import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+import org.flossware.jcore.utils.collections.ArrayUtils;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -190,4 +197,69 @@ public class ArrayIteratorTest {
         Assert.assertTrue("Should be no more elements", set.isEmpty());
         Assert.assertEquals("Shouldbe the same number removed as in set", count, removed);
     }
+
+    /**
+     * Tests iterating a range.
+     */
+    @Test
+    public void test_range() {
+        final String[] values = new String[]{"zero", "one", "two", "three"};
+        final ArrayIterator<String> itr = new ArrayIterator<>(values, 1, 2);
+
+        Assert.assertSame("Should be same value", values[1], itr.next());
+        Assert.assertSame("Should be same value", values[2], itr.next());
+        Assert.assertFalse("Should be no more elements", itr.hasNext());
+
+        try {
+            new ArrayIterator<>(values, 3, 2);
+            Assert.fail("Should not allow a range past the end");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertEquals("Should be correct failure message", ArrayUtils.RANGE_ERROR_MSG, illegalArgumentException.getMessage());
+        }
+    }
+
+    /**
+     * Tests the spliterator takes over the remaining elements.
+     */
+    @Test
+    public void test_spliterator() {
+        final String[] values = new String[]{"zero", "one", "two", "three"};
+        final ArrayIterator<String> itr = new ArrayIterator<>(values);
+
+        itr.next();
+
+        final Spliterator<String> spliterator = itr.spliterator();
+
+        Assert.assertFalse("Should have handed over the remaining elements", itr.hasNext());
+        Assert.assertTrue("Should be sized", spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED));
+        Assert.assertEquals("Should have the remaining elements", 3, spliterator.estimateSize());
+        Assert.assertEquals("Should be the remaining elements", Arrays.asList("one", "two", "three"), StreamSupport.stream(spliterator, false).collect(Collectors.toList()));
+        Assert.assertEquals("Should be empty", 0, itr.spliterator().estimateSize());
+    }
+
+    /**
+     * Tests forEachRemaining() visits the elements not yet returned.
+     */
+    @Test
+    public void test_forEachRemaining() {
+        final ArrayIterator<String> itr = new ArrayIterator<>(new String[]{"zero", "one", "two", "three"}, 0, 3);
+        final List<String> found = new ArrayList<>();
+
+        itr.next();
+        itr.forEachRemaining(found::add);
+
+        Assert.assertEquals("Should be the remaining elements", Arrays.asList("one", "two"), found);
+        Assert.assertFalse("Should be no more elements", itr.hasNext());
+    }
+
+    /**
+     * Tests null elements are returned as is.
+     */
+    @Test
+    public void test_nullElements() {
+        final ArrayIterator<String> itr = new ArrayIterator<>(new String[]{null, "one"});
+
+        Assert.assertNull("Should be null", itr.next());
+        Assert.assertEquals("Should be same value", "one", itr.next());
+    }
 }
@@ -0,0 +1,214 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import org.flossware.jcore.utils.collections.ArrayUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the ChunkedArrayCursor class.
+ *
+ * @author Scot P. Floess
+ */
+public class ChunkedArrayCursorTest {
+
+    /**
+     * Return an array of the integers from zero to size.
+     */
+    static Integer[] values(final int size) {
+        final Integer[] retVal = new Integer[size];
+
+        for (int index = 0; index < size; index++) {
+            retVal[index] = index;
+        }
+
+        return retVal;
+    }
+
+    /**
+     * Test bad constructor params.
+     */
+    @Test
+    public void test_constructor_badParams() {
+        try {
+            new ChunkedArrayCursor<>(null);
+            Assert.fail("Should not allow a null array");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertEquals("Should be correct failure message", ArrayIterator.NULL_ERROR_MSG, illegalArgumentException.getMessage());
+        }
+
+        try {
+            new ChunkedArrayCursor<>(new String[]{"one", null});
+            Assert.fail("Should not allow null elements");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertEquals("Should be correct failure message", ArrayIterator.NULL_ERROR_MSG, illegalArgumentException.getMessage());
+        }
+
+        try {
+            new ChunkedArrayCursor<>(new String[]{"one"}, 0);
+            Assert.fail("Should not allow zero workers");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertEquals("Should be correct failure message", ChunkedArrayCursor.WORKERS_ERROR_MSG, illegalArgumentException.getMessage());
+        }
+
+        try {
+            new ChunkedArrayCursor<>(new String[]{"one"}, 0, 1, 1, 0);
+            Assert.fail("Should not allow a zero minimum chunk");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertEquals("Should be correct failure message", ChunkedArrayCursor.MIN_CHUNK_ERROR_MSG, illegalArgumentException.getMessage());
+        }
+
+        try {
+            new ChunkedArrayCursor<>(new String[]{"one"}, 1, 1, 1, 1);
+            Assert.fail("Should not allow a range past the end");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertEquals("Should be correct failure message", ArrayUtils.RANGE_ERROR_MSG, illegalArgumentException.getMessage());
+        }
+    }
+
+    /**
+     * Tests bad worker params.
+     */
+    @Test
+    public void test_worker_badParams() {
+        final ChunkedArrayCursor<Integer> cursor = new ChunkedArrayCursor<>(values(10), 2);
+
+        try {
+            cursor.claim(-1);
+            Assert.fail("Should not allow a negative worker");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertEquals("Should be correct failure message", ChunkedArrayCursor.WORKER_ERROR_MSG, illegalArgumentException.getMessage());
+        }
+
+        try {
+            cursor.claim(2);
+            Assert.fail("Should not allow a worker past the number of workers");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertEquals("Should be correct failure message", ChunkedArrayCursor.WORKER_ERROR_MSG, illegalArgumentException.getMessage());
+        }
+
+        try {
+            cursor.forEach(0, null);
+            Assert.fail("Should not allow a null action");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertEquals("Should be correct failure message", ChunkedArrayCursor.ACTION_ERROR_MSG, illegalArgumentException.getMessage());
+        }
+    }
+
+    /**
+     * Tests packing ranges.
+     */
+    @Test
+    public void test_pack() {
+        final long range = ChunkedArrayCursor.pack(12, Integer.MAX_VALUE);
+
+        Assert.assertEquals("Should be the start", 12, ChunkedArrayCursor.start(range));
+        Assert.assertEquals("Should be the end", Integer.MAX_VALUE, ChunkedArrayCursor.end(range));
+    }
+
+    /**
+     * Tests chunks shrink as a slot drains and that every element of the range is claimed once.
+     */
+    @Test
+    public void test_claim() {
+        final ChunkedArrayCursor<Integer> cursor = new ChunkedArrayCursor<>(values(1200), 100, 1000, 1, 10);
+
+        Assert.assertEquals("Should be the workers", 1, cursor.getWorkers());
+        Assert.assertEquals("Should be the minimum chunk", 10, cursor.getMinChunk());
+        Assert.assertEquals("Should have the whole range", 1000, cursor.remaining());
+
+        final List<Integer> found = new ArrayList<>();
+
+        Assert.assertEquals("Should start with a quarter", 250, cursor.claim(0).size());
+
+        int previous = Integer.MAX_VALUE;
+
+        for (ArrayIterable<Integer> chunk = cursor.claim(0); null != chunk; chunk = cursor.claim(0)) {
+            Assert.assertTrue("Should not grow", chunk.size() <= previous);
+            Assert.assertTrue("Should be at least the minimum chunk", chunk.size() >= 10 || 0 == cursor.remaining());
+
+            previous = chunk.size();
+            chunk.forEach(found::add);
+        }
+
+        Assert.assertEquals("Should have claimed the rest", 750, found.size());
+        Assert.assertEquals("Should have nothing left", 0, cursor.remaining());
+
+        for (int index = 0; index < found.size(); index++) {
+            Assert.assertEquals("Should be in order", Integer.valueOf(350 + index), found.get(index));
+        }
+    }
+
+    /**
+     * Tests one worker stealing the slots of workers that never run.
+     */
+    @Test
+    public void test_steal() {
+        final ChunkedArrayCursor<Integer> cursor = new ChunkedArrayCursor<>(values(1001), 0, 1001, 4, 1);
+        final AtomicIntegerArray counts = new AtomicIntegerArray(1001);
+
+        Assert.assertEquals("Should process everything", 1001, cursor.forEach(3, value -> counts.incrementAndGet(value)));
+        Assert.assertEquals("Should have nothing left", 0, cursor.remaining());
+        Assert.assertNull("Should have nothing to claim", cursor.claim(0));
+
+        for (int index = 0; index < counts.length(); index++) {
+            Assert.assertEquals("Should process each element once", 1, counts.get(index));
+        }
+    }
+
+    /**
+     * Tests many workers sharing an array.
+     */
+    @Test
+    public void test_concurrent() throws Exception {
+        final int workers = 4;
+        final ChunkedArrayCursor<Integer> cursor = new ChunkedArrayCursor<>(values(100000), workers);
+        final AtomicIntegerArray counts = new AtomicIntegerArray(100000);
+        final ExecutorService executor = Executors.newFixedThreadPool(workers);
+
+        try {
+            final List<Future<Integer>> futures = new ArrayList<>();
+
+            for (int worker = 0; worker < workers; worker++) {
+                final int id = worker;
+
+                futures.add(executor.submit(() -> cursor.forEach(id, value -> counts.incrementAndGet(value))));
+            }
+
+            int total = 0;
+
+            for (final Future<Integer> future : futures) {
+                total += future.get();
+            }
+
+            Assert.assertEquals("Should process everything", 100000, total);
+        } finally {
+            executor.shutdown();
+        }
+
+        for (int index = 0; index < counts.length(); index++) {
+            Assert.assertEquals("Should process each element once", 1, counts.get(index));
+        }
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import org.flossware.jcore.utils.collections.ArrayUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the SharedArrayIterator class.
+ *
+ * @author Scot P. Floess
+ */
+public class SharedArrayIteratorTest {
+
+    /**
+     * Test bad constructor params.
+     */
+    @Test
+    public void test_constructor_badParams() {
+        try {
+            new SharedArrayIterator<>(null);
+            Assert.fail("Should not allow a null array");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertEquals("Should be correct failure message", ArrayIterator.NULL_ERROR_MSG, illegalArgumentException.getMessage());
+        }
+
+        try {
+            new SharedArrayIterator<>(new String[]{"one", null});
+            Assert.fail("Should not allow null elements");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertEquals("Should be correct failure message", ArrayIterator.NULL_ERROR_MSG, illegalArgumentException.getMessage());
+        }
+
+        try {
+            new SharedArrayIterator<>(new String[]{"one"}, 1, 1);
+            Assert.fail("Should not allow a range past the end");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertEquals("Should be correct failure message", ArrayUtils.RANGE_ERROR_MSG, illegalArgumentException.getMessage());
+        }
+    }
+
+    /**
+     * Tests iterating a range.
+     */
+    @Test
+    public void test_iterate() {
+        final SharedArrayIterator<String> itr = new SharedArrayIterator<>(new String[]{"zero", "one", "two", "three"}, 1, 3);
+
+        Assert.assertEquals("Should have all remaining", 3, itr.remaining());
+        Assert.assertTrue("Should have next", itr.hasNext());
+        Assert.assertEquals("Should be first of the range", "one", itr.next());
+        Assert.assertEquals("Should be next", "two", itr.poll());
+
+        final List<String> found = new ArrayList<>();
+
+        itr.forEachRemaining(found::add);
+
+        Assert.assertEquals("Should be the rest", Arrays.asList("three"), found);
+        Assert.assertEquals("Should have none remaining", 0, itr.remaining());
+        Assert.assertFalse("Should not have next", itr.hasNext());
+        Assert.assertNull("Should be exhausted", itr.poll());
+
+        try {
+            itr.next();
+            Assert.fail("Should not go past the end");
+        } catch (final NoSuchElementException noSuchElementException) {
+            Assert.assertEquals("Should be correct failure message", ArrayIterator.NEXT_ERROR_MSG, noSuchElementException.getMessage());
+        }
+    }
+
+    /**
+     * Tests remove() is not supported.
+     */
+    @Test
+    public void test_remove() {
+        try {
+            new SharedArrayIterator<>(new String[]{"one"}).remove();
+            Assert.fail("Should not support remove");
+        } catch (final UnsupportedOperationException unsupportedOperationException) {
+            Assert.assertEquals("Should be correct failure message", ArrayIterator.REMOVE_ERROR_MSG, unsupportedOperationException.getMessage());
+        }
+    }
+
+    /**
+     * Tests each element is handed to exactly one of many threads.
+     */
+    @Test
+    public void test_concurrent() throws Exception {
+        final Integer[] values = new Integer[100000];
+
+        for (int index = 0; index < values.length; index++) {
+            values[index] = index;
+        }
+
+        final SharedArrayIterator<Integer> itr = new SharedArrayIterator<>(values);
+        final AtomicIntegerArray seen = new AtomicIntegerArray(values.length);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+
+            for (int thread = 0; thread < 4; thread++) {
+                futures.add(executor.submit(() -> itr.forEachRemaining(value -> seen.incrementAndGet(value))));
+            }
+
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        for (int index = 0; index < values.length; index++) {
+            Assert.assertEquals("Should have seen each element once", 1, seen.get(index));
+        }
+    }
+}
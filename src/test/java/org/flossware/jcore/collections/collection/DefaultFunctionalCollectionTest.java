@@ -16,7 +16,10 @@
  */
 package org.flossware.jcore.collections.collection;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -96,4 +99,25 @@ public class DefaultFunctionalCollectionTest {
         functionalCollection.removeAllF(set2);
         Assert.assertTrue("Should be no elements", functionalCollection.isEmpty());
     }
+
+    @Test
+    public void test_parallel() {
+        final DefaultFunctionalCollection<Integer> collection = new DefaultFunctionalCollection<>(new ArrayList<Integer>());
+
+        for (int index = 0; index < 5000; index++) {
+            collection.addF(index);
+        }
+
+        final AtomicLong sum = new AtomicLong();
+
+        Assert.assertSame("Should return self", collection, collection.parallelForEach(10, element -> sum.addAndGet(element)));
+        Assert.assertEquals("Should have visited every element", 4999L * 5000L / 2, sum.get());
+        Assert.assertEquals("Should keep order", Arrays.asList(0, 1000, 2000, 3000, 4000), collection.parallelFilter(10, element -> element % 1000 == 0));
+        Assert.assertEquals("Should keep order", "0", collection.parallelMap(10, String::valueOf).get(0));
+        Assert.assertEquals("Should have mapped every element", 5000, collection.parallelMap(String::valueOf).size());
+        Assert.assertEquals("Should sum", Integer.valueOf(4999 * 5000 / 2), collection.parallelReduce(10, 0, Integer::sum));
+        Assert.assertEquals("Should sum", Integer.valueOf(4999 * 5000 / 2), collection.parallelReduce(0, Integer::sum));
+        Assert.assertEquals("Should find all", 5000, collection.parallelForEach(element -> {
+        }).parallelFilter(element -> true).size());
+    }
 }
@@ -0,0 +1,134 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.collection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.Spliterator;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the ImmutableFunctionalCollection class.
+ *
+ * @author Scot P. Floess
+ */
+public class ImmutableFunctionalCollectionTest {
+
+    @Test
+    public void test_constructor_null() {
+        try {
+            new ImmutableFunctionalCollection<String>(null);
+            Assert.fail("Should not allow a null collection");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertEquals("Should be correct failure message", ImmutableFunctionalCollection.COLLECTION_ERROR_MSG, illegalArgumentException.getMessage());
+        }
+    }
+
+    @Test
+    public void test_freeze() {
+        final DefaultFunctionalCollection<String> source = new DefaultFunctionalCollection<>(new ArrayList<>());
+
+        source.addF("a").addF("b").addF("a").addF(null);
+
+        final FunctionalCollection<String> frozen = source.freeze();
+
+        source.addF("c");
+
+        Assert.assertTrue("Should be immutable", frozen instanceof ImmutableFunctionalCollection);
+        Assert.assertSame("Should already be frozen", frozen, frozen.freeze());
+        Assert.assertEquals("Should keep duplicates and not see later changes", 4, frozen.size());
+        Assert.assertTrue("Should contain value", frozen.contains("b"));
+        Assert.assertTrue("Should contain null", frozen.contains(null));
+        Assert.assertFalse("Should not contain value", frozen.contains("c"));
+        Assert.assertArrayEquals("Should keep order", new Object[]{"a", "b", "a", null}, frozen.toArray());
+        Assert.assertArrayEquals("Should keep order", new String[]{"a", "b", "a", null}, frozen.toArray(new String[0]));
+
+        final List<String> visited = new ArrayList<>();
+
+        frozen.forEach(visited::add);
+
+        Assert.assertEquals("Should visit in order", Arrays.asList("a", "b", "a", null), visited);
+    }
+
+    @Test
+    public void test_mutators() {
+        final ImmutableFunctionalCollection<String> frozen = new ImmutableFunctionalCollection<>(Arrays.asList("a", "b"));
+
+        try {
+            frozen.addF("c");
+            Assert.fail("Should not allow add");
+        } catch (final UnsupportedOperationException unsupportedOperationException) {
+        }
+
+        try {
+            frozen.removeF("a");
+            Assert.fail("Should not allow remove");
+        } catch (final UnsupportedOperationException unsupportedOperationException) {
+        }
+
+        try {
+            frozen.clear();
+            Assert.fail("Should not allow clear");
+        } catch (final UnsupportedOperationException unsupportedOperationException) {
+        }
+
+        Assert.assertEquals("Should be unchanged", 2, frozen.size());
+    }
+
+    /**
+     * Compares contains() on many random collections with their frozen copies.
+     */
+    @Test
+    public void test_random() {
+        final Random random = new Random(11);
+
+        for (int size = 0; size < 300; size += 13) {
+            final List<Integer> source = new ArrayList<>();
+
+            for (int count = 0; count < size; count++) {
+                source.add(random.nextInt(size * 2 + 1));
+            }
+
+            final ImmutableFunctionalCollection<Integer> frozen = new ImmutableFunctionalCollection<>(source);
+
+            Assert.assertEquals("Should be same elements", source, new ArrayList<>(frozen));
+
+            for (int value = -1; value <= size * 2 + 1; value++) {
+                Assert.assertEquals("Should agree on contains", source.contains(value), frozen.contains(value));
+            }
+        }
+    }
+
+    @Test
+    public void test_spliterator() {
+        final List<Integer> source = new ArrayList<>();
+
+        for (int index = 0; index < 1000; index++) {
+            source.add(index);
+        }
+
+        final ImmutableFunctionalCollection<Integer> collection = new ImmutableFunctionalCollection<>(source);
+        final Spliterator<Integer> spliterator = collection.spliterator();
+
+        Assert.assertTrue("Should be sized", spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED));
+        Assert.assertEquals("Should split in half", 500, spliterator.trySplit().estimateSize());
+        Assert.assertEquals("Should keep order", source, collection.parallelFilter(7, element -> true));
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.collection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import org.flossware.jcore.IndexedFilter;
+import org.flossware.jcore.utils.collections.CollectionUtils;
+import org.flossware.jcore.utils.collections.IndexType;
+import org.flossware.jcore.utils.collections.IterableUtils;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the IndexedFunctionalCollection class.
+ *
+ * @author Scot P. Floess
+ */
+public class IndexedFunctionalCollectionTest {
+
+    private List<String> list;
+
+    private IndexedFunctionalCollection<String, Integer> functionalCollection;
+
+    @Before
+    public void init() {
+        list = new ArrayList<>(Arrays.asList("apple", "bee", "cat", "kiwi"));
+        functionalCollection = new IndexedFunctionalCollection<>(list, String::length);
+    }
+
+    @Test
+    public void test_null() {
+        try {
+            new IndexedFunctionalCollection<>(null, String::length);
+            Assert.fail("Should not allow a null collection");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertEquals("Should be correct failure message", CollectionUtils.COLLECTION_ERROR_MSG, illegalArgumentException.getMessage());
+        }
+    }
+
+    @Test
+    public void test_lookup() {
+        Assert.assertTrue("Should have the key", functionalCollection.containsKey(3));
+        Assert.assertFalse("Should not have the key", functionalCollection.containsKey(6));
+        Assert.assertEquals("Should be the elements with the key", Arrays.asList("bee", "cat"), functionalCollection.filter(3));
+    }
+
+    @Test
+    public void test_add_remove() {
+        functionalCollection.addF("banana").addF("dog").removeF("bee").removeF("owl");
+
+        Assert.assertEquals("Should change the collection", Arrays.asList("apple", "cat", "kiwi", "banana", "dog"), list);
+        Assert.assertEquals("Should index additions and removals", Arrays.asList("cat", "dog"), functionalCollection.filter(3));
+        Assert.assertTrue("Should index additions", functionalCollection.containsKey(6));
+
+        functionalCollection.addAllF(Arrays.asList("ox", "yak")).removeAllF(Arrays.asList("cat", "apple"));
+
+        Assert.assertEquals("Should index bulk changes", Arrays.asList("dog", "yak"), functionalCollection.filter(3));
+        Assert.assertFalse("Should index bulk removals", functionalCollection.containsKey(5));
+
+        functionalCollection.retainAll(Arrays.asList("dog", "ox"));
+
+        Assert.assertEquals("Should index retained elements", Arrays.asList("dog"), functionalCollection.filter(3));
+        Assert.assertEquals("Should index retained elements", Arrays.asList("ox"), functionalCollection.filter(2));
+        Assert.assertFalse("Should index retained elements", functionalCollection.containsKey(4));
+
+        functionalCollection.clear();
+
+        Assert.assertTrue("Should be empty", list.isEmpty());
+        Assert.assertFalse("Should index clear", functionalCollection.containsKey(3));
+    }
+
+    @Test
+    public void test_iterator_remove() {
+        final Iterator<String> itr = functionalCollection.iterator();
+
+        itr.next();
+        itr.next();
+        itr.remove();
+
+        Assert.assertEquals("Should index iterator removals", Arrays.asList("cat"), functionalCollection.filter(3));
+
+        functionalCollection.removeIf(value -> value.length() == 4);
+
+        Assert.assertFalse("Should index removeIf", functionalCollection.containsKey(4));
+        Assert.assertEquals("Should change the collection", Arrays.asList("apple", "cat"), list);
+    }
+
+    @Test
+    public void test_reindex() {
+        list.add("dog");
+
+        Assert.assertEquals("Should not see direct changes", Arrays.asList("bee", "cat"), functionalCollection.filter(3));
+        Assert.assertEquals("Should see direct changes once reindexed", Arrays.asList("bee", "cat", "dog"), functionalCollection.reindex().filter(3));
+    }
+
+    @Test
+    public void test_sorted() {
+        final IndexedFunctionalCollection<String, Integer> sorted = new IndexedFunctionalCollection<>(list, String::length, IndexType.SORTED);
+
+        Assert.assertEquals("Should be the range in key order", Arrays.asList("bee", "cat", "kiwi"), sorted.filter(3, 5));
+
+        final IndexedFunctionalCollection<String, String> ignoringCase = new IndexedFunctionalCollection<>(list, value -> value, IndexType.SORTED, String.CASE_INSENSITIVE_ORDER);
+
+        Assert.assertTrue("Should accept keys comparing equal", ignoringCase.asFilter().accept("bee", "BEE"));
+        Assert.assertTrue("Should scan like the index", IterableUtils.contains(list, ignoringCase.asFilter(), "BEE"));
+    }
+
+    @Test
+    public void test_asFilter() {
+        final IndexedFilter<String, Integer> filter = functionalCollection.asFilter();
+
+        Assert.assertTrue("Should accept a matching key", filter.accept("dog", 3));
+        Assert.assertFalse("Should not accept another key", filter.accept("dog", 4));
+        Assert.assertTrue("Should be the index of the collection", filter.isIndexOf(functionalCollection));
+        Assert.assertFalse("Should not be the index of the wrapped collection", filter.isIndexOf(list));
+
+        functionalCollection.addF("dog");
+
+        Assert.assertTrue("Should answer contains from the index", IterableUtils.contains(functionalCollection, filter, 3));
+        Assert.assertFalse("Should answer contains from the index", IterableUtils.contains(functionalCollection, filter, 7));
+        Assert.assertEquals("Should filter from the index", Arrays.asList("bee", "cat", "dog"), CollectionUtils.filter(functionalCollection, filter, 3));
+        Assert.assertTrue("Should scan other collections", IterableUtils.contains(list, filter, 5));
+        Assert.assertEquals("Should scan other collections", Arrays.asList("apple"), CollectionUtils.filter(list, filter, 5));
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.collection;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the IntArrayFunctionalCollection class.
+ *
+ * @author Scot P. Floess
+ */
+public class IntArrayFunctionalCollectionTest {
+
+    private IntArrayFunctionalCollection collection;
+
+    @Before
+    public void init() {
+        collection = new IntArrayFunctionalCollection(0);
+    }
+
+    @Test
+    public void test_constructor_badCapacity() {
+        try {
+            new IntArrayFunctionalCollection(-1);
+            Assert.fail("Should not allow a negative capacity");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertEquals("Should be correct failure message", IntArrayFunctionalCollection.CAPACITY_ERROR_MSG, illegalArgumentException.getMessage());
+        }
+    }
+
+    @Test
+    public void test_constructor_values() {
+        final int[] values = new int[]{3, 1, 3};
+        final IntArrayFunctionalCollection copy = new IntArrayFunctionalCollection(values);
+
+        values[0] = 9;
+
+        Assert.assertArrayEquals("Should have copied the values", new int[]{3, 1, 3}, copy.toArray());
+    }
+
+    @Test
+    public void test_addF() {
+        collection.addF(1).addF(2).addF(1).addF(0);
+
+        Assert.assertEquals("Should allow duplicates", 4, collection.size());
+        Assert.assertArrayEquals("Should keep insertion order", new int[]{1, 2, 1, 0}, collection.toArray());
+        Assert.assertEquals("Should get correct value", 2, collection.get(1));
+        Assert.assertEquals("Should find first occurrence", 0, collection.indexOf(1));
+        Assert.assertEquals("Should not find missing value", -1, collection.indexOf(7));
+    }
+
+    @Test
+    public void test_get_badIndex() {
+        collection.addF(1);
+
+        try {
+            collection.get(1);
+            Assert.fail("Should not get past the end");
+        } catch (final IndexOutOfBoundsException indexOutOfBoundsException) {
+            Assert.assertEquals("Should be correct failure message", IntArrayFunctionalCollection.INDEX_ERROR_MSG, indexOutOfBoundsException.getMessage());
+        }
+    }
+
+    @Test
+    public void test_contains() {
+        collection.addAllF(1, 2, 3);
+
+        Assert.assertTrue("Should contain value", collection.contains(2));
+        Assert.assertFalse("Should not contain value", collection.contains(4));
+        Assert.assertTrue("Should contain all values", collection.containsAll(1, 3));
+        Assert.assertFalse("Should not contain all values", collection.containsAll(1, 4));
+    }
+
+    @Test
+    public void test_removeF() {
+        collection.addAllF(1, 2, 1, 3).removeF(1).removeF(9);
+
+        Assert.assertArrayEquals("Should remove first occurrence", new int[]{2, 1, 3}, collection.toArray());
+    }
+
+    @Test
+    public void test_removeAllF() {
+        collection.addAllF(1, 2, 1, 3, 4).removeAllF(1, 4);
+
+        Assert.assertArrayEquals("Should remove all occurrences", new int[]{2, 3}, collection.toArray());
+        Assert.assertFalse("Should not change", collection.removeAll(9));
+    }
+
+    @Test
+    public void test_removeAll_many() {
+        for (int value = 0; value < 100; value++) {
+            collection.add(value);
+        }
+
+        final int[] toRemove = new int[50];
+
+        for (int index = 0; index < toRemove.length; index++) {
+            toRemove[index] = index * 2;
+        }
+
+        Assert.assertTrue("Should change", collection.removeAll(toRemove));
+        Assert.assertEquals("Should have removed even values", 50, collection.size());
+        Assert.assertFalse("Should have removed even values", collection.contains(0));
+        Assert.assertTrue("Should have kept odd values", collection.contains(99));
+    }
+
+    @Test
+    public void test_addAllF_collection() {
+        collection.addAllF(new IntHashFunctionalCollection(new int[]{5, 6})).addAllF(new IntArrayFunctionalCollection(new int[]{7}));
+
+        Assert.assertEquals("Should have all values", 3, collection.size());
+        Assert.assertTrue("Should contain all values", collection.containsAll(5, 6, 7));
+
+        collection.removeAllF(new IntArrayFunctionalCollection(new int[]{5, 7}));
+
+        Assert.assertArrayEquals("Should have removed values", new int[]{6}, collection.toArray());
+    }
+
+    @Test
+    public void test_addAll_null() {
+        try {
+            collection.addAll((int[]) null);
+            Assert.fail("Should not allow null values");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertEquals("Should be correct failure message", AbstractIntFunctionalCollection.VALUES_ERROR_MSG, illegalArgumentException.getMessage());
+        }
+    }
+
+    @Test
+    public void test_forEach_toString() {
+        collection.addAllF(1, 2);
+
+        final List<Integer> values = new ArrayList<>();
+
+        collection.forEach(value -> values.add(value));
+
+        Assert.assertEquals("Should have visited all values", 2, values.size());
+        Assert.assertEquals("Should be correct string", "[1, 2]", collection.toString());
+    }
+
+    @Test
+    public void test_clear_trimToSize() {
+        collection.addAllF(1, 2, 3);
+        collection.clear();
+
+        Assert.assertTrue("Should be empty", collection.isEmpty());
+        Assert.assertEquals("Should grow from an empty array", 1, collection.trimToSize().addF(4).size());
+    }
+}
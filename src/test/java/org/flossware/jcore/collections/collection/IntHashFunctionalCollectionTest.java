@@ -0,0 +1,131 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.collection;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the IntHashFunctionalCollection class.
+ *
+ * @author Scot P. Floess
+ */
+public class IntHashFunctionalCollectionTest {
+
+    private IntHashFunctionalCollection collection;
+
+    @Before
+    public void init() {
+        collection = new IntHashFunctionalCollection();
+    }
+
+    @Test
+    public void test_constructor_values() {
+        final IntHashFunctionalCollection copy = new IntHashFunctionalCollection(new int[]{3, 1, 3, 0});
+
+        Assert.assertEquals("Should not have duplicates", 3, copy.size());
+        Assert.assertTrue("Should contain all values", copy.containsAll(0, 1, 3));
+    }
+
+    @Test
+    public void test_constructor_null() {
+        try {
+            new IntHashFunctionalCollection((int[]) null);
+            Assert.fail("Should not allow null values");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertEquals("Should be correct failure message", AbstractIntFunctionalCollection.VALUES_ERROR_MSG, illegalArgumentException.getMessage());
+        }
+    }
+
+    @Test
+    public void test_add() {
+        Assert.assertTrue("Should add", collection.add(1));
+        Assert.assertFalse("Should not add duplicate", collection.add(1));
+        Assert.assertTrue("Should add", collection.add(0));
+        Assert.assertFalse("Should not add duplicate", collection.add(0));
+        Assert.assertEquals("Should have two values", 2, collection.size());
+    }
+
+    @Test
+    public void test_addF_removeF() {
+        collection.addF(1).addF(2).addF(0).removeF(1).removeF(0).removeF(9);
+
+        Assert.assertArrayEquals("Should have remaining value", new int[]{2}, collection.toArray());
+        Assert.assertFalse("Should not contain removed value", collection.contains(0));
+        Assert.assertFalse("Should not remove missing value", collection.remove(0));
+    }
+
+    @Test
+    public void test_removeAllF() {
+        collection.addAllF(1, 2, 3, 4).removeAllF(1, 4, 9);
+
+        Assert.assertEquals("Should have remaining values", 2, collection.size());
+        Assert.assertTrue("Should contain remaining values", collection.containsAll(2, 3));
+    }
+
+    @Test
+    public void test_forEach_toString() {
+        collection.addAllF(0, 5);
+
+        final Set<Integer> values = new HashSet<>();
+
+        collection.forEach(value -> values.add(value));
+
+        Assert.assertEquals("Should have visited all values", 2, values.size());
+        Assert.assertEquals("Should be correct string", "[0, 5]", collection.toString());
+    }
+
+    @Test
+    public void test_clear() {
+        collection.addAllF(0, 1, 2);
+        collection.clear();
+
+        Assert.assertTrue("Should be empty", collection.isEmpty());
+        Assert.assertFalse("Should not contain value", collection.contains(0));
+        Assert.assertFalse("Should not contain value", collection.contains(1));
+    }
+
+    /**
+     * Mixes adds and removes on a small value range (lots of collisions and shifting) checking against a HashSet.
+     */
+    @Test
+    public void test_random_operations() {
+        final Random random = new Random(42);
+        final Set<Integer> expected = new HashSet<>();
+        final IntHashFunctionalCollection actual = new IntHashFunctionalCollection(0);
+
+        for (int count = 0; count < 100000; count++) {
+            final int value = random.nextInt(2000) - 1000;
+
+            if (random.nextInt(3) == 0) {
+                Assert.assertEquals("Should remove the same", expected.remove(value), actual.remove(value));
+            } else {
+                Assert.assertEquals("Should add the same", expected.add(value), actual.add(value));
+            }
+        }
+
+        Assert.assertEquals("Should be same size", expected.size(), actual.size());
+
+        for (final int value : actual.toArray()) {
+            Assert.assertTrue("Should be same values", expected.contains(value));
+        }
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the CacheStats class.
+ *
+ * @author Scot P. Floess
+ */
+public class CacheStatsTest {
+
+    @Test
+    public void test_getters() {
+        final CacheStats stats = new CacheStats(3, 1, 2, 5, 4);
+
+        Assert.assertEquals("Should be correct hits", 3, stats.getHitCount());
+        Assert.assertEquals("Should be correct misses", 1, stats.getMissCount());
+        Assert.assertEquals("Should be correct requests", 4, stats.getRequestCount());
+        Assert.assertEquals("Should be correct hit rate", 0.75, stats.getHitRate(), 0.0);
+        Assert.assertEquals("Should be correct miss rate", 0.25, stats.getMissRate(), 0.0);
+        Assert.assertEquals("Should be correct evictions", 2, stats.getEvictionCount());
+        Assert.assertEquals("Should be correct eviction weight", 5, stats.getEvictionWeight());
+        Assert.assertEquals("Should be correct expirations", 4, stats.getExpirationCount());
+        Assert.assertTrue("Should render the counts", stats.toString().contains("hits=3"));
+    }
+
+    @Test
+    public void test_noRequests() {
+        final CacheStats stats = new CacheStats(0, 0, 0, 0, 0);
+
+        Assert.assertEquals("Should be a perfect hit rate", 1.0, stats.getHitRate(), 0.0);
+        Assert.assertEquals("Should be no miss rate", 0.0, stats.getMissRate(), 0.0);
+    }
+}
@@ -0,0 +1,387 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.map;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the CachingFunctionalMap class.
+ *
+ * @author Scot P. Floess
+ */
+public class CachingFunctionalMapTest {
+
+    /**
+     * Create a cache using a ticker we control.
+     */
+    static <K, V> CachingFunctionalMap<K, V> newCache(final EvictionPolicy policy, final long maximumWeight, final Weigher<? super K, ? super V> weigher, final long expireAfterWriteMillis, final long expireAfterAccessMillis, final AtomicLong ticker) {
+        return new CachingFunctionalMap<>(policy, maximumWeight, weigher, expireAfterWriteMillis, expireAfterAccessMillis, ticker::get);
+    }
+
+    @Test
+    public void test_constructor_badParams() {
+        try {
+            new CachingFunctionalMap<String, String>(null, 10);
+            Assert.fail("Should not allow a null policy");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertEquals("Should be correct failure message", CachingFunctionalMap.POLICY_ERROR_MSG, illegalArgumentException.getMessage());
+        }
+
+        try {
+            new CachingFunctionalMap<String, String>(0);
+            Assert.fail("Should not allow a maximum of 0");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertEquals("Should be correct failure message", CachingFunctionalMap.MAXIMUM_WEIGHT_ERROR_MSG, illegalArgumentException.getMessage());
+        }
+
+        try {
+            new CachingFunctionalMap<String, String>(EvictionPolicy.LRU, 10, null, 0, 0);
+            Assert.fail("Should not allow a null weigher");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertEquals("Should be correct failure message", CachingFunctionalMap.WEIGHER_ERROR_MSG, illegalArgumentException.getMessage());
+        }
+
+        try {
+            new CachingFunctionalMap<String, String>(EvictionPolicy.LRU, 10, (key, value) -> 1, -1, 0);
+            Assert.fail("Should not allow a negative expiry");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertEquals("Should be correct failure message", CachingFunctionalMap.EXPIRY_ERROR_MSG, illegalArgumentException.getMessage());
+        }
+    }
+
+    @Test
+    public void test_constructor() {
+        final CachingFunctionalMap<String, String> cache = new CachingFunctionalMap<>(100);
+
+        Assert.assertEquals("Should be default policy", CachingFunctionalMap.DEFAULT_POLICY, cache.getEvictionPolicy());
+        Assert.assertEquals("Should be correct maximum", 100, cache.getMaximumWeight());
+        Assert.assertTrue("Should be empty", cache.isEmpty());
+    }
+
+    @Test
+    public void test_put_badParams() {
+        final CachingFunctionalMap<String, String> cache = new CachingFunctionalMap<>(EvictionPolicy.LRU, 10, (key, value) -> -1, 0, 0);
+
+        try {
+            cache.put(null, "value");
+            Assert.fail("Should not allow a null key");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertEquals("Should be correct failure message", CachingFunctionalMap.KEY_ERROR_MSG, illegalArgumentException.getMessage());
+        }
+
+        try {
+            cache.put("key", null);
+            Assert.fail("Should not allow a null value");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertEquals("Should be correct failure message", CachingFunctionalMap.VALUE_ERROR_MSG, illegalArgumentException.getMessage());
+        }
+
+        try {
+            cache.put("key", "value");
+            Assert.fail("Should not allow a negative weight");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertEquals("Should be correct failure message", CachingFunctionalMap.WEIGHT_ERROR_MSG, illegalArgumentException.getMessage());
+        }
+
+        Assert.assertTrue("Should be empty", cache.isEmpty());
+    }
+
+    @Test
+    public void test_fluent() {
+        final CachingFunctionalMap<String, String> cache = new CachingFunctionalMap<>(10);
+
+        cache.putF("1", "one").putF("2", "two").putF("3", "three").removeF("2");
+
+        Assert.assertEquals("Should have two elements", 2, cache.size());
+        Assert.assertEquals("Should have the value", "one", cache.get("1"));
+        Assert.assertNull("Should have removed the value", cache.get("2"));
+        Assert.assertEquals("Should replace the value", "three", cache.put("3", "THREE"));
+        Assert.assertEquals("Should have replaced the value", "THREE", cache.get("3"));
+    }
+
+    @Test
+    public void test_lru() {
+        final CachingFunctionalMap<String, String> cache = new CachingFunctionalMap<>(EvictionPolicy.LRU, 3);
+
+        cache.putF("a", "A").putF("b", "B").putF("c", "C");
+        cache.get("a");
+        cache.putF("d", "D");
+
+        Assert.assertEquals("Should be at maximum", 3, cache.size());
+        Assert.assertFalse("Should have evicted the least recently used", cache.containsKey("b"));
+
+        cache.putF("e", "E");
+
+        Assert.assertFalse("Should have evicted the least recently used", cache.containsKey("c"));
+        Assert.assertTrue("Should have kept the recently used", cache.containsKey("a"));
+        Assert.assertEquals("Should have counted evictions", 2, cache.getStats().getEvictionCount());
+    }
+
+    @Test
+    public void test_lfu() {
+        final CachingFunctionalMap<String, String> cache = new CachingFunctionalMap<>(EvictionPolicy.LFU, 3);
+
+        cache.putF("a", "A").putF("b", "B").putF("c", "C");
+        cache.get("a");
+        cache.get("a");
+        cache.get("c");
+        cache.putF("d", "D");
+
+        Assert.assertFalse("Should have evicted the least frequently used", cache.containsKey("b"));
+
+        cache.putF("e", "E");
+
+        Assert.assertFalse("Should have evicted the least frequently used", cache.containsKey("d"));
+        Assert.assertTrue("Should have kept the frequently used", cache.containsKey("a"));
+        Assert.assertTrue("Should have kept the frequently used", cache.containsKey("c"));
+    }
+
+    /**
+     * A scan of one time keys should not flush a frequently used working set.
+     */
+    @Test
+    public void test_tinyLfu_scanResistant() {
+        final CachingFunctionalMap<Integer, Integer> cache = new CachingFunctionalMap<>(EvictionPolicy.TINY_LFU, 100);
+
+        for (int round = 0; round < 10; round++) {
+            for (int key = 0; key < 50; key++) {
+                if (null == cache.get(key)) {
+                    cache.put(key, key);
+                }
+            }
+        }
+
+        for (int key = 1000; key < 20000; key++) {
+            if (null == cache.get(key)) {
+                cache.put(key, key);
+            }
+        }
+
+        int kept = 0;
+
+        for (int key = 0; key < 50; key++) {
+            if (cache.containsKey(key)) {
+                kept++;
+            }
+        }
+
+        Assert.assertEquals("Should be at maximum", 100, cache.size());
+        Assert.assertTrue("Should have kept most of the working set: " + kept, kept >= 45);
+    }
+
+    @Test
+    public void test_weight() {
+        final CachingFunctionalMap<String, String> cache = new CachingFunctionalMap<>(EvictionPolicy.LRU, 10, (key, value) -> value.length(), 0, 0);
+
+        cache.putF("a", "1234").putF("b", "1234").putF("c", "12");
+
+        Assert.assertEquals("Should be correct weight", 10, cache.getWeight());
+
+        cache.putF("d", "123");
+
+        Assert.assertEquals("Should be correct weight", 9, cache.getWeight());
+        Assert.assertFalse("Should have evicted", cache.containsKey("a"));
+        Assert.assertEquals("Should have counted eviction weight", 4, cache.getStats().getEvictionWeight());
+
+        cache.putF("b", "1");
+
+        Assert.assertEquals("Should have reweighed", 6, cache.getWeight());
+
+        cache.putF("z", "12345678901");
+
+        Assert.assertFalse("Should evict an entry heavier than the maximum", cache.containsKey("z"));
+        Assert.assertTrue("Should not exceed maximum", cache.getWeight() <= 10);
+    }
+
+    @Test
+    public void test_expireAfterWrite() {
+        final AtomicLong ticker = new AtomicLong();
+        final CachingFunctionalMap<String, String> cache = newCache(EvictionPolicy.LRU, 10, (key, value) -> 1, 100, 0, ticker);
+
+        cache.putF("a", "A");
+        ticker.addAndGet(TimeUnit.MILLISECONDS.toNanos(50));
+        cache.putF("b", "B");
+
+        Assert.assertEquals("Reading should not extend the write", "A", cache.get("a"));
+
+        ticker.addAndGet(TimeUnit.MILLISECONDS.toNanos(50));
+
+        Assert.assertNull("Should have expired", cache.get("a"));
+        Assert.assertEquals("Should not have expired", "B", cache.get("b"));
+        Assert.assertEquals("Should have one element", 1, cache.size());
+
+        ticker.addAndGet(TimeUnit.MILLISECONDS.toNanos(50));
+        cache.cleanUp();
+
+        Assert.assertTrue("Should have expired all", cache.isEmpty());
+        Assert.assertEquals("Should have counted expirations", 2, cache.getStats().getExpirationCount());
+    }
+
+    @Test
+    public void test_expireAfterAccess() {
+        final AtomicLong ticker = new AtomicLong();
+        final CachingFunctionalMap<String, String> cache = newCache(EvictionPolicy.LRU, 10, (key, value) -> 1, 0, 100, ticker);
+
+        cache.putF("a", "A").putF("b", "B");
+
+        ticker.addAndGet(TimeUnit.MILLISECONDS.toNanos(60));
+        cache.get("a");
+        ticker.addAndGet(TimeUnit.MILLISECONDS.toNanos(60));
+
+        Assert.assertTrue("Reading should have extended", cache.containsKey("a"));
+        Assert.assertFalse("Should have expired", cache.containsKey("b"));
+    }
+
+    @Test
+    public void test_stats() {
+        final CachingFunctionalMap<String, String> cache = new CachingFunctionalMap<>(10);
+
+        cache.putF("a", "A");
+        cache.get("a");
+        cache.get("a");
+        cache.get("b");
+
+        final CacheStats stats = cache.getStats();
+
+        Assert.assertEquals("Should be correct hits", 2, stats.getHitCount());
+        Assert.assertEquals("Should be correct misses", 1, stats.getMissCount());
+        Assert.assertEquals("Should be correct hit rate", 2.0 / 3.0, stats.getHitRate(), 0.0001);
+    }
+
+    @Test
+    public void test_batch() {
+        final CachingFunctionalMap<String, String> cache = new CachingFunctionalMap<>(EvictionPolicy.LRU, 3);
+
+        cache.putAllF(new String[] {"a", "b", "c", "d"}, new String[] {"A", "B", "C", "D"});
+
+        Assert.assertEquals("Should have evicted down to the maximum", 3, cache.size());
+        Assert.assertFalse("Should have evicted the eldest", cache.containsKey("a"));
+
+        final Map<String, String> found = cache.getAll(Arrays.asList("b", "x", "d"));
+
+        Assert.assertEquals("Should have found present keys", 2, found.size());
+        Assert.assertEquals("Should have found the value", "D", found.get("d"));
+        Assert.assertEquals("Should count hits", 2, cache.getStats().getHitCount());
+        Assert.assertEquals("Should count misses", 1, cache.getStats().getMissCount());
+
+        cache.removeAllF(Arrays.asList("b", "c"));
+
+        Assert.assertEquals("Should have one element", 1, cache.size());
+        Assert.assertEquals("Should have kept the weight", 1, cache.getWeight());
+    }
+
+    @Test
+    public void test_iteration() {
+        final CachingFunctionalMap<String, String> cache = new CachingFunctionalMap<>(10);
+
+        cache.putF("a", "A").putF("b", "B").putF("c", "C");
+
+        final Iterator<Map.Entry<String, String>> iter = cache.entrySet().iterator();
+
+        while (iter.hasNext()) {
+            if ("b".equals(iter.next().getKey())) {
+                iter.remove();
+            }
+        }
+
+        Assert.assertEquals("Should have two elements", 2, cache.size());
+        Assert.assertEquals("Should have removed weight", 2, cache.getWeight());
+        Assert.assertTrue("Should contain value", cache.containsValue("C"));
+        Assert.assertFalse("Should not contain value", cache.containsValue("B"));
+
+        cache.clear();
+
+        Assert.assertTrue("Should be empty", cache.isEmpty());
+        Assert.assertEquals("Should be no weight", 0, cache.getWeight());
+    }
+
+    /**
+     * Iterating a snapshot - changes made while iterating don't fail the iteration, and removing an entry replaced meanwhile
+     * keeps the replacement.
+     */
+    @Test
+    public void test_iteration_snapshot() {
+        final CachingFunctionalMap<String, String> cache = new CachingFunctionalMap<>(10);
+
+        cache.putF("a", "A").putF("b", "B");
+
+        final Iterator<Map.Entry<String, String>> iter = cache.entrySet().iterator();
+
+        cache.putF("c", "C").putF("a", "AA");
+
+        int count = 0;
+
+        while (iter.hasNext()) {
+            iter.next();
+            iter.remove();
+
+            count++;
+        }
+
+        Assert.assertEquals("Should iterate the snapshot", 2, count);
+        Assert.assertEquals("Should have kept the replacement and the new entry", 2, cache.size());
+        Assert.assertEquals("Should have kept the replacement", "AA", cache.get("a"));
+        Assert.assertEquals("Should have kept the weight", 2, cache.getWeight());
+    }
+
+    /**
+     * Random operations on every policy - the cache never exceeds its maximum and never returns a stale value.
+     */
+    @Test
+    public void test_random_operations() {
+        for (final EvictionPolicy policy : EvictionPolicy.values()) {
+            final Random random = new Random(17);
+            final CachingFunctionalMap<Integer, Integer> cache = new CachingFunctionalMap<>(policy, 64);
+            final Map<Integer, Integer> expected = new HashMap<>();
+
+            for (int count = 0; count < 50000; count++) {
+                final int key = (int) Math.abs(random.nextGaussian() * 100);
+
+                switch (random.nextInt(4)) {
+                    case 0:
+                        cache.put(key, count);
+                        expected.put(key, count);
+                        break;
+
+                    case 1:
+                        cache.remove(key);
+                        expected.remove(key);
+                        break;
+
+                    default:
+                        final Integer value = cache.get(key);
+
+                        if (null != value) {
+                            Assert.assertEquals("Should not be stale for " + policy, expected.get(key), value);
+                        }
+                }
+
+                Assert.assertTrue("Should not exceed maximum for " + policy, cache.size() <= 64);
+            }
+
+            Assert.assertEquals("Weight should be size for " + policy, cache.size(), cache.getWeight());
+        }
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.map;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the DefaultConcurrentFunctionalMap class.
+ *
+ * @author Scot P. Floess
+ */
+public class DefaultConcurrentFunctionalMapTest {
+
+    private DefaultConcurrentFunctionalMap<String, Integer> functionalMap;
+
+    @Before
+    public void init() {
+        functionalMap = new DefaultConcurrentFunctionalMap<>();
+    }
+
+    @Test
+    public void test_constructor_null() {
+        try {
+            new DefaultConcurrentFunctionalMap<>(null);
+            Assert.fail("Should not allow a null map");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertEquals("Should be correct failure message", DefaultConcurrentFunctionalMap.MAP_ERROR_MSG, illegalArgumentException.getMessage());
+        }
+    }
+
+    @Test
+    public void test_putIfAbsentF() {
+        functionalMap.putIfAbsentF("key1", 1).putIfAbsentF("key1", 2).putIfAbsentF("key2", 3);
+
+        Assert.assertEquals("Should have two elements", 2, functionalMap.mappingCount());
+        Assert.assertEquals("Should have kept the first value", Integer.valueOf(1), functionalMap.get("key1"));
+    }
+
+    @Test
+    public void test_computeF() {
+        functionalMap.computeF("key1", (key, value) -> null == value ? 1 : value + 1).computeF("key1", (key, value) -> null == value ? 1 : value + 1);
+
+        Assert.assertEquals("Should have computed twice", Integer.valueOf(2), functionalMap.get("key1"));
+
+        functionalMap.computeF("key1", (key, value) -> null);
+
+        Assert.assertTrue("Should have removed the key", functionalMap.isEmpty());
+    }
+
+    @Test
+    public void test_computeIfAbsentF_computeIfPresentF() {
+        functionalMap.computeIfPresentF("key1", (key, value) -> 5).computeIfAbsentF("key1", key -> 1).computeIfAbsentF("key1", key -> 2);
+
+        Assert.assertEquals("Should have computed once", Integer.valueOf(1), functionalMap.get("key1"));
+
+        functionalMap.computeIfPresentF("key1", (key, value) -> value + 10);
+
+        Assert.assertEquals("Should have computed present value", Integer.valueOf(11), functionalMap.get("key1"));
+    }
+
+    @Test
+    public void test_mergeF() {
+        functionalMap.mergeF("key1", 1, Integer::sum).mergeF("key1", 1, Integer::sum).mergeF("key2", 5, Integer::sum);
+
+        Assert.assertEquals("Should have merged", Integer.valueOf(2), functionalMap.get("key1"));
+        Assert.assertEquals("Should have put", Integer.valueOf(5), functionalMap.get("key2"));
+    }
+
+    @Test
+    public void test_replace_remove() {
+        functionalMap.putF("key1", 1);
+
+        Assert.assertFalse("Should not replace wrong value", functionalMap.replace("key1", 2, 3));
+        Assert.assertTrue("Should replace value", functionalMap.replace("key1", 1, 3));
+        Assert.assertEquals("Should replace value", Integer.valueOf(3), functionalMap.replace("key1", 4));
+        Assert.assertNull("Should not replace missing key", functionalMap.replace("key2", 4));
+        Assert.assertFalse("Should not remove wrong value", functionalMap.remove("key1", 3));
+        Assert.assertTrue("Should remove value", functionalMap.remove("key1", 4));
+        Assert.assertEquals("Should use default", Integer.valueOf(7), functionalMap.getOrDefault("key1", 7));
+    }
+
+    @Test
+    public void test_replaceAll_forEach() {
+        functionalMap.putF("key1", 1).putF("key2", 2);
+        functionalMap.replaceAll((key, value) -> value * 10);
+
+        final List<Integer> values = new ArrayList<>();
+
+        functionalMap.forEach((key, value) -> values.add(value));
+
+        Assert.assertEquals("Should have all values", 2, values.size());
+        Assert.assertTrue("Should have replaced", values.contains(10) && values.contains(20));
+    }
+
+    @Test
+    public void test_otherConcurrentMap() {
+        final DefaultConcurrentFunctionalMap<String, Integer> map = new DefaultConcurrentFunctionalMap<>(new ConcurrentSkipListMap<String, Integer>());
+
+        map.putF("b", 2).putF("a", 1);
+
+        Assert.assertEquals("Should count mappings", 2, map.mappingCount());
+        Assert.assertEquals("Should be sorted", "a", map.keySet().iterator().next());
+    }
+
+    /**
+     * Many threads merging into the same keys should lose no updates.
+     */
+    @Test
+    public void test_mergeF_concurrent() throws Exception {
+        final int threads = 8;
+        final int increments = 10000;
+
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        try {
+            final List<Future<Void>> futures = new ArrayList<>();
+
+            for (int thread = 0; thread < threads; thread++) {
+                futures.add(executor.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() {
+                        for (int count = 0; count < increments; count++) {
+                            functionalMap.mergeF("key" + (count % 4), 1, Integer::sum);
+                        }
+
+                        return null;
+                    }
+                }));
+            }
+
+            for (final Future<Void> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        int total = 0;
+
+        for (final Integer value : functionalMap.values()) {
+            total += value;
+        }
+
+        Assert.assertEquals("Should have four keys", 4, functionalMap.size());
+        Assert.assertEquals("Should not have lost updates", threads * increments, total);
+    }
+}
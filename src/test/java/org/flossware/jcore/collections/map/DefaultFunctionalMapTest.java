@@ -16,7 +16,11 @@
  */
 package org.flossware.jcore.collections.map;
 
+import java.util.Arrays;
+import java.util.Map;
 import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.flossware.jcore.utils.collections.MapUtils;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -74,4 +78,79 @@ public class DefaultFunctionalMapTest {
 
         Assert.assertTrue("Should be no elements", functionalMap.isEmpty());
     }
+
+    @Test
+    public void test_constructor_expectedSize() {
+        final DefaultFunctionalMap<String, String> map = new DefaultFunctionalMap<>(100);
+
+        map.putF("key1", "val1");
+
+        Assert.assertEquals("Should have found the element", "val1", map.get("key1"));
+
+        try {
+            new DefaultFunctionalMap<String, String>(-1);
+            Assert.fail("Should not allow a negative expected size");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertEquals("Should be correct failure message", MapUtils.EXPECTED_SIZE_ERROR_MSG, illegalArgumentException.getMessage());
+        }
+    }
+
+    @Test
+    public void test_putAllF_arrays() {
+        functionalMap.putAllF(new String[] {"key1", "key2", "key1"}, new String[] {"val1", "val2", "val3"});
+
+        Assert.assertEquals("Should have two elements", 2, functionalMap.size());
+        Assert.assertEquals("Last value should win", "val3", functionalMap.get("key1"));
+
+        try {
+            functionalMap.putAllF(new String[] {"key1"}, new String[0]);
+            Assert.fail("Should not allow keys and values of different lengths");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertEquals("Should be correct failure message", MapUtils.LENGTH_ERROR_MSG, illegalArgumentException.getMessage());
+        }
+    }
+
+    @Test
+    public void test_removeAllF() {
+        functionalMap.putF("key1", "val1").putF("key2", "val2").putF("key3", "val3").removeAllF(Arrays.asList("key1", "key3", "key9"));
+
+        Assert.assertEquals("Should have one element", 1, functionalMap.size());
+        Assert.assertEquals("Should have kept the element", "val2", functionalMap.get("key2"));
+    }
+
+    @Test
+    public void test_getAll() {
+        functionalMap.putF("key1", "val1").putF("key2", "val2").putF("key3", "val3");
+
+        final Map<String, String> found = functionalMap.getAll(Arrays.asList("key3", "key9", "key1"));
+
+        Assert.assertEquals("Should have two elements", 2, found.size());
+        Assert.assertEquals("Should be in the order asked for", Arrays.asList("key3", "key1"), Arrays.asList(found.keySet().toArray()));
+        Assert.assertEquals("Should have found the element", "val1", found.get("key1"));
+    }
+
+    @Test
+    public void test_parallel() {
+        final DefaultFunctionalMap<Integer, String> map = new DefaultFunctionalMap<>(5000);
+
+        for (int index = 0; index < 5000; index++) {
+            map.putF(index, String.valueOf(index));
+        }
+
+        final AtomicLong sum = new AtomicLong();
+
+        Assert.assertSame("Should return self", map, map.parallelForEach(10, (key, value) -> sum.addAndGet(key)));
+        Assert.assertEquals("Should have visited every entry", 4999L * 5000L / 2, sum.get());
+
+        final Map<Integer, String> filtered = map.parallelFilter(10, (key, value) -> value.endsWith("99"));
+
+        Assert.assertEquals("Should have filtered", 50, filtered.size());
+        Assert.assertEquals("Should have kept the value", "4999", filtered.get(4999));
+        Assert.assertEquals("Should have mapped every entry", 5000, map.parallelMap(10, (key, value) -> key + value).size());
+        Assert.assertEquals("Should map and sum", Long.valueOf(4999L * 5000L / 2), map.parallelReduce(10, (key, value) -> (long) key, 0L, Long::sum));
+        Assert.assertEquals("Should map and sum", Long.valueOf(5000), map.parallelReduce((key, value) -> 1L, 0L, Long::sum));
+        Assert.assertEquals("Should find all", 5000, map.parallelForEach((key, value) -> {
+        }).parallelFilter((key, value) -> true).size());
+        Assert.assertEquals("Should have mapped every entry", 5000, map.parallelMap((key, value) -> key).size());
+    }
 }
@@ -0,0 +1,272 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.map;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.flossware.jcore.utils.collections.MapUtils;
+import org.flossware.jcore.utils.collections.PrimitiveHashUtils;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the DefaultIntFunctionalMap class.
+ *
+ * @author Scot P. Floess
+ */
+public class DefaultIntFunctionalMapTest {
+
+    private DefaultIntFunctionalMap<String> functionalMap;
+
+    @Before
+    public void init() {
+        functionalMap = new DefaultIntFunctionalMap<>();
+    }
+
+    @Test
+    public void test_constructor_badExpectedSize() {
+        try {
+            new DefaultIntFunctionalMap<>(-1);
+            Assert.fail("Should not allow a negative expected size");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertEquals("Should be correct failure message", PrimitiveHashUtils.EXPECTED_SIZE_ERROR_MSG, illegalArgumentException.getMessage());
+        }
+    }
+
+    @Test
+    public void test_constructor_badLoadFactor() {
+        try {
+            new DefaultIntFunctionalMap<>(10, 1);
+            Assert.fail("Should not allow a load factor of 1");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertEquals("Should be correct failure message", PrimitiveHashUtils.LOAD_FACTOR_ERROR_MSG, illegalArgumentException.getMessage());
+        }
+    }
+
+    @Test
+    public void test_putF() {
+        functionalMap.putF(1, "val1").putF(2, "val2").putF(0, "val0").putF(-3, "val3");
+
+        Assert.assertEquals("Should have four elements", 4, functionalMap.size());
+        Assert.assertEquals("Should have found the element", "val0", functionalMap.get(0));
+        Assert.assertEquals("Should have found the element", "val1", functionalMap.get(1));
+        Assert.assertEquals("Should have found the element", "val3", functionalMap.get(-3));
+        Assert.assertNull("Should not have found the element", functionalMap.get(4));
+        Assert.assertEquals("Should have used the default", "default", functionalMap.getOrDefault(4, "default"));
+    }
+
+    @Test
+    public void test_put_replace() {
+        Assert.assertNull("Should be no previous value", functionalMap.put(1, "val1"));
+        Assert.assertEquals("Should be previous value", "val1", functionalMap.put(1, "val2"));
+        Assert.assertNull("Should be no previous value", functionalMap.put(0, "zero1"));
+        Assert.assertEquals("Should be previous value", "zero1", functionalMap.put(0, "zero2"));
+        Assert.assertEquals("Should have two elements", 2, functionalMap.size());
+    }
+
+    @Test
+    public void test_null_value() {
+        functionalMap.putF(5, null);
+
+        Assert.assertTrue("Should contain key", functionalMap.containsKey(5));
+        Assert.assertTrue("Should contain null", functionalMap.containsValue(null));
+        Assert.assertNull("Should be a null value", functionalMap.getOrDefault(5, "default"));
+    }
+
+    @Test
+    public void test_containsKey_containsValue() {
+        functionalMap.putF(0, "val0").putF(7, "val7");
+
+        Assert.assertTrue("Should contain key", functionalMap.containsKey(0));
+        Assert.assertTrue("Should contain key", functionalMap.containsKey(7));
+        Assert.assertFalse("Should not contain key", functionalMap.containsKey(8));
+        Assert.assertTrue("Should contain value", functionalMap.containsValue("val0"));
+        Assert.assertTrue("Should contain value", functionalMap.containsValue("val7"));
+        Assert.assertFalse("Should not contain value", functionalMap.containsValue("val8"));
+    }
+
+    @Test
+    public void test_removeF() {
+        functionalMap.putF(1, "val1").putF(2, "val2").putF(0, "val0");
+        functionalMap.removeF(1).removeF(0).removeF(2).removeF(9);
+
+        Assert.assertTrue("Should be no elements", functionalMap.isEmpty());
+        Assert.assertNull("Should not remove a missing key", functionalMap.remove(0));
+    }
+
+    @Test
+    public void test_putAllF() {
+        final DefaultIntFunctionalMap<String> map = new DefaultIntFunctionalMap<>();
+        map.putF(1, "val1").putF(0, "val0");
+
+        functionalMap.putF(2, "val2").putAllF(map);
+
+        Assert.assertEquals("Should have three elements", 3, functionalMap.size());
+        Assert.assertEquals("Should have copied the element", "val0", functionalMap.get(0));
+    }
+
+    @Test
+    public void test_putAllF_null() {
+        try {
+            functionalMap.putAllF(null);
+            Assert.fail("Should not allow a null map");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertEquals("Should be correct failure message", DefaultIntFunctionalMap.MAP_ERROR_MSG, illegalArgumentException.getMessage());
+        }
+    }
+
+    @Test
+    public void test_putAllF_arrays() {
+        functionalMap.putAllF(new int[] {1, 0, 2, 1}, new String[] {"val1", "val0", "val2", "val1b"});
+
+        Assert.assertEquals("Should have three elements", 3, functionalMap.size());
+        Assert.assertEquals("Last value should win", "val1b", functionalMap.get(1));
+        Assert.assertEquals("Should have put the 0 key", "val0", functionalMap.get(0));
+    }
+
+    @Test
+    public void test_putAllF_arrays_badParams() {
+        try {
+            functionalMap.putAllF(null, new String[] {"val1"});
+            Assert.fail("Should not allow null keys");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertEquals("Should be correct failure message", MapUtils.KEYS_ERROR_MSG, illegalArgumentException.getMessage());
+        }
+
+        try {
+            functionalMap.putAllF(new int[] {1}, null);
+            Assert.fail("Should not allow null values");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertEquals("Should be correct failure message", MapUtils.VALUES_ERROR_MSG, illegalArgumentException.getMessage());
+        }
+
+        try {
+            functionalMap.putAllF(new int[] {1, 2}, new String[] {"val1"});
+            Assert.fail("Should not allow keys and values of different lengths");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertEquals("Should be correct failure message", MapUtils.LENGTH_ERROR_MSG, illegalArgumentException.getMessage());
+        }
+
+        Assert.assertTrue("Should be no elements", functionalMap.isEmpty());
+    }
+
+    @Test
+    public void test_removeAllF() {
+        functionalMap.putAllF(new int[] {1, 0, 2, 1}, new String[] {"val1", "val0", "val2", "val1b"}).removeAllF(new int[] {1, 0, 9});
+
+        Assert.assertEquals("Should have one element", 1, functionalMap.size());
+        Assert.assertTrue("Should contain key", functionalMap.containsKey(2));
+
+        try {
+            functionalMap.removeAllF(null);
+            Assert.fail("Should not allow null keys");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertEquals("Should be correct failure message", MapUtils.KEYS_ERROR_MSG, illegalArgumentException.getMessage());
+        }
+    }
+
+    @Test
+    public void test_ensureCapacity() {
+        final DefaultIntFunctionalMap<String> map = new DefaultIntFunctionalMap<>(10);
+
+        map.putF(0, "val0").putF(1, "val1b");
+
+        for (int key = 2; key < 1000; key++) {
+            map.ensureCapacity(1000).putF(key, "val0");
+        }
+
+        Assert.assertEquals("Should have all elements", 1000, map.size());
+        Assert.assertEquals("Should have kept the element", "val1b", map.get(1));
+
+        try {
+            map.ensureCapacity(-1);
+            Assert.fail("Should not allow a negative expected size");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertEquals("Should be correct failure message", PrimitiveHashUtils.EXPECTED_SIZE_ERROR_MSG, illegalArgumentException.getMessage());
+        }
+    }
+
+    @Test
+    public void test_keys_forEach() {
+        functionalMap.putF(0, "0").putF(10, "10").putF(20, "20");
+
+        int sum = 0;
+
+        for (final int key : functionalMap.keys()) {
+            sum += key;
+        }
+
+        Assert.assertEquals("Should have all keys", 3, functionalMap.keys().length);
+        Assert.assertEquals("Should have all keys", 30, sum);
+
+        final Map<Integer, String> copy = new HashMap<>();
+
+        functionalMap.forEach((key, value) -> copy.put(key, value));
+
+        Assert.assertEquals("Should have all entries", 3, copy.size());
+        Assert.assertEquals("Should have correct value", "20", copy.get((int) 20));
+    }
+
+    @Test
+    public void test_clear() {
+        functionalMap.putF(0, "0").putF(10, "10");
+        functionalMap.clear();
+
+        Assert.assertTrue("Should be no elements", functionalMap.isEmpty());
+        Assert.assertFalse("Should not contain key", functionalMap.containsKey(0));
+        Assert.assertEquals("Should be empty", "{}", functionalMap.toString());
+    }
+
+    @Test
+    public void test_toString() {
+        functionalMap.putF(1, "one");
+
+        Assert.assertEquals("Should be correct string", "{1=one}", functionalMap.toString());
+    }
+
+    /**
+     * Mixes puts and removes on a small key range (lots of collisions and shifting) checking against a HashMap.
+     */
+    @Test
+    public void test_random_operations() {
+        final Random random = new Random(42);
+        final Map<Integer, String> expected = new HashMap<>();
+        final DefaultIntFunctionalMap<String> actual = new DefaultIntFunctionalMap<>(0);
+
+        for (int count = 0; count < 100000; count++) {
+            final int key = random.nextInt(2000) - 1000;
+
+            if (random.nextInt(3) == 0) {
+                Assert.assertEquals("Should remove same value", expected.remove(key), actual.remove(key));
+            } else {
+                Assert.assertEquals("Should put same value", expected.put(key, "v" + count), actual.put(key, "v" + count));
+            }
+        }
+
+        Assert.assertEquals("Should be same size", expected.size(), actual.size());
+
+        for (final Map.Entry<Integer, String> entry : expected.entrySet()) {
+            Assert.assertEquals("Should be same value", entry.getValue(), actual.get(entry.getKey()));
+        }
+
+        for (final int key : actual.keys()) {
+            Assert.assertTrue("Should not have extra keys", expected.containsKey(key));
+        }
+    }
+}
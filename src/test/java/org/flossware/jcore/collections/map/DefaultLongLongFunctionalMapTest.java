@@ -0,0 +1,243 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.map;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.flossware.jcore.utils.collections.MapUtils;
+import org.flossware.jcore.utils.collections.PrimitiveHashUtils;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the DefaultLongLongFunctionalMap class.
+ *
+ * @author Scot P. Floess
+ */
+public class DefaultLongLongFunctionalMapTest {
+
+    private DefaultLongLongFunctionalMap functionalMap;
+
+    @Before
+    public void init() {
+        functionalMap = new DefaultLongLongFunctionalMap();
+    }
+
+    @Test
+    public void test_noEntryValue() {
+        final DefaultLongLongFunctionalMap map = new DefaultLongLongFunctionalMap(10, 0.5f, -1);
+
+        Assert.assertEquals("Should be no entry value", -1, map.getNoEntryValue());
+        Assert.assertEquals("Should be no entry value", -1, map.get(5));
+        Assert.assertEquals("Should be no entry value", -1, map.put(5, 50));
+        Assert.assertEquals("Should be no entry value", -1, map.remove(6));
+        Assert.assertEquals("Should start from no entry value", 9, map.addTo(7, 10));
+        Assert.assertEquals("Should be the default", 3, map.getOrDefault(8, 3));
+    }
+
+    @Test
+    public void test_putF() {
+        functionalMap.putF(1, 10).putF(2, 20).putF(0, 100).putF(-3, 30);
+
+        Assert.assertEquals("Should have four elements", 4, functionalMap.size());
+        Assert.assertEquals("Should have found the element", 100, functionalMap.get(0));
+        Assert.assertEquals("Should have found the element", 10, functionalMap.get(1));
+        Assert.assertEquals("Should have found the element", 30, functionalMap.get(-3));
+        Assert.assertEquals("Should not have found the element", 0, functionalMap.get(4));
+        Assert.assertTrue("Should contain value", functionalMap.containsValue(100));
+        Assert.assertTrue("Should contain value", functionalMap.containsValue(30));
+        Assert.assertFalse("Should not contain value", functionalMap.containsValue(40));
+    }
+
+    @Test
+    public void test_addTo() {
+        Assert.assertEquals("Should be added", 5, functionalMap.addTo(1, 5));
+        Assert.assertEquals("Should be added", 8, functionalMap.addTo(1, 3));
+        Assert.assertEquals("Should be added", 2, functionalMap.addTo(0, 2));
+        Assert.assertEquals("Should be added", 1, functionalMap.addTo(0, -1));
+        Assert.assertEquals("Should have two elements", 2, functionalMap.size());
+    }
+
+    @Test
+    public void test_removeF() {
+        functionalMap.putF(1, 1).putF(2, 2).putF(0, 0);
+        functionalMap.removeF(1).removeF(0).removeF(2).removeF(9);
+
+        Assert.assertTrue("Should be no elements", functionalMap.isEmpty());
+        Assert.assertFalse("Should not contain key", functionalMap.containsKey(0));
+    }
+
+    @Test
+    public void test_putAllF() {
+        final DefaultLongLongFunctionalMap map = new DefaultLongLongFunctionalMap();
+        map.putF(1, 1).putF(0, 5);
+
+        functionalMap.putF(2, 2).putAllF(map);
+
+        Assert.assertEquals("Should have three elements", 3, functionalMap.size());
+        Assert.assertEquals("Should have copied the element", 5, functionalMap.get(0));
+    }
+
+    @Test
+    public void test_putAllF_null() {
+        try {
+            functionalMap.putAllF(null);
+            Assert.fail("Should not allow a null map");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertEquals("Should be correct failure message", DefaultLongLongFunctionalMap.MAP_ERROR_MSG, illegalArgumentException.getMessage());
+        }
+    }
+
+    @Test
+    public void test_putAllF_arrays() {
+        functionalMap.putAllF(new long[] {1, 0, 2, 1}, new long[] {11, 10, 12, 21});
+
+        Assert.assertEquals("Should have three elements", 3, functionalMap.size());
+        Assert.assertEquals("Last value should win", 21, functionalMap.get(1));
+        Assert.assertEquals("Should have put the 0 key", 10, functionalMap.get(0));
+    }
+
+    @Test
+    public void test_putAllF_arrays_badParams() {
+        try {
+            functionalMap.putAllF(null, new long[] {11});
+            Assert.fail("Should not allow null keys");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertEquals("Should be correct failure message", MapUtils.KEYS_ERROR_MSG, illegalArgumentException.getMessage());
+        }
+
+        try {
+            functionalMap.putAllF(new long[] {1}, null);
+            Assert.fail("Should not allow null values");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertEquals("Should be correct failure message", MapUtils.VALUES_ERROR_MSG, illegalArgumentException.getMessage());
+        }
+
+        try {
+            functionalMap.putAllF(new long[] {1, 2}, new long[] {11});
+            Assert.fail("Should not allow keys and values of different lengths");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertEquals("Should be correct failure message", MapUtils.LENGTH_ERROR_MSG, illegalArgumentException.getMessage());
+        }
+
+        Assert.assertTrue("Should be no elements", functionalMap.isEmpty());
+    }
+
+    @Test
+    public void test_removeAllF() {
+        functionalMap.putAllF(new long[] {1, 0, 2, 1}, new long[] {11, 10, 12, 21}).removeAllF(new long[] {1, 0, 9});
+
+        Assert.assertEquals("Should have one element", 1, functionalMap.size());
+        Assert.assertTrue("Should contain key", functionalMap.containsKey(2));
+
+        try {
+            functionalMap.removeAllF(null);
+            Assert.fail("Should not allow null keys");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertEquals("Should be correct failure message", MapUtils.KEYS_ERROR_MSG, illegalArgumentException.getMessage());
+        }
+    }
+
+    @Test
+    public void test_ensureCapacity() {
+        final DefaultLongLongFunctionalMap map = new DefaultLongLongFunctionalMap(10);
+
+        map.putF(0, 10).putF(1, 21);
+
+        for (int key = 2; key < 1000; key++) {
+            map.ensureCapacity(1000).putF(key, 10);
+        }
+
+        Assert.assertEquals("Should have all elements", 1000, map.size());
+        Assert.assertEquals("Should have kept the element", 21, map.get(1));
+
+        try {
+            map.ensureCapacity(-1);
+            Assert.fail("Should not allow a negative expected size");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertEquals("Should be correct failure message", PrimitiveHashUtils.EXPECTED_SIZE_ERROR_MSG, illegalArgumentException.getMessage());
+        }
+    }
+
+    @Test
+    public void test_keys_values_forEach() {
+        functionalMap.putF(0, 1).putF(10, 11).putF(20, 21);
+
+        final long[] keys = functionalMap.keys();
+        final long[] values = functionalMap.values();
+
+        Assert.assertEquals("Should have all keys", 3, keys.length);
+
+        for (int index = 0; index < keys.length; index++) {
+            Assert.assertEquals("Values should line up with keys", keys[index] + 1, values[index]);
+        }
+
+        final Map<Long, Long> copy = new HashMap<>();
+
+        functionalMap.forEach((key, value) -> copy.put(key, value));
+
+        Assert.assertEquals("Should have all entries", 3, copy.size());
+    }
+
+    @Test
+    public void test_clear() {
+        functionalMap.putF(0, 1).putF(10, 11);
+        functionalMap.clear();
+
+        Assert.assertTrue("Should be no elements", functionalMap.isEmpty());
+        Assert.assertEquals("Should be empty", "{}", functionalMap.toString());
+    }
+
+    /**
+     * Mixes puts, adds and removes on a small key range checking against a HashMap.
+     */
+    @Test
+    public void test_random_operations() {
+        final Random random = new Random(42);
+        final Map<Long, Long> expected = new HashMap<>();
+        final DefaultLongLongFunctionalMap actual = new DefaultLongLongFunctionalMap(0);
+
+        for (int count = 0; count < 100000; count++) {
+            final long key = random.nextInt(2000) - 1000;
+
+            switch (random.nextInt(3)) {
+                case 0:
+                    final Long removed = expected.remove(key);
+                    Assert.assertEquals("Should remove same value", null == removed ? 0 : removed, actual.remove(key));
+                    break;
+
+                case 1:
+                    final Long previous = expected.put(key, (long) count);
+                    Assert.assertEquals("Should put same value", null == previous ? 0 : previous, actual.put(key, count));
+                    break;
+
+                default:
+                    final Long current = expected.get(key);
+                    expected.put(key, (long) ((null == current ? 0 : current) + 1));
+                    Assert.assertEquals("Should add same value", (long) expected.get(key), actual.addTo(key, 1));
+            }
+        }
+
+        Assert.assertEquals("Should be same size", expected.size(), actual.size());
+
+        for (final Map.Entry<Long, Long> entry : expected.entrySet()) {
+            Assert.assertEquals("Should be same value", (long) entry.getValue(), actual.get(entry.getKey()));
+        }
+    }
+}
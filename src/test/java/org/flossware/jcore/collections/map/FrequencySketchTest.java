@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the FrequencySketch class.
+ *
+ * @author Scot P. Floess
+ */
+public class FrequencySketchTest {
+
+    @Test
+    public void test_increment() {
+        final FrequencySketch sketch = new FrequencySketch();
+
+        sketch.ensureCapacity(512);
+
+        for (int count = 0; count < 5; count++) {
+            sketch.increment(42);
+        }
+
+        Assert.assertEquals("Should estimate the frequency", 5, sketch.frequency(42));
+        Assert.assertEquals("Should not have seen the key", 0, sketch.frequency(43));
+    }
+
+    @Test
+    public void test_saturates() {
+        final FrequencySketch sketch = new FrequencySketch();
+
+        sketch.ensureCapacity(512);
+
+        for (int count = 0; count < 100; count++) {
+            sketch.increment(42);
+        }
+
+        Assert.assertEquals("Should saturate", FrequencySketch.MAX_COUNT, sketch.frequency(42));
+    }
+
+    @Test
+    public void test_ages() {
+        final FrequencySketch sketch = new FrequencySketch();
+
+        sketch.ensureCapacity(FrequencySketch.MIN_TABLE_SIZE);
+
+        for (int count = 0; count < 8; count++) {
+            sketch.increment(42);
+        }
+
+        for (int key = 1000; key < 2000; key++) {
+            sketch.increment(key);
+        }
+
+        Assert.assertTrue("Should have halved the counts", sketch.frequency(42) < 8);
+    }
+
+    @Test
+    public void test_ensureCapacity() {
+        final FrequencySketch sketch = new FrequencySketch();
+
+        sketch.ensureCapacity(100);
+
+        Assert.assertEquals("Should round to a power of 2", 128, sketch.capacity());
+
+        sketch.ensureCapacity(10);
+
+        Assert.assertEquals("Should not shrink", 128, sketch.capacity());
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.map;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.Spliterator;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the ImmutableFunctionalMap class.
+ *
+ * @author Scot P. Floess
+ */
+public class ImmutableFunctionalMapTest {
+
+    @Test
+    public void test_constructor_null() {
+        try {
+            new ImmutableFunctionalMap<String, String>(null);
+            Assert.fail("Should not allow a null map");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertEquals("Should be correct failure message", ImmutableFunctionalMap.MAP_ERROR_MSG, illegalArgumentException.getMessage());
+        }
+    }
+
+    @Test
+    public void test_freeze() {
+        final DefaultFunctionalMap<String, String> source = new DefaultFunctionalMap<>(new LinkedHashMap<>());
+
+        source.putF("1", "one").putF("2", "two").putF("3", "three");
+
+        final FunctionalMap<String, String> frozen = source.freeze();
+
+        source.putF("4", "four");
+
+        Assert.assertTrue("Should be immutable", frozen instanceof ImmutableFunctionalMap);
+        Assert.assertSame("Should already be frozen", frozen, frozen.freeze());
+        Assert.assertEquals("Should not see later changes", 3, frozen.size());
+        Assert.assertEquals("Should find value", "two", frozen.get("2"));
+        Assert.assertNull("Should not find value", frozen.get("4"));
+        Assert.assertEquals("Should default", "none", frozen.getOrDefault("4", "none"));
+        Assert.assertTrue("Should contain key", frozen.containsKey("3"));
+        Assert.assertTrue("Should contain value", frozen.containsValue("one"));
+        Assert.assertFalse("Should not contain value", frozen.containsValue("four"));
+        Assert.assertArrayEquals("Should keep order", new Object[]{"1", "2", "3"}, frozen.keySet().toArray());
+
+        final StringBuilder sb = new StringBuilder();
+
+        frozen.forEach((key, value) -> sb.append(key).append('=').append(value).append(' '));
+
+        Assert.assertEquals("Should visit in order", "1=one 2=two 3=three ", sb.toString());
+    }
+
+    @Test
+    public void test_nulls() {
+        final Map<String, String> source = new HashMap<>();
+
+        source.put(null, "null");
+        source.put("key", null);
+
+        final ImmutableFunctionalMap<String, String> frozen = new ImmutableFunctionalMap<>(source);
+
+        Assert.assertEquals("Should find null key", "null", frozen.get(null));
+        Assert.assertTrue("Should contain key with null value", frozen.containsKey("key"));
+        Assert.assertTrue("Should contain null value", frozen.containsValue(null));
+        Assert.assertEquals("Should equal source", source, new HashMap<>(frozen));
+    }
+
+    @Test
+    public void test_empty() {
+        final ImmutableFunctionalMap<String, String> frozen = new ImmutableFunctionalMap<>(new HashMap<>());
+
+        Assert.assertTrue("Should be empty", frozen.isEmpty());
+        Assert.assertNull("Should not find value", frozen.get("key"));
+        Assert.assertFalse("Should not iterate", frozen.entrySet().iterator().hasNext());
+    }
+
+    /**
+     * Copy a map changing size while copied - size() no longer matching what iteration returns.
+     */
+    @Test
+    public void test_changingSize() {
+        for (final int reportedSize : new int[]{0, 1, 10}) {
+            final Map<String, String> changing = new LinkedHashMap<String, String>() {
+                @Override
+                public int size() {
+                    return reportedSize;
+                }
+            };
+
+            for (int key = 0; key < 5; key++) {
+                changing.put("k" + key, "v" + key);
+            }
+
+            final ImmutableFunctionalMap<String, String> map = new ImmutableFunctionalMap<>(changing);
+
+            Assert.assertEquals("Should keep what was iterated", 5, map.size());
+
+            for (int key = 0; key < 5; key++) {
+                Assert.assertEquals("Should find key", "v" + key, map.get("k" + key));
+            }
+        }
+    }
+
+    @Test
+    public void test_mutators() {
+        final ImmutableFunctionalMap<String, String> frozen = new ImmutableFunctionalMap<>(new DefaultFunctionalMap<String, String>(new HashMap<>()).putF("1", "one"));
+
+        try {
+            frozen.putF("2", "two");
+            Assert.fail("Should not allow put");
+        } catch (final UnsupportedOperationException unsupportedOperationException) {
+        }
+
+        try {
+            frozen.removeF("1");
+            Assert.fail("Should not allow remove");
+        } catch (final UnsupportedOperationException unsupportedOperationException) {
+        }
+
+        try {
+            frozen.clear();
+            Assert.fail("Should not allow clear");
+        } catch (final UnsupportedOperationException unsupportedOperationException) {
+        }
+
+        try {
+            frozen.entrySet().iterator().next().setValue("ONE");
+            Assert.fail("Should not allow setting a value");
+        } catch (final UnsupportedOperationException unsupportedOperationException) {
+        }
+
+        Assert.assertEquals("Should be unchanged", "one", frozen.get("1"));
+    }
+
+    /**
+     * Compares many random maps with their frozen copies.
+     */
+    @Test
+    public void test_random() {
+        final Random random = new Random(7);
+
+        for (int size = 0; size < 300; size += 7) {
+            final Map<Integer, Integer> source = new HashMap<>();
+
+            while (source.size() < size) {
+                source.put(random.nextInt(), random.nextInt());
+            }
+
+            final ImmutableFunctionalMap<Integer, Integer> frozen = new ImmutableFunctionalMap<>(source);
+
+            Assert.assertEquals("Should be same size", source.size(), frozen.size());
+            Assert.assertEquals("Should be same entries", source, new HashMap<>(frozen));
+
+            for (final Map.Entry<Integer, Integer> entry : source.entrySet()) {
+                Assert.assertEquals("Should find value", entry.getValue(), frozen.get(entry.getKey()));
+            }
+
+            for (int count = 0; count < 100; count++) {
+                final int key = random.nextInt();
+
+                Assert.assertEquals("Should agree on absent keys", source.containsKey(key), frozen.containsKey(key));
+            }
+        }
+    }
+
+    @Test
+    public void test_spliterator() {
+        final Map<Integer, Integer> source = new LinkedHashMap<>();
+
+        for (int index = 0; index < 1000; index++) {
+            source.put(index, index * 2);
+        }
+
+        final FunctionalMap<Integer, Integer> map = new ImmutableFunctionalMap<>(source);
+        final Spliterator<Map.Entry<Integer, Integer>> spliterator = map.entrySet().spliterator();
+
+        Assert.assertTrue("Should be sized", spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED));
+
+        final Spliterator<Map.Entry<Integer, Integer>> prefix = spliterator.trySplit();
+
+        Assert.assertEquals("Should split in half", 500, prefix.estimateSize());
+        Assert.assertEquals("Should split in half", 500, spliterator.estimateSize());
+        Assert.assertTrue("Should advance", prefix.tryAdvance(entry -> Assert.assertEquals("Should be first entry", Integer.valueOf(0), entry.getKey())));
+        Assert.assertEquals("Should keep order", new ArrayList<>(source.values()), map.parallelMap(7, (key, value) -> value));
+        Assert.assertEquals("Should filter", 10, map.parallelFilter(7, (key, value) -> key % 100 == 0).size());
+    }
+}
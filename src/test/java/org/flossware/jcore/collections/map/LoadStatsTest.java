@@ -0,0 +1,48 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the LoadStats class.
+ *
+ * @author Scot P. Floess
+ */
+public class LoadStatsTest {
+
+    @Test
+    public void test_getters() {
+        final LoadStats stats = new LoadStats(3, 1, 8000000, 5, 2);
+
+        Assert.assertEquals("Should be correct successes", 3, stats.getLoadSuccessCount());
+        Assert.assertEquals("Should be correct failures", 1, stats.getLoadFailureCount());
+        Assert.assertEquals("Should be correct loads", 4, stats.getLoadCount());
+        Assert.assertEquals("Should be correct load time", 8000000, stats.getTotalLoadTimeNanos());
+        Assert.assertEquals("Should be correct average", 2000000.0, stats.getAverageLoadPenaltyNanos(), 0.0);
+        Assert.assertEquals("Should be correct average", 2.0, stats.getAverageLoadPenaltyMillis(), 0.0);
+        Assert.assertEquals("Should be correct coalesced", 5, stats.getCoalescedCount());
+        Assert.assertEquals("Should be correct refreshes", 2, stats.getRefreshCount());
+        Assert.assertTrue("Should render the counts", stats.toString().contains("coalesced=5"));
+    }
+
+    @Test
+    public void test_noLoads() {
+        Assert.assertEquals("Should be no average", 0.0, new LoadStats(0, 0, 0, 0, 0).getAverageLoadPenaltyNanos(), 0.0);
+    }
+}
@@ -0,0 +1,403 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.map;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the LoadingFunctionalMap class.
+ *
+ * @author Scot P. Floess
+ */
+public class LoadingFunctionalMapTest {
+
+    @Test
+    public void test_constructor_badParams() {
+        try {
+            new LoadingFunctionalMap<String, String>(null);
+            Assert.fail("Should not allow a null loader");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertEquals("Should be correct failure message", LoadingFunctionalMap.LOADER_ERROR_MSG, illegalArgumentException.getMessage());
+        }
+
+        try {
+            new LoadingFunctionalMap<String, String>(null, key -> key);
+            Assert.fail("Should not allow a null map");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertEquals("Should be correct failure message", LoadingFunctionalMap.MAP_ERROR_MSG, illegalArgumentException.getMessage());
+        }
+
+        try {
+            new LoadingFunctionalMap<String, String>(new ConcurrentHashMap<>(), key -> key, -1);
+            Assert.fail("Should not allow a negative refresh");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertEquals("Should be correct failure message", LoadingFunctionalMap.REFRESH_ERROR_MSG, illegalArgumentException.getMessage());
+        }
+
+        try {
+            new LoadingFunctionalMap<String, String>(new ConcurrentHashMap<>(), key -> key, 1, null);
+            Assert.fail("Should not allow a null executor");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertEquals("Should be correct failure message", LoadingFunctionalMap.EXECUTOR_ERROR_MSG, illegalArgumentException.getMessage());
+        }
+    }
+
+    @Test
+    public void test_get() {
+        final AtomicInteger loads = new AtomicInteger();
+        final LoadingFunctionalMap<String, String> map = new LoadingFunctionalMap<>(key -> {
+            loads.incrementAndGet();
+
+            return key.toUpperCase();
+        });
+
+        Assert.assertNull("Should not load", map.getIfPresent("foo"));
+        Assert.assertFalse("Should not load", map.containsKey("foo"));
+        Assert.assertEquals("Should load", "FOO", map.get("foo"));
+        Assert.assertEquals("Should not load again", "FOO", map.get("foo"));
+        Assert.assertEquals("Should have loaded once", 1, loads.get());
+        Assert.assertEquals("Should have stored", "FOO", map.getIfPresent("foo"));
+
+        map.putF("bar", "baz");
+
+        Assert.assertEquals("Should not load a put value", "baz", map.get("bar"));
+
+        map.removeF("foo");
+
+        Assert.assertEquals("Should load again", "FOO", map.get("foo"));
+        Assert.assertEquals("Should have loaded twice", 2, map.getStats().getLoadSuccessCount());
+    }
+
+    @Test
+    public void test_batch() {
+        final AtomicInteger loads = new AtomicInteger();
+        final LoadingFunctionalMap<String, String> map = new LoadingFunctionalMap<>(key -> {
+            loads.incrementAndGet();
+
+            return key.toUpperCase();
+        });
+
+        map.putAllF(new String[] {"a", "b"}, new String[] {"x", "y"});
+
+        final Map<String, String> found = map.getAll(Arrays.asList("a", "c", "b"));
+
+        Assert.assertEquals("Should have every key in order", Arrays.asList("a", "c", "b"), new ArrayList<>(found.keySet()));
+        Assert.assertEquals("Should have loaded the missing value", "C", found.get("c"));
+        Assert.assertEquals("Should not load put values", "x", found.get("a"));
+        Assert.assertEquals("Should have loaded once", 1, loads.get());
+
+        map.removeAllF(Arrays.asList("a", "c"));
+
+        Assert.assertEquals("Should have one element", 1, map.size());
+        Assert.assertEquals("Should load again", "A", map.get("a"));
+    }
+
+    @Test
+    public void test_get_null() {
+        final LoadingFunctionalMap<String, String> map = new LoadingFunctionalMap<>(key -> null);
+
+        try {
+            map.get(null);
+            Assert.fail("Should not allow a null key");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertEquals("Should be correct failure message", LoadingFunctionalMap.KEY_ERROR_MSG, illegalArgumentException.getMessage());
+        }
+
+        Assert.assertNull("Should load nothing", map.get("foo"));
+        Assert.assertTrue("Should store nothing", map.isEmpty());
+    }
+
+    @Test
+    public void test_get_failure() {
+        final AtomicInteger loads = new AtomicInteger();
+        final IOException failure = new IOException("backend down");
+        final LoadingFunctionalMap<String, String> map = new LoadingFunctionalMap<>(key -> {
+            if (loads.incrementAndGet() == 1) {
+                throw failure;
+            }
+
+            return key;
+        });
+
+        try {
+            map.get("foo");
+            Assert.fail("Should raise the failure");
+        } catch (final LoadException loadException) {
+            Assert.assertEquals("Should be correct failure message", LoadingFunctionalMap.LOAD_ERROR_MSG, loadException.getMessage());
+            Assert.assertSame("Should be the loader failure", failure, loadException.getCause());
+        }
+
+        Assert.assertTrue("Should store nothing", map.isEmpty());
+        Assert.assertEquals("Should retry", "foo", map.get("foo"));
+        Assert.assertEquals("Should count failure", 1, map.getStats().getLoadFailureCount());
+    }
+
+    /**
+     * Many threads missing the same key should result in one load.
+     */
+    @Test
+    public void test_get_coalesced() throws Exception {
+        final int threads = 8;
+        final AtomicInteger loads = new AtomicInteger();
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final LoadingFunctionalMap<String, String> map = new LoadingFunctionalMap<>(key -> {
+            loads.incrementAndGet();
+            started.countDown();
+            release.await();
+
+            return key.toUpperCase();
+        });
+
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        try {
+            final List<Future<String>> results = new ArrayList<>();
+
+            results.add(executor.submit(() -> map.get("foo")));
+
+            Assert.assertTrue("Should have started loading", started.await(10, TimeUnit.SECONDS));
+
+            for (int count = 1; count < threads; count++) {
+                results.add(executor.submit(() -> map.get("foo")));
+            }
+
+            while (map.getStats().getCoalescedCount() < threads - 1) {
+                Thread.sleep(1);
+            }
+
+            release.countDown();
+
+            for (final Future<String> result : results) {
+                Assert.assertEquals("Should all see the value", "FOO", result.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Assert.assertEquals("Should have loaded once", 1, loads.get());
+        Assert.assertEquals("Should have coalesced the rest", threads - 1, map.getStats().getCoalescedCount());
+    }
+
+    /**
+     * A coalesced request should see the failure of the load it waited on.
+     */
+    @Test
+    public void test_get_coalescedFailure() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final IOException failure = new IOException("backend down");
+        final LoadingFunctionalMap<String, String> map = new LoadingFunctionalMap<>(key -> {
+            started.countDown();
+            release.await();
+
+            throw failure;
+        });
+
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            final Future<String> first = executor.submit(() -> map.get("foo"));
+
+            Assert.assertTrue("Should have started loading", started.await(10, TimeUnit.SECONDS));
+
+            final Future<String> second = executor.submit(() -> map.get("foo"));
+
+            while (map.getStats().getCoalescedCount() < 1) {
+                Thread.sleep(1);
+            }
+
+            release.countDown();
+
+            for (final Future<String> result : new Future[]{first, second}) {
+                try {
+                    result.get(10, TimeUnit.SECONDS);
+                    Assert.fail("Should raise the failure");
+                } catch (final ExecutionException executionException) {
+                    Assert.assertTrue("Should be a load exception", executionException.getCause() instanceof LoadException);
+                    Assert.assertSame("Should be the loader failure", failure, executionException.getCause().getCause());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * A value due a refresh is returned while being reloaded.
+     */
+    @Test
+    public void test_refresh_ahead() {
+        final AtomicLong ticker = new AtomicLong();
+        final AtomicInteger version = new AtomicInteger();
+        final List<Runnable> refreshes = new ArrayList<>();
+        final LoadingFunctionalMap<String, String> map = new LoadingFunctionalMap<>(new ConcurrentHashMap<>(), key -> key + version.incrementAndGet(), 100, refreshes::add, ticker::get);
+
+        Assert.assertEquals("Should load", "foo1", map.get("foo"));
+
+        ticker.addAndGet(TimeUnit.MILLISECONDS.toNanos(99));
+
+        Assert.assertEquals("Should not be due", "foo1", map.get("foo"));
+        Assert.assertTrue("Should not refresh", refreshes.isEmpty());
+
+        ticker.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+
+        Assert.assertEquals("Should return the old value", "foo1", map.get("foo"));
+        Assert.assertEquals("Should still return the old value", "foo1", map.get("foo"));
+        Assert.assertEquals("Should refresh once", 1, refreshes.size());
+
+        refreshes.get(0).run();
+
+        Assert.assertEquals("Should return the new value", "foo2", map.get("foo"));
+        Assert.assertEquals("Should count refresh", 1, map.getStats().getRefreshCount());
+        Assert.assertEquals("Should count loads", 2, map.getStats().getLoadSuccessCount());
+    }
+
+    /**
+     * A failed refresh keeps the old value.
+     */
+    @Test
+    public void test_refresh_failure() {
+        final AtomicLong ticker = new AtomicLong();
+        final AtomicInteger loads = new AtomicInteger();
+        final LoadingFunctionalMap<String, String> map = new LoadingFunctionalMap<>(new ConcurrentHashMap<>(), key -> {
+            if (loads.incrementAndGet() > 1) {
+                throw new IOException("backend down");
+            }
+
+            return key;
+        }, 100, Runnable::run, ticker::get);
+
+        map.get("foo");
+
+        ticker.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+
+        Assert.assertEquals("Should return the old value", "foo", map.get("foo"));
+        Assert.assertEquals("Should keep the old value", "foo", map.get("foo"));
+        Assert.assertEquals("Should not retry until another interval passes", 2, loads.get());
+        Assert.assertEquals("Should count failure", 1, map.getStats().getLoadFailureCount());
+    }
+
+    /**
+     * A refresh does not overwrite a value put while it ran.
+     */
+    @Test
+    public void test_refresh_replaced() {
+        final AtomicLong ticker = new AtomicLong();
+        final AtomicInteger version = new AtomicInteger();
+        final List<Runnable> refreshes = new ArrayList<>();
+        final LoadingFunctionalMap<String, String> map = new LoadingFunctionalMap<>(new ConcurrentHashMap<>(), key -> key + version.incrementAndGet(), 100, refreshes::add, ticker::get);
+
+        map.get("foo");
+
+        ticker.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+
+        map.get("foo");
+        map.put("foo", "bar");
+
+        refreshes.get(0).run();
+
+        Assert.assertEquals("Should keep the value put", "bar", map.get("foo"));
+
+        map.get("foo");
+        ticker.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        map.get("foo");
+        map.remove("foo");
+
+        refreshes.get(1).run();
+
+        Assert.assertNull("Should not restore a removed key", map.getIfPresent("foo"));
+    }
+
+    /**
+     * A loader getting its own key fails rather than deadlocking.
+     */
+    @Test
+    public void test_get_recursive() {
+        final Map<String, LoadingFunctionalMap<String, String>> holder = new ConcurrentHashMap<>();
+        final LoadingFunctionalMap<String, String> map = new LoadingFunctionalMap<>(key -> holder.get("map").get(key));
+
+        holder.put("map", map);
+
+        try {
+            map.get("foo");
+
+            Assert.fail("Should not be able to load recursively");
+        } catch (final LoadException loadException) {
+            Assert.assertTrue("Should be recursive", loadException.getCause() instanceof IllegalStateException);
+            Assert.assertEquals("Should be correct message", LoadingFunctionalMap.RECURSIVE_LOAD_ERROR_MSG, loadException.getCause().getMessage());
+        }
+
+        Assert.assertEquals("Should not wait on itself", 0, map.getStats().getCoalescedCount());
+    }
+
+    @Test
+    public void test_refresh() throws Exception {
+        final AtomicInteger version = new AtomicInteger();
+        final LoadingFunctionalMap<String, String> map = new LoadingFunctionalMap<>(new ConcurrentHashMap<>(), key -> key + version.incrementAndGet(), LoadingFunctionalMap.NO_REFRESH, Runnable::run);
+
+        final CompletableFuture<String> load = map.refresh("foo");
+
+        Assert.assertEquals("Should load a missing key", "foo1", load.get());
+        Assert.assertEquals("Should reload", "foo2", map.refresh("foo").get());
+        Assert.assertEquals("Should have stored the reload", "foo2", map.get("foo"));
+    }
+
+    /**
+     * Read through a bounded cache - evicted keys are loaded again.
+     */
+    @Test
+    public void test_cachingMap() {
+        final AtomicInteger loads = new AtomicInteger();
+        final LoadingFunctionalMap<Integer, Integer> map = new LoadingFunctionalMap<>(new CachingFunctionalMap<>(EvictionPolicy.LRU, 2), key -> {
+            loads.incrementAndGet();
+
+            return key * 2;
+        }, 60000);
+
+        Assert.assertEquals("Should load", Integer.valueOf(2), map.get(1));
+        Assert.assertEquals("Should load", Integer.valueOf(4), map.get(2));
+        Assert.assertEquals("Should load", Integer.valueOf(6), map.get(3));
+        Assert.assertEquals("Should load an evicted key", Integer.valueOf(2), map.get(1));
+        Assert.assertEquals("Should have loaded each time", 4, loads.get());
+        Assert.assertEquals("Should be bounded", 2, map.size());
+
+        for (int key = 10; key < 1000; key++) {
+            map.get(key);
+        }
+
+        map.clear();
+
+        Assert.assertTrue("Should be empty", map.isEmpty());
+    }
+}
@@ -0,0 +1,321 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.map;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.flossware.jcore.io.BufferAllocator;
+import org.flossware.jcore.io.DirectBufferAllocator;
+import org.flossware.jcore.io.IntegerSerializer;
+import org.flossware.jcore.io.StringSerializer;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the OffHeapFunctionalMap class.
+ *
+ * @author Scot P. Floess
+ */
+public class OffHeapFunctionalMapTest {
+
+    private OffHeapFunctionalMap<String, Integer> functionalMap;
+
+    @Before
+    public void init() {
+        functionalMap = new OffHeapFunctionalMap<>(StringSerializer.INSTANCE, IntegerSerializer.INSTANCE, new DirectBufferAllocator(), 256, 0);
+    }
+
+    @After
+    public void close() {
+        functionalMap.close();
+    }
+
+    @Test
+    public void test_constructor_badSegmentSize() {
+        try {
+            new OffHeapFunctionalMap<>(StringSerializer.INSTANCE, IntegerSerializer.INSTANCE, new DirectBufferAllocator(), 10, 0);
+            Assert.fail("Should not allow a tiny segment");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertEquals("Should be correct failure message", OffHeapStore.SEGMENT_SIZE_ERROR_MSG, illegalArgumentException.getMessage());
+        }
+    }
+
+    @Test
+    public void test_maxSlots() {
+        final List<Integer> capacities = new ArrayList<>();
+
+        // Records the requested sizes without allocating the largest index...
+        final BufferAllocator allocator = new BufferAllocator() {
+            @Override
+            public ByteBuffer allocate(final int capacity) {
+                capacities.add(capacity);
+
+                return ByteBuffer.allocate(Math.min(capacity, 1 << 16));
+            }
+
+            @Override
+            public void free(final ByteBuffer buffer) {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+
+        final int maxIndexSize = OffHeapStore.MAX_SLOTS * OffHeapStore.SLOT_SIZE;
+
+        Assert.assertEquals("Largest index should fit in an int", (long) OffHeapStore.MAX_SLOTS * OffHeapStore.SLOT_SIZE, maxIndexSize);
+
+        new OffHeapFunctionalMap<>(IntegerSerializer.INSTANCE, IntegerSerializer.INSTANCE, allocator, 256, 100_000_000).close();
+        Assert.assertEquals("Should have capped the initial index", Integer.valueOf(maxIndexSize), capacities.get(0));
+
+        final OffHeapFunctionalMap<Integer, Integer> map = new OffHeapFunctionalMap<>(IntegerSerializer.INSTANCE, IntegerSerializer.INSTANCE, allocator, 256, 0);
+
+        capacities.clear();
+        map.ensureCapacity(Integer.MAX_VALUE);
+        map.close();
+
+        Assert.assertEquals("Should have capped the grown index", Collections.singletonList(maxIndexSize), capacities);
+    }
+
+    @Test
+    public void test_putF_get() {
+        functionalMap.putF("key1", 1).putF("key2", 2).putF("key3", 3);
+
+        Assert.assertEquals("Should have three elements", 3, functionalMap.size());
+        Assert.assertEquals("Should have found the element", Integer.valueOf(2), functionalMap.get("key2"));
+        Assert.assertNull("Should not have found the element", functionalMap.get("key4"));
+        Assert.assertTrue("Should contain key", functionalMap.containsKey("key1"));
+        Assert.assertFalse("Should not contain key", functionalMap.containsKey("key4"));
+        Assert.assertTrue("Should contain value", functionalMap.containsValue(3));
+    }
+
+    @Test
+    public void test_batch() {
+        final String[] keys = new String[1000];
+        final Integer[] values = new Integer[keys.length];
+
+        for (int index = 0; index < keys.length; index++) {
+            keys[index] = "key" + index;
+            values[index] = index;
+        }
+
+        functionalMap.putF("key0", -1).putAllF(keys, values);
+
+        Assert.assertEquals("Should have all elements", keys.length, functionalMap.size());
+        Assert.assertEquals("Last value should win", Integer.valueOf(0), functionalMap.get("key0"));
+        Assert.assertEquals("Should have found the element", Integer.valueOf(999), functionalMap.get("key999"));
+
+        functionalMap.removeAllF(Arrays.asList(keys).subList(0, 500));
+
+        Assert.assertEquals("Should have removed elements", 500, functionalMap.size());
+        Assert.assertEquals("Should have found present keys", 1, functionalMap.getAll(Arrays.asList("key1", "key500")).size());
+    }
+
+    @Test
+    public void test_put_replace() {
+        Assert.assertNull("Should be no previous value", functionalMap.put("key1", 1));
+        Assert.assertEquals("Should be previous value", Integer.valueOf(1), functionalMap.put("key1", 2));
+        Assert.assertEquals("Should have one element", 1, functionalMap.size());
+        Assert.assertTrue("Should have garbage", functionalMap.getGarbageBytes() > 0);
+    }
+
+    @Test
+    public void test_put_null() {
+        try {
+            functionalMap.put("key1", null);
+            Assert.fail("Should not allow a null value");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertTrue("Should be empty", functionalMap.isEmpty());
+        }
+    }
+
+    @Test
+    public void test_put_tooLarge() {
+        final StringBuilder sb = new StringBuilder();
+
+        for (int count = 0; count < 300; count++) {
+            sb.append('x');
+        }
+
+        try {
+            functionalMap.put(sb.toString(), 1);
+            Assert.fail("Should not allow an entry larger than a segment");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertEquals("Should be correct failure message", OffHeapStore.ENTRY_SIZE_ERROR_MSG, illegalArgumentException.getMessage());
+        }
+    }
+
+    @Test
+    public void test_removeF() {
+        functionalMap.putF("key1", 1).putF("key2", 2).putF("key3", 3);
+        functionalMap.removeF("key1").removeF("key3").removeF("key9");
+
+        Assert.assertEquals("Should have one element", 1, functionalMap.size());
+        Assert.assertEquals("Should remove the element", Integer.valueOf(2), functionalMap.remove("key2"));
+        Assert.assertNull("Should not remove a missing key", functionalMap.remove("key2"));
+        Assert.assertTrue("Should be no elements", functionalMap.isEmpty());
+    }
+
+    /**
+     * Null keys and keys of another type are never stored - looking them up finds nothing rather than failing.
+     */
+    @Test
+    public void test_foreignKeys() {
+        functionalMap.putF("key1", 1);
+
+        for (final Object key : new Object[]{null, 1, new Object()}) {
+            Assert.assertFalse("Should not contain key", functionalMap.containsKey(key));
+            Assert.assertNull("Should not find key", functionalMap.get(key));
+            Assert.assertNull("Should not remove key", functionalMap.remove(key));
+        }
+
+        Assert.assertEquals("Should have kept the element", Integer.valueOf(1), functionalMap.get("key1"));
+    }
+
+    @Test
+    public void test_entrySet() {
+        functionalMap.putF("key1", 1).putF("key2", 2).putF("key1", 10).putF("key3", 3).removeF("key3");
+
+        final Map<String, Integer> copy = new HashMap<>(functionalMap);
+
+        Assert.assertEquals("Should have live entries only", 2, copy.size());
+        Assert.assertEquals("Should have latest value", Integer.valueOf(10), copy.get("key1"));
+        Assert.assertEquals("Should be equal to a HashMap", copy, functionalMap.getMap());
+    }
+
+    @Test
+    public void test_iterator_remove() {
+        functionalMap.putF("key1", 1).putF("key2", 2).putF("key3", 3);
+
+        final Iterator<Map.Entry<String, Integer>> iter = functionalMap.entrySet().iterator();
+
+        while (iter.hasNext()) {
+            if (iter.next().getValue() != 2) {
+                iter.remove();
+            }
+        }
+
+        Assert.assertEquals("Should have one element", 1, functionalMap.size());
+        Assert.assertTrue("Should contain key", functionalMap.containsKey("key2"));
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void test_iterator_concurrentModification() {
+        functionalMap.putF("key1", 1).putF("key2", 2);
+
+        final Iterator<String> iter = functionalMap.keySet().iterator();
+
+        iter.next();
+        functionalMap.putF("key3", 3);
+        iter.next();
+    }
+
+    @Test
+    public void test_clear() {
+        functionalMap.putF("key1", 1).putF("key2", 2);
+        functionalMap.clear();
+
+        Assert.assertTrue("Should be no elements", functionalMap.isEmpty());
+        Assert.assertEquals("Should be no live bytes", 0, functionalMap.getLiveBytes());
+
+        functionalMap.putF("key1", 5);
+
+        Assert.assertEquals("Should be usable after clear", Integer.valueOf(5), functionalMap.get("key1"));
+    }
+
+    @Test
+    public void test_compact() {
+        for (int count = 0; count < 100; count++) {
+            functionalMap.putF("key" + (count % 5), count);
+        }
+
+        final long liveBytes = functionalMap.getLiveBytes();
+
+        functionalMap.compact();
+
+        Assert.assertEquals("Should have no garbage", 0, functionalMap.getGarbageBytes());
+        Assert.assertEquals("Should keep live bytes", liveBytes, functionalMap.getLiveBytes());
+        Assert.assertEquals("Should have five elements", 5, functionalMap.size());
+        Assert.assertEquals("Should have latest value", Integer.valueOf(99), functionalMap.get("key4"));
+    }
+
+    @Test
+    public void test_close() {
+        functionalMap.putF("key1", 1);
+        functionalMap.close();
+        functionalMap.close();
+
+        Assert.assertTrue("Should be closed", functionalMap.isClosed());
+
+        try {
+            functionalMap.get("key1");
+            Assert.fail("Should not be usable once closed");
+        } catch (final IllegalStateException illegalStateException) {
+            Assert.assertEquals("Should be correct failure message", OffHeapStore.CLOSED_ERROR_MSG, illegalStateException.getMessage());
+        }
+    }
+
+    @Test
+    public void test_mappedFile() throws IOException {
+        final File file = File.createTempFile("jcore", ".map");
+
+        try (final OffHeapFunctionalMap<String, String> map = new OffHeapFunctionalMap<>(StringSerializer.INSTANCE, StringSerializer.INSTANCE, file)) {
+            map.putF("key1", "val1").putF("key2", "val2");
+
+            Assert.assertEquals("Should have found the element", "val2", map.get("key2"));
+            Assert.assertTrue("Should have written to the file", file.length() > 0);
+        }
+
+        Assert.assertFalse("Should have deleted the file", file.exists());
+    }
+
+    /**
+     * Mixes puts and removes over many segments (forcing index growth and compaction) checking against a HashMap.
+     */
+    @Test
+    public void test_random_operations() {
+        final Random random = new Random(42);
+        final Map<String, Integer> expected = new HashMap<>();
+
+        for (int count = 0; count < 50000; count++) {
+            final String key = "key" + random.nextInt(1000);
+
+            if (random.nextInt(3) == 0) {
+                Assert.assertEquals("Should remove same value", expected.remove(key), functionalMap.remove(key));
+            } else {
+                Assert.assertEquals("Should put same value", expected.put(key, count), functionalMap.put(key, count));
+            }
+        }
+
+        Assert.assertEquals("Should be same size", expected.size(), functionalMap.size());
+        Assert.assertEquals("Should be same entries", expected, new HashMap<>(functionalMap));
+        Assert.assertTrue("Should have compacted", functionalMap.getGarbageBytes() <= Math.max(256, functionalMap.getLiveBytes()));
+    }
+}
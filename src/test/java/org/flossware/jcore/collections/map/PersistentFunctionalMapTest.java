@@ -0,0 +1,265 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.map;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the PersistentFunctionalMap class.
+ *
+ * @author Scot P. Floess
+ */
+public class PersistentFunctionalMapTest {
+
+    /**
+     * A key whose hash code is fixed, to force collisions.
+     */
+    static final class CollidingKey {
+
+        final int hashCode;
+
+        final String name;
+
+        CollidingKey(final int hashCode, final String name) {
+            this.hashCode = hashCode;
+            this.name = name;
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(final Object object) {
+            return object instanceof CollidingKey && name.equals(((CollidingKey) object).name);
+        }
+    }
+
+    @Test
+    public void test_constructor_null() {
+        try {
+            new PersistentFunctionalMap<String, String>(null);
+            Assert.fail("Should not allow a null map");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertEquals("Should be correct failure message", PersistentFunctionalMap.MAP_ERROR_MSG, illegalArgumentException.getMessage());
+        }
+    }
+
+    @Test
+    public void test_empty() {
+        final PersistentFunctionalMap<String, String> empty = PersistentFunctionalMap.empty();
+
+        Assert.assertSame("Should share the empty map", empty, PersistentFunctionalMap.empty());
+        Assert.assertTrue("Should be empty", empty.isEmpty());
+        Assert.assertNull("Should not find a value", empty.get("1"));
+        Assert.assertSame("Should not change removing a missing key", empty, empty.removeF("1"));
+        Assert.assertTrue("Should be empty", new PersistentFunctionalMap<String, String>().isEmpty());
+    }
+
+    @Test
+    public void test_versions() {
+        final PersistentFunctionalMap<String, String> v1 = PersistentFunctionalMap.<String, String>empty().putF("1", "one").putF("2", "two");
+        final PersistentFunctionalMap<String, String> v2 = v1.putF("3", "three").removeF("1");
+        final PersistentFunctionalMap<String, String> v3 = v2.putF("2", "TWO");
+
+        Assert.assertEquals("Should have two entries", 2, v1.size());
+        Assert.assertEquals("Should have old value", "one", v1.get("1"));
+        Assert.assertNull("Should not see later changes", v1.get("3"));
+
+        Assert.assertEquals("Should have two entries", 2, v2.size());
+        Assert.assertNull("Should have removed", v2.get("1"));
+        Assert.assertEquals("Should have added", "three", v2.get("3"));
+        Assert.assertEquals("Should not see later changes", "two", v2.get("2"));
+
+        Assert.assertEquals("Should have two entries", 2, v3.size());
+        Assert.assertEquals("Should have replaced", "TWO", v3.get("2"));
+        Assert.assertSame("Should not change putting the same value", v3, v3.putF("2", v3.get("2")));
+        Assert.assertSame("Should already be frozen", v3, v3.freeze());
+    }
+
+    @Test
+    public void test_copy() {
+        final Map<String, String> source = new HashMap<>();
+
+        source.put("1", "one");
+        source.put(null, "null");
+        source.put("2", null);
+
+        final PersistentFunctionalMap<String, String> map = new PersistentFunctionalMap<>(source);
+
+        Assert.assertEquals("Should be same entries", source, new HashMap<>(map));
+        Assert.assertEquals("Should find null key", "null", map.get(null));
+        Assert.assertTrue("Should contain key with null value", map.containsKey("2"));
+        Assert.assertEquals("Should default", "none", map.getOrDefault("3", "none"));
+        Assert.assertEquals("Should remove null key", 2, map.removeF(null).size());
+
+        final PersistentFunctionalMap<String, String> all = PersistentFunctionalMap.<String, String>empty().putAllF(source);
+
+        Assert.assertEquals("Should be same entries", source, new HashMap<>(all));
+        Assert.assertSame("Should not change putting the same entries", all, all.putAllF(source));
+    }
+
+    @Test
+    public void test_batch() {
+        final PersistentFunctionalMap<String, String> empty = PersistentFunctionalMap.empty();
+        final PersistentFunctionalMap<String, String> map = empty.putAllF(new String[] {"1", "2", "3", null}, new String[] {"one", "two", "three", "null"});
+
+        Assert.assertTrue("Should not change the original version", empty.isEmpty());
+        Assert.assertEquals("Should have all entries", 4, map.size());
+        Assert.assertEquals("Should find null key", "null", map.get(null));
+        Assert.assertSame("Should not change putting the same entries", map, map.putAllF(new String[] {"1", "2"}, new String[] {"one", "two"}));
+
+        final PersistentFunctionalMap<String, String> removed = map.removeAllF(Arrays.asList("1", null, "9"));
+
+        Assert.assertEquals("Should have removed entries", 2, removed.size());
+        Assert.assertEquals("Should not change the original version", 4, map.size());
+        Assert.assertEquals("Should have kept the entry", "three", removed.get("3"));
+        Assert.assertSame("Should not change removing missing keys", removed, removed.removeAllF(Arrays.asList("1", "9")));
+        Assert.assertEquals("Should find present keys", 2, map.getAll(Arrays.asList("2", "3", "9")).size());
+    }
+
+    @Test
+    public void test_mutators() {
+        final PersistentFunctionalMap<String, String> map = PersistentFunctionalMap.<String, String>empty().putF("1", "one");
+
+        try {
+            map.put("2", "two");
+            Assert.fail("Should not allow put");
+        } catch (final UnsupportedOperationException unsupportedOperationException) {
+            Assert.assertEquals("Should be correct failure message", PersistentFunctionalMap.MUTATE_ERROR_MSG, unsupportedOperationException.getMessage());
+        }
+
+        try {
+            map.remove("1");
+            Assert.fail("Should not allow remove");
+        } catch (final UnsupportedOperationException unsupportedOperationException) {
+            Assert.assertEquals("Should be correct failure message", PersistentFunctionalMap.MUTATE_ERROR_MSG, unsupportedOperationException.getMessage());
+        }
+
+        try {
+            map.clear();
+            Assert.fail("Should not allow clear");
+        } catch (final UnsupportedOperationException unsupportedOperationException) {
+            Assert.assertEquals("Should be correct failure message", PersistentFunctionalMap.MUTATE_ERROR_MSG, unsupportedOperationException.getMessage());
+        }
+
+        try {
+            map.keySet().iterator().remove();
+            Assert.fail("Should not allow removing via a view");
+        } catch (final UnsupportedOperationException | IllegalStateException exception) {
+        }
+
+        Assert.assertEquals("Should be unchanged", 1, map.size());
+    }
+
+    @Test
+    public void test_collisions() {
+        final CollidingKey a = new CollidingKey(42, "a");
+        final CollidingKey b = new CollidingKey(42, "b");
+        final CollidingKey c = new CollidingKey(42, "c");
+        final CollidingKey d = new CollidingKey(42 + (1 << 30), "d");
+
+        PersistentFunctionalMap<CollidingKey, Integer> map = PersistentFunctionalMap.<CollidingKey, Integer>empty().putF(a, 1).putF(b, 2).putF(c, 3).putF(d, 4);
+
+        Assert.assertEquals("Should have four entries", 4, map.size());
+        Assert.assertEquals("Should find colliding key", Integer.valueOf(2), map.get(b));
+        Assert.assertNull("Should not find missing colliding key", map.get(new CollidingKey(42, "z")));
+
+        map = map.putF(b, 20).removeF(a);
+
+        Assert.assertEquals("Should have replaced", Integer.valueOf(20), map.get(b));
+        Assert.assertFalse("Should have removed", map.containsKey(a));
+
+        map = map.removeF(b).removeF(c);
+
+        Assert.assertEquals("Should have one entry", 1, map.size());
+        Assert.assertEquals("Should still find other key", Integer.valueOf(4), map.get(d));
+        Assert.assertTrue("Should be empty", map.removeF(d).isEmpty());
+    }
+
+    /**
+     * Removing every entry should leave the root empty - lone entries are always moved back up.
+     */
+    @Test
+    public void test_canonical() {
+        PersistentFunctionalMap<Integer, Integer> map = PersistentFunctionalMap.empty();
+
+        for (int key = 0; key < 5000; key++) {
+            map = map.putF(key, key);
+        }
+
+        for (int key = 0; key < 4999; key++) {
+            map = map.removeF(key);
+        }
+
+        final HamtNode<Integer, Integer> root = ((HamtMap<Integer, Integer>) map.getMap()).getRoot();
+
+        Assert.assertEquals("Should have inlined the last entry into the root", 1, root.payloadArity());
+        Assert.assertEquals("Should have no children", 0, root.nodeArity());
+        Assert.assertEquals("Should find last entry", Integer.valueOf(4999), map.get(4999));
+    }
+
+    /**
+     * Random changes, checking every version still matches the HashMap it was compared with when created.
+     */
+    @Test
+    public void test_random_operations() {
+        final Random random = new Random(31);
+        final List<PersistentFunctionalMap<Integer, Integer>> versions = new ArrayList<>();
+        final List<Map<Integer, Integer>> expectedVersions = new ArrayList<>();
+        final Map<Integer, Integer> expected = new HashMap<>();
+
+        PersistentFunctionalMap<Integer, Integer> map = PersistentFunctionalMap.empty();
+
+        for (int count = 0; count < 20000; count++) {
+            final int key = random.nextInt(2000) - 1000;
+
+            if (random.nextInt(3) == 0) {
+                expected.remove(key);
+                map = map.removeF(key);
+            } else {
+                expected.put(key, count);
+                map = map.putF(key, count);
+            }
+
+            Assert.assertEquals("Should be same size", expected.size(), map.size());
+            Assert.assertEquals("Should be same value", expected.get(key), map.get(key));
+
+            if (count % 1000 == 0) {
+                versions.add(map);
+                expectedVersions.add(new HashMap<>(expected));
+            }
+        }
+
+        for (int index = 0; index < versions.size(); index++) {
+            final Map<Integer, Integer> copy = new HashMap<>();
+
+            versions.get(index).forEach(copy::put);
+
+            Assert.assertEquals("Should be unchanged by later versions", expectedVersions.get(index), new HashMap<>(versions.get(index)));
+            Assert.assertEquals("Should visit same entries", expectedVersions.get(index), copy);
+        }
+    }
+}
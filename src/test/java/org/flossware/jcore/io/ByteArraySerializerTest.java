@@ -0,0 +1,49 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.io;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the ByteArraySerializer class.
+ *
+ * @author Scot P. Floess
+ */
+public class ByteArraySerializerTest {
+
+    /**
+     * Tests writing and reading.
+     */
+    @Test
+    public void test_roundTrip() {
+        final byte[] value = new byte[]{1, 2, 3};
+
+        Assert.assertArrayEquals("Should read what was written", value, StringSerializerTest.roundTrip(ByteArraySerializer.INSTANCE, value));
+        Assert.assertArrayEquals("Should read what was written", new byte[0], StringSerializerTest.roundTrip(ByteArraySerializer.INSTANCE, new byte[0]));
+    }
+
+    /**
+     * Tests writing to a buffer too small.
+     */
+    @Test(expected = BufferOverflowException.class)
+    public void test_write_overflow() {
+        ByteArraySerializer.INSTANCE.write(new byte[]{1, 2, 3}, ByteBuffer.allocate(2));
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.io;
+
+import java.nio.ByteBuffer;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the DirectBufferAllocator class.
+ *
+ * @author Scot P. Floess
+ */
+public class DirectBufferAllocatorTest {
+
+    /**
+     * Tests allocating and freeing.
+     */
+    @Test
+    public void test_allocate_free() {
+        final ByteBuffer buffer = DirectBufferAllocator.INSTANCE.allocate(128);
+
+        Assert.assertTrue("Should be direct", buffer.isDirect());
+        Assert.assertEquals("Should be correct size", 128, buffer.capacity());
+
+        DirectBufferAllocator.INSTANCE.free(buffer);
+        DirectBufferAllocator.INSTANCE.close();
+    }
+
+    /**
+     * Tests a bad capacity.
+     */
+    @Test
+    public void test_allocate_badCapacity() {
+        try {
+            DirectBufferAllocator.INSTANCE.allocate(-1);
+            Assert.fail("Should not allow a negative capacity");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertEquals("Should be correct failure message", DirectBufferAllocator.CAPACITY_ERROR_MSG, illegalArgumentException.getMessage());
+        }
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.io;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the LongSerializer class.
+ *
+ * @author Scot P. Floess
+ */
+public class LongSerializerTest {
+
+    /**
+     * Tests writing and reading.
+     */
+    @Test
+    public void test_roundTrip() {
+        Assert.assertEquals("Should read what was written", Long.valueOf(Long.MAX_VALUE), StringSerializerTest.roundTrip(LongSerializer.INSTANCE, Long.valueOf(Long.MAX_VALUE)));
+        Assert.assertEquals("Should read what was written", Long.valueOf(-5), StringSerializerTest.roundTrip(LongSerializer.INSTANCE, Long.valueOf(-5)));
+    }
+
+    /**
+     * Tests writing to a buffer too small.
+     */
+    @Test(expected = BufferOverflowException.class)
+    public void test_write_overflow() {
+        LongSerializer.INSTANCE.write(1L, ByteBuffer.allocate(7));
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the MappedFileBufferAllocator class.
+ *
+ * @author Scot P. Floess
+ */
+public class MappedFileBufferAllocatorTest {
+
+    /**
+     * Tests a null file.
+     */
+    @Test
+    public void test_constructor_null() {
+        try {
+            new MappedFileBufferAllocator(null);
+            Assert.fail("Should not allow a null file");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertEquals("Should be correct failure message", MappedFileBufferAllocator.FILE_ERROR_MSG, illegalArgumentException.getMessage());
+        }
+    }
+
+    /**
+     * Tests allocating consecutive regions and deleting the file on close.
+     */
+    @Test
+    public void test_allocate_close() throws IOException {
+        final File file = File.createTempFile("jcore", ".map");
+        final MappedFileBufferAllocator allocator = new MappedFileBufferAllocator(file);
+
+        final ByteBuffer buffer1 = allocator.allocate(64);
+        final ByteBuffer buffer2 = allocator.allocate(32);
+
+        buffer1.putLong(0, 1);
+        buffer2.putLong(0, 2);
+
+        Assert.assertEquals("Should be correct size", 64, buffer1.capacity());
+        Assert.assertEquals("Should not overlap", 1, buffer1.getLong(0));
+        Assert.assertEquals("Should have grown the file", 96, file.length());
+        Assert.assertSame("Should be the same file", file, allocator.getFile());
+
+        allocator.free(buffer1);
+        allocator.free(buffer2);
+        allocator.close();
+
+        Assert.assertFalse("Should have deleted the file", file.exists());
+    }
+
+    /**
+     * Tests freed regions are reused, zeroed, merged and truncated from the end of the file.
+     */
+    @Test
+    public void test_free_reuse() throws IOException {
+        final File file = File.createTempFile("jcore", ".map");
+        final MappedFileBufferAllocator allocator = new MappedFileBufferAllocator(file);
+
+        try {
+            final ByteBuffer buffer1 = allocator.allocate(64);
+            final ByteBuffer buffer2 = allocator.allocate(64);
+            final ByteBuffer buffer3 = allocator.allocate(64);
+
+            buffer1.putLong(8, 1);
+            buffer2.putLong(8, 2);
+
+            allocator.free(buffer1);
+            allocator.free(buffer2);
+
+            Assert.assertEquals("Should have merged the free regions", 128, allocator.getFreeLength());
+
+            final ByteBuffer reused = allocator.allocate(100);
+
+            Assert.assertEquals("Should reuse the freed regions", 192, allocator.getLength());
+            Assert.assertEquals("Should keep the rest free", 28, allocator.getFreeLength());
+            Assert.assertEquals("Should be zeroed", 0, reused.getLong(8));
+            Assert.assertEquals("Should be zeroed", 0, reused.getLong(72));
+
+            allocator.free(buffer3);
+
+            Assert.assertEquals("Should not truncate regions in use", 100, allocator.getLength());
+            Assert.assertEquals("Should have truncated the file", 100, file.length());
+            Assert.assertEquals("Should have nothing free", 0, allocator.getFreeLength());
+
+            allocator.free(reused);
+
+            Assert.assertEquals("Should have truncated the file", 0, allocator.getLength());
+            Assert.assertEquals("Should have truncated the file", 0, file.length());
+        } finally {
+            allocator.close();
+        }
+    }
+}
@@ -0,0 +1,388 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.logging;
+
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.ListResourceBundle;
+import java.util.ResourceBundle;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.ConsoleHandler;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the AsyncHandler class.
+ *
+ * @author Scot P. Floess
+ */
+public class AsyncHandlerTest {
+
+    /**
+     * Captures the records published, optionally waiting on a latch before publishing.
+     */
+    static class CapturingHandler extends Handler {
+
+        final List<LogRecord> records = Collections.synchronizedList(new ArrayList<LogRecord>());
+
+        final CountDownLatch latch;
+
+        int flushCount;
+
+        boolean isClosed;
+
+        CapturingHandler(final CountDownLatch latch) {
+            this.latch = latch;
+        }
+
+        CapturingHandler() {
+            this(new CountDownLatch(0));
+        }
+
+        @Override
+        public void publish(final LogRecord record) {
+            try {
+                latch.await();
+            } catch (final InterruptedException interruptedException) {
+                Thread.currentThread().interrupt();
+            }
+
+            records.add(record);
+        }
+
+        @Override
+        public void flush() {
+            flushCount++;
+        }
+
+        @Override
+        public void close() {
+            isClosed = true;
+        }
+    }
+
+    /**
+     * Tests a null handler - should fail.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void test_constructor_nullHandler() {
+        new AsyncHandler(null);
+    }
+
+    /**
+     * Tests a bad capacity - should fail.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void test_constructor_badCapacity() {
+        new AsyncHandler(new CapturingHandler(), 0, 1, OverflowPolicy.BLOCK);
+    }
+
+    /**
+     * Tests a bad batch size - should fail.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void test_constructor_badBatchSize() {
+        new AsyncHandler(new CapturingHandler(), 1, 0, OverflowPolicy.BLOCK);
+    }
+
+    /**
+     * Tests a null policy - should fail.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void test_constructor_nullPolicy() {
+        new AsyncHandler(new CapturingHandler(), 1, 1, null);
+    }
+
+    /**
+     * Tests the default constructor.
+     */
+    @Test
+    public void test_constructor_default() {
+        final AsyncHandler asyncHandler = new AsyncHandler();
+
+        Assert.assertTrue("Should be a console handler", asyncHandler.getHandler() instanceof ConsoleHandler);
+        Assert.assertEquals("Should be the default policy", AsyncHandler.DEFAULT_POLICY, asyncHandler.getOverflowPolicy());
+        Assert.assertTrue("Writer should be a daemon", asyncHandler.getWriter().isDaemon());
+        Assert.assertTrue("Writer should be alive", asyncHandler.getWriter().isAlive());
+
+        asyncHandler.close();
+
+        Assert.assertFalse("Writer should be done", asyncHandler.getWriter().isAlive());
+    }
+
+    /**
+     * Tests all records are published in order when closed.
+     */
+    @Test
+    public void test_publish() {
+        final CapturingHandler capturingHandler = new CapturingHandler();
+        final AsyncHandler asyncHandler = new AsyncHandler(capturingHandler, 16, 4, OverflowPolicy.BLOCK);
+
+        for (int index = 0; index < 100; index++) {
+            asyncHandler.publish(new LogRecord(Level.INFO, String.valueOf(index)));
+        }
+
+        asyncHandler.close();
+
+        Assert.assertEquals("Should have published all records", 100, capturingHandler.records.size());
+        Assert.assertEquals("Should have published all records", 100, asyncHandler.getPublishedCount());
+        Assert.assertEquals("Should have dropped nothing", 0, asyncHandler.getDroppedCount());
+        Assert.assertEquals("Should have nothing pending", 0, asyncHandler.getPendingCount());
+        Assert.assertTrue("Should have flushed", capturingHandler.flushCount > 0);
+        Assert.assertTrue("Should have closed the handler", capturingHandler.isClosed);
+
+        for (int index = 0; index < 100; index++) {
+            Assert.assertEquals("Should be in order", String.valueOf(index), capturingHandler.records.get(index).getMessage());
+        }
+    }
+
+    /**
+     * Tests the source method is computed on the calling thread.
+     */
+    @Test
+    public void test_publish_sourceMethod() {
+        final CapturingHandler capturingHandler = new CapturingHandler();
+        final AsyncHandler asyncHandler = new AsyncHandler(capturingHandler);
+
+        final Logger logger = Logger.getLogger(AsyncHandlerTest.class.getName() + ".sourceMethod");
+
+        logger.setUseParentHandlers(false);
+        logger.addHandler(asyncHandler);
+
+        logger.info("Hello");
+
+        asyncHandler.close();
+        logger.removeHandler(asyncHandler);
+
+        Assert.assertEquals("Should be our method", "test_publish_sourceMethod", capturingHandler.records.get(0).getSourceMethodName());
+    }
+
+    /**
+     * Tests parameters are formatted on the calling thread - changing them afterwards doesn't change what is published.
+     */
+    @Test
+    public void test_publish_parameters() {
+        final CountDownLatch latch = new CountDownLatch(1);
+        final CapturingHandler capturingHandler = new CapturingHandler(latch);
+        final AsyncHandler asyncHandler = new AsyncHandler(capturingHandler);
+
+        final StringBuilder parameter = new StringBuilder("before");
+        final LogRecord record = new LogRecord(Level.INFO, "Value {0} count {1}");
+
+        record.setParameters(new Object[]{parameter, 5});
+        record.setThrown(new IllegalStateException());
+
+        asyncHandler.publish(record);
+
+        parameter.setLength(0);
+        parameter.append("after");
+
+        latch.countDown();
+        asyncHandler.close();
+
+        final LogRecord published = capturingHandler.records.get(0);
+
+        Assert.assertEquals("Should be formatted when published", "Value before count 5", published.getMessage());
+        Assert.assertNull("Should not keep parameters", published.getParameters());
+        Assert.assertSame("Should keep the thrown", record.getThrown(), published.getThrown());
+        Assert.assertEquals("Should keep the sequence", record.getSequenceNumber(), published.getSequenceNumber());
+    }
+
+    /**
+     * Tests records without parameters, or with only immutable parameters and deferred messages, are published as is.
+     */
+    @Test
+    public void test_snapshot() {
+        final LogRecord record = new LogRecord(Level.INFO, "Value {0}");
+
+        Assert.assertSame("Should be unchanged without parameters", record, AsyncHandler.snapshot(record));
+
+        record.setParameters(new Object[0]);
+
+        Assert.assertSame("Should be unchanged with empty parameters", record, AsyncHandler.snapshot(record));
+
+        final DeferredMessage deferredMessage = new DeferredMessage(() -> "deferred");
+
+        record.setParameters(new Object[]{"value", 1, 2L, 3.0, BigDecimal.ONE, Boolean.TRUE, TimeUnit.SECONDS, null, deferredMessage});
+
+        Assert.assertSame("Should be unchanged with immutable parameters", record, AsyncHandler.snapshot(record));
+        Assert.assertFalse("Should leave the deferred message for the writer", deferredMessage.isComputed());
+    }
+
+    /**
+     * Tests records with mutable parameters are copied with their message formatted.
+     */
+    @Test
+    public void test_snapshot_copy() throws ReflectiveOperationException {
+        final ResourceBundle resourceBundle = new ListResourceBundle() {
+            @Override
+            protected Object[][] getContents() {
+                return new Object[][]{{"greeting", "Hello {0}"}};
+            }
+        };
+
+        final LogRecord record = new LogRecord(Level.INFO, "greeting");
+
+        record.setParameters(new Object[]{new StringBuilder("world")});
+        record.setResourceBundle(resourceBundle);
+        record.setResourceBundleName("greetings");
+        record.setLoggerName("logger");
+        record.setMillis(1234);
+
+        if (Boolean.getBoolean("jcore.multiRelease")) {
+            LogRecord.class.getMethod("setInstant", Instant.class).invoke(record, Instant.ofEpochSecond(1, 234567));
+        }
+
+        final LogRecord snapshot = AsyncHandler.snapshot(record);
+
+        Assert.assertNotSame("Should be a copy", record, snapshot);
+        Assert.assertEquals("Should be formatted", "Hello world", snapshot.getMessage());
+        Assert.assertNull("Should not keep parameters", snapshot.getParameters());
+        Assert.assertSame("Should keep the resource bundle", resourceBundle, snapshot.getResourceBundle());
+        Assert.assertEquals("Should keep the resource bundle name", "greetings", snapshot.getResourceBundleName());
+        Assert.assertEquals("Should keep the logger name", "logger", snapshot.getLoggerName());
+        Assert.assertEquals("Should keep the time", record.getMillis(), snapshot.getMillis());
+
+        if (Boolean.getBoolean("jcore.multiRelease")) {
+            final Method getInstant = LogRecord.class.getMethod("getInstant");
+
+            Assert.assertEquals("Should keep the sub-millisecond time", getInstant.invoke(record), getInstant.invoke(snapshot));
+        }
+    }
+
+    /**
+     * Tests records below our level are ignored.
+     */
+    @Test
+    public void test_publish_level() {
+        final CapturingHandler capturingHandler = new CapturingHandler();
+        final AsyncHandler asyncHandler = new AsyncHandler(capturingHandler);
+
+        asyncHandler.setLevel(Level.WARNING);
+
+        asyncHandler.publish(new LogRecord(Level.INFO, "Ignored"));
+        asyncHandler.publish(new LogRecord(Level.SEVERE, "Published"));
+        asyncHandler.close();
+
+        Assert.assertEquals("Should have published one record", 1, capturingHandler.records.size());
+        Assert.assertEquals("Should be the correct record", "Published", capturingHandler.records.get(0).getMessage());
+        Assert.assertEquals("Should have dropped nothing", 0, asyncHandler.getDroppedCount());
+    }
+
+    /**
+     * Tests records are dropped when the buffer is full.
+     */
+    @Test
+    public void test_publish_drop() {
+        final CountDownLatch latch = new CountDownLatch(1);
+        final CapturingHandler capturingHandler = new CapturingHandler(latch);
+        final AsyncHandler asyncHandler = new AsyncHandler(capturingHandler, 2, 1, OverflowPolicy.DROP);
+
+        for (int index = 0; index < 10; index++) {
+            asyncHandler.publish(new LogRecord(Level.INFO, String.valueOf(index)));
+        }
+
+        Assert.assertTrue("Should have dropped records", asyncHandler.getDroppedCount() > 0);
+
+        latch.countDown();
+        asyncHandler.close();
+
+        Assert.assertEquals("Every record is either published or dropped", 10, asyncHandler.getPublishedCount() + asyncHandler.getDroppedCount());
+    }
+
+    /**
+     * Tests records are dropped once closed.
+     */
+    @Test
+    public void test_publish_closed() {
+        final CapturingHandler capturingHandler = new CapturingHandler();
+        final AsyncHandler asyncHandler = new AsyncHandler(capturingHandler);
+
+        asyncHandler.close();
+        asyncHandler.close();
+
+        asyncHandler.publish(new LogRecord(Level.INFO, "Dropped"));
+
+        Assert.assertTrue("Should have published nothing", capturingHandler.records.isEmpty());
+        Assert.assertEquals("Should have dropped the record", 1, asyncHandler.getDroppedCount());
+    }
+
+    /**
+     * Tests every record published while closing is either published or counted as dropped, and no caller is left waiting for
+     * room in the buffer.
+     */
+    @Test
+    public void test_publish_closing() throws Exception {
+        for (final OverflowPolicy overflowPolicy : OverflowPolicy.values()) {
+            final CapturingHandler capturingHandler = new CapturingHandler();
+            final AsyncHandler asyncHandler = new AsyncHandler(capturingHandler, 4, 2, overflowPolicy);
+            final CountDownLatch started = new CountDownLatch(4);
+            final List<Thread> publishers = new ArrayList<>();
+
+            for (int thread = 0; thread < 4; thread++) {
+                publishers.add(new Thread(() -> {
+                    started.countDown();
+
+                    for (int index = 0; index < 1000; index++) {
+                        asyncHandler.publish(new LogRecord(Level.INFO, String.valueOf(index)));
+                    }
+                }));
+            }
+
+            publishers.forEach(Thread::start);
+
+            started.await();
+            asyncHandler.close();
+
+            for (final Thread publisher : publishers) {
+                publisher.join(TimeUnit.SECONDS.toMillis(10));
+
+                Assert.assertFalse("Should not be left waiting", publisher.isAlive());
+            }
+
+            Assert.assertEquals("Every record is either published or dropped", 4000, asyncHandler.getPublishedCount() + asyncHandler.getDroppedCount());
+            Assert.assertEquals("Should have published what was counted", asyncHandler.getPublishedCount(), capturingHandler.records.size());
+            Assert.assertEquals("Should have nothing pending", 0, asyncHandler.getPendingCount());
+        }
+    }
+
+    /**
+     * Tests flush flushes the handler.
+     */
+    @Test
+    public void test_flush() {
+        final CapturingHandler capturingHandler = new CapturingHandler();
+        final AsyncHandler asyncHandler = new AsyncHandler(capturingHandler);
+
+        final int flushCount = capturingHandler.flushCount;
+
+        asyncHandler.flush();
+
+        Assert.assertTrue("Should have flushed", capturingHandler.flushCount > flushCount);
+
+        asyncHandler.close();
+    }
+}
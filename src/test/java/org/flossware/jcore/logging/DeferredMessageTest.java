@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.logging;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the DeferredMessage class.
+ *
+ * @author Scot P. Floess
+ */
+public class DeferredMessageTest {
+
+    /**
+     * Counts the number of times a message was computed.
+     */
+    static class CountingMessageSupplier implements MessageSupplier {
+
+        final AtomicInteger count = new AtomicInteger();
+
+        final String message;
+
+        CountingMessageSupplier(final String message) {
+            this.message = message;
+        }
+
+        @Override
+        public String get() {
+            count.incrementAndGet();
+
+            return message;
+        }
+    }
+
+    /**
+     * Tests a null supplier - should fail.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void test_constructor_null() {
+        new DeferredMessage(null);
+    }
+
+    /**
+     * Tests the message is not computed until asked for.
+     */
+    @Test
+    public void test_constructor() {
+        final CountingMessageSupplier messageSupplier = new CountingMessageSupplier("Hello");
+        final DeferredMessage deferredMessage = new DeferredMessage(messageSupplier);
+
+        Assert.assertSame("Should be the same supplier", messageSupplier, deferredMessage.getMessageSupplier());
+        Assert.assertFalse("Should not be computed", deferredMessage.isComputed());
+        Assert.assertEquals("Should not have computed the message", 0, messageSupplier.count.get());
+    }
+
+    /**
+     * Tests the message is only computed once.
+     */
+    @Test
+    public void test_toString() {
+        final CountingMessageSupplier messageSupplier = new CountingMessageSupplier("Hello");
+        final DeferredMessage deferredMessage = new DeferredMessage(messageSupplier);
+
+        Assert.assertEquals("Should be the message", "Hello", deferredMessage.toString());
+        Assert.assertEquals("Should be the message", "Hello", deferredMessage.toString());
+        Assert.assertTrue("Should be computed", deferredMessage.isComputed());
+        Assert.assertEquals("Should have computed the message once", 1, messageSupplier.count.get());
+    }
+
+    /**
+     * Tests a null message.
+     */
+    @Test
+    public void test_toString_null() {
+        Assert.assertEquals("Should be a null message", "null", new DeferredMessage(new CountingMessageSupplier(null)).toString());
+    }
+}
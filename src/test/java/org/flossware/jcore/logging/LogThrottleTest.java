@@ -0,0 +1,262 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.logging;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the LogThrottle class.
+ *
+ * @author Scot P. Floess
+ */
+public class LogThrottleTest {
+
+    /**
+     * A throttle whose time we control.
+     */
+    static class StubLogThrottle extends LogThrottle {
+
+        long now;
+
+        StubLogThrottle(final int sampleRate, final double logsPerSecond, final int burst, final long dedupWindowMillis, final long summaryIntervalMillis) {
+            super(sampleRate, logsPerSecond, burst, dedupWindowMillis, summaryIntervalMillis);
+        }
+
+        @Override
+        long nanoTime() {
+            return now;
+        }
+
+        void advanceMillis(final long millis) {
+            now += TimeUnit.MILLISECONDS.toNanos(millis);
+        }
+    }
+
+    final List<LogRecord> records = new ArrayList<>();
+
+    Logger logger;
+
+    @Before
+    public void init() {
+        logger = Logger.getLogger(LogThrottleTest.class.getName());
+        logger.setUseParentHandlers(false);
+        logger.setLevel(Level.INFO);
+
+        for (final Handler handler : logger.getHandlers()) {
+            logger.removeHandler(handler);
+        }
+
+        records.clear();
+
+        logger.addHandler(new Handler() {
+            @Override
+            public void publish(final LogRecord record) {
+                records.add(record);
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        });
+    }
+
+    /**
+     * Return the number of times a call site is permitted out of <code>count</code> attempts.
+     */
+    int countPermitted(final LogThrottle logThrottle, final String str, final int count) {
+        int retVal = 0;
+
+        for (int index = 0; index < count; index++) {
+            if (logThrottle.isPermitted(logger, Level.INFO, str)) {
+                retVal++;
+            }
+        }
+
+        return retVal;
+    }
+
+    /**
+     * Tests bad values - should fail.
+     */
+    @Test
+    public void test_constructor_badValues() {
+        try {
+            new LogThrottle(0);
+            Assert.fail("Should fail with a bad sample rate");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+        }
+
+        try {
+            new LogThrottle(-1, 1);
+            Assert.fail("Should fail with a negative rate");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+        }
+
+        try {
+            new LogThrottle(1, 0);
+            Assert.fail("Should fail with a bad burst");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+        }
+
+        try {
+            new LogThrottle(1, 1, 1, -1, 1);
+            Assert.fail("Should fail with a bad dedup window");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+        }
+
+        try {
+            new LogThrottle(1, 1, 1, 1, 0);
+            Assert.fail("Should fail with a bad summary interval");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+        }
+    }
+
+    /**
+     * Tests a disabled level is neither permitted nor counted.
+     */
+    @Test
+    public void test_isPermitted_notLoggable() {
+        final LogThrottle logThrottle = new LogThrottle(LogThrottle.NO_SAMPLING);
+
+        Assert.assertFalse("Should not be permitted", logThrottle.isPermitted(logger, Level.FINEST, "disabled"));
+        Assert.assertEquals("Should not be suppressed", 0, logThrottle.getSuppressedCount(logger, "disabled"));
+    }
+
+    /**
+     * Tests sampling.
+     */
+    @Test
+    public void test_isPermitted_sampling() {
+        final LogThrottle logThrottle = new LogThrottle(10);
+
+        Assert.assertEquals("Should sample 1 in 10", 10, countPermitted(logThrottle, "sampled", 100));
+        Assert.assertEquals("Should have suppressed the rest", 90, logThrottle.getSuppressedCount(logger, "sampled"));
+        Assert.assertEquals("Call sites are sampled independently", 1, countPermitted(logThrottle, "other", 1));
+    }
+
+    /**
+     * Tests rate limiting.
+     */
+    @Test
+    public void test_isPermitted_rateLimit() {
+        final StubLogThrottle logThrottle = new StubLogThrottle(LogThrottle.NO_SAMPLING, 10, 5, LogThrottle.NO_DEDUP, LogThrottle.DEFAULT_SUMMARY_INTERVAL);
+
+        Assert.assertEquals("Should allow the burst", 5, countPermitted(logThrottle, "rate", 100));
+
+        logThrottle.advanceMillis(100);
+
+        Assert.assertEquals("Should allow one more after 100 ms", 1, countPermitted(logThrottle, "rate", 100));
+
+        logThrottle.advanceMillis(10000);
+
+        Assert.assertEquals("Should allow the burst again", 5, countPermitted(logThrottle, "rate", 100));
+    }
+
+    /**
+     * Tests deduplication.
+     */
+    @Test
+    public void test_isPermitted_dedup() {
+        final StubLogThrottle logThrottle = new StubLogThrottle(LogThrottle.NO_SAMPLING, LogThrottle.NO_RATE_LIMIT, 1, 1000, LogThrottle.DEFAULT_SUMMARY_INTERVAL);
+
+        Assert.assertEquals("Should allow once", 1, countPermitted(logThrottle, "dedup", 10));
+        Assert.assertEquals("Other call sites are not deduped", 1, countPermitted(logThrottle, "other", 10));
+
+        logThrottle.advanceMillis(999);
+
+        Assert.assertEquals("Should allow none within the window", 0, countPermitted(logThrottle, "dedup", 10));
+
+        logThrottle.advanceMillis(1);
+
+        Assert.assertEquals("Should allow once after the window", 1, countPermitted(logThrottle, "dedup", 10));
+    }
+
+    /**
+     * Tests a log rejected by the rate limit does not start the dedup window of its call site.
+     */
+    @Test
+    public void test_isPermitted_dedup_rateLimited() {
+        final StubLogThrottle logThrottle = new StubLogThrottle(LogThrottle.NO_SAMPLING, 10, 1, 1000, LogThrottle.DEFAULT_SUMMARY_INTERVAL);
+
+        Assert.assertEquals("Should use the only token", 1, countPermitted(logThrottle, "other", 1));
+        Assert.assertEquals("Should be rejected by the empty bucket", 0, countPermitted(logThrottle, "dedup", 1));
+
+        logThrottle.advanceMillis(100);
+
+        Assert.assertEquals("Should not be muted by the rejected log", 1, countPermitted(logThrottle, "dedup", 10));
+        Assert.assertEquals("Should count the suppressed logs", 10, logThrottle.getSuppressedCount(logger, "dedup"));
+    }
+
+    /**
+     * Tests a log losing the race to publish its call site gives back its token.
+     */
+    @Test
+    public void test_isPermitted_dedup_lostRace() {
+        final StubLogThrottle logThrottle = new StubLogThrottle(LogThrottle.NO_SAMPLING, 10, 1, 1000, LogThrottle.DEFAULT_SUMMARY_INTERVAL) {
+            boolean isLosing = true;
+
+            @Override
+            boolean markPublished(final CallSite callSite, final long lastPublished, final long now) {
+                // Simulate another thread publishing the call site between our read and our claim...
+                if (isLosing) {
+                    isLosing = false;
+
+                    return false;
+                }
+
+                return super.markPublished(callSite, lastPublished, now);
+            }
+        };
+
+        Assert.assertEquals("Should lose the race", 0, countPermitted(logThrottle, "dedup", 1));
+        Assert.assertEquals("Should still have the only token", 1, countPermitted(logThrottle, "other", 1));
+    }
+
+    /**
+     * Tests summaries are emitted and reset the suppressed counts.
+     */
+    @Test
+    public void test_isPermitted_summary() {
+        final StubLogThrottle logThrottle = new StubLogThrottle(10, LogThrottle.NO_RATE_LIMIT, 1, LogThrottle.NO_DEDUP, 1000);
+
+        countPermitted(logThrottle, "summarized", 20);
+
+        Assert.assertTrue("Should be no summary yet", records.isEmpty());
+
+        logThrottle.advanceMillis(1000);
+        countPermitted(logThrottle, "summarized", 1);
+
+        Assert.assertEquals("Should have a summary", 1, records.size());
+        Assert.assertEquals("Should be a summary", LogThrottle.SUMMARY_MSG, records.get(0).getMessage());
+        Assert.assertEquals("Should be the suppressed count", 18L, records.get(0).getParameters()[0]);
+        Assert.assertEquals("Should be the call site", "summarized", records.get(0).getParameters()[2]);
+        Assert.assertEquals("Should have reset the count", 0, logThrottle.getSuppressedCount(logger, "summarized"));
+    }
+}
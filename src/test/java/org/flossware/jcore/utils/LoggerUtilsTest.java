@@ -18,8 +18,14 @@ package org.flossware.jcore.utils;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.ConsoleHandler;
+import java.util.logging.Handler;
 import java.util.logging.Level;
+import java.util.logging.LogRecord;
 import java.util.logging.Logger;
+import org.flossware.jcore.logging.AsyncHandler;
+import org.flossware.jcore.logging.MessageSupplier;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -101,4 +107,231 @@ public class LoggerUtilsTest {
 
         Assert.assertSame("Should have gotten correct return value", str0, LoggerUtils.logAndReturn(LOGGER, Level.SEVERE, "This is it {0} {1} {2} {3}", str0, str1, str2, str3));
     }
+
+    /**
+     * Creates a logger whose published records are counted in <code>count</code>.
+     */
+    static Logger createCountingLogger(final String name, final Level level, final AtomicInteger count) {
+        final Logger retVal = Logger.getLogger(LoggerUtilsTest.class.getName() + "." + name);
+
+        retVal.setUseParentHandlers(false);
+        retVal.setLevel(level);
+        retVal.addHandler(new Handler() {
+            @Override
+            public void publish(final LogRecord record) {
+                count.incrementAndGet();
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        });
+
+        return retVal;
+    }
+
+    /**
+     * Tests isLoggable.
+     */
+    @Test
+    public void test_isLoggable() {
+        final Logger logger = createCountingLogger("isLoggable", Level.INFO, new AtomicInteger());
+
+        Assert.assertTrue("Should be loggable", LoggerUtils.isLoggable(logger, Level.SEVERE));
+        Assert.assertTrue("Should be loggable", LoggerUtils.isLoggable(logger, Level.INFO));
+        Assert.assertFalse("Should not be loggable", LoggerUtils.isLoggable(logger, Level.FINEST));
+
+        logger.setLevel(Level.FINEST);
+
+        Assert.assertTrue("Should be loggable after changing the level", LoggerUtils.isLoggable(logger, Level.FINEST));
+    }
+
+    /**
+     * Tests the fixed parameter logs only publish when the level is enabled.
+     */
+    @Test
+    public void test_log_fixedParams() {
+        final AtomicInteger count = new AtomicInteger();
+        final Logger logger = createCountingLogger("log", Level.INFO, count);
+
+        LoggerUtils.log(logger, Level.INFO, "{0}", "0");
+        LoggerUtils.log(logger, Level.INFO, "{0} {1}", "0", "1");
+        LoggerUtils.log(logger, Level.INFO, "{0} {1} {2}", "0", "1", "2");
+        LoggerUtils.log(logger, Level.INFO, "{0} {1} {2} {3}", "0", "1", "2", "3");
+
+        Assert.assertEquals("Should have published all logs", 4, count.get());
+
+        LoggerUtils.log(logger, Level.FINEST, "{0}", "0");
+        LoggerUtils.log(logger, Level.FINEST, "{0} {1}", "0", "1");
+        LoggerUtils.log(logger, Level.FINEST, "{0} {1} {2}", "0", "1", "2");
+        LoggerUtils.log(logger, Level.FINEST, "{0} {1} {2} {3}", "0", "1", "2", "3");
+
+        Assert.assertEquals("Should not have published disabled logs", 4, count.get());
+    }
+
+    /**
+     * Tests we log and return the correct value with fixed parameters.
+     */
+    @Test
+    public void test_logAndReturn_fixedParams() {
+        final AtomicInteger count = new AtomicInteger();
+        final Logger logger = createCountingLogger("logAndReturn", Level.INFO, count);
+
+        final String str0 = TestUtils.generateUniqueStr("0");
+
+        Assert.assertSame("Should have gotten correct return value", str0, LoggerUtils.logAndReturn(logger, Level.INFO, "{0} {1}", str0, "1"));
+        Assert.assertSame("Should have gotten correct return value", str0, LoggerUtils.logAndReturn(logger, Level.INFO, "{0} {1} {2}", str0, "1", "2"));
+        Assert.assertSame("Should have gotten correct return value", str0, LoggerUtils.logAndReturn(logger, Level.INFO, "{0} {1} {2} {3}", str0, "1", "2", "3"));
+        Assert.assertSame("Should have gotten correct return value", str0, LoggerUtils.logAndReturn(logger, Level.FINEST, "{0} {1}", str0, "1"));
+
+        Assert.assertEquals("Should only have published enabled logs", 3, count.get());
+    }
+
+    /**
+     * Tests we log and return primitive values.
+     */
+    @Test
+    public void test_logAndReturn_primitives() {
+        final AtomicInteger count = new AtomicInteger();
+        final Logger logger = createCountingLogger("logAndReturnPrimitives", Level.INFO, count);
+
+        Assert.assertTrue("Should have gotten correct return value", LoggerUtils.logAndReturn(logger, Level.INFO, "{0}", true));
+        Assert.assertEquals("Should have gotten correct return value", 1234, LoggerUtils.logAndReturn(logger, Level.INFO, "{0}", 1234));
+        Assert.assertEquals("Should have gotten correct return value", 5678L, LoggerUtils.logAndReturn(logger, Level.INFO, "{0}", 5678L));
+
+        Assert.assertFalse("Should have gotten correct return value", LoggerUtils.logAndReturn(logger, Level.FINEST, "{0}", false));
+        Assert.assertEquals("Should have gotten correct return value", 4321, LoggerUtils.logAndReturn(logger, Level.FINEST, "{0}", 4321));
+        Assert.assertEquals("Should have gotten correct return value", 8765L, LoggerUtils.logAndReturn(logger, Level.FINEST, "{0}", 8765L));
+
+        Assert.assertEquals("Should only have published enabled logs", 3, count.get());
+    }
+
+    /**
+     * Returns a message supplier that counts the times its message is computed.
+     */
+    static MessageSupplier createCountingMessageSupplier(final AtomicInteger count) {
+        return new MessageSupplier() {
+            @Override
+            public String get() {
+                count.incrementAndGet();
+
+                return "Computed message";
+            }
+        };
+    }
+
+    /**
+     * Tests rendering a stack trace.
+     */
+    @Test
+    public void test_toStackTrace() {
+        final String stackTrace = LoggerUtils.toStackTrace(new RuntimeException("FOR A TEST"));
+
+        Assert.assertTrue("Should contain the message", stackTrace.contains("FOR A TEST"));
+        Assert.assertTrue("Should contain the test", stackTrace.contains("test_toStackTrace"));
+    }
+
+    /**
+     * Tests the throwable log does not render the stack trace when not enabled.
+     */
+    @Test
+    public void test_log_Logger_Level_Throwable_String_ObjectArray_notLoggable() {
+        final AtomicInteger count = new AtomicInteger();
+        final Logger logger = createCountingLogger("throwable", Level.SEVERE, count);
+
+        LoggerUtils.log(logger, Level.FINE, new RuntimeException("FOR A TEST"), "This is a log {0} for {1}", "0", "1");
+        Assert.assertEquals("Should not have published", 0, count.get());
+
+        LoggerUtils.log(logger, Level.SEVERE, new RuntimeException("FOR A TEST"), "This is a log {0} for {1}", "0", "1");
+        Assert.assertEquals("Should have published", 1, count.get());
+    }
+
+    /**
+     * Tests the deferred message is only computed when requested.
+     */
+    @Test
+    public void test_defer() {
+        final AtomicInteger count = new AtomicInteger();
+        final Object deferred = LoggerUtils.defer(createCountingMessageSupplier(count));
+
+        Assert.assertEquals("Should not have computed", 0, count.get());
+        Assert.assertEquals("Should be the message", "Computed message", deferred.toString());
+        Assert.assertEquals("Should have computed", 1, count.get());
+    }
+
+    /**
+     * Tests the deferred stack trace.
+     */
+    @Test
+    public void test_defer_Throwable() {
+        Assert.assertTrue("Should contain the message", LoggerUtils.defer(new RuntimeException("FOR A TEST")).toString().contains("FOR A TEST"));
+    }
+
+    /**
+     * Tests a null throwable - should fail.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void test_defer_Throwable_null() {
+        LoggerUtils.defer((Throwable) null);
+    }
+
+    /**
+     * Tests the message supplier is only called when enabled.
+     */
+    @Test
+    public void test_log_MessageSupplier() {
+        final AtomicInteger published = new AtomicInteger();
+        final AtomicInteger computed = new AtomicInteger();
+        final Logger logger = createCountingLogger("messageSupplier", Level.INFO, published);
+
+        LoggerUtils.log(logger, Level.FINEST, createCountingMessageSupplier(computed));
+        LoggerUtils.log(logger, Level.FINEST, new RuntimeException("FOR A TEST"), createCountingMessageSupplier(computed));
+
+        Assert.assertEquals("Should not have computed", 0, computed.get());
+        Assert.assertEquals("Should not have published", 0, published.get());
+
+        LoggerUtils.log(logger, Level.INFO, createCountingMessageSupplier(computed));
+        LoggerUtils.log(logger, Level.INFO, new RuntimeException("FOR A TEST"), createCountingMessageSupplier(computed));
+
+        Assert.assertEquals("Should have computed", 2, computed.get());
+        Assert.assertEquals("Should have published", 2, published.get());
+    }
+
+    /**
+     * Tests the jCore logger.
+     */
+    @Test
+    public void test_getJCoreLogger() {
+        Assert.assertEquals("Should be the jCore logger", LoggerUtils.JCORE_LOGGER_NAME, LoggerUtils.getJCoreLogger().getName());
+    }
+
+    /**
+     * Tests routing a logger through an async handler.
+     */
+    @Test
+    public void test_routeAsync() {
+        final AtomicInteger count = new AtomicInteger();
+        final Logger logger = Logger.getLogger(LoggerUtilsTest.class.getName() + ".routeAsync");
+        final Logger child = createCountingLogger("routeAsync.child", Level.ALL, count);
+
+        child.setUseParentHandlers(true);
+
+        final AsyncHandler asyncHandler = LoggerUtils.routeAsync(logger, new AsyncHandler(new ConsoleHandler()));
+
+        Assert.assertFalse("Should not use parent handlers", logger.getUseParentHandlers());
+
+        LoggerUtils.log(child, Level.INFO, "Routed {0}", "async");
+
+        asyncHandler.close();
+
+        Assert.assertEquals("Should have published via the child", 1, count.get());
+        Assert.assertEquals("Should have published via the async handler", 1, asyncHandler.getPublishedCount());
+
+        logger.removeHandler(asyncHandler);
+        logger.setUseParentHandlers(true);
+    }
 }
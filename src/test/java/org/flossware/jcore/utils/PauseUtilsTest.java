@@ -80,4 +80,29 @@ public class PauseUtilsTest {
 
         Assert.assertTrue("Should have paused correct time", System.currentTimeMillis() <= startTime + pauseTime);
     }
+
+    /**
+     * Test the spin wait hint.
+     */
+    @Test
+    public void test_onSpinWait() {
+        // Nothing to observe other than it not failing - which implementation is used depends on the JDK and class path.
+        PauseUtils.onSpinWait();
+        PauseUtils.isSpinWaitSupported();
+    }
+
+    /**
+     * Test a pause is interruptible and the interrupt status is kept.
+     */
+    @Test
+    public void test_pause_interrupted() {
+        Thread.currentThread().interrupt();
+
+        final long startTime = System.currentTimeMillis();
+
+        PauseUtils.pause(5000);
+
+        Assert.assertTrue("Should have kept the interrupt status", Thread.interrupted());
+        Assert.assertTrue("Should not have paused the full time", System.currentTimeMillis() < startTime + 5000);
+    }
 }
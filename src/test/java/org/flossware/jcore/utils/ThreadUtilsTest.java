@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.utils;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the ThreadUtils utility class.
+ *
+ * @author Scot P. Floess
+ */
+public class ThreadUtilsTest {
+    /**
+     * Tests the constructor.
+     */
+    @Test
+    public void testConstructor() throws NoSuchMethodException, InstantiationException, IllegalAccessException, IllegalArgumentException, InvocationTargetException {
+        final Constructor constructor = ThreadUtils.class.getDeclaredConstructor();
+        constructor.setAccessible(true);
+        constructor.newInstance(new Object[0]);
+    }
+
+    /**
+     * Tests isVirtual with a null thread.
+     */
+    @Test
+    public void test_isVirtual_null() {
+        try {
+            ThreadUtils.isVirtual(null);
+            Assert.fail("Should not be able to examine a null thread");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertEquals("Should be correct failure message", ThreadUtils.THREAD_ERROR_MSG, illegalArgumentException.getMessage());
+        }
+    }
+
+    /**
+     * Tests isVirtual on a platform thread.
+     */
+    @Test
+    public void test_isVirtual() {
+        Assert.assertFalse("Should not be a virtual thread", ThreadUtils.isVirtual(new Thread()));
+        Assert.assertFalse("Should not be a virtual thread", ThreadUtils.isCurrentThreadVirtual());
+    }
+
+    /**
+     * Tests running tasks.
+     */
+    @Test
+    public void test_newTaskExecutor() throws InterruptedException, ExecutionException {
+        final ExecutorService executor = ThreadUtils.newTaskExecutor();
+
+        try {
+            final boolean isVirtual = executor.submit(new Callable<Boolean>() {
+                @Override
+                public Boolean call() {
+                    return ThreadUtils.isCurrentThreadVirtual();
+                }
+            }).get();
+
+            Assert.assertEquals("Should run on virtual threads when supported", ThreadUtils.isVirtualThreadSupported(), isVirtual);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Tests virtual threads are used when run from the multi-release jar on Java 21 or later.
+     */
+    @Test
+    public void test_isVirtualThreadSupported() {
+        if (!Boolean.getBoolean("jcore.multiRelease")) {
+            return;
+        }
+
+        final String version = System.getProperty("java.specification.version");
+        final boolean isJava21 = !version.startsWith("1.") && Integer.parseInt(version) >= 21;
+
+        Assert.assertEquals("Should use the Java 21 overlay when available", isJava21, ThreadUtils.isVirtualThreadSupported());
+    }
+}
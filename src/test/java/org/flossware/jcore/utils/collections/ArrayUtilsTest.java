@@ -310,4 +310,25 @@ public class ArrayUtilsTest {
         Assert.assertSame("Should be same list", str, ArrayUtils.ensureArray(str));
     }
 
+
+    /**
+     * Tests ensuring a range.
+     */
+    @Test
+    public void test_ensureRange() {
+        Assert.assertEquals("Should be the end", 5, ArrayUtils.ensureRange(5, 0, 5));
+        Assert.assertEquals("Should be the end", 4, ArrayUtils.ensureRange(5, 1, 3));
+        Assert.assertEquals("Should allow an empty range at the end", 5, ArrayUtils.ensureRange(5, 5, 0));
+
+        final int[][] badRanges = {{-1, 1}, {0, -1}, {4, 2}, {6, 0}, {1, Integer.MAX_VALUE}};
+
+        for (final int[] badRange : badRanges) {
+            try {
+                ArrayUtils.ensureRange(5, badRange[0], badRange[1]);
+                Assert.fail("Should not allow a bad range");
+            } catch (final IllegalArgumentException illegalArgumentException) {
+                Assert.assertEquals("Should be correct failure message", ArrayUtils.RANGE_ERROR_MSG, illegalArgumentException.getMessage());
+            }
+        }
+    }
 }
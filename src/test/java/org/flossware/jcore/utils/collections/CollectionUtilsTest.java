@@ -18,13 +18,19 @@ package org.flossware.jcore.utils.collections;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.TreeSet;
 import org.flossware.jcore.Filter;
 import org.flossware.jcore.utils.ObjectUtils;
@@ -487,4 +493,333 @@ public class CollectionUtilsTest {
         Assert.assertTrue("Value should be found", collection.contains(list.get(0)));
         Assert.assertTrue("Value should be found", collection.contains(list.get(2)));
     }
+
+    /**
+     * Tests the sized copies using null.
+     */
+    @Test
+    public void test_copies_null() {
+        try {
+            CollectionUtils.toList(null);
+            Assert.fail("Should not copy a null collection");
+        } catch (final IllegalArgumentException e) {
+            Assert.assertEquals("Should have gotten the error msg", CollectionUtils.COLLECTION_ERROR_MSG, e.getMessage());
+        }
+
+        try {
+            CollectionUtils.toSet(null);
+            Assert.fail("Should not copy a null collection");
+        } catch (final IllegalArgumentException e) {
+            Assert.assertEquals("Should have gotten the error msg", CollectionUtils.COLLECTION_ERROR_MSG, e.getMessage());
+        }
+
+        try {
+            CollectionUtils.toLinkedSet(null);
+            Assert.fail("Should not copy a null collection");
+        } catch (final IllegalArgumentException e) {
+            Assert.assertEquals("Should have gotten the error msg", CollectionUtils.COLLECTION_ERROR_MSG, e.getMessage());
+        }
+
+        try {
+            CollectionUtils.toSortedList(null, null);
+            Assert.fail("Should not copy a null collection");
+        } catch (final IllegalArgumentException e) {
+            Assert.assertEquals("Should have gotten the error msg", CollectionUtils.COLLECTION_ERROR_MSG, e.getMessage());
+        }
+
+        try {
+            CollectionUtils.toUnmodifiable(null);
+            Assert.fail("Should not view a null collection");
+        } catch (final IllegalArgumentException e) {
+            Assert.assertEquals("Should have gotten the error msg", CollectionUtils.COLLECTION_ERROR_MSG, e.getMessage());
+        }
+
+        try {
+            CollectionUtils.copy(null, CopyStrategy.LIST);
+            Assert.fail("Should not copy a null collection");
+        } catch (final IllegalArgumentException e) {
+            Assert.assertEquals("Should have gotten the error msg", CollectionUtils.COLLECTION_ERROR_MSG, e.getMessage());
+        }
+
+        try {
+            CollectionUtils.copy(new ArrayList<>(), null);
+            Assert.fail("Should not copy without a strategy");
+        } catch (final IllegalArgumentException e) {
+            Assert.assertEquals("Should have gotten the error msg", CollectionUtils.STRATEGY_ERROR_MSG, e.getMessage());
+        }
+    }
+
+    /**
+     * Tests the sized copies.
+     */
+    @Test
+    public void test_copies() {
+        final List<String> list = new ArrayList<>(Arrays.asList("3", "1", "2", "1", null));
+
+        final List<String> copy = CollectionUtils.toList(list);
+
+        Assert.assertNotSame("Should not be the same collection", list, copy);
+        Assert.assertEquals("Should be the same elements in order", list, copy);
+        Assert.assertTrue("Should be an array list", copy instanceof ArrayList);
+
+        final Set<String> set = CollectionUtils.toSet(list);
+
+        Assert.assertEquals("Should drop duplicates", new HashSet<>(list), set);
+        Assert.assertTrue("Should be a hash set", set instanceof HashSet);
+        Assert.assertEquals("Should keep first occurrence order", Arrays.asList("3", "1", "2", null), new ArrayList<>(CollectionUtils.toLinkedSet(list)));
+
+        list.remove(null);
+
+        Assert.assertEquals("Should sort naturally keeping duplicates", Arrays.asList("1", "1", "2", "3"), CollectionUtils.toSortedList(list, null));
+        Assert.assertEquals("Should sort by the comparator", Arrays.asList("3", "2", "1", "1"), CollectionUtils.toSortedList(list, Comparator.reverseOrder()));
+        Assert.assertEquals("Should not change the source", Arrays.asList("3", "1", "2", "1"), list);
+    }
+
+    /**
+     * Tests unmodifiable views.
+     */
+    @Test
+    public void test_toUnmodifiable() {
+        final List<String> list = new ArrayList<>(Arrays.asList("1", "2"));
+        final Collection<String> view = CollectionUtils.toUnmodifiable(list);
+
+        Assert.assertTrue("Should still be a list", view instanceof List);
+        Assert.assertTrue("Should be a set", CollectionUtils.toUnmodifiable(new HashSet<>(list)) instanceof Set);
+        Assert.assertFalse("Should be neither", CollectionUtils.toUnmodifiable(new ArrayDeque<>(list)) instanceof List);
+
+        list.add("3");
+
+        Assert.assertEquals("Should see changes to the source", 3, view.size());
+
+        try {
+            view.add("4");
+            Assert.fail("Should not allow changes");
+        } catch (final UnsupportedOperationException unsupportedOperationException) {
+        }
+    }
+
+    /**
+     * Tests copying by strategy.
+     */
+    @Test
+    public void test_copy_strategy() {
+        final List<String> list = Arrays.asList("3", "1", "2", "1");
+
+        Assert.assertEquals("Should be a list", list, CollectionUtils.copy(list, CopyStrategy.LIST));
+        Assert.assertEquals("Should be a set", new HashSet<>(list), CollectionUtils.copy(list, CopyStrategy.SET));
+        Assert.assertEquals("Should be an ordered set", Arrays.asList("3", "1", "2"), new ArrayList<>(CollectionUtils.copy(list, CopyStrategy.LINKED_SET)));
+        Assert.assertEquals("Should be sorted", Arrays.asList("1", "1", "2", "3"), CollectionUtils.copy(list, CopyStrategy.SORTED));
+        Assert.assertEquals("Should be sorted by the comparator", Arrays.asList("3", "2", "1", "1"), CollectionUtils.copy(list, CopyStrategy.SORTED, Comparator.reverseOrder()));
+        Assert.assertEquals("Should be a view", list, CollectionUtils.copy(list, CopyStrategy.VIEW));
+    }
+
+    /**
+     * Tests asSet does not need comparable elements.
+     */
+    @Test
+    public void test_asSet_notComparable() {
+        final Object value = new Object();
+
+        Assert.assertTrue("Should have the value", CollectionUtils.asSet(Arrays.asList(value, value)).contains(value));
+        Assert.assertEquals("Should drop duplicates", 1, CollectionUtils.asSet(Arrays.asList(value, value)).size());
+    }
+
+    /**
+     * Return count random integers.
+     */
+    static List<Integer> randomIntegers(final int count) {
+        final Random random = new Random(count);
+        final List<Integer> retVal = new ArrayList<>(count);
+
+        for (int index = 0; index < count; index++) {
+            retVal.add(random.nextInt());
+        }
+
+        return retVal;
+    }
+
+    /**
+     * Tests sorting in place.
+     */
+    @Test
+    public void test_sort_inPlace() {
+        final List<String> list = new ArrayList<>(Arrays.asList("3", "1", "2"));
+
+        Assert.assertSame("Should sort the list itself", list, CollectionUtils.sort(list, new StringComparator(), true));
+        Assert.assertEquals("Should be sorted", Arrays.asList("1", "2", "3"), list);
+
+        final Set<String> set = new TreeSet<>(Comparator.reverseOrder());
+
+        set.addAll(list);
+
+        Assert.assertEquals("Should copy what is not a list", Arrays.asList("1", "2", "3"), CollectionUtils.sort(set, new StringComparator(), true));
+
+        try {
+            CollectionUtils.sortInPlace(null, null);
+            Assert.fail("Should not sort a null list");
+        } catch (final IllegalArgumentException e) {
+            Assert.assertEquals("Should have gotten the error msg", CollectionUtils.COLLECTION_ERROR_MSG, e.getMessage());
+        }
+    }
+
+    /**
+     * Tests sorting large collections in parallel.
+     */
+    @Test
+    public void test_sort_parallel() {
+        final List<Integer> list = randomIntegers(CollectionUtils.PARALLEL_SORT_THRESHOLD * 4);
+        final List<Integer> expected = new ArrayList<>(list);
+
+        expected.sort(null);
+
+        Assert.assertEquals("Should sort a copy", expected, CollectionUtils.sort(list, Comparator.naturalOrder()));
+        Assert.assertEquals("Should sort into an array", expected, CollectionUtils.toSortedList(list, null));
+
+        final List<Integer> linked = new LinkedList<>(list);
+
+        Assert.assertSame("Should sort in place", linked, CollectionUtils.sortInPlace(linked, null));
+        Assert.assertEquals("Should sort in place", expected, linked);
+    }
+
+    /**
+     * Tests sorting by primitive keys using null.
+     */
+    @Test
+    public void test_sortBy_null() {
+        try {
+            CollectionUtils.sortByInt(null, String::length);
+            Assert.fail("Should not sort a null collection");
+        } catch (final IllegalArgumentException e) {
+            Assert.assertEquals("Should have gotten the error msg", CollectionUtils.COLLECTION_ERROR_MSG, e.getMessage());
+        }
+
+        try {
+            CollectionUtils.sortByInt(new ArrayList<String>(), null);
+            Assert.fail("Should not sort without a key");
+        } catch (final IllegalArgumentException e) {
+            Assert.assertEquals("Should have gotten the error msg", CollectionUtils.KEY_ERROR_MSG, e.getMessage());
+        }
+
+        try {
+            CollectionUtils.sortByLong(null, String::length);
+            Assert.fail("Should not sort a null collection");
+        } catch (final IllegalArgumentException e) {
+            Assert.assertEquals("Should have gotten the error msg", CollectionUtils.COLLECTION_ERROR_MSG, e.getMessage());
+        }
+
+        try {
+            CollectionUtils.sortByLong(new ArrayList<String>(), null);
+            Assert.fail("Should not sort without a key");
+        } catch (final IllegalArgumentException e) {
+            Assert.assertEquals("Should have gotten the error msg", CollectionUtils.KEY_ERROR_MSG, e.getMessage());
+        }
+    }
+
+    /**
+     * Tests sorting by primitive keys.
+     */
+    @Test
+    public void test_sortBy() {
+        final List<String> list = Arrays.asList("ccc", "a", "bb", "b", "-", "dddd");
+
+        Assert.assertEquals("Should sort by int key keeping ties in order", Arrays.asList("a", "b", "-", "bb", "ccc", "dddd"), CollectionUtils.sortByInt(list, String::length));
+        Assert.assertEquals("Should sort by negative int key", Arrays.asList("dddd", "ccc", "bb", "a", "b", "-"), CollectionUtils.sortByInt(list, value -> -value.length()));
+        Assert.assertEquals("Should sort by long key keeping ties in order", Arrays.asList("a", "b", "-", "bb", "ccc", "dddd"), CollectionUtils.sortByLong(list, String::length));
+        Assert.assertEquals("Should sort by extreme long key", Arrays.asList("dddd", "ccc", "bb", "a", "b", "-"), CollectionUtils.sortByLong(list, value -> Long.MAX_VALUE - value.length()));
+        Assert.assertEquals("Should not change the source", Arrays.asList("ccc", "a", "bb", "b", "-", "dddd"), list);
+
+        final List<Integer> large = randomIntegers(CollectionUtils.PARALLEL_SORT_THRESHOLD * 2);
+        final List<Integer> expected = new ArrayList<>(large);
+
+        expected.sort(null);
+
+        Assert.assertEquals("Should sort many by int key", expected, CollectionUtils.sortByInt(large, Integer::intValue));
+        Assert.assertEquals("Should sort many by long key", expected, CollectionUtils.sortByLong(large, Integer::longValue));
+    }
+
+    /**
+     * Tests selecting the top elements using null.
+     */
+    @Test
+    public void test_top_null() {
+        try {
+            CollectionUtils.top(null, 1, new StringComparator());
+            Assert.fail("Should not select from a null collection");
+        } catch (final IllegalArgumentException e) {
+            Assert.assertEquals("Should have gotten the error msg", CollectionUtils.COLLECTION_ERROR_MSG, e.getMessage());
+        }
+
+        try {
+            CollectionUtils.top(new ArrayList<String>(), 1, null);
+            Assert.fail("Should not select without a comparator");
+        } catch (final IllegalArgumentException e) {
+            Assert.assertEquals("Should have gotten the error msg", CollectionUtils.COMPARATOR_ERROR_MSG, e.getMessage());
+        }
+
+        try {
+            CollectionUtils.top(new ArrayList<String>(), -1, new StringComparator());
+            Assert.fail("Should not select a negative count");
+        } catch (final IllegalArgumentException e) {
+            Assert.assertEquals("Should have gotten the error msg", CollectionUtils.COUNT_ERROR_MSG, e.getMessage());
+        }
+    }
+
+    /**
+     * Tests selecting the top elements.
+     */
+    @Test
+    public void test_top() {
+        final List<Integer> list = randomIntegers(10000);
+        final List<Integer> expected = new ArrayList<>(list);
+
+        expected.sort(Comparator.reverseOrder());
+
+        Assert.assertEquals("Should be the largest in order", expected.subList(0, 100), CollectionUtils.top(list, 100, Comparator.reverseOrder()));
+        Assert.assertEquals("Should be the smallest", expected.get(expected.size() - 1), CollectionUtils.top(list, 1, Comparator.naturalOrder()).get(0));
+        Assert.assertEquals("Should be everything", expected, CollectionUtils.top(list, 20000, Comparator.reverseOrder()));
+        Assert.assertTrue("Should be nothing", CollectionUtils.top(list, 0, Comparator.reverseOrder()).isEmpty());
+    }
+
+    /**
+     * Tests parallel filter using null.
+     */
+    @Test
+    public void test_parallelFilter_null() {
+        try {
+            CollectionUtils.parallelFilter((Collection<String>) null, new ContainsFilter(), "1");
+            Assert.fail("Should not filter a null collection");
+        } catch (final IllegalArgumentException e) {
+            Assert.assertEquals("Should have gotten the error msg", CollectionUtils.COLLECTION_ERROR_MSG, e.getMessage());
+        }
+
+        try {
+            CollectionUtils.parallelFilter(new ArrayList<String>(), null, "1");
+            Assert.fail("Should not filter without a filter");
+        } catch (final IllegalArgumentException e) {
+            Assert.assertEquals("Should have gotten the error msg", CollectionUtils.FILTER_ERROR_MSG, e.getMessage());
+        }
+    }
+
+    /**
+     * Tests parallel filtering keeps the collection's order.
+     */
+    @Test
+    public void test_parallelFilter() {
+        final List<String> list = new ArrayList<>();
+
+        for (int index = 0; index < 5000; index++) {
+            list.add(index % 7 == 0 ? "hello" + index : String.valueOf(index));
+        }
+
+        final List<String> expected = new ArrayList<>(CollectionUtils.filter(list, new ContainsFilter(), "hello"));
+        final ExecutorService executor = Executors.newFixedThreadPool(3);
+
+        try {
+            Assert.assertEquals("Should be the matches in order", expected, CollectionUtils.parallelFilter(list, new ContainsFilter(), "hello", executor, 64));
+        } finally {
+            executor.shutdown();
+        }
+
+        Assert.assertEquals("Should be the matches in order", expected, CollectionUtils.parallelFilter(list, new ContainsFilter(), "hello"));
+    }
 }
@@ -0,0 +1,179 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.utils.collections;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the FilterIndex class.
+ *
+ * @author Scot P. Floess
+ */
+public class FilterIndexTest {
+
+    /**
+     * The elements indexed.
+     */
+    static final List<String> WORDS = Arrays.asList("apple", "bee", "cat", "dog", "banana", "kiwi", "bee");
+
+    /**
+     * Test bad params.
+     */
+    @Test
+    public void test_badParams() {
+        try {
+            new FilterIndex<String, Integer>(null, String::length);
+            Assert.fail("Should not allow a null source");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertEquals("Should be correct failure message", IterableUtils.ITERABLE_ERROR_MSG, illegalArgumentException.getMessage());
+        }
+
+        try {
+            new FilterIndex<String, Integer>(WORDS, null);
+            Assert.fail("Should not allow a null key");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertEquals("Should be correct failure message", FilterIndex.KEY_ERROR_MSG, illegalArgumentException.getMessage());
+        }
+
+        try {
+            new FilterIndex<>(WORDS, String::length, null);
+            Assert.fail("Should not allow a null type");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertEquals("Should be correct failure message", FilterIndex.TYPE_ERROR_MSG, illegalArgumentException.getMessage());
+        }
+    }
+
+    /**
+     * Tests the index answers what the filter would.
+     */
+    @Test
+    public void test_asFilter() {
+        for (final IndexType type : IndexType.values()) {
+            final FilterIndex<String, Integer> index = new FilterIndex<>(WORDS, String::length, type);
+
+            for (int length = 0; length < 8; length++) {
+                Assert.assertEquals("Should answer contains like the filter", IterableUtils.contains(WORDS, index.asFilter(), length), index.contains(length));
+                Assert.assertEquals("Should answer filter like the filter", CollectionUtils.filter(WORDS, index.asFilter(), length), index.filter(length));
+            }
+        }
+    }
+
+    /**
+     * Tests hash indexes.
+     */
+    @Test
+    public void test_hash() {
+        final FilterIndex<String, Integer> index = new FilterIndex<>(WORDS, String::length);
+
+        Assert.assertEquals("Should index everything", 7, index.size());
+        Assert.assertEquals("Should have each length", 4, index.keyCount());
+        Assert.assertEquals("Should be in the order indexed", Arrays.asList("bee", "cat", "dog", "bee"), index.filter(3));
+        Assert.assertTrue("Should be nothing", index.filter(10).isEmpty());
+
+        try {
+            index.filter(1, 4);
+            Assert.fail("Should not support ranges");
+        } catch (final UnsupportedOperationException unsupportedOperationException) {
+            Assert.assertEquals("Should be correct failure message", FilterIndex.RANGE_ERROR_MSG, unsupportedOperationException.getMessage());
+        }
+
+        try {
+            index.filter(3).add("fox");
+            Assert.fail("Should not allow changes");
+        } catch (final UnsupportedOperationException unsupportedOperationException) {
+        }
+
+        final FilterIndex<String, Integer> nullKeys = new FilterIndex<>(Arrays.asList("a", "bb"), value -> value.length() > 1 ? null : value.length());
+
+        Assert.assertEquals("Should allow null keys", Arrays.asList("bb"), nullKeys.filter(null));
+    }
+
+    /**
+     * Tests sorted indexes.
+     */
+    @Test
+    public void test_sorted() {
+        final FilterIndex<String, Integer> index = new FilterIndex<>(WORDS, String::length, IndexType.SORTED);
+
+        Assert.assertEquals("Should be the range in key order", Arrays.asList("bee", "cat", "dog", "bee", "kiwi"), index.filter(3, 5));
+        Assert.assertEquals("Should be everything in key order", Arrays.asList("bee", "cat", "dog", "bee", "kiwi", "apple", "banana"), index.filter(0, 100));
+        Assert.assertTrue("Should be nothing", index.filter(7, 100).isEmpty());
+
+        final FilterIndex<String, Integer> reversed = new FilterIndex<>(WORDS, String::length, IndexType.SORTED, Comparator.reverseOrder());
+
+        Assert.assertEquals("Should be in comparator order", Arrays.asList("banana", "apple", "kiwi"), reversed.filter(6, 3));
+    }
+
+    /**
+     * Tests sorted indexes match keys by their comparator - and their filter agrees.
+     */
+    @Test
+    public void test_sorted_comparator() {
+        final List<String> words = Arrays.asList("Apple", "apple", "BEE");
+        final FilterIndex<String, String> index = new FilterIndex<>(words, value -> value, IndexType.SORTED, String.CASE_INSENSITIVE_ORDER);
+
+        Assert.assertTrue("Should match ignoring case", index.hasKey("Apple", "APPLE"));
+        Assert.assertEquals("Should have the keys comparing equal", Arrays.asList("Apple", "apple"), index.filter("APPLE"));
+        Assert.assertEquals("Should answer contains like the filter", IterableUtils.contains(words, index.asFilter(), "bee"), index.contains("bee"));
+        Assert.assertEquals("Should answer filter like the filter", CollectionUtils.filter(words, index.asFilter(), "APPLE"), index.filter("APPLE"));
+
+        final FilterIndex<String, String> hash = new FilterIndex<>(words, value -> value);
+
+        Assert.assertFalse("Should match by equals", hash.hasKey("Apple", "APPLE"));
+    }
+
+    /**
+     * Tests null keys in sorted indexes using natural ordering.
+     */
+    @Test
+    public void test_sorted_nullKey() {
+        final FilterIndex<String, Integer> index = new FilterIndex<>(Arrays.asList("a", "bb", "ccc"), value -> value.length() > 2 ? null : value.length(), IndexType.SORTED);
+
+        Assert.assertEquals("Should allow null keys", Arrays.asList("ccc"), index.filter(null));
+        Assert.assertTrue("Should match a null key", index.hasKey("ccc", null));
+        Assert.assertFalse("Should not match a null key", index.hasKey("a", null));
+        Assert.assertEquals("Should sort nulls first", Arrays.asList("ccc", "a"), index.filter(null, 2));
+    }
+
+    /**
+     * Tests keeping the index current.
+     */
+    @Test
+    public void test_add_remove() {
+        final FilterIndex<String, Integer> index = new FilterIndex<>(new ArrayList<>(WORDS), String::length);
+
+        Assert.assertSame("Should return self", index, index.add("fox"));
+        Assert.assertEquals("Should have the new element", Arrays.asList("bee", "cat", "dog", "bee", "fox"), index.filter(3));
+        Assert.assertTrue("Should remove", index.remove("bee"));
+        Assert.assertEquals("Should remove one occurrence", Arrays.asList("cat", "dog", "bee", "fox"), index.filter(3));
+        Assert.assertFalse("Should not remove what is not indexed", index.remove("owl"));
+        Assert.assertFalse("Should not remove an unknown key", index.remove("elephant"));
+        Assert.assertTrue("Should remove", index.remove("kiwi"));
+        Assert.assertFalse("Should drop keys with no elements", index.contains(4));
+        Assert.assertEquals("Should count elements", 6, index.size());
+
+        index.clear();
+
+        Assert.assertEquals("Should be empty", 0, index.size());
+        Assert.assertEquals("Should have no keys", 0, index.keyCount());
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.utils.collections;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import org.flossware.jcore.Filter;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the FilteredIterable class.
+ *
+ * @author Scot P. Floess
+ */
+public class FilteredIterableTest {
+
+    /**
+     * Accepts strings containing the value.
+     */
+    static final Filter<String, String> CONTAINS_FILTER = (toFilter, value) -> toFilter.contains(value);
+
+    /**
+     * Accepts strings of the length.
+     */
+    static final Filter<String, Integer> LENGTH_FILTER = (toFilter, value) -> toFilter.length() == value;
+
+    /**
+     * Test bad params.
+     */
+    @Test
+    public void test_badParams() {
+        try {
+            new FilteredIterable<>(null, CONTAINS_FILTER, "a");
+            Assert.fail("Should not allow a null iterable");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertEquals("Should be correct failure message", FilteredIterable.ITERABLE_ERROR_MSG, illegalArgumentException.getMessage());
+        }
+
+        try {
+            new FilteredIterable<>(new ArrayList<String>(), null, "a");
+            Assert.fail("Should not allow a null filter");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertEquals("Should be correct failure message", FilteredIterable.FILTER_ERROR_MSG, illegalArgumentException.getMessage());
+        }
+
+        final FilteredIterable<String> filtered = new FilteredIterable<>(new ArrayList<>(), CONTAINS_FILTER, "a");
+
+        try {
+            filtered.filter(null, "a");
+            Assert.fail("Should not allow a null filter");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertEquals("Should be correct failure message", FilteredIterable.FILTER_ERROR_MSG, illegalArgumentException.getMessage());
+        }
+
+        try {
+            filtered.limit(-1);
+            Assert.fail("Should not allow a negative limit");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertEquals("Should be correct failure message", FilteredIterable.LIMIT_ERROR_MSG, illegalArgumentException.getMessage());
+        }
+    }
+
+    /**
+     * Tests iterating the matches.
+     */
+    @Test
+    public void test_iterator() {
+        final List<String> list = new ArrayList<>(Arrays.asList("apple", "berry", "banana", "cherry", "avocado"));
+        final FilteredIterable<String> filtered = new FilteredIterable<>(list, CONTAINS_FILTER, "a");
+        final Iterator<String> itr = filtered.iterator();
+
+        Assert.assertTrue("Should have a match", itr.hasNext());
+        Assert.assertTrue("Should not move on", itr.hasNext());
+        Assert.assertEquals("Should be the first match", "apple", itr.next());
+        Assert.assertEquals("Should skip what does not match", "banana", itr.next());
+        Assert.assertEquals("Should be the last match", "avocado", itr.next());
+        Assert.assertFalse("Should have no more matches", itr.hasNext());
+
+        try {
+            itr.next();
+            Assert.fail("Should not go past the last match");
+        } catch (final NoSuchElementException noSuchElementException) {
+            Assert.assertEquals("Should be correct failure message", FilteredIterable.NEXT_ERROR_MSG, noSuchElementException.getMessage());
+        }
+
+        list.add("date");
+
+        Assert.assertEquals("Should see changes to the source", Arrays.asList("apple", "banana", "avocado", "date"), filtered.toList());
+        Assert.assertEquals("Should count the matches", 4, filtered.count());
+        Assert.assertFalse("Should have matches", filtered.isEmpty());
+        Assert.assertTrue("Should have no matches", filtered.filter(CONTAINS_FILTER, "z").isEmpty());
+        Assert.assertEquals("Should stream the matches", filtered.toList(), filtered.stream().collect(Collectors.toList()));
+    }
+
+    /**
+     * Tests filters are only evaluated as far as needed.
+     */
+    @Test
+    public void test_lazy() {
+        final AtomicInteger evaluated = new AtomicInteger();
+        final Filter<Integer, Integer> countingFilter = (toFilter, value) -> {
+            evaluated.incrementAndGet();
+
+            return toFilter % value == 0;
+        };
+
+        final List<Integer> list = new ArrayList<>();
+
+        for (int index = 0; index < 1000; index++) {
+            list.add(index);
+        }
+
+        final FilteredIterable<Integer> filtered = IterableUtils.filter(list, countingFilter, 2);
+
+        Assert.assertEquals("Should not evaluate until iterated", 0, evaluated.get());
+        Assert.assertEquals("Should be the first matches", Arrays.asList(0, 2, 4), filtered.limit(3).toList());
+        Assert.assertEquals("Should stop at the limit", 5, evaluated.get());
+
+        evaluated.set(0);
+
+        Assert.assertFalse("Should have a match", filtered.isEmpty());
+        Assert.assertEquals("Should stop at the first match", 1, evaluated.get());
+
+        final Iterator<Integer> itr = filtered.limit(2).iterator();
+
+        itr.next();
+        itr.next();
+
+        Assert.assertFalse("Should stop at the limit", itr.hasNext());
+        Assert.assertTrue("Should match nothing", filtered.limit(0).isEmpty());
+        Assert.assertEquals("Should visit nothing", 0, filtered.limit(0).count());
+    }
+
+    /**
+     * Tests chaining filters and limits.
+     */
+    @Test
+    public void test_chain() {
+        final List<String> list = Arrays.asList("a", "ab", "abc", "b", "bc", "abcd", "ba");
+        final FilteredIterable<String> filtered = new FilteredIterable<>(list, CONTAINS_FILTER, "a").filter(LENGTH_FILTER, 2);
+
+        Assert.assertEquals("Should satisfy both filters", Arrays.asList("ab", "ba"), filtered.toList());
+        Assert.assertEquals("Should limit the combined matches", Arrays.asList("ab"), filtered.limit(1).toList());
+        Assert.assertEquals("Should keep the smaller limit", Arrays.asList("ab"), filtered.limit(1).limit(5).toList());
+        Assert.assertEquals("Should filter the limited matches", Arrays.asList("ab"), new FilteredIterable<>(list, CONTAINS_FILTER, "a").limit(3).filter(LENGTH_FILTER, 2).toList());
+        Assert.assertEquals("Should limit before filtering", Arrays.asList(), new FilteredIterable<>(list, CONTAINS_FILTER, "a").limit(1).filter(LENGTH_FILTER, 2).toList());
+    }
+
+    /**
+     * Tests null elements are passed to the filters.
+     */
+    @Test
+    public void test_nullElements() {
+        final List<String> list = Arrays.asList("a", null, "b");
+        final Filter<String, String> nullFilter = (toFilter, value) -> null == toFilter;
+        final Iterator<String> itr = IterableUtils.filter(list, nullFilter, null).iterator();
+
+        Assert.assertTrue("Should match the null", itr.hasNext());
+        Assert.assertNull("Should be the null", itr.next());
+        Assert.assertFalse("Should have no more matches", itr.hasNext());
+    }
+}
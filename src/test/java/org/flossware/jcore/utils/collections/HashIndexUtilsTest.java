@@ -0,0 +1,84 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.utils.collections;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the HashIndexUtils class.
+ *
+ * @author Scot P. Floess
+ */
+public class HashIndexUtilsTest {
+
+    @Test
+    public void test_hash() {
+        Assert.assertEquals("Null should hash to 0", 0, HashIndexUtils.hash(null));
+        Assert.assertEquals("Should mix the hash code", PrimitiveHashUtils.mix("foo".hashCode()), HashIndexUtils.hash("foo"));
+    }
+
+    @Test
+    public void test_newIndex() {
+        final Object[] elements = {"a", "b", "c", null};
+        final int[] index = HashIndexUtils.newIndex(elements, elements.length);
+
+        Assert.assertEquals("Should be a power of two at the load factor", 8, index.length);
+
+        for (int position = 0; position < elements.length; position++) {
+            Assert.assertEquals("Should find each element", position, HashIndexUtils.indexOf(index, elements, elements[position]));
+        }
+
+        Assert.assertEquals("Should not find a missing element", -1, HashIndexUtils.indexOf(index, elements, "d"));
+    }
+
+    @Test
+    public void test_newIndex_partial() {
+        final Object[] elements = {"a", "b", "c"};
+        final int[] index = HashIndexUtils.newIndex(elements, 2);
+
+        Assert.assertEquals("Should find an indexed element", 1, HashIndexUtils.indexOf(index, elements, "b"));
+        Assert.assertEquals("Should not find an element past size", -1, HashIndexUtils.indexOf(index, elements, "c"));
+    }
+
+    @Test
+    public void test_indexOf_duplicates() {
+        final Object[] elements = {"x", "a", "y", "a", "a"};
+        final int[] index = HashIndexUtils.newIndex(elements, elements.length);
+
+        Assert.assertEquals("Should find the first equal element", 1, HashIndexUtils.indexOf(index, elements, "a"));
+    }
+
+    @Test
+    public void test_newIndex_empty() {
+        final int[] index = HashIndexUtils.newIndex(new Object[0], 0);
+
+        Assert.assertEquals("Should not find anything", -1, HashIndexUtils.indexOf(index, new Object[0], "a"));
+    }
+
+    /**
+     * Tests the constructor.
+     */
+    @Test
+    public void testConstructor() throws NoSuchMethodException, InstantiationException, IllegalAccessException, IllegalArgumentException, InvocationTargetException {
+        final Constructor constructor = HashIndexUtils.class.getDeclaredConstructor();
+        constructor.setAccessible(true);
+        constructor.newInstance(new Object[0]);
+    }
+}
@@ -19,7 +19,10 @@ package org.flossware.jcore.utils.collections;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.TreeSet;
 import org.flossware.jcore.Filter;
 import org.junit.Assert;
@@ -100,4 +103,86 @@ public class IterableUtilsTest {
 
         Assert.assertFalse("Should not contain values", IterableUtils.contains(new ArrayList<String>(), new NotContainsFilter(), "BLAH"));
     }
+
+    /**
+     * Tests filter using null.
+     */
+    @Test
+    public void test_filter_null() {
+        try {
+            IterableUtils.filter(null, new ContainsFilter(), "1");
+            Assert.fail("Should not filter a null iterable");
+        } catch (final IllegalArgumentException e) {
+            Assert.assertEquals("Should have gotten the error msg", IterableUtils.ITERABLE_ERROR_MSG, e.getMessage());
+        }
+
+        try {
+            IterableUtils.filter(new ArrayList<String>(), null, "1");
+            Assert.fail("Should not filter without a filter");
+        } catch (final IllegalArgumentException e) {
+            Assert.assertEquals("Should have gotten the error msg", IterableUtils.FILTER_ERROR_MSG, e.getMessage());
+        }
+    }
+
+    /**
+     * Test filter.
+     */
+    @Test
+    public void test_filter() {
+        final List<String> list = new ArrayList<>();
+
+        list.add("222222");
+        list.add("hello1");
+        list.add("3hello3");
+
+        final FilteredIterable<String> filtered = IterableUtils.filter(list, new ContainsFilter(), "hello");
+
+        Assert.assertEquals("Should be the matches", Arrays.asList("hello1", "3hello3"), filtered.toList());
+        Assert.assertEquals("Should chain filters", Arrays.asList("3hello3"), filtered.filter(new ContainsFilter(), "3").toList());
+    }
+
+    /**
+     * Tests parallel contains using null.
+     */
+    @Test
+    public void test_parallelContains_null() {
+        try {
+            IterableUtils.parallelContains(null, new ContainsFilter(), "1");
+            Assert.fail("Should not search a null iterable");
+        } catch (final IllegalArgumentException e) {
+            Assert.assertEquals("Should have gotten the error msg", IterableUtils.ITERABLE_ERROR_MSG, e.getMessage());
+        }
+
+        try {
+            IterableUtils.parallelContains(new ArrayList<String>(), null, "1");
+            Assert.fail("Should not search without a filter");
+        } catch (final IllegalArgumentException e) {
+            Assert.assertEquals("Should have gotten the error msg", IterableUtils.FILTER_ERROR_MSG, e.getMessage());
+        }
+    }
+
+    /**
+     * Test parallel contains.
+     */
+    @Test
+    public void test_parallelContains() {
+        final List<String> list = new ArrayList<>();
+
+        for (int index = 0; index < 5000; index++) {
+            list.add(String.valueOf(index));
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(3);
+
+        try {
+            Assert.assertTrue("Should contain values", IterableUtils.parallelContains(list, new ContainsFilter(), "4999", executor, 64));
+            Assert.assertFalse("Should not contain values", IterableUtils.parallelContains(list, new ContainsFilter(), "BLAH", executor, 64));
+        } finally {
+            executor.shutdown();
+        }
+
+        Assert.assertTrue("Should contain values", IterableUtils.parallelContains(list, new ContainsFilter(), "123"));
+        Assert.assertTrue("Should search any iterable", IterableUtils.parallelContains(IterableUtils.filter(list, new ContainsFilter(), "9"), new ContainsFilter(), "99"));
+        Assert.assertFalse("Should not contain values", IterableUtils.parallelContains(new ArrayList<String>(), new ContainsFilter(), "1"));
+    }
 }
@@ -235,4 +235,118 @@ public class MapUtilsTest {
 
         Assert.assertSame("Should be the same map", map, MapUtils.ensureMap(map));
     }
+
+    /**
+     * Tests computing the capacity for an expected size.
+     */
+    @Test
+    public void test_capacityFor() {
+        Assert.assertEquals("Should be no capacity", 0, MapUtils.capacityFor(0));
+        Assert.assertEquals("Should allow for the load factor", 4, MapUtils.capacityFor(3));
+        Assert.assertEquals("Should not overflow", Integer.MAX_VALUE, MapUtils.capacityFor(Integer.MAX_VALUE));
+
+        try {
+            MapUtils.capacityFor(-1);
+            Assert.fail("Should not allow a negative expected size");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertEquals("Should be correct failure message", MapUtils.EXPECTED_SIZE_ERROR_MSG, illegalArgumentException.getMessage());
+        }
+    }
+
+    /**
+     * Tests creating a presized map.
+     */
+    @Test
+    public void test_newHashMap() {
+        final Map<String, String> map = MapUtils.newHashMap(10);
+
+        Assert.assertTrue("Should be empty", map.isEmpty());
+    }
+
+    /**
+     * Tests ensuring parallel arrays.
+     */
+    @Test
+    public void test_ensureParallel() {
+        Assert.assertEquals("Should be the length", 2, MapUtils.ensureParallel(new String[2], new Integer[2]));
+
+        try {
+            MapUtils.ensureParallel(null, new Integer[2]);
+            Assert.fail("Should not allow null keys");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertEquals("Should be correct failure message", MapUtils.KEYS_ERROR_MSG, illegalArgumentException.getMessage());
+        }
+
+        try {
+            MapUtils.ensureParallel(new String[2], null);
+            Assert.fail("Should not allow null values");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertEquals("Should be correct failure message", MapUtils.VALUES_ERROR_MSG, illegalArgumentException.getMessage());
+        }
+
+        try {
+            MapUtils.ensureParallel(new String[2], new Integer[3]);
+            Assert.fail("Should not allow different lengths");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertEquals("Should be correct failure message", MapUtils.LENGTH_ERROR_MSG, illegalArgumentException.getMessage());
+        }
+    }
+
+    /**
+     * Tests putting parallel arrays.
+     */
+    @Test
+    public void test_putAll() {
+        final Map<String, Integer> map = new HashMap<>();
+
+        Assert.assertSame("Should return the map", map, MapUtils.putAll(map, new String[] {"a", "b", "a"}, new Integer[] {1, 2, 3}));
+        Assert.assertEquals("Should have two entries", 2, map.size());
+        Assert.assertEquals("Last value should win", Integer.valueOf(3), map.get("a"));
+
+        try {
+            MapUtils.putAll(null, new String[0], new Integer[0]);
+            Assert.fail("Should not allow a null map");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertEquals("Should be correct failure message", MapUtils.MAP_ERROR_MSG, illegalArgumentException.getMessage());
+        }
+    }
+
+    /**
+     * Tests removing keys.
+     */
+    @Test
+    public void test_removeAll() {
+        final Map<String, Integer> map = MapUtils.putAll(new HashMap<>(), new String[] {"a", "b", "c"}, new Integer[] {1, 2, 3});
+
+        Assert.assertSame("Should return the map", map, MapUtils.removeAll(map, Arrays.asList("a", "c", "z")));
+        Assert.assertEquals("Should have one entry", 1, map.size());
+        Assert.assertTrue("Should have kept the entry", map.containsKey("b"));
+
+        try {
+            MapUtils.removeAll(map, null);
+            Assert.fail("Should not allow null keys");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertEquals("Should be correct failure message", MapUtils.KEYS_ERROR_MSG, illegalArgumentException.getMessage());
+        }
+    }
+
+    /**
+     * Tests getting keys.
+     */
+    @Test
+    public void test_getAll() {
+        final Map<String, Integer> map = MapUtils.putAll(new HashMap<>(), new String[] {"a", "b", "c"}, new Integer[] {1, null, 3});
+        final Map<String, Integer> found = MapUtils.getAll(map, Arrays.asList("c", "z", "b", "a"));
+
+        Assert.assertEquals("Should be in the order asked for", Arrays.asList("c", "b", "a"), Arrays.asList(found.keySet().toArray()));
+        Assert.assertNull("Should keep null values", found.get("b"));
+        Assert.assertEquals("Should have found the value", Integer.valueOf(3), found.get("c"));
+
+        try {
+            MapUtils.getAll(map, null);
+            Assert.fail("Should not allow null keys");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertEquals("Should be correct failure message", MapUtils.KEYS_ERROR_MSG, illegalArgumentException.getMessage());
+        }
+    }
 }
@@ -0,0 +1,383 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.utils.collections;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the ParallelUtils utility class.
+ *
+ * @author Scot P. Floess
+ */
+public class ParallelUtilsTest {
+
+    /**
+     * Return the integers 0 until size.
+     */
+    static List<Integer> newList(final int size) {
+        final List<Integer> retVal = new ArrayList<>(size);
+
+        for (int index = 0; index < size; index++) {
+            retVal.add(index);
+        }
+
+        return retVal;
+    }
+
+    /**
+     * Tests the constructor.
+     */
+    @Test
+    public void testConstructor() throws NoSuchMethodException, InstantiationException, IllegalAccessException, IllegalArgumentException, InvocationTargetException {
+        final Constructor constructor = ParallelUtils.class.getDeclaredConstructor();
+        constructor.setAccessible(true);
+        constructor.newInstance(new Object[0]);
+    }
+
+    /**
+     * Tests bad params.
+     */
+    @Test
+    public void test_badParams() {
+        try {
+            ParallelUtils.forEach(null, 1, element -> {
+            });
+            Assert.fail("Should not allow a null spliterator");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertEquals("Should be correct failure message", ParallelUtils.SPLITERATOR_ERROR_MSG, illegalArgumentException.getMessage());
+        }
+
+        try {
+            ParallelUtils.forEach(newList(1).spliterator(), 0, element -> {
+            });
+            Assert.fail("Should not allow a threshold of 0");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertEquals("Should be correct failure message", ParallelUtils.THRESHOLD_ERROR_MSG, illegalArgumentException.getMessage());
+        }
+
+        try {
+            ParallelUtils.forEach(newList(1).spliterator(), 1, null);
+            Assert.fail("Should not allow a null action");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertEquals("Should be correct failure message", ParallelUtils.ACTION_ERROR_MSG, illegalArgumentException.getMessage());
+        }
+
+        try {
+            ParallelUtils.filter(newList(1).spliterator(), 1, null);
+            Assert.fail("Should not allow a null predicate");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertEquals("Should be correct failure message", ParallelUtils.PREDICATE_ERROR_MSG, illegalArgumentException.getMessage());
+        }
+
+        try {
+            ParallelUtils.map(newList(1).spliterator(), 1, null);
+            Assert.fail("Should not allow a null function");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertEquals("Should be correct failure message", ParallelUtils.FUNCTION_ERROR_MSG, illegalArgumentException.getMessage());
+        }
+
+        try {
+            ParallelUtils.reduce(newList(1).spliterator(), 1, 0, null);
+            Assert.fail("Should not allow a null operator");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertEquals("Should be correct failure message", ParallelUtils.OPERATOR_ERROR_MSG, illegalArgumentException.getMessage());
+        }
+    }
+
+    /**
+     * Tests performing an action on every element.
+     */
+    @Test
+    public void test_forEach() {
+        final List<Integer> list = newList(100000);
+        final AtomicLong sum = new AtomicLong();
+
+        ParallelUtils.forEach(list.spliterator(), 100, element -> sum.addAndGet(element));
+
+        Assert.assertEquals("Should have visited every element", 99999L * 100000L / 2, sum.get());
+    }
+
+    /**
+     * Tests filtering keeps encounter order.
+     */
+    @Test
+    public void test_filter() {
+        final List<Integer> list = newList(10000);
+        final List<Integer> expected = new ArrayList<>();
+
+        for (final Integer element : list) {
+            if (element % 3 == 0) {
+                expected.add(element);
+            }
+        }
+
+        Assert.assertEquals("Should be the same as a sequential filter", expected, ParallelUtils.filter(list.spliterator(), 7, element -> element % 3 == 0));
+        Assert.assertTrue("Should be empty", ParallelUtils.filter(new ArrayList<Integer>().spliterator(), 7, element -> true).isEmpty());
+    }
+
+    /**
+     * Tests mapping keeps encounter order - including spliterators of unknown size.
+     */
+    @Test
+    public void test_map() {
+        final List<Integer> list = newList(10000);
+        final List<String> expected = new ArrayList<>();
+
+        for (final Integer element : list) {
+            expected.add(String.valueOf(element));
+        }
+
+        Assert.assertEquals("Should be the same as a sequential map", expected, ParallelUtils.map(list.spliterator(), 10, String::valueOf));
+
+        final Set<Integer> set = new HashSet<>(list);
+
+        Assert.assertEquals("Should map every element", new HashSet<>(expected), new HashSet<>(ParallelUtils.map(set.spliterator(), 10, String::valueOf)));
+    }
+
+    /**
+     * Tests reducing.
+     */
+    @Test
+    public void test_reduce() {
+        final List<Integer> list = newList(10000);
+
+        Assert.assertEquals("Should sum", Integer.valueOf(9999 * 10000 / 2), ParallelUtils.reduce(list.spliterator(), 16, 0, Integer::sum));
+        Assert.assertEquals("Should be identity when empty", Integer.valueOf(0), ParallelUtils.reduce(new ArrayList<Integer>().spliterator(), 16, 0, Integer::sum));
+        Assert.assertEquals("Should map and sum", Long.valueOf(10000), ParallelUtils.mapReduce(list.spliterator(), 16, element -> 1L, 0L, Long::sum));
+    }
+
+    /**
+     * Tests exceptions raised by an action are propagated.
+     */
+    @Test
+    public void test_exception() {
+        try {
+            ParallelUtils.forEach(newList(10000).spliterator(), 10, element -> {
+                if (element == 5000) {
+                    throw new IllegalStateException("boom");
+                }
+            });
+            Assert.fail("Should have raised the exception");
+        } catch (final IllegalStateException illegalStateException) {
+            // When raised on another worker, fork/join rethrows a copy whose message is the original's toString()...
+            Assert.assertTrue("Should be correct failure message", illegalStateException.getMessage().endsWith("boom"));
+        }
+    }
+
+    /**
+     * Tests bad params for the array variants.
+     */
+    @Test
+    public void test_array_badParams() {
+        final Integer[] values = newList(10).toArray(new Integer[0]);
+
+        try {
+            ParallelUtils.filter(null, element -> true);
+            Assert.fail("Should not allow a null array");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertEquals("Should be correct failure message", ParallelUtils.ARRAY_ERROR_MSG, illegalArgumentException.getMessage());
+        }
+
+        try {
+            ParallelUtils.filter(values, null);
+            Assert.fail("Should not allow a null predicate");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertEquals("Should be correct failure message", ParallelUtils.PREDICATE_ERROR_MSG, illegalArgumentException.getMessage());
+        }
+
+        try {
+            ParallelUtils.filter(values, element -> true, null, 1);
+            Assert.fail("Should not allow a null executor");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertEquals("Should be correct failure message", ParallelUtils.EXECUTOR_ERROR_MSG, illegalArgumentException.getMessage());
+        }
+
+        try {
+            ParallelUtils.filter(values, element -> true, Runnable::run, 0);
+            Assert.fail("Should not allow a zero chunk size");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertEquals("Should be correct failure message", ParallelUtils.CHUNK_ERROR_MSG, illegalArgumentException.getMessage());
+        }
+
+        try {
+            ParallelUtils.anyMatch(null, element -> true);
+            Assert.fail("Should not allow a null array");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertEquals("Should be correct failure message", ParallelUtils.ARRAY_ERROR_MSG, illegalArgumentException.getMessage());
+        }
+
+        try {
+            ParallelUtils.anyMatch(values, null);
+            Assert.fail("Should not allow a null predicate");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertEquals("Should be correct failure message", ParallelUtils.PREDICATE_ERROR_MSG, illegalArgumentException.getMessage());
+        }
+
+        try {
+            ParallelUtils.anyMatch(values, element -> true, null, 1);
+            Assert.fail("Should not allow a null executor");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertEquals("Should be correct failure message", ParallelUtils.EXECUTOR_ERROR_MSG, illegalArgumentException.getMessage());
+        }
+
+        try {
+            ParallelUtils.anyMatch(values, element -> true, Runnable::run, -1);
+            Assert.fail("Should not allow a negative chunk size");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertEquals("Should be correct failure message", ParallelUtils.CHUNK_ERROR_MSG, illegalArgumentException.getMessage());
+        }
+    }
+
+    /**
+     * Tests the default chunk size.
+     */
+    @Test
+    public void test_defaultChunkSize() {
+        Assert.assertEquals("Should be at least one", 1, ParallelUtils.defaultChunkSize(0));
+        Assert.assertEquals("Should be at least one", 1, ParallelUtils.defaultChunkSize(1));
+        Assert.assertTrue("Should spread large arrays", ParallelUtils.defaultChunkSize(Integer.MAX_VALUE) > 0);
+    }
+
+    /**
+     * Tests filtering an array on an executor keeps array order.
+     */
+    @Test
+    public void test_filter_array() {
+        final Integer[] values = newList(10001).toArray(new Integer[0]);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            final List<Integer> expected = new ArrayList<>();
+
+            for (final Integer value : values) {
+                if (value % 3 == 0) {
+                    expected.add(value);
+                }
+            }
+
+            Assert.assertEquals("Should be the matches in order", expected, ParallelUtils.filter(values, element -> element % 3 == 0, executor, 7));
+            Assert.assertEquals("Should be the matches in order", expected, ParallelUtils.filter(values, element -> element % 3 == 0));
+            Assert.assertTrue("Should be nothing", ParallelUtils.filter(new Integer[0], element -> true, executor, 7).isEmpty());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Tests filtering an array from within the pool that runs its chunks - waiting must not starve the pool.
+     */
+    @Test
+    public void test_filter_array_nested() throws InterruptedException, ExecutionException, TimeoutException {
+        final Integer[] values = newList(1000).toArray(new Integer[0]);
+        final ForkJoinPool pool = new ForkJoinPool(2);
+
+        try {
+            final Set<Integer> counts = Collections.synchronizedSet(new HashSet<>());
+
+            pool.submit(() -> ParallelUtils.forEach(newList(8).spliterator(), 1, outer -> counts.add(ParallelUtils.filter(values, element -> element % 2 == 0, pool, 10).size()))).get(30, TimeUnit.SECONDS);
+
+            Assert.assertEquals("Should have found the same matches every time", Collections.singleton(500), counts);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Tests matching an array on an executor.
+     */
+    @Test
+    public void test_anyMatch() {
+        final Integer[] values = newList(10000).toArray(new Integer[0]);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            Assert.assertTrue("Should match", ParallelUtils.anyMatch(values, element -> element == 9999, executor, 100));
+            Assert.assertFalse("Should not match", ParallelUtils.anyMatch(values, element -> element < 0, executor, 100));
+            Assert.assertTrue("Should match", ParallelUtils.anyMatch(values, element -> element == 5000));
+            Assert.assertFalse("Should not match", ParallelUtils.anyMatch(new Integer[0], element -> true, executor, 100));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Tests matching stops once a match is found.
+     */
+    @Test
+    public void test_anyMatch_cancel() {
+        final Integer[] values = newList(10000).toArray(new Integer[0]);
+        final AtomicLong evaluated = new AtomicLong();
+
+        // Running chunks in the calling thread makes the order deterministic...
+        Assert.assertTrue("Should match", ParallelUtils.anyMatch(values, element -> evaluated.incrementAndGet() > 0 && element == 150, Runnable::run, 100));
+        Assert.assertEquals("Should stop at the match", 151, evaluated.get());
+    }
+
+    /**
+     * Tests exceptions thrown by chunks reach the caller.
+     */
+    @Test
+    public void test_array_exception() {
+        final Integer[] values = newList(1000).toArray(new Integer[0]);
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            try {
+                ParallelUtils.filter(values, element -> {
+                    if (element == 500) {
+                        throw new IllegalStateException("boom");
+                    }
+
+                    return true;
+                }, executor, 10);
+                Assert.fail("Should have raised the exception");
+            } catch (final IllegalStateException illegalStateException) {
+                Assert.assertEquals("Should be correct failure message", "boom", illegalStateException.getMessage());
+            }
+
+            try {
+                ParallelUtils.anyMatch(values, element -> {
+                    if (element == 500) {
+                        throw new IllegalStateException("boom");
+                    }
+
+                    return false;
+                }, executor, 10);
+                Assert.fail("Should have raised the exception");
+            } catch (final IllegalStateException illegalStateException) {
+                Assert.assertEquals("Should be correct failure message", "boom", illegalStateException.getMessage());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2017 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.utils.io;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.ByteBuffer;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the BufferUtils utility class.
+ *
+ * @author Scot P. Floess
+ */
+public class BufferUtilsTest {
+
+    /**
+     * Tests the constructor.
+     */
+    @Test
+    public void testConstructor() throws NoSuchMethodException, InstantiationException, IllegalAccessException, IllegalArgumentException, InvocationTargetException {
+        final Constructor constructor = BufferUtils.class.getDeclaredConstructor();
+        constructor.setAccessible(true);
+        constructor.newInstance(new Object[0]);
+    }
+
+    /**
+     * Tests freeing a null buffer.
+     */
+    @Test
+    public void test_free_null() {
+        try {
+            BufferUtils.free(null);
+            Assert.fail("Should not free a null buffer");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+            Assert.assertEquals("Should be correct failure message", BufferUtils.BUFFER_ERROR_MSG, illegalArgumentException.getMessage());
+        }
+    }
+
+    /**
+     * Tests freeing buffers.
+     */
+    @Test
+    public void test_free() {
+        Assert.assertFalse("Should not free a heap buffer", BufferUtils.free(ByteBuffer.allocate(16)));
+
+        // Whether a direct buffer is released depends on the cleaner available to the running JDK...
+        BufferUtils.free(ByteBuffer.allocateDirect(16));
+
+        Assert.assertFalse("Should not free a slice", BufferUtils.free(ByteBuffer.allocateDirect(16).slice()));
+    }
+}
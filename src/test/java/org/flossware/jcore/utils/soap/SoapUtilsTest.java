@@ -355,6 +355,7 @@ public class SoapUtilsTest {
      */
     @Test
     public void test_logSoapMessage() throws SOAPException, IOException {
+        Mockito.when(logger.isLoggable(Level.SEVERE)).thenReturn(true);
         Mockito.when(logger.getLevel()).thenReturn(Level.SEVERE);
 
         SoapUtils.logSoapMessage(logger, Level.SEVERE, TestUtils.generateUniqueStr(), soapMessage);
@@ -367,6 +368,7 @@ public class SoapUtilsTest {
      */
     @Test
     public void test_logSoapMessageContext() throws SOAPException, IOException {
+        Mockito.when(logger.isLoggable(Level.FINE)).thenReturn(true);
         Mockito.when(logger.getLevel()).thenReturn(Level.FINE);
         Mockito.when(soapMessageContext.getMessage()).thenReturn(soapMessage);
 
@@ -376,6 +378,18 @@ public class SoapUtilsTest {
         Mockito.verify(soapMessage, Mockito.times(1)).writeTo(Mockito.any(OutputStream.class));
     }
 
+    /**
+     * Test logging a SOAPMessage when the level is not enabled - should not convert the message.
+     */
+    @Test
+    public void test_logSoapMessage_notLoggable() throws SOAPException, IOException {
+        Mockito.when(logger.isLoggable(Level.FINEST)).thenReturn(false);
+
+        SoapUtils.logSoapMessage(logger, Level.FINEST, TestUtils.generateUniqueStr(), soapMessage);
+
+        Mockito.verify(soapMessage, Mockito.times(0)).writeTo(Mockito.any(OutputStream.class));
+    }
+
     /**
      * Test logging a SOAPMessage - wrong level.
      */
@@ -393,6 +407,7 @@ public class SoapUtilsTest {
      */
     @Test
     public void test_logSoapMessageIfLevel() throws SOAPException, IOException {
+        Mockito.when(logger.isLoggable(Level.FINE)).thenReturn(true);
         Mockito.when(logger.getLevel()).thenReturn(Level.FINE);
 
         SoapUtils.logSoapMessageIfLevel(logger, Level.FINE, TestUtils.generateUniqueStr(), soapMessage);
@@ -419,6 +434,7 @@ public class SoapUtilsTest {
      */
     @Test
     public void test_logSoapMessageContextIfLevel() throws SOAPException, IOException {
+        Mockito.when(logger.isLoggable(Level.SEVERE)).thenReturn(true);
         Mockito.when(logger.getLevel()).thenReturn(Level.SEVERE);
         Mockito.when(soapMessageContext.getMessage()).thenReturn(soapMessage);
 